@@ -7,6 +7,7 @@ import android.os.Environment;
 import android.support.annotation.IntDef;
 import android.text.TextUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
@@ -24,9 +25,14 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import dev.DevUtils;
 import dev.utils.LogPrintUtils;
+import dev.utils.common.assist.RecordBlockWriter;
 
 /**
  * detail: 日志记录分析工具类
@@ -47,6 +53,20 @@ public final class AnalysisRecordUtils {
     private static boolean sIsHandler = true;
     // 判断是否加空格
     private static boolean sAppendSpace = true;
+    // 是否异步写入 ( 后台线程写入, 并保持文件打开 )
+    private static volatile boolean sAsyncWrite = false;
+    // 单个日志文件最大字节数 ( 异步写入超过则滚动, 0 表示不限制 )
+    private static volatile long sMaxFileSize = 0L;
+    // 异步写入缓冲字节数 ( 达到则写入文件 )
+    private static volatile int sFlushSize = 8 * 1024;
+    // 异步写入缓冲时间 ( 毫秒, 达到则写入文件 )
+    private static volatile long sFlushInterval = 1000L;
+    // 是否使用分块压缩格式保存 ( 二进制记录帧 + 分块压缩 + 时间索引 )
+    private static volatile boolean sBlockFormat = false;
+    // 分块压缩格式文件后缀
+    private static final String BLOCK_FILE_SUFFIX = ".rec";
+    // 日志保存时间格式 ( SimpleDateFormat 非线程安全, 每个线程复用一个 )
+    private static final ThreadLocal<SimpleDateFormat> LOCAL_DATE_FORMATS = new ThreadLocal<>();
 
     // ============
     // = 配置信息 =
@@ -203,6 +223,99 @@ public final class AnalysisRecordUtils {
         AnalysisRecordUtils.sLogStoragePath = logStoragePath;
     }
 
+    // ============
+    // = 异步写入 =
+    // ============
+
+    /**
+     * 判断是否异步写入
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isAsyncWrite() {
+        return sAsyncWrite;
+    }
+
+    /**
+     * 设置是否异步写入
+     * <pre>
+     *     开启后 record 只把日志内容放入队列, 由后台线程写入文件
+     *     同一文件保持打开, 缓冲字节数、缓冲时间达到设置值才写入, 并支持按大小滚动文件
+     * </pre>
+     * @param asyncWrite 是否异步写入
+     */
+    public static void setAsyncWrite(final boolean asyncWrite) {
+        AnalysisRecordUtils.sAsyncWrite = asyncWrite;
+    }
+
+    /**
+     * 获取单个日志文件最大字节数
+     * @return 单个日志文件最大字节数
+     */
+    public static long getMaxFileSize() {
+        return sMaxFileSize;
+    }
+
+    /**
+     * 设置单个日志文件最大字节数 ( 异步写入超过则滚动, 0 表示不限制 )
+     * <pre>
+     *     超过后原文件重命名为 xxx_1.txt、xxx_2.txt 依此类推, 并重新创建 xxx.txt 继续写入
+     * </pre>
+     * @param maxFileSize 单个日志文件最大字节数
+     */
+    public static void setMaxFileSize(final long maxFileSize) {
+        AnalysisRecordUtils.sMaxFileSize = Math.max(0L, maxFileSize);
+    }
+
+    /**
+     * 设置异步写入缓冲策略
+     * @param flushSize     缓冲字节数 ( 达到则写入文件 )
+     * @param flushInterval 缓冲时间 ( 毫秒, 达到则写入文件 )
+     */
+    public static void setFlushPolicy(final int flushSize, final long flushInterval) {
+        AnalysisRecordUtils.sFlushSize = Math.max(0, flushSize);
+        AnalysisRecordUtils.sFlushInterval = Math.max(10L, flushInterval);
+    }
+
+    /**
+     * 判断是否使用分块压缩格式保存
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isBlockFormat() {
+        return sBlockFormat;
+    }
+
+    /**
+     * 设置是否使用分块压缩格式保存
+     * <pre>
+     *     开启后日志以二进制记录帧 ( 记录时间 + 日志内容 ) 写入, 每 64KB 压缩为一个数据块, 设备、APP 信息只压缩保存一次
+     *     文件名后缀替换为 .rec ( 如 xxx.txt 保存为 xxx.rec ), 同时生成 xxx.rec.idx 时间索引, 通过 RecordBlockReader 按时间读取
+     *     数据块需要缓冲, 分块压缩格式始终由后台线程写入 ( 不受 {@link #setAsyncWrite(boolean)} 影响 )
+     *     缓冲时间到达也会写入一个数据块, 缓冲时间越长压缩率越高, 需要立即写入文件时调用 {@link #flush()}
+     * </pre>
+     * @param blockFormat 是否使用分块压缩格式保存
+     */
+    public static void setBlockFormat(final boolean blockFormat) {
+        AnalysisRecordUtils.sBlockFormat = blockFormat;
+    }
+
+    /**
+     * 等待异步写入的日志全部写入文件
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean flush() {
+        RecordWriter writer = RecordWriter.peek();
+        return writer == null || writer.barrier(false);
+    }
+
+    /**
+     * 关闭异步写入打开的文件 ( 先写入全部等待写入的日志 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean close() {
+        RecordWriter writer = RecordWriter.peek();
+        return writer == null || writer.barrier(true);
+    }
+
     // ============
     // = 内部方法 =
     // ============
@@ -225,8 +338,17 @@ public final class AnalysisRecordUtils {
         // 获取文件提示
         String fileHint = fileInfo.getFileFunction();
         try {
+            // 是否使用分块压缩格式 ( 记录帧自带时间, 不拼接时间前缀 )
+            boolean blockFormat = sBlockFormat;
             // 获取处理的日志
-            String logContent = splitLog(logs);
+            String logContent = blockFormat ? joinLog(logs) : splitLog(logs);
+            // 异步写入、分块压缩格式则放入队列 ( 数据块由写入线程保持文件打开缓冲写入 )
+            if (sAsyncWrite || blockFormat) {
+                if (!RecordWriter.get().offer(fileInfo, logContent, blockFormat)) {
+                    return "record queue is full";
+                }
+                return logContent;
+            }
             // 日志保存路径
             String logPath = fileInfo.getLogPath();
             // 获取日志地址
@@ -237,51 +359,8 @@ public final class AnalysisRecordUtils {
             if (file.exists()) {
                 appendFile(logFile, logContent);
             } else {
-                // = 首次则保存设备、APP 信息 =
-                StringBuilder builder = new StringBuilder();
-                builder.append(NEW_LINE_STR_X2);
-                builder.append("【设备信息】");
-                builder.append(NEW_LINE_STR_X2);
-                builder.append("===========================");
-                builder.append(NEW_LINE_STR_X2);
-                builder.append(handlerDeviceInfo("failed to get device information"));
-                builder.append(NEW_LINE_STR);
-                builder.append("===========================");
-                builder.append(NEW_LINE_STR_X2);
-
-                builder.append(NEW_LINE_STR_X2);
-                builder.append(NEW_LINE_STR_X2);
-                builder.append("【版本信息】");
-                builder.append(NEW_LINE_STR_X2);
-                builder.append("===========================");
-                builder.append(NEW_LINE_STR_X2);
-                builder.append("versionName: " + APP_VERSION_NAME);
-                builder.append(NEW_LINE_STR);
-                builder.append("versionCode: " + APP_VERSION_CODE);
-                builder.append(NEW_LINE_STR);
-                builder.append("package: " + PACKAGE_NAME);
-                builder.append(NEW_LINE_STR_X2);
-                builder.append("===========================");
-                builder.append(NEW_LINE_STR_X2);
-
-                builder.append(NEW_LINE_STR_X2);
-                builder.append(NEW_LINE_STR_X2);
-                builder.append("【文件信息】");
-                builder.append(NEW_LINE_STR_X2);
-                builder.append("===========================");
-                builder.append(NEW_LINE_STR_X2);
-                builder.append(fileHint);
-                builder.append(NEW_LINE_STR_X2);
-                builder.append("===========================");
-                builder.append(NEW_LINE_STR_X2);
-
-                builder.append(NEW_LINE_STR_X2);
-                builder.append(NEW_LINE_STR_X2);
-                builder.append("【日志内容】");
-                builder.append(NEW_LINE_STR_X2);
-                builder.append("===========================");
-                // 创建文件夹, 并且进行处理
-                saveFile(logPath, fileName, builder.toString());
+                // 创建文件夹, 并且保存设备、APP 信息
+                saveFile(logPath, fileName, createFileHeader(fileHint));
                 // 追加内容
                 appendFile(logFile, logContent);
             }
@@ -293,23 +372,100 @@ public final class AnalysisRecordUtils {
         }
     }
 
+    /**
+     * 获取日志文件头部信息 ( 首次创建文件时保存设备、APP 信息 )
+     * @param fileHint 文件记录的功能
+     * @return 日志文件头部信息
+     */
+    private static String createFileHeader(final String fileHint) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(NEW_LINE_STR_X2);
+        builder.append("【设备信息】");
+        builder.append(NEW_LINE_STR_X2);
+        builder.append("===========================");
+        builder.append(NEW_LINE_STR_X2);
+        builder.append(handlerDeviceInfo("failed to get device information"));
+        builder.append(NEW_LINE_STR);
+        builder.append("===========================");
+        builder.append(NEW_LINE_STR_X2);
+
+        builder.append(NEW_LINE_STR_X2);
+        builder.append(NEW_LINE_STR_X2);
+        builder.append("【版本信息】");
+        builder.append(NEW_LINE_STR_X2);
+        builder.append("===========================");
+        builder.append(NEW_LINE_STR_X2);
+        builder.append("versionName: " + APP_VERSION_NAME);
+        builder.append(NEW_LINE_STR);
+        builder.append("versionCode: " + APP_VERSION_CODE);
+        builder.append(NEW_LINE_STR);
+        builder.append("package: " + PACKAGE_NAME);
+        builder.append(NEW_LINE_STR_X2);
+        builder.append("===========================");
+        builder.append(NEW_LINE_STR_X2);
+
+        builder.append(NEW_LINE_STR_X2);
+        builder.append(NEW_LINE_STR_X2);
+        builder.append("【文件信息】");
+        builder.append(NEW_LINE_STR_X2);
+        builder.append("===========================");
+        builder.append(NEW_LINE_STR_X2);
+        builder.append(fileHint);
+        builder.append(NEW_LINE_STR_X2);
+        builder.append("===========================");
+        builder.append(NEW_LINE_STR_X2);
+
+        builder.append(NEW_LINE_STR_X2);
+        builder.append(NEW_LINE_STR_X2);
+        builder.append("【日志内容】");
+        builder.append(NEW_LINE_STR_X2);
+        builder.append("===========================");
+        return builder.toString();
+    }
+
     /**
      * 拼接日志
      * @param logs 日志内容数组
      * @return 拼接后的日志内容
      */
     private static String splitLog(final String... logs) {
-        // 判断是否追加空格
-        boolean isSpace = sAppendSpace;
-        // =
         StringBuilder builder = new StringBuilder();
         // 增加换行
         builder.append(NEW_LINE_STR);
         builder.append(NEW_LINE_STR);
         // 获取保存时间
-        builder.append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
+        SimpleDateFormat format = LOCAL_DATE_FORMATS.get();
+        if (format == null) {
+            format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            LOCAL_DATE_FORMATS.set(format);
+        }
+        builder.append(format.format(new Date()));
         // 追加边距
         builder.append(" => ");
+        // 追加保存内容
+        appendLogs(builder, logs);
+        return builder.toString();
+    }
+
+    /**
+     * 拼接日志内容 ( 不含时间, 分块压缩格式使用 )
+     * @param logs 日志内容数组
+     * @return 拼接后的日志内容
+     */
+    private static String joinLog(final String... logs) {
+        StringBuilder builder = new StringBuilder();
+        appendLogs(builder, logs);
+        return builder.toString();
+    }
+
+    /**
+     * 追加日志内容
+     * @param builder {@link StringBuilder}
+     * @param logs    日志内容数组
+     */
+    private static void appendLogs(final StringBuilder builder, final String... logs) {
+        // 判断是否追加空格
+        boolean isSpace = sAppendSpace;
         // 是否添加空格 ( 第一位不添加空格 )
         boolean isAdd = false;
         // 循环追加内容
@@ -322,7 +478,16 @@ public final class AnalysisRecordUtils {
             // 追加保存内容
             builder.append(logs[i]);
         }
-        return builder.toString();
+    }
+
+    /**
+     * 获取分块压缩格式文件名 ( 后缀替换为 .rec )
+     * @param fileName 文件名
+     * @return 分块压缩格式文件名
+     */
+    private static String getBlockFileName(final String fileName) {
+        int index = fileName.lastIndexOf('.');
+        return ((index > 0) ? fileName.substring(0, index) : fileName) + BLOCK_FILE_SUFFIX;
     }
 
     // ================
@@ -603,6 +768,501 @@ public final class AnalysisRecordUtils {
         }
     }
 
+    // ================
+    // = 异步写入实现 =
+    // ================
+
+    /**
+     * detail: 日志记录后台写入线程
+     * @author Ttt
+     * <pre>
+     *     全部日志文件共用一个写入线程, 每个日志文件对应一个 {@link RecordAppender} 保持文件打开
+     * </pre>
+     */
+    private static final class RecordWriter implements Runnable {
+
+        // 等待写入队列最大数量
+        private static final int MAX_QUEUE_SIZE = 4096;
+        // 检查缓冲时间、空闲文件的间隔 ( 毫秒 )
+        private static final long CHECK_INTERVAL = 100L;
+        // 文件空闲多久后关闭 ( 毫秒 )
+        private static final long IDLE_CLOSE_TIME = 60 * 1000L;
+        // 等待 flush、close 最长时间 ( 毫秒 )
+        private static final long BARRIER_TIMEOUT = 10 * 1000L;
+
+        // 写入线程实例
+        private static volatile RecordWriter sInstance;
+
+        // 等待写入队列
+        private final BlockingQueue<RecordTask> mQueue = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
+        // 日志文件写入 ( 只在写入线程访问 )
+        private final Map<String, RecordAppender> mAppenders = new HashMap<>();
+        // 上次检查时间
+        private long mCheckTime;
+
+        private RecordWriter() {
+            Thread thread = new Thread(this, "AnalysisRecordWriter");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        /**
+         * 获取写入线程 ( 首次调用时创建 )
+         * @return {@link RecordWriter}
+         */
+        static RecordWriter get() {
+            if (sInstance == null) {
+                synchronized (RecordWriter.class) {
+                    if (sInstance == null) {
+                        sInstance = new RecordWriter();
+                    }
+                }
+            }
+            return sInstance;
+        }
+
+        /**
+         * 获取写入线程 ( 未创建则返回 null )
+         * @return {@link RecordWriter}
+         */
+        static RecordWriter peek() {
+            return sInstance;
+        }
+
+        /**
+         * 日志内容放入队列 ( 不阻塞 )
+         * @param fileInfo    {@link FileInfo}
+         * @param content     日志内容
+         * @param blockFormat 是否使用分块压缩格式
+         * @return {@code true} success, {@code false} 队列已满
+         */
+        boolean offer(final FileInfo fileInfo, final String content, final boolean blockFormat) {
+            return mQueue.offer(new RecordTask(fileInfo, content, System.currentTimeMillis(), blockFormat, null, false));
+        }
+
+        /**
+         * 等待调用前放入队列的日志全部写入文件
+         * @param close 是否关闭打开的文件
+         * @return {@code true} success, {@code false} fail
+         */
+        boolean barrier(final boolean close) {
+            CountDownLatch latch = new CountDownLatch(1);
+            try {
+                if (!mQueue.offer(new RecordTask(null, null, 0L, false, latch, close), BARRIER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    return false;
+                }
+                return latch.await(BARRIER_TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                RecordTask task = null;
+                try {
+                    task = mQueue.poll(Math.min(sFlushInterval, CHECK_INTERVAL), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ignore) {
+                }
+                long now = System.currentTimeMillis();
+                // 单条日志写入失败不能结束写入线程, flush、close 始终通知等待的线程
+                if (task != null) {
+                    try {
+                        if (task.latch == null) {
+                            getAppender(task.fileInfo, task.blockFormat).append(task.content, task.time);
+                        } else {
+                            flushAll(task.close);
+                        }
+                    } catch (Throwable e) {
+                        LogPrintUtils.eTag(TAG, e, "RecordWriter");
+                    } finally {
+                        if (task.latch != null) {
+                            task.latch.countDown();
+                        }
+                    }
+                }
+                // 写入缓冲时间已到的数据, 关闭空闲的文件
+                if (task == null || now - mCheckTime >= CHECK_INTERVAL) {
+                    mCheckTime = now;
+                    try {
+                        checkAppenders(now);
+                    } catch (Throwable e) {
+                        LogPrintUtils.eTag(TAG, e, "RecordWriter");
+                    }
+                }
+            }
+        }
+
+        /**
+         * 获取日志文件对应的写入对象
+         * @param fileInfo    {@link FileInfo}
+         * @param blockFormat 是否使用分块压缩格式
+         * @return {@link RecordAppender}
+         */
+        private RecordAppender getAppender(final FileInfo fileInfo, final boolean blockFormat) {
+            // 相同日志路径 ( 存储路径、日志文件夹、文件夹 )、文件名、间隔时间、保存格式使用同一个写入对象
+            // 日期、时间段文件夹变化由写入对象切换文件, 修改日志文件夹名则使用新的写入对象
+            String key = fileInfo.getStoragePath() + File.separator + sLogFolderName + File.separator
+                    + fileInfo.getFolderName() + File.separator + fileInfo.getFileName()
+                    + "#" + fileInfo.getFileIntervalTime() + "#" + blockFormat;
+            RecordAppender appender = mAppenders.get(key);
+            if (appender == null) {
+                appender = new RecordAppender(fileInfo, blockFormat);
+                mAppenders.put(key, appender);
+            }
+            return appender;
+        }
+
+        /**
+         * 检查全部写入对象
+         * @param now 当前时间
+         */
+        private void checkAppenders(final long now) {
+            Iterator<RecordAppender> iterator = mAppenders.values().iterator();
+            while (iterator.hasNext()) {
+                RecordAppender appender = iterator.next();
+                if (appender.isFlushDue(now)) {
+                    appender.write();
+                } else if (appender.isIdle(now)) {
+                    appender.closeStream();
+                    iterator.remove();
+                }
+            }
+        }
+
+        /**
+         * 写入全部缓冲数据
+         * @param close 是否关闭打开的文件
+         */
+        private void flushAll(final boolean close) {
+            for (RecordAppender appender : mAppenders.values()) {
+                appender.write();
+                if (close) {
+                    appender.closeStream();
+                }
+            }
+            if (close) {
+                mAppenders.clear();
+            }
+        }
+    }
+
+    /**
+     * detail: 等待写入的日志
+     * @author Ttt
+     */
+    private static final class RecordTask {
+
+        // 日志文件信息 ( null 表示 flush、close )
+        final FileInfo fileInfo;
+        // 日志内容
+        final String content;
+        // 记录时间
+        final long time;
+        // 是否使用分块压缩格式
+        final boolean blockFormat;
+        // flush、close 完成通知
+        final CountDownLatch latch;
+        // 是否关闭打开的文件
+        final boolean close;
+
+        RecordTask(final FileInfo fileInfo, final String content, final long time, final boolean blockFormat,
+                   final CountDownLatch latch, final boolean close) {
+            this.fileInfo = fileInfo;
+            this.content = content;
+            this.time = time;
+            this.blockFormat = blockFormat;
+            this.latch = latch;
+            this.close = close;
+        }
+    }
+
+    /**
+     * detail: 单个日志文件写入 ( 只在写入线程使用 )
+     * @author Ttt
+     * <pre>
+     *     保持文件输出流打开, 日志内容先写入缓冲区, 缓冲字节数、缓冲时间达到设置值才写入文件
+     *     时间段变化 ( DEFAULT 天、HH、MM、SS ) 时切换到对应文件夹下的新文件, 超过最大字节数时滚动文件
+     *     分块压缩格式由 {@link RecordBlockWriter} 缓冲当前数据块, 缓冲时间到达时压缩写入
+     * </pre>
+     */
+    private static final class RecordAppender {
+
+        // 日志文件信息
+        private final FileInfo mFileInfo;
+        // 是否使用分块压缩格式
+        private final boolean mBlockFormat;
+        // 分块压缩格式写入 ( 保持文件打开 )
+        private RecordBlockWriter mBlockWriter;
+        // 分块压缩格式未写入文件的记录数
+        private int mPendingCount;
+        // 缓冲区
+        private final ByteArrayOutputStream mBuffer = new ByteArrayOutputStream(1024);
+        // 当前写入文件
+        private File mFile;
+        // 当前文件输出流 ( 追加模式 )
+        private FileOutputStream mStream;
+        // 当前文件字节数
+        private long mFileLength;
+        // 当前文件头部信息字节数 ( 新建文件时写入 )
+        private long mHeaderLength;
+        // 当前时间段结束时间 ( 到达则切换文件 )
+        private long mPeriodEnd;
+        // 缓冲区第一条数据记录时间
+        private long mBufferTime;
+        // 最后写入时间
+        private long mWriteTime = System.currentTimeMillis();
+
+        RecordAppender(final FileInfo fileInfo, final boolean blockFormat) {
+            this.mFileInfo = fileInfo;
+            this.mBlockFormat = blockFormat;
+        }
+
+        /**
+         * 追加日志内容
+         * @param content 日志内容
+         * @param time    记录时间
+         */
+        void append(final String content, final long time) {
+            // 进入下一个时间段, 写入原文件后切换文件
+            if (mFile == null || time >= mPeriodEnd) {
+                write();
+                closeStream();
+                long now = System.currentTimeMillis();
+                String fileName = mFileInfo.getFileName();
+                mFile = new File(mFileInfo.getLogPath(), mBlockFormat ? getBlockFileName(fileName) : fileName);
+                mPeriodEnd = getPeriodEnd(now, mFileInfo.getFileIntervalTime());
+            }
+            if (mBlockFormat) {
+                appendBlock(content, time);
+                return;
+            }
+            byte[] bytes = content.getBytes();
+            if (mBuffer.size() == 0) {
+                mBufferTime = time;
+            }
+            mBuffer.write(bytes, 0, bytes.length);
+            // 缓冲字节数达到设置值则写入
+            if (mBuffer.size() >= sFlushSize) {
+                write();
+            }
+        }
+
+        /**
+         * 追加日志内容到当前数据块 ( 分块压缩格式 )
+         * @param content 日志内容
+         * @param time    记录时间
+         */
+        private void appendBlock(final String content, final long time) {
+            try {
+                if (mBlockWriter == null) {
+                    openBlock();
+                }
+                // 超过最大字节数则滚动文件 ( 只有头部信息时不滚动 )
+                long maxSize = sMaxFileSize;
+                if (maxSize > 0L && mBlockWriter.length() > mHeaderLength && mBlockWriter.length() >= maxSize) {
+                    roll();
+                }
+                if (mPendingCount++ == 0) {
+                    mBufferTime = time;
+                }
+                mBlockWriter.write(time, content);
+                // 达到块大小已写入文件
+                if (mBlockWriter.getPendingSize() == 0) {
+                    mPendingCount = 0;
+                    mWriteTime = System.currentTimeMillis();
+                }
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "RecordAppender appendBlock");
+                closeStream();
+            }
+        }
+
+        /**
+         * 是否存在未写入文件的数据
+         * @return {@code true} yes, {@code false} no
+         */
+        private boolean hasPending() {
+            return mBuffer.size() != 0 || mPendingCount != 0;
+        }
+
+        /**
+         * 缓冲时间是否已到
+         * @param now 当前时间
+         * @return {@code true} yes, {@code false} no
+         */
+        boolean isFlushDue(final long now) {
+            return hasPending() && now - mBufferTime >= sFlushInterval;
+        }
+
+        /**
+         * 是否空闲 ( 缓冲区为空, 并且长时间未写入 )
+         * @param now 当前时间
+         * @return {@code true} yes, {@code false} no
+         */
+        boolean isIdle(final long now) {
+            return !hasPending() && now - mWriteTime >= RecordWriter.IDLE_CLOSE_TIME;
+        }
+
+        /**
+         * 缓冲数据写入文件
+         */
+        void write() {
+            if (mBlockFormat) {
+                writeBlock();
+                return;
+            }
+            if (mBuffer.size() == 0 || mFile == null) return;
+            try {
+                if (mStream == null) {
+                    open();
+                }
+                // 超过最大字节数则滚动文件 ( 只有头部信息时不滚动 )
+                long maxSize = sMaxFileSize;
+                if (maxSize > 0L && mFileLength > mHeaderLength && mFileLength + mBuffer.size() > maxSize) {
+                    roll();
+                }
+                mBuffer.writeTo(mStream);
+                mFileLength += mBuffer.size();
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "RecordAppender write");
+                closeStream();
+            } finally {
+                mBuffer.reset();
+                mWriteTime = System.currentTimeMillis();
+            }
+        }
+
+        /**
+         * 压缩当前数据块写入文件 ( 分块压缩格式 )
+         */
+        private void writeBlock() {
+            if (mPendingCount == 0 || mBlockWriter == null) return;
+            try {
+                mBlockWriter.flush();
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "RecordAppender writeBlock");
+                closeStream();
+            } finally {
+                mPendingCount = 0;
+                mWriteTime = System.currentTimeMillis();
+            }
+        }
+
+        /**
+         * 打开分块压缩格式文件 ( 新建文件则压缩保存设备、APP 信息 )
+         * @throws IOException 打开、写入失败
+         */
+        private void openBlock() throws IOException {
+            createFolder(mFile.getParentFile());
+            boolean isNew = !mFile.exists() || mFile.length() == 0L;
+            // 设备、APP 信息只在新建文件时写入
+            mBlockWriter = new RecordBlockWriter(mFile, isNew ? createFileHeader(mFileInfo.getFileFunction()) : null);
+            mHeaderLength = isNew ? mBlockWriter.length() : 0L;
+        }
+
+        /**
+         * 打开文件输出流 ( 新建文件则写入设备、APP 信息 )
+         * @throws IOException 打开、写入失败
+         */
+        private void open() throws IOException {
+            createFolder(mFile.getParentFile());
+            boolean isNew = !mFile.exists() || mFile.length() == 0L;
+            mStream = new FileOutputStream(mFile, true);
+            mFileLength = mFile.length();
+            mHeaderLength = 0L;
+            if (isNew) {
+                byte[] header = createFileHeader(mFileInfo.getFileFunction()).getBytes();
+                mStream.write(header);
+                mFileLength += header.length;
+                mHeaderLength = mFileLength;
+            }
+        }
+
+        /**
+         * 滚动文件 ( 原文件重命名为 xxx_1.txt 依此类推, 并重新创建文件 )
+         * @throws IOException 打开、写入失败
+         */
+        private void roll() throws IOException {
+            closeStream();
+            String name = mFile.getName();
+            int index = name.lastIndexOf('.');
+            String prefix = (index > 0) ? name.substring(0, index) : name;
+            String suffix = (index > 0) ? name.substring(index) : "";
+            int number = 1;
+            File target;
+            do {
+                target = new File(mFile.getParentFile(), prefix + "_" + (number++) + suffix);
+            } while (target.exists());
+            if (!mFile.renameTo(target)) {
+                LogPrintUtils.eTag(TAG, "RecordAppender roll failed: " + mFile.getAbsolutePath());
+            }
+            if (mBlockFormat) {
+                // 时间索引跟随记录文件重命名
+                RecordBlockWriter.getIndexFile(mFile).renameTo(RecordBlockWriter.getIndexFile(target));
+                openBlock();
+            } else {
+                open();
+            }
+        }
+
+        /**
+         * 关闭文件输出流
+         */
+        void closeStream() {
+            if (mBlockWriter != null) {
+                try {
+                    mBlockWriter.close();
+                } catch (IOException e) {
+                }
+                mBlockWriter = null;
+                mPendingCount = 0;
+            }
+            if (mStream != null) {
+                try {
+                    mStream.close();
+                } catch (IOException e) {
+                }
+                mStream = null;
+            }
+        }
+    }
+
+    /**
+     * 获取时间段结束时间
+     * @param time             当前时间
+     * @param fileIntervalTime 日志文件记录间隔时间
+     * @return 时间段结束时间
+     */
+    private static long getPeriodEnd(final long time, final int fileIntervalTime) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        calendar.set(Calendar.MILLISECOND, 0);
+        switch (fileIntervalTime) {
+            case SS:
+                calendar.add(Calendar.SECOND, 1);
+                break;
+            case MM:
+                calendar.set(Calendar.SECOND, 0);
+                calendar.add(Calendar.MINUTE, 1);
+                break;
+            case HH:
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.add(Calendar.HOUR_OF_DAY, 1);
+                break;
+            default: // 按天存放
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.HOUR_OF_DAY, 0);
+                calendar.add(Calendar.DAY_OF_MONTH, 1);
+                break;
+        }
+        return calendar.getTimeInMillis();
+    }
+
     // ================
     // = 设备信息处理 =
     // ================
@@ -20,6 +20,7 @@ import java.util.Map;
 
 import dev.DevUtils;
 import dev.utils.LogPrintUtils;
+import dev.utils.common.assist.RecordBlockWriter;
 
 /**
  * detail: 文件记录工具类
@@ -51,6 +52,8 @@ public final class FileRecordUtils {
     private static final String NEW_LINE_STR = System.getProperty("line.separator");
     // 换行字符串 - 两行
     private static final String NEW_LINE_STR_X2 = NEW_LINE_STR + NEW_LINE_STR;
+    // 分块压缩记录文件写入 ( 规范路径 -> 写入对象, 保持文件打开 )
+    private static final Map<String, RecordBlockWriter> RECORD_WRITERS = new HashMap<>();
 
     // ================
     // = 对外公开方法 =
@@ -246,6 +249,159 @@ public final class FileRecordUtils {
         return saveFile(filePath, fileName, builder.toString());
     }
 
+    // ================
+    // = 分块压缩记录 =
+    // ================
+
+    /**
+     * 追加异常日志记录 ( 分块压缩格式 )
+     * <pre>
+     *     异常日志立即写入文件 ( 发生崩溃时进程可能随即退出 )
+     * </pre>
+     * @param ex       错误信息
+     * @param filePath 保存路径
+     * @param fileName 文件名 ( 含后缀, 如 error.rec )
+     * @return {@code true} 保存成功, {@code false} 保存失败
+     */
+    public static boolean appendErrorRecord(final Throwable ex, final String filePath, final String fileName) {
+        return appendRecord(getThrowableStackTrace(ex, "failed to get exception information"), filePath, fileName, true);
+    }
+
+    /**
+     * 追加日志记录 ( 分块压缩格式 )
+     * <pre>
+     *     多条日志追加到同一文件, 每条日志以二进制记录帧 ( 记录时间 + 日志内容 ) 压缩保存
+     *     APP、设备信息只在创建文件时压缩保存一次, 并生成 fileName.idx 时间索引, 通过 RecordBlockReader 按时间读取
+     *     同一文件保持打开, 日志先缓冲到当前数据块, 达到块大小 ( 64KB ) 或调用 {@link #flushRecord()} 时压缩写入文件
+     * </pre>
+     * @param log      日志信息
+     * @param filePath 保存路径
+     * @param fileName 文件名 ( 含后缀, 如 error.rec )
+     * @return {@code true} 保存成功, {@code false} 保存失败
+     */
+    public static boolean appendRecord(final String log, final String filePath, final String fileName) {
+        return appendRecord(log, filePath, fileName, false);
+    }
+
+    /**
+     * 写入全部缓冲的日志记录 ( 分块压缩格式 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean flushRecord() {
+        return flushRecord(false);
+    }
+
+    /**
+     * 写入全部缓冲的日志记录并关闭打开的文件 ( 分块压缩格式 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean closeRecord() {
+        return flushRecord(true);
+    }
+
+    /**
+     * 追加日志记录 ( 分块压缩格式 )
+     * @param log      日志信息
+     * @param filePath 保存路径
+     * @param fileName 文件名 ( 含后缀, 如 error.rec )
+     * @param flush    是否立即写入文件
+     * @return {@code true} 保存成功, {@code false} 保存失败
+     */
+    private static boolean appendRecord(final String log, final String filePath, final String fileName, final boolean flush) {
+        if (filePath != null && fileName != null && log != null) {
+            synchronized (RECORD_WRITERS) {
+                String path = null;
+                try {
+                    File file = new File(filePath, fileName);
+                    path = file.getCanonicalPath();
+                    RecordBlockWriter writer = RECORD_WRITERS.get(path);
+                    if (writer == null) {
+                        // 防止文件没创建
+                        createFolder(filePath);
+                        // APP、设备信息只在创建文件时写入
+                        boolean isNew = !file.exists() || file.length() == 0L;
+                        writer = new RecordBlockWriter(file, isNew ? createRecordMeta() : null);
+                        RECORD_WRITERS.put(path, writer);
+                    }
+                    writer.write(log);
+                    if (flush) {
+                        writer.flush();
+                    }
+                    return true;
+                } catch (Exception e) {
+                    LogPrintUtils.eTag(TAG, e, "appendRecord");
+                    // 写入失败则关闭文件, 下次重新打开 ( 截断未写完整的数据块 )
+                    if (path != null) {
+                        closeRecordWriter(RECORD_WRITERS.remove(path));
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 写入全部缓冲的日志记录
+     * @param close 是否关闭打开的文件
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean flushRecord(final boolean close) {
+        boolean result = true;
+        synchronized (RECORD_WRITERS) {
+            Iterator<RecordBlockWriter> iterator = RECORD_WRITERS.values().iterator();
+            while (iterator.hasNext()) {
+                RecordBlockWriter writer = iterator.next();
+                try {
+                    if (close) {
+                        iterator.remove();
+                        writer.close();
+                    } else {
+                        writer.flush();
+                    }
+                } catch (Exception e) {
+                    LogPrintUtils.eTag(TAG, e, "flushRecord");
+                    result = false;
+                    if (!close) {
+                        iterator.remove();
+                        closeRecordWriter(writer);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 关闭分块压缩记录文件写入 ( 忽略异常 )
+     * @param writer {@link RecordBlockWriter}
+     */
+    private static void closeRecordWriter(final RecordBlockWriter writer) {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (Exception ignore) {
+            }
+        }
+    }
+
+    /**
+     * 获取记录文件信息 ( APP、设备信息 )
+     * @return 记录文件信息
+     */
+    private static String createRecordMeta() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("versionName: " + APP_VERSION_NAME);
+        builder.append(NEW_LINE_STR);
+        builder.append("versionCode: " + APP_VERSION_CODE);
+        builder.append(NEW_LINE_STR);
+        builder.append("package: " + PACKAGE_NAME);
+        builder.append(NEW_LINE_STR_X2);
+        builder.append("===========================");
+        builder.append(NEW_LINE_STR_X2);
+        builder.append(handlerDeviceInfo("failed to get device information"));
+        return builder.toString();
+    }
+
     // ================
     // = 设备信息处理 =
     // ================
@@ -4,9 +4,13 @@ import android.os.Handler;
 import android.os.Message;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Timer;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import dev.utils.LogPrintUtils;
 
@@ -19,11 +23,15 @@ import dev.utils.LogPrintUtils;
  *     AbsTimer => 定时器抽象类, 对外提供该类对象以及内部方法便于内部实现方法的隐藏, 以达到对定时器任务的控制处理
  *     TimerTask => 内部私有类, 实现了具体的定时器操作以及代码控制等, 防止外部直接 new 导致定时器混乱
  *     <p></p>
- *     如果外部想要实现定时器, 但是通过内部 ArrayList 控制, 也可以通过实现 AbsTimer 接口, 内部的 startTimer()、closeTimer() 进行了对 AbsTimer 的保存、标记等操作
- *     需要注意的是, 实现 start(close)Timer() 方法, 必须保留 super.start(close)Timer() => 内部 ArrayList 进行了操作, 而不对外开放 ( 不需要主动调用 )
+ *     如果外部想要实现定时器, 但是通过内部集合控制, 也可以通过实现 AbsTimer 接口, 内部的 startTimer()、closeTimer() 进行了对 AbsTimer 的保存、标记等操作
+ *     需要注意的是, 实现 start(close)Timer() 方法, 必须保留 super.start(close)Timer() => 内部集合进行了操作, 而不对外开放 ( 不需要主动调用 )
  *     <p></p>
- *     startTimer() => 主要进行添加到 ArrayList, 并且标记不需要回收
- *     closeTimer() => 不直接操作 remove, 防止出现 ConcurrentModificationException 异常, 而是做一个标记, 便于后续回收
+ *     startTimer() => 主要进行添加到集合, 并且标记不需要回收
+ *     closeTimer() => 不直接操作 remove, 而是做一个标记, 便于后续回收
+ *     <p></p>
+ *     全部定时器共用一个调度线程 ( ScheduledThreadPoolExecutor ), 不再每个定时器创建一个 Timer 线程
+ *     按开始时间 + 触发次数 * 循环时间计算下次触发时间, 不会因为执行耗时、调度延迟累积误差
+ *     并按标记 id、标记字符串建立索引, 获取、关闭指定标记定时器无需遍历全部定时器
  * </pre>
  */
 public final class TimerManager {
@@ -33,35 +41,31 @@ public final class TimerManager {
 
     // 日志 TAG
     private static final String TAG = TimerManager.class.getSimpleName();
-    // 内部保存定时器对象, 防止忘记关闭等其他情况便于控制处理
-    private static final List<AbsTimer> mTimerLists = new ArrayList<>();
-
-    // ============================
-    // = ArrayList 对外公开的方法 =
-    // ============================
+    // 内部保存定时器对象, 防止忘记关闭等其他情况便于控制处理 ( 保持添加顺序 )
+    private static final LinkedHashSet<AbsTimer> mTimers = new LinkedHashSet<>();
+    // 标记 id 索引
+    private static final HashMap<Integer, LinkedHashSet<AbsTimer>> mMarkIdIndex = new HashMap<>();
+    // 标记字符串索引
+    private static final HashMap<String, LinkedHashSet<AbsTimer>> mMarkStrIndex = new HashMap<>();
+    // 共用调度线程
+    private static ScheduledThreadPoolExecutor sScheduler;
+
+    // ==================
+    // = 对外公开的方法 =
+    // ==================
 
     /**
      * 回收定时器资源
      */
     public static void gc() {
-        synchronized (mTimerLists) {
-            // 临时数据源
-            List<AbsTimer> lists = new ArrayList<>(mTimerLists);
-            // 清空旧的数据
-            mTimerLists.clear();
-            // 开始删除无用资源
-            Iterator<AbsTimer> iterator = lists.iterator();
-            while (iterator.hasNext()) {
-                AbsTimer absTimer = iterator.next();
-                if (absTimer == null || absTimer.markSweep) { // 进行回收
-                    iterator.remove();
+        synchronized (mTimers) {
+            List<AbsTimer> lists = new ArrayList<>(mTimers);
+            for (AbsTimer absTimer : lists) {
+                if (absTimer.markSweep) { // 进行回收
+                    mTimers.remove(absTimer);
+                    unindex(absTimer);
                 }
             }
-            // 把不需要回收的保存回去
-            mTimerLists.addAll(lists);
-            // 移除旧的
-            lists.clear();
-            lists = null;
         }
     }
 
@@ -70,7 +74,9 @@ public final class TimerManager {
      * @return 全部任务总数
      */
     public static int getTimerSize() {
-        return mTimerLists.size();
+        synchronized (mTimers) {
+            return mTimers.size();
+        }
     }
 
     // =
@@ -81,20 +87,11 @@ public final class TimerManager {
      * @return 属于对应字符串标记的定时器任务 ( 优先获取符合的 ) {@link AbsTimer}
      */
     public static AbsTimer getTimer(final String markStr) {
-        if (markStr != null) {
-            try {
-                for (int i = 0, len = mTimerLists.size(); i < len; i++) {
-                    AbsTimer absTimer = mTimerLists.get(i);
-                    // 判断是否符合标记, 原本标记不为 null, 并且符合条件的
-                    if (absTimer != null && absTimer.getMarkStr() != null && absTimer.getMarkStr().equals(markStr)) {
-                        return absTimer;
-                    }
-                }
-            } catch (Exception e) {
-                LogPrintUtils.eTag(TAG, e, "getTimer");
-            }
+        if (markStr == null) return null;
+        synchronized (mTimers) {
+            LinkedHashSet<AbsTimer> timers = mMarkStrIndex.get(markStr);
+            return (timers != null && !timers.isEmpty()) ? timers.iterator().next() : null;
         }
-        return null;
     }
 
     /**
@@ -103,18 +100,10 @@ public final class TimerManager {
      * @return 属于标记 id 的定时器任务 ( 优先获取符合的 ) {@link AbsTimer}
      */
     public static AbsTimer getTimer(final int markId) {
-        try {
-            for (int i = 0, len = mTimerLists.size(); i < len; i++) {
-                AbsTimer absTimer = mTimerLists.get(i);
-                // 判断是否符合标记
-                if (absTimer != null && absTimer.getMarkId() == markId) {
-                    return absTimer;
-                }
-            }
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "getTimer");
+        synchronized (mTimers) {
+            LinkedHashSet<AbsTimer> timers = mMarkIdIndex.get(markId);
+            return (timers != null && !timers.isEmpty()) ? timers.iterator().next() : null;
         }
-        return null;
     }
 
     // =
@@ -125,22 +114,11 @@ public final class TimerManager {
      * @return 属于对应字符串标记的定时器任务集合 {@link List<AbsTimer>}
      */
     public static List<AbsTimer> getTimers(final String markStr) {
-        List<AbsTimer> lists = new ArrayList<>();
-        // 防止为 null
-        if (markStr != null) {
-            try {
-                for (int i = 0, len = mTimerLists.size(); i < len; i++) {
-                    AbsTimer absTimer = mTimerLists.get(i);
-                    // 判断是否符合标记, 原本标记不为 null, 并且符合条件的
-                    if (absTimer != null && absTimer.getMarkStr() != null && absTimer.getMarkStr().equals(markStr)) {
-                        lists.add(absTimer);
-                    }
-                }
-            } catch (Exception e) {
-                LogPrintUtils.eTag(TAG, e, "getTimers");
-            }
+        if (markStr == null) return new ArrayList<>();
+        synchronized (mTimers) {
+            LinkedHashSet<AbsTimer> timers = mMarkStrIndex.get(markStr);
+            return (timers != null) ? new ArrayList<>(timers) : new ArrayList<AbsTimer>();
         }
-        return lists;
     }
 
     /**
@@ -149,19 +127,10 @@ public final class TimerManager {
      * @return 属于标记 id 的定时器任务集合 {@link List<AbsTimer>}
      */
     public static List<AbsTimer> getTimers(final int markId) {
-        List<AbsTimer> lists = new ArrayList<>();
-        try {
-            for (int i = 0, len = mTimerLists.size(); i < len; i++) {
-                AbsTimer absTimer = mTimerLists.get(i);
-                // 判断是否符合标记
-                if (absTimer != null && absTimer.getMarkId() == markId) {
-                    lists.add(absTimer);
-                }
-            }
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "getTimers");
+        synchronized (mTimers) {
+            LinkedHashSet<AbsTimer> timers = mMarkIdIndex.get(markId);
+            return (timers != null) ? new ArrayList<>(timers) : new ArrayList<AbsTimer>();
         }
-        return lists;
     }
 
     // =
@@ -170,15 +139,8 @@ public final class TimerManager {
      * 关闭全部任务
      */
     public static void closeAll() {
-        try {
-            for (int i = 0, len = mTimerLists.size(); i < len; i++) {
-                AbsTimer absTimer = mTimerLists.get(i);
-                if (absTimer != null) { // 关闭定时器
-                    absTimer.closeTimer();
-                }
-            }
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "closeAll");
+        for (AbsTimer absTimer : getAllTimers()) {
+            closeTimer(absTimer, "closeAll");
         }
     }
 
@@ -186,16 +148,11 @@ public final class TimerManager {
      * 关闭所有未运行的任务
      */
     public static void closeNotRunTask() {
-        try {
-            for (int i = 0, len = mTimerLists.size(); i < len; i++) {
-                AbsTimer absTimer = mTimerLists.get(i);
-                // 判断是否运行中
-                if (absTimer != null && !absTimer.isRunTimer()) {
-                    absTimer.closeTimer(); // 关闭定时器
-                }
+        for (AbsTimer absTimer : getAllTimers()) {
+            // 判断是否运行中
+            if (!absTimer.isRunTimer()) {
+                closeTimer(absTimer, "closeNotRunTask");
             }
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "closeNotRunTask");
         }
     }
 
@@ -203,16 +160,11 @@ public final class TimerManager {
      * 关闭所有无限循环的任务
      */
     public static void closeInfiniteTask() {
-        try {
-            for (int i = 0, len = mTimerLists.size(); i < len; i++) {
-                AbsTimer absTimer = mTimerLists.get(i);
-                // 判断是否无限运行
-                if (absTimer != null && absTimer.isInfinite()) {
-                    absTimer.closeTimer(); // 关闭定时器
-                }
+        for (AbsTimer absTimer : getAllTimers()) {
+            // 判断是否无限运行
+            if (absTimer.isInfinite()) {
+                closeTimer(absTimer, "closeInfiniteTask");
             }
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "closeInfiniteTask");
         }
     }
 
@@ -221,18 +173,8 @@ public final class TimerManager {
      * @param markStr 判断 {@link AbsTimer#getMarkStr()}
      */
     public static void closeMark(final String markStr) {
-        if (markStr != null) {
-            try {
-                for (int i = 0, len = mTimerLists.size(); i < len; i++) {
-                    AbsTimer absTimer = mTimerLists.get(i);
-                    // 判断是否符合标记, 原本标记不为 null, 并且符合条件的
-                    if (absTimer != null && absTimer.getMarkStr() != null && absTimer.getMarkStr().equals(markStr)) {
-                        absTimer.closeTimer(); // 关闭定时器
-                    }
-                }
-            } catch (Exception e) {
-                LogPrintUtils.eTag(TAG, e, "closeMark");
-            }
+        for (AbsTimer absTimer : getTimers(markStr)) {
+            closeTimer(absTimer, "closeMark");
         }
     }
 
@@ -241,16 +183,97 @@ public final class TimerManager {
      * @param markId 判断 {@link AbsTimer#getMarkId()}
      */
     public static void closeMark(final int markId) {
+        for (AbsTimer absTimer : getTimers(markId)) {
+            closeTimer(absTimer, "closeMark");
+        }
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    /**
+     * 获取全部定时器 ( 副本, 关闭定时器时可能修改集合 )
+     * @return 全部定时器
+     */
+    private static List<AbsTimer> getAllTimers() {
+        synchronized (mTimers) {
+            return new ArrayList<>(mTimers);
+        }
+    }
+
+    /**
+     * 关闭定时器
+     * @param absTimer 定时器
+     * @param method   调用方法名
+     */
+    private static void closeTimer(final AbsTimer absTimer, final String method) {
         try {
-            for (int i = 0, len = mTimerLists.size(); i < len; i++) {
-                AbsTimer absTimer = mTimerLists.get(i);
-                if (absTimer != null && absTimer.getMarkId() == markId) {
-                    absTimer.closeTimer(); // 关闭定时器
+            absTimer.closeTimer();
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, method);
+        }
+    }
+
+    /**
+     * 添加定时器标记索引
+     * @param absTimer 定时器
+     */
+    private static void index(final AbsTimer absTimer) {
+        LinkedHashSet<AbsTimer> timers = mMarkIdIndex.get(absTimer.markId);
+        if (timers == null) {
+            timers = new LinkedHashSet<>();
+            mMarkIdIndex.put(absTimer.markId, timers);
+        }
+        timers.add(absTimer);
+        if (absTimer.markStr != null) {
+            timers = mMarkStrIndex.get(absTimer.markStr);
+            if (timers == null) {
+                timers = new LinkedHashSet<>();
+                mMarkStrIndex.put(absTimer.markStr, timers);
+            }
+            timers.add(absTimer);
+        }
+    }
+
+    /**
+     * 移除定时器标记索引
+     * @param absTimer 定时器
+     */
+    private static void unindex(final AbsTimer absTimer) {
+        LinkedHashSet<AbsTimer> timers = mMarkIdIndex.get(absTimer.markId);
+        if (timers != null && timers.remove(absTimer) && timers.isEmpty()) {
+            mMarkIdIndex.remove(absTimer.markId);
+        }
+        if (absTimer.markStr != null) {
+            timers = mMarkStrIndex.get(absTimer.markStr);
+            if (timers != null && timers.remove(absTimer) && timers.isEmpty()) {
+                mMarkStrIndex.remove(absTimer.markStr);
+            }
+        }
+    }
+
+    /**
+     * 获取共用调度线程
+     * @return {@link ScheduledThreadPoolExecutor}
+     */
+    private static synchronized ScheduledThreadPoolExecutor getScheduler() {
+        if (sScheduler == null) {
+            sScheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "TimerManager");
+                    thread.setDaemon(true);
+                    return thread;
                 }
+            });
+            try {
+                // 取消时立即从队列中移除 ( API 21 以上 )
+                sScheduler.setRemoveOnCancelPolicy(true);
+            } catch (Throwable ignore) {
             }
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "closeMark");
         }
+        return sScheduler;
     }
 
     // ================================================================
@@ -354,7 +377,7 @@ public final class TimerManager {
         // 默认通知的 what
         public static final int TIMER_NOTIFY_WHAT = 50000;
         // 状态标识 - 是否标记清除
-        private boolean markSweep = true;
+        private volatile boolean markSweep = true;
         // int 标记
         private int markId = -1;
         // String 标记
@@ -382,7 +405,12 @@ public final class TimerManager {
          * @return 定时器抽象对象 {@link AbsTimer}
          */
         public final AbsTimer setMarkId(final int markId) {
-            this.markId = markId;
+            synchronized (mTimers) {
+                boolean contains = mTimers.contains(this);
+                if (contains) unindex(this);
+                this.markId = markId;
+                if (contains) index(this);
+            }
             return this;
         }
 
@@ -392,7 +420,12 @@ public final class TimerManager {
          * @return 定时器抽象对象 {@link AbsTimer}
          */
         public final AbsTimer setMarkStr(final String markStr) {
-            this.markStr = markStr;
+            synchronized (mTimers) {
+                boolean contains = mTimers.contains(this);
+                if (contains) unindex(this);
+                this.markStr = markStr;
+                if (contains) index(this);
+            }
             return this;
         }
 
@@ -403,16 +436,16 @@ public final class TimerManager {
         /**
          * 运行定时器
          * <pre>
-         *     如果外部通过了 createTimer 或者直接 new AbsTimer 初始化了对象, 没有调用 startTimer, 都不会保存到 mTimerLists 并不影响对定时器的控制
+         *     如果外部通过了 createTimer 或者直接 new AbsTimer 初始化了对象, 没有调用 startTimer, 都不会保存到 mTimers 并不影响对定时器的控制
          * </pre>
          */
         public void startTimer() {
             // 标记状态 - 不需要回收
             this.markSweep = false;
-            synchronized (mTimerLists) {
+            synchronized (mTimers) {
                 // 不存在才进行添加
-                if (!mTimerLists.contains(this)) {
-                    mTimerLists.add(this);
+                if (mTimers.add(this)) {
+                    index(this);
                 }
             }
         }
@@ -505,26 +538,26 @@ public final class TimerManager {
      */
     private static final class TimerTask extends AbsTimer {
 
-        // 定时器
-        private Timer timer;
-        // 定时器任务栈
-        private java.util.TimerTask timerTask;
+        // 定时器任务
+        private ScheduledFuture<?> future;
+        // 启动次数 ( 重新启动、关闭后旧的任务不再执行 )
+        private int generation;
         // 通知 Handler
-        private Handler handler;
+        private volatile Handler handler;
         // 通知的数据
-        private Object notifyObj = null;
+        private volatile Object notifyObj = null;
         // 通知类型
-        private int notifyWhat;
+        private volatile int notifyWhat;
         // 延迟时间 - 多少毫秒后开始执行
         private long delay;
         // 循环时间 - 每隔多少秒执行一次
         private long period;
         // 触发次数上限
-        private int triggerLimit;
+        private volatile int triggerLimit;
         // 触发次数
-        private int triggerNumber = 0;
+        private volatile int triggerNumber = 0;
         // 定时器是否运行中
-        private boolean running = false;
+        private volatile boolean running = false;
 
         public TimerTask(final Handler handler, final int what, final long delay, final long period, final int triggerLimit) {
             this.handler = handler;
@@ -537,39 +570,26 @@ public final class TimerManager {
         /**
          * 开始执行定时器任务
          */
-        private void start() {
+        private synchronized void start() {
             // 先关闭旧的定时器
             close();
             // 表示运行定时器中
             running = true;
             // 每次重置触发次数
             triggerNumber = 0;
-            // 开启定时器
-            timer = new Timer(); // 每次重新 new 防止被取消
-            // 重新生成定时器, 防止出现 TimerTask is scheduled already 同一个定时器任务只能被放置一次
-            timerTask = new java.util.TimerTask() {
-                @Override
-                public void run() {
-                    // 表示运行定时器中
-                    running = true;
-                    // 累积触发次数
-                    triggerNumber++;
-                    // 进行通知
-                    if (handler != null) {
-                        // 从 Message 池中返回一个新的 Message 实例 - 通知 what, arg1 = 触发次数, arg2 = 触发上限, obj = notifyObj
-                        Message msg = handler.obtainMessage(notifyWhat, triggerNumber, triggerLimit, notifyObj);
-                        handler.sendMessage(msg);
-                    }
-                    // 如果大于触发次数, 则关闭
-                    if (triggerLimit >= 0 && triggerNumber >= triggerLimit) {
-                        // 关闭任务, 进行标记需要回收
-                        closeTimer();
-                    }
-                }
-            };
+            // 与 Timer.schedule 一致, 参数错误则启动失败
+            if (delay < 0 || period <= 0) {
+                // 表示非运行定时器中
+                running = false;
+                // 关闭任务, 进行标记需要回收
+                closeTimer(); // 启动失败, 则进行标记需要回收
+                return;
+            }
             try {
                 // xx 毫秒后执行, 每隔 xx 毫秒再执行一次
-                timer.schedule(timerTask, delay, period);
+                Trigger trigger = new Trigger(generation, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay),
+                        TimeUnit.MILLISECONDS.toNanos(period));
+                future = getScheduler().schedule(trigger, delay, TimeUnit.MILLISECONDS);
             } catch (Exception e) {
                 // 表示非运行定时器中
                 running = false;
@@ -581,20 +601,73 @@ public final class TimerManager {
         /**
          * 关闭定时器任务
          */
-        private void close() {
+        private synchronized void close() {
             // 表示非运行定时器中
             running = false;
+            // 旧的任务不再执行
+            generation++;
             // 取消定时器任务
-            try {
-                if (timer != null) {
-                    timer.cancel();
-                    timer = null;
+            if (future != null) {
+                future.cancel(false);
+                future = null;
+            }
+        }
+
+        /**
+         * detail: 定时器触发任务 ( 每次触发后按开始时间计算下次触发时间 )
+         * @author Ttt
+         */
+        private final class Trigger implements Runnable {
+
+            // 启动次数
+            private final int triggerGeneration;
+            // 循环时间 ( 纳秒 )
+            private final long periodNanos;
+            // 下次触发时间 ( 纳秒 )
+            private long nextTime;
+
+            Trigger(final int generation, final long firstTime, final long periodNanos) {
+                this.triggerGeneration = generation;
+                this.nextTime = firstTime;
+                this.periodNanos = periodNanos;
+            }
+
+            @Override
+            public void run() {
+                synchronized (TimerTask.this) {
+                    // 已关闭或者重新启动
+                    if (triggerGeneration != generation) return;
+                    // 累积触发次数
+                    triggerNumber++;
                 }
-                if (timerTask != null) {
-                    timerTask.cancel();
-                    timerTask = null;
+                // 进行通知
+                Handler notifyHandler = handler;
+                if (notifyHandler != null) {
+                    // 从 Message 池中返回一个新的 Message 实例 - 通知 what, arg1 = 触发次数, arg2 = 触发上限, obj = notifyObj
+                    Message msg = notifyHandler.obtainMessage(notifyWhat, triggerNumber, triggerLimit, notifyObj);
+                    notifyHandler.sendMessage(msg);
+                }
+                // 如果大于触发次数, 则关闭
+                if (triggerLimit >= 0 && triggerNumber >= triggerLimit) {
+                    // 关闭任务, 进行标记需要回收
+                    closeTimer();
+                    return;
+                }
+                synchronized (TimerTask.this) {
+                    if (triggerGeneration != generation) return;
+                    // 按开始时间计算下次触发时间, 延迟超过一个周期则跳过错过的触发 ( 与 Timer 一致, 不会连续触发 )
+                    nextTime += periodNanos;
+                    long now = System.nanoTime();
+                    if (now - nextTime > 0) {
+                        nextTime += ((now - nextTime) / periodNanos + 1) * periodNanos;
+                    }
+                    try {
+                        future = getScheduler().schedule(this, nextTime - now, TimeUnit.NANOSECONDS);
+                    } catch (Exception e) {
+                        LogPrintUtils.eTag(TAG, e, "schedule");
+                        running = false;
+                    }
                 }
-            } catch (Exception e) {
             }
         }
 
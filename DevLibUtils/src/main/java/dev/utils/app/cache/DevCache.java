@@ -7,16 +7,12 @@ import android.graphics.drawable.Drawable;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
@@ -24,8 +20,24 @@ import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import dev.DevUtils;
 import dev.utils.LogPrintUtils;
@@ -49,13 +61,49 @@ public final class DevCache {
     // 一天 24 小时
     public static final int TIME_DAY = TIME_HOUR * 24;
     // 缓存最大值 50 MB
-    private static final int MAX_SIZE = 1000 * 1000 * 50;
+    static final int MAX_SIZE = 1000 * 1000 * 50;
     // 不限制存放数据的数量
-    private static final int MAX_COUNT = Integer.MAX_VALUE;
+    static final int MAX_COUNT = Integer.MAX_VALUE;
+    // 后台写入每批最大数量
+    private static final int WRITE_BATCH_SIZE = 64;
     // 不同地址配置缓存对象
     private static Map<String, DevCache> sInstanceMaps = new HashMap<>();
+    // 延迟写入线程, 所有缓存共用
+    private static final ExecutorService sWriteExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, TAG);
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
     // 缓存管理类
     private DevCacheManager mCache;
+    // 内存缓存 ( null 则表示不使用 )
+    private DevCacheMemory mMemory;
+    // 是否延迟写入磁盘
+    private boolean mWriteBehind;
+    // 是否写入二进制头信息
+    private boolean mBinaryHeader;
+    // 序列化方式 ( null 则使用 Java 序列化 )
+    private ICacheSerializer mSerializer;
+    // 内置紧凑序列化实现 ( 读取使用 )
+    private static final DevCacheCodec sCodec = new DevCacheCodec();
+    // 等待写入的数据
+    private final ConcurrentHashMap<String, CacheData> mPendingWrites = new ConcurrentHashMap<>();
+    // 写入锁 ( 延迟写入与删除互斥 )
+    private final Object mWriteLock = new Object();
+    // 是否已提交写入任务
+    private final AtomicBoolean mDrainScheduled = new AtomicBoolean();
+    // 写入等待写入的数据任务
+    private final Runnable mDrainRunnable = new Runnable() {
+        @Override
+        public void run() {
+            drainPendingWrites();
+        }
+    };
+    // 写入后是否 sync 到磁盘
+    private boolean mSyncWrites;
     // 缓存地址
     private static File sContextCacheDir = null;
 
@@ -137,12 +185,25 @@ public final class DevCache {
      * @return {@link DevCache}
      */
     public static DevCache get(final File cacheDir, final long maxSize, final int maxCount) {
-        if (cacheDir == null) return null;
+        DevCacheConfig config = new DevCacheConfig();
+        config.maxSize = maxSize;
+        config.maxCount = maxCount;
+        return get(cacheDir, config);
+    }
+
+    /**
+     * 自定义缓存地址、配置信息
+     * @param cacheDir 缓存文件地址
+     * @param config   缓存配置 {@link DevCacheConfig}
+     * @return {@link DevCache}
+     */
+    public static synchronized DevCache get(final File cacheDir, final DevCacheConfig config) {
+        if (cacheDir == null || config == null) return null;
         // 判断是否存在缓存信息
         DevCache manager = sInstanceMaps.get(cacheDir.getAbsoluteFile() + myPid());
         if (manager == null) {
             // 初始化新的缓存信息, 并且保存
-            manager = new DevCache(cacheDir, maxSize, maxCount);
+            manager = new DevCache(cacheDir, config);
             sInstanceMaps.put(cacheDir.getAbsolutePath() + myPid(), manager);
         }
         return manager;
@@ -159,17 +220,23 @@ public final class DevCache {
     /**
      * 最终初始化方法
      * @param cacheDir 缓存文件地址
-     * @param maxSize  文件最大大小
-     * @param maxCount 最大存储数量
+     * @param config   缓存配置
      * @return {@link DevCache} 缓存工具类对象
      */
-    private DevCache(final File cacheDir, final long maxSize, final int maxCount) {
+    private DevCache(final File cacheDir, final DevCacheConfig config) {
         if (cacheDir == null) {
             new Exception("cacheDir is null");
         } else if (!cacheDir.exists() && !cacheDir.mkdirs()) {
             new Exception("can't make dirs in " + cacheDir.getAbsolutePath());
         }
-        mCache = new DevCacheManager(cacheDir, maxSize, maxCount);
+        mCache = new DevCacheManager(cacheDir, config.maxSize, config.maxCount, config.journal, config.digestLayout);
+        if (config.memoryCacheSize > 0 || config.bitmapCacheSize > 0) {
+            mMemory = new DevCacheMemory(config.memoryCacheSize, config.bitmapCacheSize);
+        }
+        mWriteBehind = config.writeBehind;
+        mBinaryHeader = config.binaryHeader;
+        mSerializer = config.serializer;
+        mSyncWrites = config.syncWrites;
     }
 
     /**
@@ -192,98 +259,495 @@ public final class DevCache {
         }
     }
 
-    // ====================
-    // = string 数据 读写 =
-    // ====================
+    /**
+     * detail: 缓存数据 ( 等待写入的数据、读取的数据 )
+     * @author Ttt
+     */
+    private static final class CacheData {
+
+        // 数据 ( 不包含头信息 )
+        final byte[] data;
+        // 过期时间 ( 毫秒 ), 0 则表示不过期
+        final long expireTime;
+        // 保存的时间, 单位: 秒, -1 则表示不过期 ( 写入旧版本时间信息使用 )
+        final int saveTime;
+        // 写入结果 ( 等待写入的数据才存在, 同一 key 合并写入共用 )
+        WriteFuture future;
+
+        CacheData(final byte[] data, final long expireTime, final int saveTime) {
+            this.data = data;
+            this.expireTime = expireTime;
+            this.saveTime = saveTime;
+        }
+    }
 
     /**
-     * 保存 String 数据到缓存中
-     * @param key   保存的 key
-     * @param value 保存的 String 数据
+     * detail: 写入中的临时文件
+     * @author Ttt
      */
-    public void put(final String key, final String value) {
-        File file = mCache.newFile(key);
-        if (file == null || value == null) {
-            return;
+    private static final class TempFile {
+
+        // 临时文件流
+        final FileOutputStream fos;
+        // 临时文件
+        final File temp;
+        // 缓存文件 ( 写入完成后重命名 )
+        final File file;
+
+        TempFile(final FileOutputStream fos, final File temp, final File file) {
+            this.fos = fos;
+            this.temp = temp;
+            this.file = file;
         }
-        BufferedWriter bw = null;
-        try {
-            bw = new BufferedWriter(new FileWriter(file), 1024);
-            bw.write(value);
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "put");
-        } finally {
-            if (bw != null) {
-                try {
-                    bw.flush();
-                } catch (Exception e) {
+    }
+
+    /**
+     * detail: 异步写入结果
+     * @author Ttt
+     * <pre>
+     *     {@code true} 该 key 的数据 ( 或之后合并的新数据 ) 已写入磁盘
+     *     {@code false} 写入失败或者写入前已被删除
+     * </pre>
+     */
+    private static final class WriteFuture implements Future<Boolean> {
+
+        // 完成锁
+        private final CountDownLatch mLatch = new CountDownLatch(1);
+        // 写入结果
+        private volatile boolean mResult;
+
+        /**
+         * 设置写入结果 ( 只设置一次 )
+         * @param result 写入结果
+         */
+        synchronized void set(final boolean result) {
+            if (mLatch.getCount() == 0) return;
+            mResult = result;
+            mLatch.countDown();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return mLatch.getCount() == 0;
+        }
+
+        @Override
+        public Boolean get() throws InterruptedException {
+            mLatch.await();
+            return mResult;
+        }
+
+        @Override
+        public Boolean get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+            if (!mLatch.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return mResult;
+        }
+    }
+
+    // ============
+    // = 内部读写 =
+    // ============
+
+    /**
+     * 写入数据 ( 异步、延迟写入则加入等待写入队列 )
+     * @param key      保存的 key
+     * @param data     保存的数据
+     * @param saveTime 保存的时间, 单位: 秒, -1 则表示不过期
+     * @param async    是否异步写入
+     * @return {@link CacheData}
+     */
+    private CacheData write(final String key, final byte[] data, final int saveTime, final boolean async) {
+        CacheData cacheData = new CacheData(data, DevCacheHeader.getExpireTime(saveTime), saveTime);
+        if (async || mWriteBehind) {
+            synchronized (mPendingWrites) {
+                // 合并同一 key 未写入的数据, 共用同一个写入结果
+                CacheData previous = mPendingWrites.get(key);
+                cacheData.future = (previous != null) ? previous.future : new WriteFuture();
+                mPendingWrites.put(key, cacheData);
+            }
+            if (mDrainScheduled.compareAndSet(false, true)) {
+                sWriteExecutor.execute(mDrainRunnable);
+            }
+        } else if (mPendingWrites.isEmpty()) {
+            writeToFile(key, cacheData);
+        } else {
+            // 覆盖等待写入的数据
+            synchronized (mWriteLock) {
+                CacheData pending = removePending(key);
+                boolean result = writeToFile(key, cacheData);
+                if (pending != null) {
+                    pending.future.set(result);
                 }
             }
-            if (bw != null) {
-                try {
-                    bw.close();
-                } catch (Exception e) {
+        }
+        return cacheData;
+    }
+
+    /**
+     * 移除等待写入的数据
+     * @param key 保存的 key
+     * @return 等待写入的数据
+     */
+    private CacheData removePending(final String key) {
+        synchronized (mPendingWrites) {
+            return mPendingWrites.remove(key);
+        }
+    }
+
+    /**
+     * 写入等待写入的数据 ( 后台线程 )
+     * <pre>
+     *     每次最多处理 {@link #WRITE_BATCH_SIZE} 条, 同一批数据写入后统一 sync
+     *     写入完成前同一 key 再次保存的数据, 在下一批写入
+     * </pre>
+     */
+    private void drainPendingWrites() {
+        List<String> keys = new ArrayList<>();
+        List<CacheData> datas = new ArrayList<>();
+        while (true) {
+            keys.clear();
+            datas.clear();
+            for (Map.Entry<String, CacheData> entry : mPendingWrites.entrySet()) {
+                keys.add(entry.getKey());
+                datas.add(entry.getValue());
+                if (keys.size() >= WRITE_BATCH_SIZE) break;
+            }
+            if (keys.isEmpty()) {
+                mDrainScheduled.set(false);
+                // 重置标记期间存在新的数据, 则继续处理
+                if (mPendingWrites.isEmpty() || !mDrainScheduled.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            int size = keys.size();
+            boolean[] results = new boolean[size];
+            TempFile[] tempFiles = new TempFile[size];
+            for (int i = 0; i < size; i++) {
+                synchronized (mWriteLock) {
+                    // 已被覆盖或者删除, 则不处理
+                    if (mPendingWrites.get(keys.get(i)) != datas.get(i)) continue;
+                    tempFiles[i] = writeToTemp(keys.get(i), datas.get(i));
+                }
+                // 不需要 sync 则直接关闭
+                if (tempFiles[i] != null && !mSyncWrites) {
+                    closeStream(tempFiles[i].fos, false);
+                }
+            }
+            if (mSyncWrites) {
+                for (TempFile tempFile : tempFiles) {
+                    if (tempFile != null) {
+                        closeStream(tempFile.fos, true);
+                    }
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                if (tempFiles[i] == null) continue;
+                synchronized (mWriteLock) {
+                    // 写入期间已被覆盖或者删除, 则丢弃临时文件
+                    if (mPendingWrites.get(keys.get(i)) != datas.get(i)) {
+                        tempFiles[i].temp.delete();
+                        continue;
+                    }
+                    results[i] = commit(tempFiles[i]);
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                CacheData cacheData = datas.get(i);
+                synchronized (mPendingWrites) {
+                    if (!mPendingWrites.remove(keys.get(i), cacheData)) continue;
                 }
+                cacheData.future.set(results[i]);
+            }
+        }
+    }
+
+    /**
+     * 写入数据到文件 ( 先写入临时文件, 完成后重命名 )
+     * @param key       保存的 key
+     * @param cacheData 缓存数据
+     * @return {@code true} 写入成功, {@code false} 写入失败
+     */
+    private boolean writeToFile(final String key, final CacheData cacheData) {
+        TempFile tempFile = writeToTemp(key, cacheData);
+        if (tempFile == null) {
+            return false;
+        }
+        closeStream(tempFile.fos, mSyncWrites);
+        return commit(tempFile);
+    }
+
+    /**
+     * 写入数据到临时文件 ( key 头信息 + 时间头信息 + 数据 )
+     * <pre>
+     *     写入完成后才重命名为缓存文件, 读取不会读到写入中的文件
+     * </pre>
+     * @param key       保存的 key
+     * @param cacheData 缓存数据
+     * @return {@link TempFile} ( 文件流未关闭, 由调用方关闭 ), 写入失败返回 null
+     */
+    private TempFile writeToTemp(final String key, final CacheData cacheData) {
+        File file = mCache.newFile(key);
+        if (file == null) {
+            return null;
+        }
+        File temp = mCache.newTempFile(file);
+        FileOutputStream fos = null;
+        try {
+            fos = new FileOutputStream(temp);
+            mCache.writeKeyHeader(fos, key);
+            if (mBinaryHeader) {
+                fos.write(DevCacheHeader.newHeader(cacheData.expireTime, cacheData.data));
+            } else if (cacheData.saveTime != -1) {
+                fos.write(DevCacheHeader.newLegacyHeader(cacheData.expireTime, cacheData.saveTime));
+            }
+            fos.write(cacheData.data);
+            return new TempFile(fos, temp, file);
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "writeToTemp");
+            if (fos != null) {
+                closeStream(fos, false);
             }
+            temp.delete();
+            return null;
+        }
+    }
+
+    /**
+     * 临时文件重命名为缓存文件, 并添加索引 ( 临时文件流需已关闭 )
+     * @param tempFile {@link TempFile}
+     * @return {@code true} 重命名成功, {@code false} 重命名失败
+     */
+    private boolean commit(final TempFile tempFile) {
+        File file = tempFile.file;
+        // 部分文件系统不支持覆盖重命名, 则删除后重试
+        if (tempFile.temp.renameTo(file) || (file.delete() && tempFile.temp.renameTo(file))) {
             mCache.put(file);
+            return true;
         }
+        LogPrintUtils.eTag(TAG, "commit rename failed: " + file.getName());
+        tempFile.temp.delete();
+        return false;
     }
 
     /**
-     * 保存 String 数据到缓存中
-     * @param key      保存的 key
-     * @param value    保存的 String 数据
-     * @param saveTime 保存的时间, 单位: 秒
+     * 创建写入失败的结果
+     * @return {@link WriteFuture}
      */
-    public void put(final String key, final String value, final int saveTime) {
-        if (key != null && value != null) {
-            put(key, DevCacheUtils.newStringWithDateInfo(saveTime, value));
+    private static WriteFuture newFailedFuture() {
+        WriteFuture future = new WriteFuture();
+        future.set(false);
+        return future;
+    }
+
+    /**
+     * 关闭文件流
+     * @param fos  {@link FileOutputStream}
+     * @param sync 关闭前是否 sync 到磁盘
+     */
+    private static void closeStream(final FileOutputStream fos, final boolean sync) {
+        if (sync) {
+            try {
+                fos.getFD().sync();
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "closeStream");
+            }
+        }
+        try {
+            fos.close();
+        } catch (Exception e) {
         }
     }
 
     /**
-     * 读取 String 数据
+     * 读取缓存数据 ( 过期、数据损坏则删除 )
      * @param key 保存的 key
-     * @return 字符串数据
+     * @return {@link CacheData}
      */
-    public String getAsString(final String key) {
+    private CacheData read(final String key) {
+        if (key == null) return null;
+        CacheData pendingData = mPendingWrites.get(key);
+        if (pendingData != null) {
+            if (DevCacheHeader.isDue(pendingData.expireTime)) {
+                remove(key);
+                return null;
+            }
+            return pendingData;
+        }
         File file = mCache.get(key);
-        if (file == null) {
+        if (file == null || !file.exists()) {
             return null;
         }
-        if (!file.exists())
-            return null;
         boolean removeFile = false;
-        BufferedReader br = null;
+        RandomAccessFile raFile = null;
         try {
-            br = new BufferedReader(new FileReader(file));
-            StringBuilder builder = new StringBuilder();
-            String currentLine;
-            while ((currentLine = br.readLine()) != null) {
-                builder.append(currentLine);
-            }
-            // 读取内容
-            String readString = builder.toString();
-            if (!DevCacheUtils.isDue(readString)) {
-                return DevCacheUtils.clearDateInfo(readString);
-            } else {
-                LogPrintUtils.dTag(TAG, "getAsString key: " + key + " => 文件已过期");
+            raFile = new RandomAccessFile(file, "r");
+            FileChannel channel = raFile.getChannel();
+            // 只读取文件开头判断是否过期
+            DevCacheHeader header = mCache.readHeader(channel, key);
+            if (header == null) {
+                return null;
+            }
+            if (header.isCorrupt()) {
+                LogPrintUtils.dTag(TAG, "read key: " + key + " => 文件已损坏");
+                removeFile = true;
+                return null;
+            }
+            if (header.isDue()) {
+                LogPrintUtils.dTag(TAG, "read key: " + key + " => 文件已过期");
+                removeFile = true;
+                return null;
+            }
+            byte[] data = new byte[(int) (channel.size() - channel.position())];
+            raFile.readFully(data);
+            if (!header.verify(data)) {
+                LogPrintUtils.dTag(TAG, "read key: " + key + " => 文件已损坏");
                 removeFile = true;
                 return null;
             }
+            return new CacheData(data, header.expireTime, -1);
         } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "getAsString");
+            LogPrintUtils.eTag(TAG, e, "read");
             return null;
         } finally {
-            if (br != null) {
+            if (raFile != null) {
                 try {
-                    br.close();
+                    raFile.close();
                 } catch (Exception e) {
                 }
             }
-            if (removeFile)
+            if (removeFile) {
                 remove(key);
+            }
+        }
+    }
+
+    /**
+     * 获取 byte[] 数据 ( 内存缓存中的数据直接返回, 内部使用不可修改 )
+     * @param key         保存的 key
+     * @param memoryCache 读取磁盘后是否保存到内存缓存
+     * @return byte[]
+     */
+    private byte[] getBinary(final String key, final boolean memoryCache) {
+        return getBinary(key, memoryCache, false);
+    }
+
+    /**
+     * 获取 byte[] 数据
+     * @param key         保存的 key
+     * @param memoryCache 读取磁盘后是否保存到内存缓存
+     * @param copy        内存缓存、等待写入的数据是否返回副本
+     * @return byte[]
+     */
+    private byte[] getBinary(final String key, final boolean memoryCache, final boolean copy) {
+        if (memoryCache && mMemory != null) {
+            byte[] data = mMemory.getBytes(key);
+            if (data != null) return copy ? data.clone() : data;
+        }
+        CacheData cacheData = read(key);
+        if (cacheData == null) return null;
+        boolean retained = (cacheData.future != null);
+        if (memoryCache && mMemory != null) {
+            mMemory.putBytes(key, cacheData.data, cacheData.expireTime);
+            retained = true;
+        }
+        return (copy && retained) ? cacheData.data.clone() : cacheData.data;
+    }
+
+    // ====================
+    // = string 数据 读写 =
+    // ====================
+
+    /**
+     * 保存 String 数据到缓存中
+     * @param key   保存的 key
+     * @param value 保存的 String 数据
+     */
+    public void put(final String key, final String value) {
+        putString(key, value, -1, false);
+    }
+
+    /**
+     * 保存 String 数据到缓存中
+     * @param key      保存的 key
+     * @param value    保存的 String 数据
+     * @param saveTime 保存的时间, 单位: 秒
+     */
+    public void put(final String key, final String value, final int saveTime) {
+        putString(key, value, saveTime, false);
+    }
+
+    /**
+     * 异步保存 String 数据到缓存中
+     * @param key   保存的 key
+     * @param value 保存的 String 数据
+     * @return 写入结果 {@link Future}
+     */
+    public Future<Boolean> putAsync(final String key, final String value) {
+        return putString(key, value, -1, true);
+    }
+
+    /**
+     * 异步保存 String 数据到缓存中
+     * @param key      保存的 key
+     * @param value    保存的 String 数据
+     * @param saveTime 保存的时间, 单位: 秒
+     * @return 写入结果 {@link Future}
+     */
+    public Future<Boolean> putAsync(final String key, final String value, final int saveTime) {
+        return putString(key, value, saveTime, true);
+    }
+
+    /**
+     * 保存 String 数据到缓存中
+     * @param key      保存的 key
+     * @param value    保存的 String 数据
+     * @param saveTime 保存的时间, 单位: 秒, -1 则表示不过期
+     * @param async    是否异步写入
+     * @return 写入结果 {@link Future}, 同步写入则返回 null
+     */
+    private Future<Boolean> putString(final String key, final String value, final int saveTime, final boolean async) {
+        if (key == null || value == null) {
+            return async ? newFailedFuture() : null;
+        }
+        CacheData cacheData = write(key, value.getBytes(), saveTime, async);
+        if (mMemory != null) {
+            mMemory.putString(key, value, cacheData.expireTime);
+        }
+        return cacheData.future;
+    }
+
+    /**
+     * 读取 String 数据
+     * @param key 保存的 key
+     * @return 字符串数据
+     */
+    public String getAsString(final String key) {
+        if (mMemory != null) {
+            String value = mMemory.getString(key);
+            if (value != null) return value;
+        }
+        CacheData cacheData = read(key);
+        if (cacheData == null) {
+            return null;
+        }
+        String value = new String(cacheData.data);
+        if (mMemory != null) {
+            mMemory.putString(key, value, cacheData.expireTime);
         }
+        return value;
     }
 
     // ========================
@@ -400,31 +864,7 @@ public final class DevCache {
      * @param data 保存的数据
      */
     public void put(final String key, final byte[] data) {
-        if (key == null || data == null) {
-            return;
-        }
-        File file = mCache.newFile(key);
-        FileOutputStream fos = null;
-        try {
-            fos = new FileOutputStream(file);
-            fos.write(data);
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "put byte[]");
-        } finally {
-            if (fos != null) {
-                try {
-                    fos.flush();
-                } catch (Exception e) {
-                }
-            }
-            if (fos != null) {
-                try {
-                    fos.close();
-                } catch (Exception e) {
-                }
-            }
-            mCache.put(file);
-        }
+        putBytes(key, data, -1, false);
     }
 
     /**
@@ -436,23 +876,45 @@ public final class DevCache {
     public OutputStream put(final String key) throws FileNotFoundException {
         File file = mCache.newFile(key);
         if (file != null) {
-            return new xFileOutputStream(file);
+            // 直接写入文件, 移除内存缓存以及等待写入的数据
+            if (mMemory != null) {
+                mMemory.remove(key);
+            }
+            CacheData pending;
+            synchronized (mWriteLock) {
+                pending = removePending(key);
+            }
+            if (pending != null) {
+                pending.future.set(false);
+            }
+            xFileOutputStream fos = new xFileOutputStream(file);
+            try {
+                mCache.writeKeyHeader(fos, key);
+            } catch (IOException e) {
+                LogPrintUtils.eTag(TAG, e, "put OutputStream");
+                try {
+                    fos.close();
+                } catch (Exception ignore) {
+                }
+                return null;
+            }
+            return fos;
         }
         return null;
     }
 
     /**
-     * 获取对应 key 的 File 输入流
+     * 获取对应 key 的 File 输入流 ( 不包含头信息, 已过期则返回 null )
      * @param key 保存的 key
      * @return {@link InputStream}
      * @throws FileNotFoundException 文件不存在
      */
     public InputStream get(final String key) throws FileNotFoundException {
-        File file = mCache.get(key);
-        if (file != null && file.exists()) {
-            return new FileInputStream(file);
+        byte[] data = getMemoryData(key);
+        if (data != null) {
+            return new ByteArrayInputStream(data);
         }
-        return null;
+        return openPayload(key);
     }
 
     /**
@@ -462,7 +924,69 @@ public final class DevCache {
      * @param saveTime 保存的时间, 单位: 秒
      */
     public void put(final String key, final byte[] data, final int saveTime) {
-        put(key, DevCacheUtils.newByteArrayWithDateInfo(saveTime, data));
+        putBytes(key, data, saveTime, false);
+    }
+
+    /**
+     * 异步保存 byte 数据到缓存中
+     * @param key  保存的 key
+     * @param data 保存的数据
+     * @return 写入结果 {@link Future}
+     */
+    public Future<Boolean> putAsync(final String key, final byte[] data) {
+        return putBytes(key, data, -1, true);
+    }
+
+    /**
+     * 异步保存 byte 数据到缓存中
+     * @param key      保存的 key
+     * @param data     保存的数据
+     * @param saveTime 保存的时间, 单位: 秒
+     * @return 写入结果 {@link Future}
+     */
+    public Future<Boolean> putAsync(final String key, final byte[] data, final int saveTime) {
+        return putBytes(key, data, saveTime, true);
+    }
+
+    /**
+     * 保存调用方传入的 byte 数据
+     * <pre>
+     *     异步、延迟写入或内存缓存会持有数据, 先复制一份, 防止调用方之后修改数组影响缓存
+     * </pre>
+     * @param key      保存的 key
+     * @param data     保存的数据
+     * @param saveTime 保存的时间, 单位: 秒, -1 则表示不过期
+     * @param async    是否异步写入
+     * @return 写入结果 {@link Future}, 同步写入则返回 null
+     */
+    private Future<Boolean> putBytes(final String key, final byte[] data, final int saveTime, final boolean async) {
+        boolean retained = async || mWriteBehind || mMemory != null;
+        return putBinary(key, (retained && data != null) ? data.clone() : data, saveTime, true, async);
+    }
+
+    /**
+     * 保存 byte 数据到缓存中
+     * @param key         保存的 key
+     * @param data        保存的数据
+     * @param saveTime    保存的时间, 单位: 秒, -1 则表示不过期
+     * @param memoryCache 是否保存到内存缓存
+     * @param async       是否异步写入
+     * @return 写入结果 {@link Future}, 同步写入则返回 null
+     */
+    private Future<Boolean> putBinary(final String key, final byte[] data, final int saveTime,
+                                      final boolean memoryCache, final boolean async) {
+        if (key == null || data == null) {
+            return async ? newFailedFuture() : null;
+        }
+        CacheData cacheData = write(key, data, saveTime, async);
+        if (mMemory != null) {
+            if (memoryCache) {
+                mMemory.putBytes(key, data, cacheData.expireTime);
+            } else {
+                mMemory.remove(key);
+            }
+        }
+        return cacheData.future;
     }
 
     /**
@@ -471,35 +995,177 @@ public final class DevCache {
      * @return byte[]
      */
     public byte[] getAsBinary(final String key) {
-        RandomAccessFile raFile = null;
-        boolean removeFile = false;
+        // 内存缓存、等待写入的数据, 返回副本防止被修改
+        return getBinary(key, true, true);
+    }
+
+    /**
+     * 获取 byte[] 指定范围数据 ( 只读取指定范围, 不读取整个文件 )
+     * @param key    保存的 key
+     * @param offset 数据开始位置 ( 不包含头信息 )
+     * @param length 读取长度 ( 超出数据长度则读取到结尾 )
+     * @return byte[]
+     */
+    public byte[] getAsBinary(final String key, final long offset, final int length) {
+        if (offset < 0L || length < 0) return null;
+        byte[] data = getMemoryData(key);
+        if (data != null) {
+            if (offset > data.length) return null;
+            int count = (int) Math.min(length, data.length - offset);
+            byte[] range = new byte[count];
+            System.arraycopy(data, (int) offset, range, 0, count);
+            return range;
+        }
+        FileInputStream fis = openPayload(key);
+        if (fis == null) return null;
         try {
-            File file = mCache.get(key);
-            if (!file.exists())
-                return null;
-            raFile = new RandomAccessFile(file, "r");
-            byte[] byteArray = new byte[(int) raFile.length()];
-            raFile.read(byteArray);
-            if (!DevCacheUtils.isDue(byteArray)) {
-                return DevCacheUtils.clearDateInfo(byteArray);
-            } else {
-                LogPrintUtils.dTag(TAG, "getAsBinary - key: " + key + " => 文件已过期");
-                removeFile = true;
-                return null;
+            FileChannel channel = fis.getChannel();
+            long position = channel.position() + offset;
+            long size = channel.size();
+            if (position > size) return null;
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, size - position));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) == -1) break;
             }
+            return buffer.array();
         } catch (Exception e) {
             LogPrintUtils.eTag(TAG, e, "getAsBinary");
-            return null;
         } finally {
-            if (raFile != null) {
-                try {
-                    raFile.close();
-                } catch (Exception e) {
+            try {
+                fis.close();
+            } catch (Exception ignore) {
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取只读 ByteBuffer 数据 ( 内存映射文件, 不复制到 Java 堆 )
+     * <pre>
+     *     适用于较大的数据, 映射后关闭文件仍可访问, 不进行 CRC32 校验
+     * </pre>
+     * @param key 保存的 key
+     * @return {@link ByteBuffer}
+     */
+    public ByteBuffer getAsByteBuffer(final String key) {
+        byte[] data = getMemoryData(key);
+        if (data != null) {
+            return ByteBuffer.wrap(data).asReadOnlyBuffer();
+        }
+        FileInputStream fis = openPayload(key);
+        if (fis == null) return null;
+        try {
+            FileChannel channel = fis.getChannel();
+            long position = channel.position();
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, channel.size() - position);
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "getAsByteBuffer");
+        } finally {
+            try {
+                fis.close();
+            } catch (Exception ignore) {
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 将数据写入输出流 ( 通过 FileChannel.transferTo 传输, 不经过 byte[] 中转 )
+     * @param key 保存的 key
+     * @param os  {@link OutputStream}
+     * @return 写入的字节数, -1 则表示数据不存在、已过期或写入失败
+     */
+    public long transferTo(final String key, final OutputStream os) {
+        if (os == null) return -1L;
+        byte[] data = getMemoryData(key);
+        if (data != null) {
+            try {
+                os.write(data);
+                return data.length;
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "transferTo");
+                return -1L;
+            }
+        }
+        FileInputStream fis = openPayload(key);
+        if (fis == null) return -1L;
+        try {
+            FileChannel channel = fis.getChannel();
+            WritableByteChannel target = Channels.newChannel(os);
+            long position = channel.position();
+            long count = channel.size() - position;
+            long transferred = 0L;
+            while (transferred < count) {
+                long len = channel.transferTo(position + transferred, count - transferred, target);
+                if (len <= 0L) break;
+                transferred += len;
+            }
+            return transferred;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "transferTo");
+        } finally {
+            try {
+                fis.close();
+            } catch (Exception ignore) {
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * 获取等待写入或内存缓存中的数据 ( 内部使用不可修改 )
+     * @param key 保存的 key
+     * @return byte[]
+     */
+    private byte[] getMemoryData(final String key) {
+        if (key == null) return null;
+        CacheData pendingData = mPendingWrites.get(key);
+        if (pendingData != null) {
+            return DevCacheHeader.isDue(pendingData.expireTime) ? null : pendingData.data;
+        }
+        return (mMemory != null) ? mMemory.getBytes(key) : null;
+    }
+
+    /**
+     * 打开缓存文件并跳过头信息 ( 已过期则删除并返回 null )
+     * @param key 保存的 key
+     * @return {@link FileInputStream} 指向数据开始位置
+     */
+    private FileInputStream openPayload(final String key) {
+        File file = mCache.get(key);
+        if (file == null || !file.exists()) {
+            return null;
+        }
+        boolean removeFile = false;
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(file);
+            // 校验 key 头信息, 并跳过头信息
+            DevCacheHeader header = mCache.readHeader(fis.getChannel(), key);
+            if (header != null) {
+                if (header.isCorrupt()) {
+                    LogPrintUtils.dTag(TAG, "openPayload key: " + key + " => 文件已损坏");
+                    removeFile = true;
+                } else if (!header.isDue()) {
+                    return fis;
+                } else {
+                    LogPrintUtils.dTag(TAG, "openPayload key: " + key + " => 文件已过期");
+                    removeFile = true;
                 }
             }
-            if (removeFile)
-                remove(key);
+        } catch (IOException e) {
+            LogPrintUtils.eTag(TAG, e, "openPayload");
+        }
+        if (fis != null) {
+            try {
+                fis.close();
+            } catch (Exception ignore) {
+            }
         }
+        if (removeFile) {
+            remove(key);
+        }
+        return null;
     }
 
     // ====================
@@ -522,26 +1188,14 @@ public final class DevCache {
      * @param saveTime 保存的时间, 单位: 秒
      */
     public void put(final String key, final Serializable value, final int saveTime) {
-        ObjectOutputStream oos = null;
+        if (key == null) return;
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            oos = new ObjectOutputStream(baos);
-            oos.writeObject(value);
-            byte[] data = baos.toByteArray();
-            if (saveTime != -1) {
-                put(key, data, saveTime);
-            } else {
-                put(key, data);
+            byte[] data = (mSerializer != null) ? mSerializer.serialize(value) : javaSerialize(value);
+            if (data != null) {
+                putBinary(key, data, saveTime, true, false);
             }
         } catch (Exception e) {
             LogPrintUtils.eTag(TAG, e, "put");
-        } finally {
-            if (oos != null) {
-                try {
-                    oos.close();
-                } catch (Exception e) {
-                }
-            }
         }
     }
 
@@ -551,27 +1205,66 @@ public final class DevCache {
      * @return {@link Serializable} Object
      */
     public Object getAsObject(final String key) {
-        byte[] data = getAsBinary(key);
+        byte[] data = getBinary(key, true);
         if (data != null) {
-            ObjectInputStream ois = null;
             try {
-                ois = new ObjectInputStream(new ByteArrayInputStream(data));
-                return ois.readObject();
+                // 自动识别序列化方式
+                if (isJavaSerialization(data)) {
+                    return javaDeserialize(data);
+                } else if (mSerializer != null) {
+                    return mSerializer.deserialize(data);
+                } else if (DevCacheCodec.isCodecData(data)) {
+                    return sCodec.deserialize(data);
+                }
+                return javaDeserialize(data);
             } catch (Exception e) {
                 LogPrintUtils.eTag(TAG, e, "getAsObject");
-                return null;
-            } finally {
-                if (ois != null) {
-                    try {
-                        ois.close();
-                    } catch (Exception e) {
-                    }
-                }
             }
         }
         return null;
     }
 
+    /**
+     * 判断是否 Java 序列化数据 ( 0xACED 开头 )
+     * @param data 序列化数据
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean isJavaSerialization(final byte[] data) {
+        return data.length >= 2 && data[0] == (byte) 0xAC && data[1] == (byte) 0xED;
+    }
+
+    /**
+     * Java 序列化
+     * @param value 待序列化的对象
+     * @return 序列化后的数据
+     * @throws IOException 序列化异常
+     */
+    private static byte[] javaSerialize(final Serializable value) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        try {
+            oos.writeObject(value);
+        } finally {
+            oos.close();
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Java 反序列化
+     * @param data 序列化数据
+     * @return 反序列化后的对象
+     * @throws Exception 反序列化异常
+     */
+    private static Object javaDeserialize(final byte[] data) throws Exception {
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data));
+        try {
+            return ois.readObject();
+        } finally {
+            ois.close();
+        }
+    }
+
     // ====================
     // = bitmap 数据 读写 =
     // ====================
@@ -582,7 +1275,7 @@ public final class DevCache {
      * @param value 保存的 bitmap 数据
      */
     public void put(final String key, final Bitmap value) {
-        put(key, DevCacheUtils.bitmapToBytes(value));
+        put(key, value, -1);
     }
 
     /**
@@ -592,7 +1285,12 @@ public final class DevCache {
      * @param saveTime 保存的时间, 单位: 秒
      */
     public void put(final String key, final Bitmap value, final int saveTime) {
-        put(key, DevCacheUtils.bitmapToBytes(value), saveTime);
+        byte[] data = DevCacheUtils.bitmapToBytes(value);
+        if (data == null) return;
+        putBinary(key, data, saveTime, false, false);
+        if (mMemory != null) {
+            mMemory.putBitmap(key, value, DevCacheHeader.getExpireTime(saveTime));
+        }
     }
 
     /**
@@ -601,9 +1299,17 @@ public final class DevCache {
      * @return {@link Bitmap}
      */
     public Bitmap getAsBitmap(final String key) {
-        byte[] data = getAsBinary(key);
-        if (data == null) return null;
-        return DevCacheUtils.bytesToBitmap(data);
+        if (mMemory != null) {
+            Bitmap bitmap = mMemory.getBitmap(key);
+            if (bitmap != null) return bitmap;
+        }
+        CacheData cacheData = read(key);
+        if (cacheData == null) return null;
+        Bitmap bitmap = DevCacheUtils.bytesToBitmap(cacheData.data);
+        if (bitmap != null && mMemory != null) {
+            mMemory.putBitmap(key, bitmap, cacheData.expireTime);
+        }
+        return bitmap;
     }
 
     // ======================
@@ -635,13 +1341,13 @@ public final class DevCache {
      * @return {@link Drawable}
      */
     public Drawable getAsDrawable(final String key) {
-        byte[] data = getAsBinary(key);
-        if (data == null) return null;
-        return DevCacheUtils.bitmapToDrawable(DevCacheUtils.bytesToBitmap(data));
+        Bitmap bitmap = getAsBitmap(key);
+        if (bitmap == null) return null;
+        return DevCacheUtils.bitmapToDrawable(bitmap);
     }
 
     /**
-     * 获取缓存文件
+     * 获取缓存文件 ( 摘要目录结构下, 文件开头包含 key 头信息 )
      * @param key 保存的 key
      * @return 缓存的文件
      */
@@ -659,13 +1365,146 @@ public final class DevCache {
      * @return {@code true} yes, {@code false} no
      */
     public boolean remove(final String key) {
-        return mCache.remove(key);
+        if (key == null) return false;
+        if (mMemory != null) {
+            mMemory.remove(key);
+        }
+        if (mPendingWrites.isEmpty()) {
+            return mCache.remove(key);
+        }
+        CacheData pending;
+        boolean result;
+        synchronized (mWriteLock) {
+            pending = removePending(key);
+            result = mCache.remove(key) || pending != null;
+        }
+        if (pending != null) {
+            pending.future.set(false);
+        }
+        return result;
     }
 
     /**
      * 清除所有数据
      */
     public void clear() {
-        mCache.clear();
+        if (mMemory != null) {
+            mMemory.clear();
+        }
+        if (mPendingWrites.isEmpty()) {
+            mCache.clear();
+            return;
+        }
+        List<CacheData> pendings;
+        synchronized (mWriteLock) {
+            synchronized (mPendingWrites) {
+                pendings = new ArrayList<>(mPendingWrites.values());
+                mPendingWrites.clear();
+            }
+            mCache.clear();
+        }
+        for (CacheData pending : pendings) {
+            pending.future.set(false);
+        }
+    }
+
+    /**
+     * 等待异步、延迟写入的数据全部写入磁盘
+     * <pre>
+     *     阻塞当前线程直到调用前保存的数据写入完成, 不可在后台写入线程中调用
+     * </pre>
+     * @return {@code true} 写入完成, {@code false} 等待被中断
+     */
+    public boolean flush() {
+        try {
+            // 写入线程按顺序执行, 该任务执行时之前提交的写入任务已完成
+            sWriteExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                }
+            }).get();
+            return true;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "flush");
+            return false;
+        }
+    }
+
+    /**
+     * 关闭缓存 ( 写入全部等待写入的数据, 并关闭 journal 文件 )
+     * <pre>
+     *     关闭后移除该缓存地址的缓存对象, 如需继续使用需重新获取
+     * </pre>
+     */
+    public void close() {
+        flush();
+        synchronized (DevCache.class) {
+            Iterator<Map.Entry<String, DevCache>> iterator = sInstanceMaps.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().getValue() == this) {
+                    iterator.remove();
+                }
+            }
+        }
+        mCache.close();
+    }
+
+    /**
+     * 清除已过期的数据 ( 后台线程中只读取文件开头判断是否过期 )
+     */
+    public void sweepExpired() {
+        mCache.sweepExpired();
+    }
+
+    /**
+     * 获取总缓存大小
+     * @return 总缓存大小
+     */
+    public long getCacheSize() {
+        return mCache.getCacheSize();
+    }
+
+    /**
+     * 获取缓存文件总数
+     * @return 缓存文件总数
+     */
+    public int getCacheCount() {
+        return mCache.getCacheCount();
+    }
+
+    // ============
+    // = 内存缓存 =
+    // ============
+
+    /**
+     * 获取内存缓存命中次数 ( String、byte[]、序列化数据 )
+     * @return 命中次数
+     */
+    public long getMemoryHitCount() {
+        return (mMemory != null) ? mMemory.getHitCount() : 0L;
+    }
+
+    /**
+     * 获取内存缓存未命中次数 ( String、byte[]、序列化数据 )
+     * @return 未命中次数
+     */
+    public long getMemoryMissCount() {
+        return (mMemory != null) ? mMemory.getMissCount() : 0L;
+    }
+
+    /**
+     * 获取 Bitmap 缓存池命中次数
+     * @return 命中次数
+     */
+    public long getBitmapHitCount() {
+        return (mMemory != null) ? mMemory.getBitmapHitCount() : 0L;
+    }
+
+    /**
+     * 获取 Bitmap 缓存池未命中次数
+     * @return 未命中次数
+     */
+    public long getBitmapMissCount() {
+        return (mMemory != null) ? mMemory.getBitmapMissCount() : 0L;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,1007 @@
+package dev.utils.app.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.Externalizable;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * detail: 缓存紧凑序列化实现
+ * @author Ttt
+ * <pre>
+ *     数据格式: 标识 DEVS + 版本号 + 数据
+ *     对象按字段顺序 ( 父类在前, 同一类按字段名排序 ) 写入字段值, 不写入字段名以及类型信息
+ *     类描述 ( 字段列表、无参构造函数 ) 全局缓存只反射一次, 同一数据中类名只写入一次, 之后写入索引
+ *     <p></p>
+ *     支持基本类型及包装类、String、枚举、数组、ArrayList、LinkedList、HashMap、TreeMap、HashSet、LinkedHashSet、TreeSet
+ *     以及存在无参构造函数的 Serializable 类, 支持共享引用以及循环引用
+ *     其他类型 ( 自定义 writeObject、writeReplace 等, 无无参构造函数, 系统类 ) 单独使用 Java 序列化写入该对象
+ *     <p></p>
+ *     注意: 反序列化时调用无参构造函数创建对象 ( transient 字段为构造函数初始化的值 )
+ *     类字段变更后 ( 字段签名不一致 ) 无法读取旧数据, 读取失败视为未缓存
+ * </pre>
+ */
+public final class DevCacheCodec implements ICacheSerializer {
+
+    // 数据标识
+    private static final byte[] MAGIC = {'D', 'E', 'V', 'S'};
+    // 版本号
+    private static final byte VERSION = 1;
+    // UTF-8 编码
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    // 数据标记
+    private static final int T_NULL = 0;
+    private static final int T_REF = 1;
+    private static final int T_TRUE = 2;
+    private static final int T_FALSE = 3;
+    private static final int T_BYTE = 4;
+    private static final int T_SHORT = 5;
+    private static final int T_CHAR = 6;
+    private static final int T_INT = 7;
+    private static final int T_LONG = 8;
+    private static final int T_FLOAT = 9;
+    private static final int T_DOUBLE = 10;
+    private static final int T_STRING = 11;
+    private static final int T_ENUM = 12;
+    private static final int T_OBJECT = 13;
+    private static final int T_ARRAY = 14;
+    private static final int T_BOOLEAN_ARRAY = 15;
+    private static final int T_BYTE_ARRAY = 16;
+    private static final int T_SHORT_ARRAY = 17;
+    private static final int T_CHAR_ARRAY = 18;
+    private static final int T_INT_ARRAY = 19;
+    private static final int T_LONG_ARRAY = 20;
+    private static final int T_FLOAT_ARRAY = 21;
+    private static final int T_DOUBLE_ARRAY = 22;
+    private static final int T_LIST = 23;
+    private static final int T_SET = 24;
+    private static final int T_MAP = 25;
+    private static final int T_JAVA = 26;
+
+    // 集合类型
+    private static final int K_ARRAY_LIST = 0;
+    private static final int K_LINKED_LIST = 1;
+    private static final int K_HASH_SET = 0;
+    private static final int K_LINKED_HASH_SET = 1;
+    private static final int K_TREE_SET = 2;
+    private static final int K_HASH_MAP = 0;
+    private static final int K_TREE_MAP = 1;
+
+    // 字段类型 ( 引用类型为 -1 )
+    private static final int P_REF = -1;
+    private static final int P_BOOLEAN = 0;
+    private static final int P_BYTE = 1;
+    private static final int P_SHORT = 2;
+    private static final int P_CHAR = 3;
+    private static final int P_INT = 4;
+    private static final int P_LONG = 5;
+    private static final int P_FLOAT = 6;
+    private static final int P_DOUBLE = 7;
+
+    // 类描述缓存
+    private static final ConcurrentHashMap<Class<?>, ClassDescriptor> sDescriptors = new ConcurrentHashMap<>();
+    // 类加载器
+    private final ClassLoader mClassLoader;
+    // 类名缓存
+    private final ConcurrentHashMap<String, Class<?>> mClassCache = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数 ( 使用当前类的类加载器 )
+     */
+    public DevCacheCodec() {
+        this(DevCacheCodec.class.getClassLoader());
+    }
+
+    /**
+     * 构造函数
+     * @param classLoader 反序列化时加载类使用的类加载器
+     */
+    public DevCacheCodec(final ClassLoader classLoader) {
+        this.mClassLoader = classLoader;
+    }
+
+    /**
+     * 判断是否 {@link DevCacheCodec} 序列化数据
+     * @param data 序列化数据
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isCodecData(final byte[] data) {
+        if (data == null || data.length <= MAGIC.length) return false;
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) return false;
+        }
+        return data[MAGIC.length] == VERSION;
+    }
+
+    @Override
+    public byte[] serialize(final Serializable value) throws Exception {
+        Output out = new Output();
+        out.writeBytes(MAGIC, 0, MAGIC.length);
+        out.writeByte(VERSION);
+        writeValue(out, value);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(final byte[] data) throws Exception {
+        if (!isCodecData(data)) {
+            throw new StreamCorruptedException("invalid DevCacheCodec header");
+        }
+        return readValue(new Input(data, MAGIC.length + 1));
+    }
+
+    // ==========
+    // = 类描述 =
+    // ==========
+
+    /**
+     * detail: 类描述 ( 字段列表、无参构造函数 )
+     * @author Ttt
+     */
+    private static final class ClassDescriptor {
+
+        // 是否支持按字段写入
+        final boolean supported;
+        // 无参构造函数
+        final Constructor<?> constructor;
+        // 写入的字段
+        final Field[] fields;
+        // 字段类型
+        final int[] types;
+        // 字段签名 ( 字段名以及类型 )
+        final int signature;
+
+        ClassDescriptor(final Constructor<?> constructor, final Field[] fields) {
+            this.supported = (constructor != null);
+            this.constructor = constructor;
+            this.fields = fields;
+            this.types = new int[fields.length];
+            int signature = 1;
+            for (int i = 0; i < fields.length; i++) {
+                Class<?> type = fields[i].getType();
+                types[i] = getPrimitiveType(type);
+                signature = 31 * signature + fields[i].getName().hashCode();
+                signature = 31 * signature + type.getName().hashCode();
+            }
+            this.signature = signature;
+        }
+    }
+
+    /**
+     * 获取类描述
+     * @param clazz 类
+     * @return {@link ClassDescriptor}
+     */
+    private static ClassDescriptor getDescriptor(final Class<?> clazz) {
+        ClassDescriptor descriptor = sDescriptors.get(clazz);
+        if (descriptor == null) {
+            descriptor = createDescriptor(clazz);
+            sDescriptors.put(clazz, descriptor);
+        }
+        return descriptor;
+    }
+
+    /**
+     * 创建类描述
+     * @param clazz 类
+     * @return {@link ClassDescriptor}
+     */
+    private static ClassDescriptor createDescriptor(final Class<?> clazz) {
+        if (!isSupportedClass(clazz)) {
+            return new ClassDescriptor(null, new Field[0]);
+        }
+        Constructor<?> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (Exception e) {
+            return new ClassDescriptor(null, new Field[0]);
+        }
+        // 父类字段在前
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = clazz; c != null && Serializable.class.isAssignableFrom(c); c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c : hierarchy) {
+            Field[] declaredFields = c.getDeclaredFields();
+            Arrays.sort(declaredFields, new Comparator<Field>() {
+                @Override
+                public int compare(Field f1, Field f2) {
+                    return f1.getName().compareTo(f2.getName());
+                }
+            });
+            for (Field field : declaredFields) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) continue;
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        return new ClassDescriptor(constructor, fields.toArray(new Field[fields.size()]));
+    }
+
+    /**
+     * 判断是否支持按字段写入
+     * @param clazz 类
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean isSupportedClass(final Class<?> clazz) {
+        if (!Serializable.class.isAssignableFrom(clazz) || Externalizable.class.isAssignableFrom(clazz)) return false;
+        if (clazz.isInterface() || clazz.isArray() || clazz.isEnum() || Modifier.isAbstract(clazz.getModifiers())) return false;
+        String name = clazz.getName();
+        if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("android.")) return false;
+        // 自定义序列化方式则使用 Java 序列化
+        for (Class<?> c = clazz; c != null && Serializable.class.isAssignableFrom(c); c = c.getSuperclass()) {
+            if (hasMethod(c, "writeObject", ObjectOutputStream.class)
+                    || hasMethod(c, "readObject", ObjectInputStream.class)
+                    || hasMethod(c, "readObjectNoData")
+                    || hasMethod(c, "writeReplace")
+                    || hasMethod(c, "readResolve")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判断类是否声明指定方法
+     * @param clazz          类
+     * @param name           方法名
+     * @param parameterTypes 参数类型
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean hasMethod(final Class<?> clazz, final String name, final Class<?>... parameterTypes) {
+        try {
+            clazz.getDeclaredMethod(name, parameterTypes);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取字段类型
+     * @param type 字段类
+     * @return 字段类型
+     */
+    private static int getPrimitiveType(final Class<?> type) {
+        if (!type.isPrimitive()) return P_REF;
+        if (type == boolean.class) return P_BOOLEAN;
+        if (type == byte.class) return P_BYTE;
+        if (type == short.class) return P_SHORT;
+        if (type == char.class) return P_CHAR;
+        if (type == int.class) return P_INT;
+        if (type == long.class) return P_LONG;
+        if (type == float.class) return P_FLOAT;
+        return P_DOUBLE;
+    }
+
+    // ========
+    // = 写入 =
+    // ========
+
+    /**
+     * 写入数据
+     * @param out   {@link Output}
+     * @param value 数据
+     * @throws Exception 写入异常
+     */
+    private void writeValue(final Output out, final Object value) throws Exception {
+        if (value == null) {
+            out.writeByte(T_NULL);
+            return;
+        }
+        Class<?> clazz = value.getClass();
+        if (clazz == String.class) {
+            out.writeByte(T_STRING);
+            out.writeString((String) value);
+        } else if (clazz == Integer.class) {
+            out.writeByte(T_INT);
+            out.writeVarInt(zigZag((Integer) value));
+        } else if (clazz == Long.class) {
+            out.writeByte(T_LONG);
+            out.writeVarLong(zigZag((Long) value));
+        } else if (clazz == Boolean.class) {
+            out.writeByte((Boolean) value ? T_TRUE : T_FALSE);
+        } else if (clazz == Double.class) {
+            out.writeByte(T_DOUBLE);
+            out.writeLong(Double.doubleToLongBits((Double) value));
+        } else if (clazz == Float.class) {
+            out.writeByte(T_FLOAT);
+            out.writeInt(Float.floatToIntBits((Float) value));
+        } else if (clazz == Byte.class) {
+            out.writeByte(T_BYTE);
+            out.writeByte((Byte) value);
+        } else if (clazz == Short.class) {
+            out.writeByte(T_SHORT);
+            out.writeVarInt(zigZag((Short) value));
+        } else if (clazz == Character.class) {
+            out.writeByte(T_CHAR);
+            out.writeVarInt((Character) value);
+        } else if (value instanceof Enum) {
+            out.writeByte(T_ENUM);
+            writeClass(out, ((Enum<?>) value).getDeclaringClass());
+            out.writeString(((Enum<?>) value).name());
+        } else {
+            Integer handle = out.handles.get(value);
+            if (handle != null) {
+                out.writeByte(T_REF);
+                out.writeVarInt(handle);
+                return;
+            }
+            out.handles.put(value, out.handles.size());
+            if (clazz.isArray()) {
+                writeArray(out, value, clazz.getComponentType());
+            } else if (!writeCollection(out, value, clazz)) {
+                ClassDescriptor descriptor = getDescriptor(clazz);
+                if (descriptor.supported) {
+                    out.writeByte(T_OBJECT);
+                    writeClass(out, clazz);
+                    writeFields(out, value, descriptor);
+                } else {
+                    writeJava(out, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * 写入类 ( 同一数据中类名只写入一次 )
+     * @param out   {@link Output}
+     * @param clazz 类
+     */
+    private void writeClass(final Output out, final Class<?> clazz) {
+        Integer index = out.classes.get(clazz);
+        if (index != null) {
+            out.writeVarInt(index + 1);
+            return;
+        }
+        out.classes.put(clazz, out.classes.size());
+        out.writeVarInt(0);
+        out.writeString(clazz.getName());
+        out.writeInt(getDescriptor(clazz).signature);
+    }
+
+    /**
+     * 按字段顺序写入字段值
+     * @param out        {@link Output}
+     * @param value      对象
+     * @param descriptor {@link ClassDescriptor}
+     * @throws Exception 写入异常
+     */
+    private void writeFields(final Output out, final Object value, final ClassDescriptor descriptor) throws Exception {
+        Field[] fields = descriptor.fields;
+        int[] types = descriptor.types;
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            switch (types[i]) {
+                case P_BOOLEAN:
+                    out.writeByte(field.getBoolean(value) ? 1 : 0);
+                    break;
+                case P_BYTE:
+                    out.writeByte(field.getByte(value));
+                    break;
+                case P_SHORT:
+                    out.writeVarInt(zigZag(field.getShort(value)));
+                    break;
+                case P_CHAR:
+                    out.writeVarInt(field.getChar(value));
+                    break;
+                case P_INT:
+                    out.writeVarInt(zigZag(field.getInt(value)));
+                    break;
+                case P_LONG:
+                    out.writeVarLong(zigZag(field.getLong(value)));
+                    break;
+                case P_FLOAT:
+                    out.writeInt(Float.floatToIntBits(field.getFloat(value)));
+                    break;
+                case P_DOUBLE:
+                    out.writeLong(Double.doubleToLongBits(field.getDouble(value)));
+                    break;
+                default:
+                    writeValue(out, field.get(value));
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 写入数组
+     * @param out           {@link Output}
+     * @param value         数组
+     * @param componentType 数组元素类型
+     * @throws Exception 写入异常
+     */
+    private void writeArray(final Output out, final Object value, final Class<?> componentType) throws Exception {
+        if (componentType == byte.class) {
+            byte[] array = (byte[]) value;
+            out.writeByte(T_BYTE_ARRAY);
+            out.writeVarInt(array.length);
+            out.writeBytes(array, 0, array.length);
+        } else if (componentType == int.class) {
+            int[] array = (int[]) value;
+            out.writeByte(T_INT_ARRAY);
+            out.writeVarInt(array.length);
+            for (int v : array) out.writeVarInt(zigZag(v));
+        } else if (componentType == long.class) {
+            long[] array = (long[]) value;
+            out.writeByte(T_LONG_ARRAY);
+            out.writeVarInt(array.length);
+            for (long v : array) out.writeVarLong(zigZag(v));
+        } else if (componentType == boolean.class) {
+            boolean[] array = (boolean[]) value;
+            out.writeByte(T_BOOLEAN_ARRAY);
+            out.writeVarInt(array.length);
+            for (boolean v : array) out.writeByte(v ? 1 : 0);
+        } else if (componentType == short.class) {
+            short[] array = (short[]) value;
+            out.writeByte(T_SHORT_ARRAY);
+            out.writeVarInt(array.length);
+            for (short v : array) out.writeVarInt(zigZag(v));
+        } else if (componentType == char.class) {
+            char[] array = (char[]) value;
+            out.writeByte(T_CHAR_ARRAY);
+            out.writeVarInt(array.length);
+            for (char v : array) out.writeVarInt(v);
+        } else if (componentType == float.class) {
+            float[] array = (float[]) value;
+            out.writeByte(T_FLOAT_ARRAY);
+            out.writeVarInt(array.length);
+            for (float v : array) out.writeInt(Float.floatToIntBits(v));
+        } else if (componentType == double.class) {
+            double[] array = (double[]) value;
+            out.writeByte(T_DOUBLE_ARRAY);
+            out.writeVarInt(array.length);
+            for (double v : array) out.writeLong(Double.doubleToLongBits(v));
+        } else {
+            Object[] array = (Object[]) value;
+            out.writeByte(T_ARRAY);
+            writeClass(out, componentType);
+            out.writeVarInt(array.length);
+            for (Object v : array) writeValue(out, v);
+        }
+    }
+
+    /**
+     * 写入集合 ( 只处理指定的集合类型 )
+     * @param out   {@link Output}
+     * @param value 集合
+     * @param clazz 集合类
+     * @return {@code true} 已写入, {@code false} 不支持的集合类型
+     * @throws Exception 写入异常
+     */
+    private boolean writeCollection(final Output out, final Object value, final Class<?> clazz) throws Exception {
+        int tag;
+        int kind;
+        if (clazz == ArrayList.class) {
+            tag = T_LIST;
+            kind = K_ARRAY_LIST;
+        } else if (clazz == HashMap.class) {
+            tag = T_MAP;
+            kind = K_HASH_MAP;
+        } else if (clazz == HashSet.class) {
+            tag = T_SET;
+            kind = K_HASH_SET;
+        } else if (clazz == LinkedList.class) {
+            tag = T_LIST;
+            kind = K_LINKED_LIST;
+        } else if (clazz == LinkedHashSet.class) {
+            tag = T_SET;
+            kind = K_LINKED_HASH_SET;
+        } else if (clazz == TreeSet.class && ((TreeSet<?>) value).comparator() == null) {
+            tag = T_SET;
+            kind = K_TREE_SET;
+        } else if (clazz == TreeMap.class && ((TreeMap<?, ?>) value).comparator() == null) {
+            tag = T_MAP;
+            kind = K_TREE_MAP;
+        } else {
+            return false;
+        }
+        out.writeByte(tag);
+        out.writeByte(kind);
+        if (tag == T_MAP) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            Collection<?> collection = (Collection<?>) value;
+            out.writeVarInt(collection.size());
+            for (Object v : collection) {
+                writeValue(out, v);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 使用 Java 序列化写入对象
+     * @param out   {@link Output}
+     * @param value 对象
+     * @throws Exception 写入异常
+     */
+    private void writeJava(final Output out, final Object value) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        try {
+            oos.writeObject(value);
+        } finally {
+            oos.close();
+        }
+        byte[] data = baos.toByteArray();
+        out.writeByte(T_JAVA);
+        out.writeVarInt(data.length);
+        out.writeBytes(data, 0, data.length);
+    }
+
+    // ========
+    // = 读取 =
+    // ========
+
+    /**
+     * 读取数据
+     * @param in {@link Input}
+     * @return 数据
+     * @throws Exception 读取异常
+     */
+    @SuppressWarnings("unchecked")
+    private Object readValue(final Input in) throws Exception {
+        int tag = in.readByte();
+        switch (tag) {
+            case T_NULL:
+                return null;
+            case T_REF:
+                int handle = in.readVarInt();
+                if (handle < 0 || handle >= in.handles.size()) {
+                    throw new StreamCorruptedException("invalid handle " + handle);
+                }
+                return in.handles.get(handle);
+            case T_TRUE:
+                return Boolean.TRUE;
+            case T_FALSE:
+                return Boolean.FALSE;
+            case T_BYTE:
+                return (byte) in.readByte();
+            case T_SHORT:
+                return (short) unZigZag(in.readVarInt());
+            case T_CHAR:
+                return (char) in.readVarInt();
+            case T_INT:
+                return unZigZag(in.readVarInt());
+            case T_LONG:
+                return unZigZag(in.readVarLong());
+            case T_FLOAT:
+                return Float.intBitsToFloat(in.readInt());
+            case T_DOUBLE:
+                return Double.longBitsToDouble(in.readLong());
+            case T_STRING:
+                return in.readString();
+            case T_ENUM:
+                Class enumClass = readClass(in);
+                return Enum.valueOf(enumClass, in.readString());
+            case T_OBJECT:
+                Class<?> clazz = readClass(in);
+                ClassDescriptor descriptor = getDescriptor(clazz);
+                if (!descriptor.supported) {
+                    throw new InvalidClassException(clazz.getName(), "unsupported class");
+                }
+                Object value = descriptor.constructor.newInstance();
+                in.handles.add(value);
+                readFields(in, value, descriptor);
+                return value;
+            case T_LIST:
+            case T_SET:
+            case T_MAP:
+                return readCollection(in, tag);
+            case T_JAVA:
+                byte[] data = in.readBytes(in.readVarInt());
+                ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data));
+                try {
+                    Object object = ois.readObject();
+                    in.handles.add(object);
+                    return object;
+                } finally {
+                    ois.close();
+                }
+            default:
+                return readArray(in, tag);
+        }
+    }
+
+    /**
+     * 读取类 ( 校验字段签名 )
+     * @param in {@link Input}
+     * @return 类
+     * @throws Exception 读取异常
+     */
+    private Class<?> readClass(final Input in) throws Exception {
+        int index = in.readVarInt();
+        if (index > 0) {
+            if (index > in.classes.size()) {
+                throw new StreamCorruptedException("invalid class index " + index);
+            }
+            return in.classes.get(index - 1);
+        }
+        String name = in.readString();
+        int signature = in.readInt();
+        Class<?> clazz = mClassCache.get(name);
+        if (clazz == null) {
+            clazz = Class.forName(name, false, mClassLoader);
+            mClassCache.put(name, clazz);
+        }
+        if (getDescriptor(clazz).signature != signature) {
+            throw new InvalidClassException(name, "fields changed");
+        }
+        in.classes.add(clazz);
+        return clazz;
+    }
+
+    /**
+     * 按字段顺序读取字段值
+     * @param in         {@link Input}
+     * @param value      对象
+     * @param descriptor {@link ClassDescriptor}
+     * @throws Exception 读取异常
+     */
+    private void readFields(final Input in, final Object value, final ClassDescriptor descriptor) throws Exception {
+        Field[] fields = descriptor.fields;
+        int[] types = descriptor.types;
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            switch (types[i]) {
+                case P_BOOLEAN:
+                    field.setBoolean(value, in.readByte() != 0);
+                    break;
+                case P_BYTE:
+                    field.setByte(value, (byte) in.readByte());
+                    break;
+                case P_SHORT:
+                    field.setShort(value, (short) unZigZag(in.readVarInt()));
+                    break;
+                case P_CHAR:
+                    field.setChar(value, (char) in.readVarInt());
+                    break;
+                case P_INT:
+                    field.setInt(value, unZigZag(in.readVarInt()));
+                    break;
+                case P_LONG:
+                    field.setLong(value, unZigZag(in.readVarLong()));
+                    break;
+                case P_FLOAT:
+                    field.setFloat(value, Float.intBitsToFloat(in.readInt()));
+                    break;
+                case P_DOUBLE:
+                    field.setDouble(value, Double.longBitsToDouble(in.readLong()));
+                    break;
+                default:
+                    field.set(value, readValue(in));
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 读取数组
+     * @param in  {@link Input}
+     * @param tag 数据标记
+     * @return 数组
+     * @throws Exception 读取异常
+     */
+    private Object readArray(final Input in, final int tag) throws Exception {
+        if (tag == T_ARRAY) {
+            Class<?> componentType = readClass(in);
+            int length = in.readLength();
+            Object[] array = (Object[]) Array.newInstance(componentType, length);
+            in.handles.add(array);
+            for (int i = 0; i < length; i++) {
+                array[i] = readValue(in);
+            }
+            return array;
+        }
+        int length = in.readLength();
+        Object value;
+        switch (tag) {
+            case T_BYTE_ARRAY:
+                value = in.readBytes(length);
+                break;
+            case T_INT_ARRAY:
+                int[] ints = new int[length];
+                for (int i = 0; i < length; i++) ints[i] = unZigZag(in.readVarInt());
+                value = ints;
+                break;
+            case T_LONG_ARRAY:
+                long[] longs = new long[length];
+                for (int i = 0; i < length; i++) longs[i] = unZigZag(in.readVarLong());
+                value = longs;
+                break;
+            case T_BOOLEAN_ARRAY:
+                boolean[] booleans = new boolean[length];
+                for (int i = 0; i < length; i++) booleans[i] = in.readByte() != 0;
+                value = booleans;
+                break;
+            case T_SHORT_ARRAY:
+                short[] shorts = new short[length];
+                for (int i = 0; i < length; i++) shorts[i] = (short) unZigZag(in.readVarInt());
+                value = shorts;
+                break;
+            case T_CHAR_ARRAY:
+                char[] chars = new char[length];
+                for (int i = 0; i < length; i++) chars[i] = (char) in.readVarInt();
+                value = chars;
+                break;
+            case T_FLOAT_ARRAY:
+                float[] floats = new float[length];
+                for (int i = 0; i < length; i++) floats[i] = Float.intBitsToFloat(in.readInt());
+                value = floats;
+                break;
+            case T_DOUBLE_ARRAY:
+                double[] doubles = new double[length];
+                for (int i = 0; i < length; i++) doubles[i] = Double.longBitsToDouble(in.readLong());
+                value = doubles;
+                break;
+            default:
+                throw new StreamCorruptedException("invalid tag " + tag);
+        }
+        in.handles.add(value);
+        return value;
+    }
+
+    /**
+     * 读取集合
+     * @param in  {@link Input}
+     * @param tag 数据标记
+     * @return 集合
+     * @throws Exception 读取异常
+     */
+    @SuppressWarnings("unchecked")
+    private Object readCollection(final Input in, final int tag) throws Exception {
+        int kind = in.readByte();
+        int size = in.readLength();
+        if (tag == T_MAP) {
+            Map<Object, Object> map;
+            if (kind == K_HASH_MAP) {
+                map = new HashMap<>(Math.max((int) (size / .75f) + 1, 16));
+            } else if (kind == K_TREE_MAP) {
+                map = new TreeMap<>();
+            } else {
+                throw new StreamCorruptedException("invalid map kind " + kind);
+            }
+            in.handles.add(map);
+            for (int i = 0; i < size; i++) {
+                Object key = readValue(in);
+                map.put(key, readValue(in));
+            }
+            return map;
+        }
+        Collection<Object> collection;
+        if (tag == T_LIST && kind == K_ARRAY_LIST) {
+            collection = new ArrayList<>(size);
+        } else if (tag == T_LIST && kind == K_LINKED_LIST) {
+            collection = new LinkedList<>();
+        } else if (tag == T_SET && kind == K_HASH_SET) {
+            collection = new HashSet<>(Math.max((int) (size / .75f) + 1, 16));
+        } else if (tag == T_SET && kind == K_LINKED_HASH_SET) {
+            collection = new LinkedHashSet<>(Math.max((int) (size / .75f) + 1, 16));
+        } else if (tag == T_SET && kind == K_TREE_SET) {
+            collection = new TreeSet<>();
+        } else {
+            throw new StreamCorruptedException("invalid collection kind " + kind);
+        }
+        in.handles.add(collection);
+        for (int i = 0; i < size; i++) {
+            collection.add(readValue(in));
+        }
+        return collection;
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    private static int zigZag(final int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int unZigZag(final int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * detail: 写入缓冲区
+     * @author Ttt
+     */
+    private static final class Output {
+
+        // 已写入的对象引用
+        final IdentityHashMap<Object, Integer> handles = new IdentityHashMap<>();
+        // 已写入的类
+        final HashMap<Class<?>, Integer> classes = new HashMap<>();
+        // 数据
+        byte[] buffer = new byte[256];
+        // 数据长度
+        int count;
+
+        void ensureCapacity(final int length) {
+            if (count + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, count + length));
+            }
+        }
+
+        void writeByte(final int value) {
+            ensureCapacity(1);
+            buffer[count++] = (byte) value;
+        }
+
+        void writeBytes(final byte[] data, final int offset, final int length) {
+            ensureCapacity(length);
+            System.arraycopy(data, offset, buffer, count, length);
+            count += length;
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[count++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0L) {
+                buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[count++] = (byte) value;
+        }
+
+        void writeInt(final int value) {
+            ensureCapacity(4);
+            buffer[count++] = (byte) (value >>> 24);
+            buffer[count++] = (byte) (value >>> 16);
+            buffer[count++] = (byte) (value >>> 8);
+            buffer[count++] = (byte) value;
+        }
+
+        void writeLong(final long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeString(final String value) {
+            int length = value.length();
+            for (int i = 0; i < length; i++) {
+                if (value.charAt(i) >= 0x80) {
+                    byte[] data = value.getBytes(UTF_8);
+                    writeVarInt(data.length);
+                    writeBytes(data, 0, data.length);
+                    return;
+                }
+            }
+            // ASCII 直接写入
+            writeVarInt(length);
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                buffer[count++] = (byte) value.charAt(i);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, count);
+        }
+    }
+
+    /**
+     * detail: 读取缓冲区
+     * @author Ttt
+     */
+    private static final class Input {
+
+        // 已读取的对象引用
+        final List<Object> handles = new ArrayList<>();
+        // 已读取的类
+        final List<Class<?>> classes = new ArrayList<>();
+        // 数据
+        final byte[] buffer;
+        // 读取位置
+        int position;
+
+        Input(final byte[] buffer, final int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        int readByte() throws EOFException {
+            if (position >= buffer.length) throw new EOFException();
+            return buffer[position++];
+        }
+
+        byte[] readBytes(final int length) throws EOFException {
+            if (length < 0 || length > buffer.length - position) throw new EOFException();
+            byte[] data = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return data;
+        }
+
+        int readVarInt() throws EOFException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            return value;
+        }
+
+        long readVarLong() throws EOFException {
+            long value = 0L;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            return value;
+        }
+
+        int readLength() throws EOFException {
+            int length = readVarInt();
+            // 每个元素至少占用 1 字节, 防止数据损坏时创建过大的数组
+            if (length < 0 || length > buffer.length - position) throw new EOFException();
+            return length;
+        }
+
+        int readInt() throws EOFException {
+            return (readByte() << 24) | ((readByte() & 0xFF) << 16) | ((readByte() & 0xFF) << 8) | (readByte() & 0xFF);
+        }
+
+        long readLong() throws EOFException {
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        String readString() throws EOFException {
+            int length = readVarInt();
+            if (length < 0 || length > buffer.length - position) throw new EOFException();
+            String value = new String(buffer, position, length, UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package dev.utils.app.cache;
+
+/**
+ * detail: 缓存配置类
+ * @author Ttt
+ * <pre>
+ *     通过 {@link DevCache#get(java.io.File, DevCacheConfig)} 使用, 同一缓存地址以首次创建时的配置为准
+ * </pre>
+ */
+public class DevCacheConfig {
+
+    /**
+     * 缓存最大值 = 默认 50 MB
+     */
+    public long maxSize = DevCache.MAX_SIZE;
+
+    /**
+     * 最大存储数量 = 默认不限制
+     */
+    public int maxCount = DevCache.MAX_COUNT;
+
+    /**
+     * 是否使用日志 ( journal ) 存储模式 = 默认 false
+     * <pre>
+     *     通过追加写入的 journal 文件记录缓存文件的大小以及访问顺序, 重启后直接读取 journal 恢复索引
+     *     无需遍历缓存目录获取每个文件信息, 并且使用访问顺序索引 O(1) 淘汰最久未使用的文件
+     * </pre>
+     */
+    public boolean journal = false;
+
+    /**
+     * 是否使用摘要目录结构 = 默认 false
+     * <pre>
+     *     默认以 key.hashCode() 作为文件名存放在同一目录下, 不同 key 可能冲突, 并且文件数量过多时目录操作缓慢
+     *     开启后以 key 的 SHA-256 作为文件名, 分散存放到 256 个子目录, 并在文件开头保存 key 用于精确校验
+     *     注意: 与默认目录结构不兼容, 切换后原缓存数据无法读取
+     * </pre>
+     */
+    public boolean digestLayout = false;
+
+    /**
+     * 内存缓存最大值 ( 字节 ) = 默认 0 不使用
+     * <pre>
+     *     String、byte[]、序列化数据在内存中按字节大小计算的 LRU 缓存, 命中则不读取磁盘
+     * </pre>
+     */
+    public int memoryCacheSize = 0;
+
+    /**
+     * Bitmap 缓存池最大值 ( 字节 ) = 默认 0 不使用
+     * <pre>
+     *     Bitmap、Drawable 在内存中按 Bitmap 占用内存计算的 LRU 缓存, 命中则不读取磁盘以及解码
+     * </pre>
+     */
+    public int bitmapCacheSize = 0;
+
+    /**
+     * 是否延迟写入磁盘 ( write-behind ) = 默认 false 同步写入 ( write-through )
+     * <pre>
+     *     开启后 put 只保存到内存缓存以及等待写入队列, 由后台线程写入磁盘 ( 与 putAsync 相同 )
+     *     写入完成前读取该 key 返回等待写入的数据, 同一 key 多次保存只写入最后一次
+     *     退出前可调用 {@link DevCache#flush()}、{@link DevCache#close()} 等待数据写入完成
+     * </pre>
+     */
+    public boolean writeBehind = false;
+
+    /**
+     * 是否使用二进制头信息 = 默认 false 使用旧版本字符串时间信息
+     * <pre>
+     *     开启后文件开头写入固定 24 字节头信息 ( 标识、版本、过期时间、数据长度、CRC32 )
+     *     判断是否过期只需读取文件开头, 读取时校验数据长度以及 CRC32, 损坏则删除
+     *     读取时自动识别两种格式, 切换后原缓存数据仍可读取
+     * </pre>
+     */
+    public boolean binaryHeader = false;
+
+    /**
+     * Serializable 数据序列化方式 = 默认 null 使用 Java 序列化
+     * <pre>
+     *     可使用内置紧凑序列化实现 {@link DevCacheCodec}, 或者自定义实现 {@link ICacheSerializer}
+     *     读取时自动识别 Java 序列化数据以及 {@link DevCacheCodec} 数据, 切换后原缓存数据仍可读取
+     * </pre>
+     */
+    public ICacheSerializer serializer = null;
+
+    /**
+     * 写入后是否 sync 到磁盘 = 默认 false
+     * <pre>
+     *     开启后写入文件调用 FileDescriptor.sync() 确保数据写入磁盘, 防止断电等情况丢失数据
+     *     异步、延迟写入时同一批数据写入后统一 sync, 减少等待磁盘的次数
+     * </pre>
+     */
+    public boolean syncWrites = false;
+}
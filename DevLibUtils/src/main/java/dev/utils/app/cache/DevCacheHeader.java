@@ -0,0 +1,241 @@
+package dev.utils.app.cache;
+
+import java.util.zip.CRC32;
+
+/**
+ * detail: 缓存数据头信息
+ * @author Ttt
+ * <pre>
+ *     二进制头信息 ( 固定 24 字节, 大端序 )
+ *     0 - 3   : 标识 DEVC
+ *     4       : 版本号
+ *     5 - 7   : 保留
+ *     8 - 15  : 过期时间 ( 毫秒 ), 0 则表示不过期
+ *     16 - 19 : 数据长度
+ *     20 - 23 : 数据 CRC32 校验值
+ *     <p></p>
+ *     兼容旧版本字符串时间信息 "保存时间 ( 13 位 )-有效时间 ( 秒 ) " 以及无时间信息的数据
+ *     只需读取文件开头 {@link #PEEK_SIZE} 字节即可判断格式以及是否过期
+ * </pre>
+ */
+final class DevCacheHeader {
+
+    // 无时间信息
+    static final int FORMAT_NONE = 0;
+    // 旧版本字符串时间信息
+    static final int FORMAT_LEGACY = 1;
+    // 二进制头信息
+    static final int FORMAT_BINARY = 2;
+    // 二进制头信息已损坏 ( 标识、版本号一致, 但头信息不完整或数据长度不一致 )
+    static final int FORMAT_CORRUPT = 3;
+    // 二进制头信息长度
+    static final int HEADER_SIZE = 24;
+    // 解析头信息所需读取的最大字节数
+    static final int PEEK_SIZE = 32;
+    // 二进制头信息标识
+    private static final byte[] MAGIC = {'D', 'E', 'V', 'C'};
+    // 二进制头信息版本号
+    private static final byte VERSION = 1;
+    // 旧版本保存时间长度
+    private static final int LEGACY_TIME_LENGTH = 13;
+    // 无时间信息
+    private static final DevCacheHeader NONE = new DevCacheHeader(FORMAT_NONE, 0, 0L, -1L, 0);
+    // 二进制头信息已损坏
+    private static final DevCacheHeader CORRUPT = new DevCacheHeader(FORMAT_CORRUPT, 0, 0L, -1L, 0);
+
+    // 头信息格式
+    final int format;
+    // 头信息长度 ( 数据开始位置 )
+    final int headerLength;
+    // 过期时间 ( 毫秒 ), 0 则表示不过期
+    final long expireTime;
+    // 数据长度, -1 则表示未知 ( 剩余全部 )
+    final long length;
+    // 数据 CRC32 校验值 ( 二进制头信息才存在 )
+    final int checksum;
+
+    private DevCacheHeader(final int format, final int headerLength, final long expireTime,
+                           final long length, final int checksum) {
+        this.format = format;
+        this.headerLength = headerLength;
+        this.expireTime = expireTime;
+        this.length = length;
+        this.checksum = checksum;
+    }
+
+    /**
+     * 判断是否过期
+     * @return {@code true} 到期了, {@code false} 还没有到期
+     */
+    boolean isDue() {
+        return isDue(expireTime);
+    }
+
+    /**
+     * 判断二进制头信息是否已损坏 ( 不能作为无时间信息的数据读取 )
+     * @return {@code true} 已损坏, {@code false} 未损坏
+     */
+    boolean isCorrupt() {
+        return format == FORMAT_CORRUPT;
+    }
+
+    /**
+     * 校验数据
+     * @param data 数据
+     * @return {@code true} 校验通过, {@code false} 数据损坏
+     */
+    boolean verify(final byte[] data) {
+        if (format == FORMAT_CORRUPT) return false;
+        if (format != FORMAT_BINARY) return true;
+        return data != null && data.length == length && crc32(data) == checksum;
+    }
+
+    /**
+     * 判断是否过期
+     * @param expireTime 过期时间 ( 毫秒 ), 0 则表示不过期
+     * @return {@code true} 到期了, {@code false} 还没有到期
+     */
+    static boolean isDue(final long expireTime) {
+        return expireTime != 0L && System.currentTimeMillis() > expireTime;
+    }
+
+    /**
+     * 计算过期时间
+     * @param saveTime 保存的时间, 单位: 秒, -1 则表示不过期
+     * @return 过期时间 ( 毫秒 ), 0 则表示不过期
+     */
+    static long getExpireTime(final int saveTime) {
+        if (saveTime == -1) return 0L;
+        return System.currentTimeMillis() + saveTime * 1000L;
+    }
+
+    // ==============
+    // = 创建头信息 =
+    // ==============
+
+    /**
+     * 创建二进制头信息
+     * @param expireTime 过期时间 ( 毫秒 ), 0 则表示不过期
+     * @param data       数据
+     * @return 头信息
+     */
+    static byte[] newHeader(final long expireTime, final byte[] data) {
+        byte[] header = new byte[HEADER_SIZE];
+        System.arraycopy(MAGIC, 0, header, 0, MAGIC.length);
+        header[4] = VERSION;
+        writeLong(header, 8, expireTime);
+        writeInt(header, 16, data.length);
+        writeInt(header, 20, crc32(data));
+        return header;
+    }
+
+    /**
+     * 创建旧版本字符串时间信息
+     * @param expireTime 过期时间 ( 毫秒 )
+     * @param saveTime   保存的时间, 单位: 秒
+     * @return 时间信息
+     */
+    static byte[] newLegacyHeader(final long expireTime, final int saveTime) {
+        String currentTime = String.valueOf(expireTime - saveTime * 1000L);
+        while (currentTime.length() < LEGACY_TIME_LENGTH) {
+            currentTime = "0" + currentTime;
+        }
+        return (currentTime + "-" + saveTime + " ").getBytes();
+    }
+
+    // ==============
+    // = 解析头信息 =
+    // ==============
+
+    /**
+     * 解析头信息
+     * @param buffer    文件开头数据 ( 最多 {@link #PEEK_SIZE} 字节 )
+     * @param count     buffer 有效长度
+     * @param available 文件剩余总长度 ( 包含头信息 )
+     * @return {@link DevCacheHeader}, 标识、版本号一致但头信息不完整或数据长度不一致返回 {@link #FORMAT_CORRUPT}
+     */
+    static DevCacheHeader parse(final byte[] buffer, final int count, final long available) {
+        if (buffer == null || count <= 0) return NONE;
+        // 二进制头信息, 并校验数据长度
+        if (count > MAGIC.length && startsWithMagic(buffer) && buffer[4] == VERSION) {
+            if (count < HEADER_SIZE) return CORRUPT;
+            long length = readInt(buffer, 16) & 0xFFFFFFFFL;
+            if (length != available - HEADER_SIZE) return CORRUPT;
+            return new DevCacheHeader(FORMAT_BINARY, HEADER_SIZE, readLong(buffer, 8), length, readInt(buffer, 20));
+        }
+        // 旧版本字符串时间信息 - 0000000000000-10 ( 保存时间-有效时间 )
+        if (count > LEGACY_TIME_LENGTH + 2 && buffer[LEGACY_TIME_LENGTH] == '-') {
+            long saveTime = 0L;
+            for (int i = 0; i < LEGACY_TIME_LENGTH; i++) {
+                int digit = buffer[i] - '0';
+                if (digit < 0 || digit > 9) return NONE;
+                saveTime = saveTime * 10 + digit;
+            }
+            long deleteAfter = 0L;
+            boolean negative = false;
+            for (int i = LEGACY_TIME_LENGTH + 1; i < count; i++) {
+                byte b = buffer[i];
+                if (b == ' ') {
+                    if (i == LEGACY_TIME_LENGTH + 1) return NONE;
+                    long expireTime = saveTime + (negative ? -deleteAfter : deleteAfter) * 1000L;
+                    return new DevCacheHeader(FORMAT_LEGACY, i + 1, expireTime, available - i - 1, 0);
+                } else if (b == '-' && i == LEGACY_TIME_LENGTH + 1) {
+                    negative = true;
+                } else if (b >= '0' && b <= '9') {
+                    deleteAfter = deleteAfter * 10 + (b - '0');
+                } else {
+                    return NONE;
+                }
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * 判断是否二进制头信息标识开头
+     * @param buffer 数据
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean startsWithMagic(final byte[] buffer) {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer[i] != MAGIC[i]) return false;
+        }
+        return true;
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    /**
+     * 计算 CRC32 校验值
+     * @param data 数据
+     * @return CRC32 校验值
+     */
+    static int crc32(final byte[] data) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(data, 0, data.length);
+        return (int) crc32.getValue();
+    }
+
+    private static void writeInt(final byte[] buffer, final int offset, final int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+
+    private static void writeLong(final byte[] buffer, final int offset, final long value) {
+        writeInt(buffer, offset, (int) (value >>> 32));
+        writeInt(buffer, offset + 4, (int) value);
+    }
+
+    private static int readInt(final byte[] buffer, final int offset) {
+        return ((buffer[offset] & 0xFF) << 24) | ((buffer[offset + 1] & 0xFF) << 16)
+                | ((buffer[offset + 2] & 0xFF) << 8) | (buffer[offset + 3] & 0xFF);
+    }
+
+    private static long readLong(final byte[] buffer, final int offset) {
+        return ((long) readInt(buffer, offset) << 32) | (readInt(buffer, offset + 4) & 0xFFFFFFFFL);
+    }
+}
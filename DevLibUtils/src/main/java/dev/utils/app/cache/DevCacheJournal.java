@@ -0,0 +1,275 @@
+package dev.utils.app.cache;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import dev.utils.LogPrintUtils;
+
+/**
+ * detail: 缓存日志 ( journal ) 文件
+ * @author Ttt
+ * <pre>
+ *     参考 DiskLruCache journal 格式, 追加写入每一次操作记录
+ *     <p></p>
+ *     文件头
+ *     dev.utils.app.cache.DevCacheJournal
+ *     1
+ *     <p></p>
+ *     操作记录 ( 文件名为缓存目录下的相对路径 )
+ *     CLEAN 文件名 文件大小 - 写入完成
+ *     READ 文件名 - 读取 ( 用于恢复访问顺序 )
+ *     REMOVE 文件名 - 删除
+ * </pre>
+ */
+final class DevCacheJournal {
+
+    // 日志 TAG
+    private static final String TAG = DevCacheJournal.class.getSimpleName();
+    // journal 文件名
+    static final String JOURNAL_FILE = "journal";
+    // journal 临时文件名 ( 重建中 )
+    static final String JOURNAL_FILE_TEMP = "journal.tmp";
+    // journal 备份文件名
+    static final String JOURNAL_FILE_BACKUP = "journal.bkp";
+    // 文件头标识
+    private static final String MAGIC = "dev.utils.app.cache.DevCacheJournal";
+    // 文件格式版本
+    private static final String VERSION = "1";
+    // 操作记录
+    private static final String CLEAN = "CLEAN";
+    private static final String READ = "READ";
+    private static final String REMOVE = "REMOVE";
+    // 冗余记录数阈值, 超过则重建 journal
+    private static final int REDUNDANT_OP_COMPACT_THRESHOLD = 2000;
+    // 编码格式 ( 文件名只包含 ASCII 字符 )
+    private static final String CHARSET = "US-ASCII";
+
+    // journal 文件
+    private final File mJournalFile;
+    // journal 临时文件
+    private final File mJournalFileTmp;
+    // journal 备份文件
+    private final File mJournalFileBackup;
+    // 追加写入流
+    private Writer mWriter;
+    // 冗余记录数 ( 读取、覆盖、删除等记录 )
+    private int mRedundantOpCount;
+
+    /**
+     * 构造函数
+     * @param directory 缓存目录
+     */
+    DevCacheJournal(final File directory) {
+        this.mJournalFile = new File(directory, JOURNAL_FILE);
+        this.mJournalFileTmp = new File(directory, JOURNAL_FILE_TEMP);
+        this.mJournalFileBackup = new File(directory, JOURNAL_FILE_BACKUP);
+    }
+
+    /**
+     * 判断是否 journal 相关文件
+     * @param name 文件名
+     * @return {@code true} yes, {@code false} no
+     */
+    static boolean isJournalFile(final String name) {
+        return JOURNAL_FILE.equals(name) || JOURNAL_FILE_TEMP.equals(name) || JOURNAL_FILE_BACKUP.equals(name);
+    }
+
+    /**
+     * 读取 journal 恢复索引
+     * @param entries 访问顺序索引 - 文件名, 文件大小
+     * @return {@code true} 读取成功, {@code false} journal 不存在或已损坏 ( 需重新扫描目录 )
+     */
+    boolean read(final LinkedHashMap<String, Long> entries) {
+        // 重建过程中中断, 则使用备份文件
+        if (mJournalFileBackup.exists()) {
+            if (mJournalFile.exists()) {
+                mJournalFileBackup.delete();
+            } else {
+                mJournalFileBackup.renameTo(mJournalFile);
+            }
+        }
+        if (!mJournalFile.exists()) return false;
+        BufferedReader br = null;
+        try {
+            br = new BufferedReader(new InputStreamReader(new FileInputStream(mJournalFile), CHARSET), 8192);
+            if (!MAGIC.equals(br.readLine()) || !VERSION.equals(br.readLine())) {
+                return false;
+            }
+            int lineCount = 0;
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (!readJournalLine(line, entries)) {
+                    // 最后一行写入不完整等情况, 标记需要重建
+                    mRedundantOpCount = Integer.MAX_VALUE / 2;
+                    break;
+                }
+                lineCount++;
+            }
+            mRedundantOpCount = Math.max(mRedundantOpCount, lineCount - entries.size());
+            return true;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "read");
+            entries.clear();
+            return false;
+        } finally {
+            if (br != null) {
+                try {
+                    br.close();
+                } catch (Exception e) {
+                }
+            }
+        }
+    }
+
+    /**
+     * 解析单条操作记录
+     * @param line    操作记录
+     * @param entries 访问顺序索引
+     * @return {@code true} 解析成功, {@code false} 记录异常
+     */
+    private boolean readJournalLine(final String line, final LinkedHashMap<String, Long> entries) {
+        String[] parts = line.split(" ");
+        if (parts.length == 3 && CLEAN.equals(parts[0])) {
+            try {
+                long size = Long.parseLong(parts[2]);
+                // 先移除再添加, 保证移动到队尾
+                entries.remove(parts[1]);
+                entries.put(parts[1], size);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        } else if (parts.length == 2 && READ.equals(parts[0])) {
+            // accessOrder 索引, get 即移动到队尾
+            entries.get(parts[1]);
+            return true;
+        } else if (parts.length == 2 && REMOVE.equals(parts[0])) {
+            entries.remove(parts[1]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 重建 journal ( 只保留当前有效的记录 )
+     * @param entries 访问顺序索引 - 文件名, 文件大小
+     * @return {@code true} success, {@code false} fail
+     */
+    boolean rebuild(final Map<String, Long> entries) {
+        close();
+        Writer writer = null;
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(mJournalFileTmp), CHARSET), 8192);
+            writer.write(MAGIC);
+            writer.write('\n');
+            writer.write(VERSION);
+            writer.write('\n');
+            for (Map.Entry<String, Long> entry : entries.entrySet()) {
+                writer.write(CLEAN + ' ' + entry.getKey() + ' ' + entry.getValue() + '\n');
+            }
+            writer.close();
+            writer = null;
+            // 替换文件
+            if (mJournalFile.exists()) {
+                mJournalFileBackup.delete();
+                mJournalFile.renameTo(mJournalFileBackup);
+            }
+            if (!mJournalFileTmp.renameTo(mJournalFile)) {
+                return false;
+            }
+            mJournalFileBackup.delete();
+            mRedundantOpCount = 0;
+            return true;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "rebuild");
+            return false;
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (Exception e) {
+                }
+            }
+        }
+    }
+
+    /**
+     * 判断是否需要重建 journal
+     * @param entryCount 当前有效记录数
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean needsRebuild(final int entryCount) {
+        return mRedundantOpCount >= REDUNDANT_OP_COMPACT_THRESHOLD && mRedundantOpCount >= entryCount;
+    }
+
+    /**
+     * 记录写入完成
+     * @param name      文件名
+     * @param size      文件大小
+     * @param overwrite 是否覆盖已有记录
+     */
+    void appendClean(final String name, final long size, final boolean overwrite) {
+        if (overwrite) mRedundantOpCount++;
+        append(CLEAN + ' ' + name + ' ' + size + '\n', true);
+    }
+
+    /**
+     * 记录读取
+     * @param name 文件名
+     */
+    void appendRead(final String name) {
+        mRedundantOpCount++;
+        // 读取记录只影响访问顺序, 不立即刷新
+        append(READ + ' ' + name + '\n', false);
+    }
+
+    /**
+     * 记录删除
+     * @param name 文件名
+     */
+    void appendRemove(final String name) {
+        // 删除记录以及被删除的 CLEAN 记录都属于冗余记录
+        mRedundantOpCount += 2;
+        append(REMOVE + ' ' + name + '\n', true);
+    }
+
+    /**
+     * 追加操作记录
+     * @param record 操作记录
+     * @param flush  是否刷新到文件
+     */
+    private void append(final String record, final boolean flush) {
+        try {
+            if (mWriter == null) {
+                mWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(mJournalFile, true), CHARSET), 8192);
+            }
+            mWriter.write(record);
+            if (flush) {
+                mWriter.flush();
+            }
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "append");
+        }
+    }
+
+    /**
+     * 刷新并关闭追加写入流
+     */
+    void close() {
+        if (mWriter != null) {
+            try {
+                mWriter.close();
+            } catch (Exception e) {
+            }
+            mWriter = null;
+        }
+    }
+}
@@ -1,32 +1,97 @@
 package dev.utils.app.cache;
 
 import java.io.File;
-import java.util.Collections;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * detail: 缓存管理类
  * @author 杨福海 (michael) www.yangfuhai.com
  * @author Ttt ( 重写、规范注释、逻辑判断等 )
+ * <pre>
+ *     内部通过访问顺序 ( accessOrder ) 的 LinkedHashMap 维护索引, 添加、获取、淘汰均为 O(1)
+ *     淘汰在后台线程中进行, 先持有锁批量移除索引, 再逐个持有锁删除文件
+ *     删除时持有锁是为了确认文件未被重新写入 ( 避免删除新写入的缓存 ), 期间获取、添加索引会短暂阻塞
+ *     <p></p>
+ *     journal 模式下索引通过 journal 文件恢复, 否则启动时在后台线程遍历缓存目录恢复
+ *     <p></p>
+ *     摘要目录结构下, 文件名为 key 的 SHA-256, 并以前两位分散到 256 个子目录 ( 如: 3f/3fa2...e1 )
+ *     文件开头写入 key 头信息 ( 标识 + key 长度 + key ), 读取时校验 key, 避免 hashCode 冲突
+ * </pre>
  */
 final class DevCacheManager {
 
-    // 总缓存大小
-    private final AtomicLong mCacheSize;
-    // 总缓存的文件总数
-    private final AtomicInteger mCacheCount;
+    // key 头信息标识
+    private static final byte[] KEY_HEADER_MAGIC = {'D', 'E', 'V', 'K'};
+    // 十六进制字符
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    // 写入中的临时文件后缀 ( 写入完成后重命名为缓存文件 )
+    private static final String TEMP_SUFFIX = ".tmp";
+    // 遗留临时文件判断时间 ( 创建时间早于初始化时间减去该值则删除, 防止文件时间精度误删写入中的文件 )
+    private static final long STALE_TEMP_TIME = 2000L;
+    // 临时文件序号 ( 同一文件同时写入使用不同的临时文件 )
+    private static final AtomicLong sTempId = new AtomicLong();
+    // 后台线程 ( 恢复索引、淘汰文件 ), 所有缓存共用
+    private static final ExecutorService sExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "DevCacheManager");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
     // 大小限制
     private final long mSizeLimit;
     // 文件总数限制
     private final int mCountLimit;
-    // 保存文件时间信息 - 文件地址, 文件最后使用时间
-    private final Map<File, Long> mLastUsageDateMaps = Collections.synchronizedMap(new HashMap<File, Long>());
     // 文件目录
-    private File mCacheDir;
+    private final File mCacheDir;
+    // journal 文件 ( null 则表示不使用 journal 模式 )
+    private final DevCacheJournal mJournal;
+    // 是否使用摘要目录结构
+    private final boolean mDigestLayout;
+    // 已创建的子目录 ( 摘要目录结构 )
+    private final boolean[] mShardCreated = new boolean[256];
+    // 访问顺序索引 - 文件名 ( 缓存目录下相对路径 ), 文件大小
+    private final LinkedHashMap<String, Long> mLruEntries = new LinkedHashMap<>(0, 0.75f, true);
+    // 索引恢复期间删除的文件名
+    private final Set<String> mRemovedDuringInit = new HashSet<>();
+    // 总缓存大小
+    private long mCacheSize;
+    // 是否已恢复索引
+    private boolean mInitialized;
+    // 索引恢复期间是否清空过缓存
+    private boolean mClearedDuringInit;
+    // 是否已提交淘汰任务
+    private boolean mTrimScheduled;
+    // 创建时间 ( 判断遗留的临时文件 )
+    private final long mCreateTime = System.currentTimeMillis();
+
+    // 淘汰任务
+    private final Runnable mTrimRunnable = new Runnable() {
+        @Override
+        public void run() {
+            trimToLimit();
+        }
+    };
 
     /**
      * 构造函数
@@ -35,37 +100,141 @@ final class DevCacheManager {
      * @param countLimit 文件总数限制
      */
     protected DevCacheManager(final File cacheDir, final long sizeLimit, final int countLimit) {
+        this(cacheDir, sizeLimit, countLimit, false, false);
+    }
+
+    /**
+     * 构造函数
+     * @param cacheDir     存储地址
+     * @param sizeLimit    文件大小限制
+     * @param countLimit   文件总数限制
+     * @param journal      是否使用 journal 模式
+     * @param digestLayout 是否使用摘要目录结构
+     */
+    protected DevCacheManager(final File cacheDir, final long sizeLimit, final int countLimit,
+                              final boolean journal, final boolean digestLayout) {
         this.mCacheDir = cacheDir;
         this.mSizeLimit = sizeLimit;
         this.mCountLimit = countLimit;
-        mCacheSize = new AtomicLong();
-        mCacheCount = new AtomicInteger();
-        // 计算文件信息等
-        calculateCacheSizeAndCacheCount();
+        this.mJournal = journal ? new DevCacheJournal(cacheDir) : null;
+        this.mDigestLayout = digestLayout;
+        // 后台恢复索引
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                initialize();
+            }
+        });
     }
 
     /**
-     * 计算 cacheSize 和 cacheCount
+     * 恢复索引 ( 读取 journal 或遍历缓存目录 )
      */
-    private void calculateCacheSizeAndCacheCount() {
-        new Thread(new Runnable() {
+    private void initialize() {
+        LinkedHashMap<String, Long> loaded = new LinkedHashMap<>(0, 0.75f, true);
+        boolean rebuild = true;
+        if (mJournal != null && mJournal.read(loaded)) {
+            rebuild = false;
+        } else {
+            loaded.clear();
+            calculateCacheSizeAndCacheCount(loaded);
+        }
+        synchronized (this) {
+            if (mClearedDuringInit) {
+                loaded.clear();
+                rebuild = true;
+            }
+            for (String name : mRemovedDuringInit) {
+                if (loaded.remove(name) != null) rebuild = true;
+            }
+            // 恢复期间的操作更新, 放在队尾
+            if (!mLruEntries.isEmpty()) {
+                rebuild = true;
+                for (Map.Entry<String, Long> entry : mLruEntries.entrySet()) {
+                    loaded.remove(entry.getKey());
+                    loaded.put(entry.getKey(), entry.getValue());
+                }
+            }
+            mLruEntries.clear();
+            mLruEntries.putAll(loaded);
+            mRemovedDuringInit.clear();
+            mCacheSize = 0L;
+            for (Long size : mLruEntries.values()) {
+                mCacheSize += size;
+            }
+            if (mJournal != null && (rebuild || mJournal.needsRebuild(mLruEntries.size()))) {
+                mJournal.rebuild(mLruEntries);
+            }
+            mInitialized = true;
+        }
+        trimToLimit();
+    }
+
+    /**
+     * 计算 cacheSize 和 cacheCount ( 按最后修改时间排序 )
+     * @param entries 访问顺序索引
+     */
+    private void calculateCacheSizeAndCacheCount(final LinkedHashMap<String, Long> entries) {
+        if (mCacheDir == null) return;
+        File[] cachedFiles = listCacheFiles();
+        if (cachedFiles == null) return;
+        final int length = cachedFiles.length;
+        final long[] lastModifieds = new long[length];
+        final long[] sizes = new long[length];
+        Integer[] indexs = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            lastModifieds[i] = cachedFiles[i].lastModified();
+            sizes[i] = calculateSize(cachedFiles[i]);
+            indexs[i] = i;
+        }
+        Arrays.sort(indexs, new Comparator<Integer>() {
             @Override
-            public void run() {
-                int size = 0, count = 0;
-                if (mCacheDir != null) {
-                    File[] cachedFiles = mCacheDir.listFiles();
-                    if (cachedFiles != null) {
-                        for (File cachedFile : cachedFiles) {
-                            size += calculateSize(cachedFile);
-                            count += 1;
-                            mLastUsageDateMaps.put(cachedFile, cachedFile.lastModified());
-                        }
-                        mCacheSize.set(size);
-                        mCacheCount.set(count);
+            public int compare(Integer o1, Integer o2) {
+                long diff = lastModifieds[o1] - lastModifieds[o2];
+                return diff < 0 ? -1 : (diff == 0 ? 0 : 1);
+            }
+        });
+        for (Integer index : indexs) {
+            entries.put(getEntryName(cachedFiles[index]), sizes[index]);
+        }
+    }
+
+    /**
+     * 获取全部缓存文件 ( 包含子目录下的文件, 不包含 journal 文件、临时文件 )
+     * @return 缓存文件数组
+     */
+    private File[] listCacheFiles() {
+        File[] files = mCacheDir.listFiles();
+        if (files == null) return null;
+        List<File> lists = new ArrayList<>(files.length);
+        for (File file : files) {
+            if (file.isDirectory()) {
+                File[] childs = file.listFiles();
+                if (childs != null) {
+                    for (File child : childs) {
+                        addCacheFile(lists, child);
                     }
                 }
+            } else if (!DevCacheJournal.isJournalFile(file.getName())) {
+                addCacheFile(lists, file);
             }
-        }).start();
+        }
+        return lists.toArray(new File[lists.size()]);
+    }
+
+    /**
+     * 添加缓存文件 ( 跳过临时文件, 写入时进程退出遗留的临时文件直接删除 )
+     * @param lists 缓存文件集合
+     * @param file  文件
+     */
+    private void addCacheFile(final List<File> lists, final File file) {
+        if (file.getName().endsWith(TEMP_SUFFIX)) {
+            if (file.lastModified() < mCreateTime - STALE_TEMP_TIME) {
+                file.delete();
+            }
+            return;
+        }
+        lists.add(file);
     }
 
     /**
@@ -74,33 +243,29 @@ final class DevCacheManager {
      */
     protected void put(final File file) {
         if (file == null) return;
-        // 获取文件总数
-        int curCacheCount = mCacheCount.get();
-        // 判断是否超过数量限制
-        while (curCacheCount + 1 > mCountLimit) {
-            // 删除文件, 并获取删除的文件大小
-            long freedSize = removeNext();
-            // 删除文件大小
-            mCacheSize.addAndGet(-freedSize);
-            // 递减文件
-            curCacheCount = mCacheCount.addAndGet(-1);
-        }
-        // 累加文件数量
-        mCacheCount.addAndGet(1);
-        // 计算文件总大小
-        long valueSize = calculateSize(file);
-        // 判断当前缓存大小
-        long curCacheSize = mCacheSize.get();
-        // 判断是否超过大小限制
-        while (curCacheSize + valueSize > mSizeLimit) {
-            long freedSize = removeNext();
-            curCacheSize = mCacheSize.addAndGet(-freedSize);
-        }
-        mCacheSize.addAndGet(valueSize);
-
-        Long currentTime = System.currentTimeMillis();
-        file.setLastModified(currentTime);
-        mLastUsageDateMaps.put(file, currentTime);
+        String name = getEntryName(file);
+        if (mJournal == null) {
+            file.setLastModified(System.currentTimeMillis());
+        }
+        synchronized (this) {
+            // 写入后已被淘汰删除则不添加索引
+            if (!file.exists()) return;
+            // 计算文件总大小
+            long valueSize = calculateSize(file);
+            Long oldSize = mLruEntries.put(name, valueSize);
+            if (!mInitialized) {
+                mRemovedDuringInit.remove(name);
+                return;
+            }
+            if (oldSize != null) {
+                mCacheSize -= oldSize;
+            }
+            mCacheSize += valueSize;
+            if (mJournal != null) {
+                mJournal.appendClean(name, valueSize, oldSize != null);
+            }
+            scheduleTrimIfNeeded();
+        }
     }
 
     /**
@@ -111,10 +276,18 @@ final class DevCacheManager {
     protected File get(final String key) {
         File file = newFile(key);
         if (file != null) {
-            Long currentTime = System.currentTimeMillis();
-            file.setLastModified(currentTime);
-            mLastUsageDateMaps.put(file, currentTime);
-            return file;
+            String name = getEntryName(file);
+            boolean exists;
+            synchronized (this) {
+                exists = mLruEntries.get(name) != null;
+                if (exists && mJournal != null && mInitialized) {
+                    mJournal.appendRead(name);
+                    scheduleTrimIfNeeded();
+                }
+            }
+            if (exists && mJournal == null) {
+                file.setLastModified(System.currentTimeMillis());
+            }
         }
         return file;
     }
@@ -126,19 +299,154 @@ final class DevCacheManager {
      */
     protected File newFile(final String key) {
         if (key != null) {
+            if (mDigestLayout) {
+                String digest = digestKey(key);
+                if (digest == null) return null;
+                // 子目录, 每个子目录只创建一次
+                int shard = Integer.parseInt(digest.substring(0, 2), 16);
+                File shardDir = new File(mCacheDir, digest.substring(0, 2));
+                if (!mShardCreated[shard]) {
+                    if (shardDir.isDirectory() || shardDir.mkdirs()) {
+                        mShardCreated[shard] = true;
+                    }
+                }
+                return new File(shardDir, digest);
+            }
             return new File(mCacheDir, key.hashCode() + "");
         }
         return null;
     }
 
+    /**
+     * 获取写入临时文件 ( 与缓存文件在同一目录, 写入完成后重命名 )
+     * @param file 缓存文件
+     * @return 临时文件
+     */
+    protected File newTempFile(final File file) {
+        return new File(file.getParentFile(), file.getName() + "." + sTempId.incrementAndGet() + TEMP_SUFFIX);
+    }
+
+    /**
+     * 获取 key 头信息 ( 摘要目录结构才存在 )
+     * @param key 保存的 key
+     * @return key 头信息, 不使用摘要目录结构则返回 null
+     */
+    protected byte[] getKeyHeader(final String key) {
+        if (!mDigestLayout || key == null) return null;
+        try {
+            byte[] keyBytes = key.getBytes("UTF-8");
+            byte[] header = new byte[KEY_HEADER_MAGIC.length + 4 + keyBytes.length];
+            System.arraycopy(KEY_HEADER_MAGIC, 0, header, 0, KEY_HEADER_MAGIC.length);
+            int offset = KEY_HEADER_MAGIC.length;
+            int length = keyBytes.length;
+            header[offset] = (byte) (length >>> 24);
+            header[offset + 1] = (byte) (length >>> 16);
+            header[offset + 2] = (byte) (length >>> 8);
+            header[offset + 3] = (byte) length;
+            System.arraycopy(keyBytes, 0, header, offset + 4, length);
+            return header;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 写入 key 头信息
+     * @param os  {@link OutputStream}
+     * @param key 保存的 key
+     * @throws IOException 写入异常
+     */
+    protected void writeKeyHeader(final OutputStream os, final String key) throws IOException {
+        byte[] header = getKeyHeader(key);
+        if (header != null) {
+            os.write(header);
+        }
+    }
+
+    /**
+     * 读取头信息 ( 读取后 FileChannel 指向数据开始位置 )
+     * <pre>
+     *     只读取文件开头 key 头信息以及时间头信息, 不读取数据
+     * </pre>
+     * @param channel {@link FileChannel}
+     * @param key     保存的 key, null 则不校验 key 头信息
+     * @return {@link DevCacheHeader}, key 不一致则返回 null
+     * @throws IOException 读取异常
+     */
+    protected DevCacheHeader readHeader(final FileChannel channel, final String key) throws IOException {
+        long position = 0L;
+        if (mDigestLayout) {
+            ByteBuffer prefix = ByteBuffer.allocate(KEY_HEADER_MAGIC.length + 4);
+            if (!readFully(channel, prefix, 0L)) return null;
+            byte[] magic = new byte[KEY_HEADER_MAGIC.length];
+            System.arraycopy(prefix.array(), 0, magic, 0, magic.length);
+            if (!Arrays.equals(KEY_HEADER_MAGIC, magic)) return null;
+            int length = prefix.getInt(KEY_HEADER_MAGIC.length);
+            if (length < 0) return null;
+            position = prefix.capacity() + (long) length;
+            if (key != null) {
+                byte[] header = getKeyHeader(key);
+                if (header == null || header.length != position) return null;
+                ByteBuffer keyBuffer = ByteBuffer.allocate(length);
+                if (!readFully(channel, keyBuffer, prefix.capacity())) return null;
+                for (int i = 0; i < length; i++) {
+                    if (keyBuffer.get(i) != header[prefix.capacity() + i]) return null;
+                }
+            }
+        }
+        long available = channel.size() - position;
+        if (available < 0L) return null;
+        ByteBuffer peek = ByteBuffer.allocate((int) Math.min(DevCacheHeader.PEEK_SIZE, available));
+        readFully(channel, peek, position);
+        DevCacheHeader header = DevCacheHeader.parse(peek.array(), peek.position(), available);
+        channel.position(position + header.headerLength);
+        return header;
+    }
+
+    /**
+     * 从指定位置读取数据, 直到 ByteBuffer 读满
+     * @param channel  {@link FileChannel}
+     * @param buffer   {@link ByteBuffer}
+     * @param position 读取位置
+     * @return {@code true} 读满, {@code false} 文件已结束
+     * @throws IOException 读取异常
+     */
+    private static boolean readFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int len = channel.read(buffer, position + buffer.position());
+            if (len == -1) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 获取 key 摘要 ( SHA-256 )
+     * @param key 保存的 key
+     * @return 十六进制摘要字符串
+     */
+    private static String digestKey(final String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes("UTF-8"));
+            char[] chars = new char[digest.length << 1];
+            for (int i = 0, j = 0; i < digest.length; i++) {
+                chars[j++] = HEX_DIGITS[(digest[i] >>> 4) & 0x0f];
+                chars[j++] = HEX_DIGITS[digest[i] & 0x0f];
+            }
+            return new String(chars);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     /**
      * 删除文件
      * @param key 保存的 key
      * @return {@code true} 删除成功, {@code false} 删除失败
      */
     protected boolean remove(final String key) {
-        File file = get(key);
+        File file = newFile(key);
         if (file != null) {
+            removeEntry(getEntryName(file));
             return file.delete();
         }
         return false;
@@ -148,9 +456,16 @@ final class DevCacheManager {
      * 清空全部缓存数据
      */
     protected void clear() {
-        mLastUsageDateMaps.clear();
-        mCacheSize.set(0);
-        File[] files = mCacheDir.listFiles();
+        synchronized (this) {
+            mLruEntries.clear();
+            mCacheSize = 0L;
+            if (!mInitialized) {
+                mClearedDuringInit = true;
+            } else if (mJournal != null) {
+                mJournal.rebuild(mLruEntries);
+            }
+        }
+        File[] files = listCacheFiles();
         if (files != null) {
             for (File f : files) {
                 f.delete();
@@ -159,36 +474,141 @@ final class DevCacheManager {
     }
 
     /**
-     * 移除旧的文件
-     * @return 移除的文件大小
+     * 清除已过期的文件 ( 后台线程中只读取每个文件的头信息 )
      */
-    private long removeNext() {
-        if (mLastUsageDateMaps.isEmpty()) {
-            return 0;
-        }
-        Long oldestUsage = null;
-        File mostLongUsedFile = null;
-        Set<Map.Entry<File, Long>> entries = mLastUsageDateMaps.entrySet();
-        synchronized (mLastUsageDateMaps) {
-            for (Map.Entry<File, Long> entry : entries) {
-                if (mostLongUsedFile == null) {
-                    mostLongUsedFile = entry.getKey();
-                    oldestUsage = entry.getValue();
-                } else {
-                    Long lastValueUsage = entry.getValue();
-                    if (lastValueUsage < oldestUsage) {
-                        oldestUsage = lastValueUsage;
-                        mostLongUsedFile = entry.getKey();
+    protected void sweepExpired() {
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                List<String> names;
+                synchronized (DevCacheManager.this) {
+                    names = new ArrayList<>(mLruEntries.keySet());
+                }
+                for (String name : names) {
+                    File file = new File(mCacheDir, name);
+                    long lastModified = file.lastModified();
+                    RandomAccessFile raFile = null;
+                    boolean isDue = false;
+                    try {
+                        raFile = new RandomAccessFile(file, "r");
+                        DevCacheHeader header = readHeader(raFile.getChannel(), null);
+                        isDue = (header != null && header.isDue());
+                    } catch (Exception e) {
+                    } finally {
+                        if (raFile != null) {
+                            try {
+                                raFile.close();
+                            } catch (Exception e) {
+                            }
+                        }
+                    }
+                    // 读取期间被重新写入则不删除
+                    if (isDue && file.lastModified() == lastModified) {
+                        removeEntry(name);
+                        file.delete();
                     }
                 }
             }
+        });
+    }
+
+    /**
+     * 关闭 journal 文件 ( 之后再次写入记录会重新打开 )
+     */
+    protected synchronized void close() {
+        if (mJournal != null) {
+            mJournal.close();
         }
+    }
 
-        long fileSize = calculateSize(mostLongUsedFile);
-        if (mostLongUsedFile.delete()) {
-            mLastUsageDateMaps.remove(mostLongUsedFile);
+    /**
+     * 获取总缓存大小
+     * @return 总缓存大小
+     */
+    protected synchronized long getCacheSize() {
+        return mCacheSize;
+    }
+
+    /**
+     * 获取缓存文件总数
+     * @return 缓存文件总数
+     */
+    protected synchronized int getCacheCount() {
+        return mLruEntries.size();
+    }
+
+    /**
+     * 移除索引记录
+     * @param name 文件名
+     */
+    private synchronized void removeEntry(final String name) {
+        Long size = mLruEntries.remove(name);
+        if (!mInitialized) {
+            mRemovedDuringInit.add(name);
+            return;
+        }
+        if (size != null) {
+            mCacheSize -= size;
+            if (mJournal != null) {
+                mJournal.appendRemove(name);
+            }
+        }
+    }
+
+    /**
+     * 超过限制则提交淘汰任务 ( 需持有锁 )
+     */
+    private void scheduleTrimIfNeeded() {
+        if (mTrimScheduled) return;
+        boolean needsTrim = mCacheSize > mSizeLimit || mLruEntries.size() > mCountLimit;
+        if (needsTrim || (mJournal != null && mJournal.needsRebuild(mLruEntries.size()))) {
+            mTrimScheduled = true;
+            sExecutor.execute(mTrimRunnable);
+        }
+    }
+
+    /**
+     * 淘汰最久未使用的文件, 直到满足限制
+     */
+    private void trimToLimit() {
+        List<String> evicts = new ArrayList<>();
+        synchronized (this) {
+            mTrimScheduled = false;
+            Iterator<Map.Entry<String, Long>> iterator = mLruEntries.entrySet().iterator();
+            while ((mCacheSize > mSizeLimit || mLruEntries.size() > mCountLimit) && iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                iterator.remove();
+                mCacheSize -= eldest.getValue();
+                evicts.add(eldest.getKey());
+                if (mJournal != null) {
+                    mJournal.appendRemove(eldest.getKey());
+                }
+            }
+            if (mJournal != null && mJournal.needsRebuild(mLruEntries.size())) {
+                mJournal.rebuild(mLruEntries);
+            }
+        }
+        // 逐个持有锁删除文件, 期间重新写入并添加索引的文件不删除
+        for (String name : evicts) {
+            synchronized (this) {
+                if (!mLruEntries.containsKey(name)) {
+                    new File(mCacheDir, name).delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取文件在缓存目录下的相对路径
+     * @param file 文件
+     * @return 相对路径
+     */
+    private String getEntryName(final File file) {
+        File parent = file.getParentFile();
+        if (parent != null && !mCacheDir.equals(parent)) {
+            return parent.getName() + "/" + file.getName();
         }
-        return fileSize;
+        return file.getName();
     }
 
     /**
@@ -202,4 +622,4 @@ final class DevCacheManager {
         }
         return 0L;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,256 @@
+package dev.utils.app.cache;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * detail: 缓存内存层
+ * @author Ttt
+ * <pre>
+ *     位于磁盘缓存之前, 命中则不进行 I/O 操作
+ *     String、byte[] ( 包含序列化数据 ) 按字节大小计算, Bitmap 单独使用 Bitmap 缓存池, 按 Bitmap 占用内存计算
+ *     每条数据保存过期时间, 过期则移除并视为未命中
+ * </pre>
+ */
+final class DevCacheMemory {
+
+    // 数据缓存 ( null 则表示不使用 )
+    private final LruCache<String, Entry> mLruCache;
+    // Bitmap 缓存池 ( null 则表示不使用 )
+    private final LruCache<String, Entry> mBitmapCache;
+    // 数据缓存命中次数
+    private final AtomicLong mHitCount = new AtomicLong();
+    // 数据缓存未命中次数
+    private final AtomicLong mMissCount = new AtomicLong();
+    // Bitmap 缓存命中次数
+    private final AtomicLong mBitmapHitCount = new AtomicLong();
+    // Bitmap 缓存未命中次数
+    private final AtomicLong mBitmapMissCount = new AtomicLong();
+
+    /**
+     * 构造函数
+     * @param maxSize       数据缓存最大值 ( 字节 ), 小于等于 0 则不使用
+     * @param bitmapMaxSize Bitmap 缓存池最大值 ( 字节 ), 小于等于 0 则不使用
+     */
+    DevCacheMemory(final int maxSize, final int bitmapMaxSize) {
+        mLruCache = (maxSize > 0) ? new EntryLruCache(maxSize) : null;
+        mBitmapCache = (bitmapMaxSize > 0) ? new EntryLruCache(bitmapMaxSize) : null;
+    }
+
+    /**
+     * detail: 内存缓存数据
+     * @author Ttt
+     */
+    private static final class Entry {
+
+        // 缓存数据 String、byte[]、Bitmap
+        final Object value;
+        // 过期时间 ( 毫秒 ), 0 则表示不过期
+        final long expireTime;
+        // 占用大小 ( 字节 )
+        final int size;
+
+        Entry(final Object value, final long expireTime, final int size) {
+            this.value = value;
+            this.expireTime = expireTime;
+            this.size = Math.max(size, 1);
+        }
+
+        /**
+         * 判断是否过期
+         * @return {@code true} 过期, {@code false} 未过期
+         */
+        boolean isDue() {
+            return expireTime != 0L && System.currentTimeMillis() > expireTime;
+        }
+    }
+
+    /**
+     * detail: 按字节大小计算的 LruCache
+     * @author Ttt
+     */
+    private static final class EntryLruCache extends LruCache<String, Entry> {
+
+        EntryLruCache(final int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        protected int sizeOf(String key, Entry entry) {
+            return entry.size;
+        }
+    }
+
+    // ========
+    // = 数据 =
+    // ========
+
+    /**
+     * 保存 String 数据
+     * @param key        保存的 key
+     * @param value      String 数据
+     * @param expireTime 过期时间 ( 毫秒 ), 0 则表示不过期
+     */
+    void putString(final String key, final String value, final long expireTime) {
+        if (mLruCache == null || key == null || value == null) return;
+        // char 占用 2 字节
+        put(mLruCache, key, new Entry(value, expireTime, value.length() * 2));
+    }
+
+    /**
+     * 保存 byte[] 数据
+     * @param key        保存的 key
+     * @param data       byte[] 数据
+     * @param expireTime 过期时间 ( 毫秒 ), 0 则表示不过期
+     */
+    void putBytes(final String key, final byte[] data, final long expireTime) {
+        if (mLruCache == null || key == null || data == null) return;
+        put(mLruCache, key, new Entry(data, expireTime, data.length));
+    }
+
+    /**
+     * 获取 String 数据
+     * @param key 保存的 key
+     * @return String 数据
+     */
+    String getString(final String key) {
+        return (String) get(mLruCache, key, String.class, mHitCount, mMissCount);
+    }
+
+    /**
+     * 获取 byte[] 数据
+     * @param key 保存的 key
+     * @return byte[] 数据
+     */
+    byte[] getBytes(final String key) {
+        return (byte[]) get(mLruCache, key, byte[].class, mHitCount, mMissCount);
+    }
+
+    // ==========
+    // = Bitmap =
+    // ==========
+
+    /**
+     * 保存 Bitmap
+     * @param key        保存的 key
+     * @param bitmap     {@link Bitmap}
+     * @param expireTime 过期时间 ( 毫秒 ), 0 则表示不过期
+     */
+    void putBitmap(final String key, final Bitmap bitmap, final long expireTime) {
+        if (mBitmapCache == null || key == null || bitmap == null) return;
+        put(mBitmapCache, key, new Entry(bitmap, expireTime, bitmap.getByteCount()));
+    }
+
+    /**
+     * 获取 Bitmap
+     * @param key 保存的 key
+     * @return {@link Bitmap}
+     */
+    Bitmap getBitmap(final String key) {
+        Bitmap bitmap = (Bitmap) get(mBitmapCache, key, Bitmap.class, mBitmapHitCount, mBitmapMissCount);
+        if (bitmap != null && bitmap.isRecycled()) {
+            mBitmapCache.remove(key);
+            return null;
+        }
+        return bitmap;
+    }
+
+    // ========
+    // = 通用 =
+    // ========
+
+    /**
+     * 保存数据 ( 同一 key 只保留一份, 移除其他缓存中的数据 )
+     * @param lruCache 保存的缓存
+     * @param key      保存的 key
+     * @param entry    缓存数据
+     */
+    private void put(final LruCache<String, Entry> lruCache, final String key, final Entry entry) {
+        if (lruCache == mLruCache) {
+            if (mBitmapCache != null) mBitmapCache.remove(key);
+        } else {
+            if (mLruCache != null) mLruCache.remove(key);
+        }
+        lruCache.put(key, entry);
+    }
+
+    /**
+     * 获取数据
+     * @param lruCache  获取的缓存
+     * @param key       保存的 key
+     * @param type      数据类型
+     * @param hitCount  命中次数
+     * @param missCount 未命中次数
+     * @return 缓存数据
+     */
+    private static Object get(final LruCache<String, Entry> lruCache, final String key, final Class<?> type,
+                              final AtomicLong hitCount, final AtomicLong missCount) {
+        if (lruCache == null || key == null) return null;
+        Entry entry = lruCache.get(key);
+        if (entry != null && type.isInstance(entry.value)) {
+            if (!entry.isDue()) {
+                hitCount.incrementAndGet();
+                return entry.value;
+            }
+            lruCache.remove(key);
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 移除某个 key 的数据
+     * @param key 保存的 key
+     */
+    void remove(final String key) {
+        if (key == null) return;
+        if (mLruCache != null) mLruCache.remove(key);
+        if (mBitmapCache != null) mBitmapCache.remove(key);
+    }
+
+    /**
+     * 清除所有数据
+     */
+    void clear() {
+        if (mLruCache != null) mLruCache.evictAll();
+        if (mBitmapCache != null) mBitmapCache.evictAll();
+    }
+
+    // ============
+    // = 统计信息 =
+    // ============
+
+    /**
+     * 获取数据缓存命中次数
+     * @return 命中次数
+     */
+    long getHitCount() {
+        return mHitCount.get();
+    }
+
+    /**
+     * 获取数据缓存未命中次数
+     * @return 未命中次数
+     */
+    long getMissCount() {
+        return mMissCount.get();
+    }
+
+    /**
+     * 获取 Bitmap 缓存命中次数
+     * @return 命中次数
+     */
+    long getBitmapHitCount() {
+        return mBitmapHitCount.get();
+    }
+
+    /**
+     * 获取 Bitmap 缓存未命中次数
+     * @return 未命中次数
+     */
+    long getBitmapMissCount() {
+        return mBitmapMissCount.get();
+    }
+}
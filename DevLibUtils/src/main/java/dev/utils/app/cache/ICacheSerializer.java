@@ -0,0 +1,31 @@
+package dev.utils.app.cache;
+
+import java.io.Serializable;
+
+/**
+ * detail: 缓存序列化接口
+ * @author Ttt
+ * <pre>
+ *     通过 {@link DevCacheConfig#serializer} 设置, 用于 {@link DevCache#put(String, Serializable)}、{@link DevCache#getAsObject(String)}
+ *     内置实现 {@link DevCacheCodec}, 未设置则使用 Java 序列化 ( ObjectOutputStream )
+ *     读取时 Java 序列化数据会自动识别, 切换序列化方式后原缓存数据仍可读取
+ * </pre>
+ */
+public interface ICacheSerializer {
+
+    /**
+     * 序列化
+     * @param value 待序列化的对象
+     * @return 序列化后的数据
+     * @throws Exception 序列化异常
+     */
+    byte[] serialize(Serializable value) throws Exception;
+
+    /**
+     * 反序列化
+     * @param data 序列化数据
+     * @return 反序列化后的对象
+     * @throws Exception 反序列化异常
+     */
+    Object deserialize(byte[] data) throws Exception;
+}
@@ -0,0 +1,18 @@
+package dev.utils.app.logger;
+
+/**
+ * detail: 异步日志队列已满处理策略
+ * @author Ttt
+ */
+public enum AsyncPolicy {
+
+    /**
+     * 丢弃新的日志 ( 记录丢弃数量, 不阻塞输出日志的线程 )
+     */
+    DROP,
+
+    /**
+     * 阻塞等待, 直到队列存在空闲位置
+     */
+    BLOCK
+}
@@ -49,6 +49,67 @@ public final class DevLogger {
         sPrinter.init(logConfig);
     }
 
+    // ============
+    // = 异步日志 =
+    // ============
+
+    /**
+     * 开启异步日志
+     * @param capacity 队列容量 ( 向上取 2 的幂 )
+     * @param policy   队列已满处理策略
+     */
+    public static void openAsync(final int capacity, final AsyncPolicy policy) {
+        sPrinter.openAsync(capacity, policy);
+    }
+
+    /**
+     * 关闭异步日志 ( 打印剩余日志后恢复同步打印 )
+     */
+    public static void closeAsync() {
+        sPrinter.closeAsync();
+    }
+
+    /**
+     * 是否开启异步日志
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isAsync() {
+        return sPrinter.isAsync();
+    }
+
+    /**
+     * 等待异步日志全部打印
+     * @param timeout 最长等待时间 ( 毫秒 )
+     * @return {@code true} 已全部打印 ( 或未开启异步日志 ), {@code false} 等待超时
+     */
+    public static boolean flush(final long timeout) {
+        return sPrinter.flush(timeout);
+    }
+
+    /**
+     * 获取异步日志等待打印的数量
+     * @return 等待打印的日志数量
+     */
+    public static int getAsyncQueuedCount() {
+        return sPrinter.getAsyncQueuedCount();
+    }
+
+    /**
+     * 获取异步日志已入队的总数
+     * @return 已入队的日志总数
+     */
+    public static long getAsyncEnqueuedCount() {
+        return sPrinter.getAsyncEnqueuedCount();
+    }
+
+    /**
+     * 获取异步日志队列已满丢弃的数量
+     * @return 丢弃的日志数量
+     */
+    public static long getAsyncDroppedCount() {
+        return sPrinter.getAsyncDroppedCount();
+    }
+
     // ===============================
     // = 使用默认 TAG - 日志打印方法 =
     // ===============================
@@ -246,4 +307,144 @@ public final class DevLogger {
     public static void xmlTag(final String tag, final String xml) {
         sPrinter.xmlTag(tag, xml);
     }
+
+    // ======================
+    // = 延迟格式化日志方法 =
+    // ======================
+
+    /**
+     * 判断日志级别是否允许输出 ( 不消耗 other 设置的单次配置 )
+     * @param logType 日志类型
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isLoggable(final int logType) {
+        return sPrinter.isLoggable(logType);
+    }
+
+    /**
+     * 打印日志 ( 不进行格式化 )
+     * @param logType 日志类型
+     * @param message 日志信息
+     */
+    public static void log(final int logType, final String message) {
+        sPrinter.log(logType, message);
+    }
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param arg     占位符参数
+     */
+    public static void log(final int logType, final String pattern, final Object arg) {
+        sPrinter.log(logType, pattern, arg);
+    }
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param arg1    占位符参数
+     * @param arg2    占位符参数
+     */
+    public static void log(final int logType, final String pattern, final Object arg1, final Object arg2) {
+        sPrinter.log(logType, pattern, arg1, arg2);
+    }
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param args    占位符参数
+     */
+    public static void log(final int logType, final String pattern, final Object... args) {
+        sPrinter.log(logType, pattern, args);
+    }
+
+    /**
+     * 打印日志 ( 日志级别允许输出才获取日志信息 )
+     * @param logType  日志类型
+     * @param supplier 日志信息提供者
+     */
+    public static void log(final int logType, final LogSupplier supplier) {
+        sPrinter.log(logType, supplier);
+    }
+
+    /**
+     * 打印日志 ( 不进行格式化 )
+     * @param tag     日志 TAG
+     * @param logType 日志类型
+     * @param message 日志信息
+     */
+    public static void logTag(final String tag, final int logType, final String message) {
+        sPrinter.logTag(tag, logType, message);
+    }
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param tag     日志 TAG
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param arg     占位符参数
+     */
+    public static void logTag(final String tag, final int logType, final String pattern, final Object arg) {
+        sPrinter.logTag(tag, logType, pattern, arg);
+    }
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param tag     日志 TAG
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param arg1    占位符参数
+     * @param arg2    占位符参数
+     */
+    public static void logTag(final String tag, final int logType, final String pattern, final Object arg1, final Object arg2) {
+        sPrinter.logTag(tag, logType, pattern, arg1, arg2);
+    }
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param tag     日志 TAG
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param args    占位符参数
+     */
+    public static void logTag(final String tag, final int logType, final String pattern, final Object... args) {
+        sPrinter.logTag(tag, logType, pattern, args);
+    }
+
+    /**
+     * 打印日志 ( 日志级别允许输出才获取日志信息 )
+     * @param tag      日志 TAG
+     * @param logType  日志类型
+     * @param supplier 日志信息提供者
+     */
+    public static void logTag(final String tag, final int logType, final LogSupplier supplier) {
+        sPrinter.logTag(tag, logType, supplier);
+    }
+
+    /**
+     * 打印 Log.DEBUG ( 日志级别允许输出才获取日志信息 )
+     * @param supplier 日志信息提供者
+     */
+    public static void d(final LogSupplier supplier) {
+        sPrinter.d(supplier);
+    }
+
+    /**
+     * 打印 Log.INFO ( 日志级别允许输出才获取日志信息 )
+     * @param supplier 日志信息提供者
+     */
+    public static void i(final LogSupplier supplier) {
+        sPrinter.i(supplier);
+    }
+
+    /**
+     * 打印 Log.VERBOSE ( 日志级别允许输出才获取日志信息 )
+     * @param supplier 日志信息提供者
+     */
+    public static void v(final LogSupplier supplier) {
+        sPrinter.v(supplier);
+    }
 }
\ No newline at end of file
@@ -35,6 +35,53 @@ public interface IPrinter {
      */
     void init(LogConfig logConfig);
 
+    // ============
+    // = 异步日志 =
+    // ============
+
+    /**
+     * 开启异步日志
+     * @param capacity 队列容量 ( 向上取 2 的幂 )
+     * @param policy   队列已满处理策略
+     */
+    void openAsync(int capacity, AsyncPolicy policy);
+
+    /**
+     * 关闭异步日志 ( 打印剩余日志后恢复同步打印 )
+     */
+    void closeAsync();
+
+    /**
+     * 是否开启异步日志
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean isAsync();
+
+    /**
+     * 等待异步日志全部打印
+     * @param timeout 最长等待时间 ( 毫秒 )
+     * @return {@code true} 已全部打印 ( 或未开启异步日志 ), {@code false} 等待超时
+     */
+    boolean flush(long timeout);
+
+    /**
+     * 获取异步日志等待打印的数量
+     * @return 等待打印的日志数量
+     */
+    int getAsyncQueuedCount();
+
+    /**
+     * 获取异步日志已入队的总数
+     * @return 已入队的日志总数
+     */
+    long getAsyncEnqueuedCount();
+
+    /**
+     * 获取异步日志队列已满丢弃的数量
+     * @return 丢弃的日志数量
+     */
+    long getAsyncDroppedCount();
+
     // ===============================
     // = 使用默认 TAG - 日志打印方法 =
     // ===============================
@@ -192,4 +239,116 @@ public interface IPrinter {
      * @param xml XML 格式字符串
      */
     void xmlTag(String tag, String xml);
+
+    // ======================
+    // = 延迟格式化日志方法 =
+    // ======================
+
+    /**
+     * 判断日志级别是否允许输出 ( 不消耗 other 设置的单次配置 )
+     * @param logType 日志类型
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean isLoggable(int logType);
+
+    /**
+     * 打印日志 ( 不进行格式化 )
+     * @param logType 日志类型
+     * @param message 日志信息
+     */
+    void log(int logType, String message);
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param arg     占位符参数
+     */
+    void log(int logType, String pattern, Object arg);
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param arg1    占位符参数
+     * @param arg2    占位符参数
+     */
+    void log(int logType, String pattern, Object arg1, Object arg2);
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param args    占位符参数
+     */
+    void log(int logType, String pattern, Object... args);
+
+    /**
+     * 打印日志 ( 日志级别允许输出才获取日志信息 )
+     * @param logType  日志类型
+     * @param supplier 日志信息提供者
+     */
+    void log(int logType, LogSupplier supplier);
+
+    /**
+     * 打印日志 ( 不进行格式化 )
+     * @param tag     日志 TAG
+     * @param logType 日志类型
+     * @param message 日志信息
+     */
+    void logTag(String tag, int logType, String message);
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param tag     日志 TAG
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param arg     占位符参数
+     */
+    void logTag(String tag, int logType, String pattern, Object arg);
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param tag     日志 TAG
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param arg1    占位符参数
+     * @param arg2    占位符参数
+     */
+    void logTag(String tag, int logType, String pattern, Object arg1, Object arg2);
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param tag     日志 TAG
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param args    占位符参数
+     */
+    void logTag(String tag, int logType, String pattern, Object... args);
+
+    /**
+     * 打印日志 ( 日志级别允许输出才获取日志信息 )
+     * @param tag      日志 TAG
+     * @param logType  日志类型
+     * @param supplier 日志信息提供者
+     */
+    void logTag(String tag, int logType, LogSupplier supplier);
+
+    /**
+     * 打印 Log.DEBUG ( 日志级别允许输出才获取日志信息 )
+     * @param supplier 日志信息提供者
+     */
+    void d(LogSupplier supplier);
+
+    /**
+     * 打印 Log.INFO ( 日志级别允许输出才获取日志信息 )
+     * @param supplier 日志信息提供者
+     */
+    void i(LogSupplier supplier);
+
+    /**
+     * 打印 Log.VERBOSE ( 日志级别允许输出才获取日志信息 )
+     * @param supplier 日志信息提供者
+     */
+    void v(LogSupplier supplier);
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package dev.utils.app.logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * detail: 调用位置格式化缓存
+ * @author Ttt
+ * <pre>
+ *     同一调用位置 ( 类、方法、文件、行数相同 ) 只拼接一次 "ClassName.method (File.java:line)"
+ *     按最近使用顺序保留, 超过最大数量移除最久未使用的调用位置
+ * </pre>
+ */
+final class LogCallerCache {
+
+    private LogCallerCache() {
+    }
+
+    // 最大缓存调用位置数量
+    private static final int MAX_SIZE = 512;
+
+    // 调用位置格式化缓存 ( accessOrder = true 按访问顺序排序 )
+    private static final Map<StackTraceElement, String> CACHE = new LinkedHashMap<StackTraceElement, String>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<StackTraceElement, String> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    /**
+     * 获取格式化后的调用位置
+     * @param element 堆栈信息
+     * @return ClassName.method (File.java:line)
+     */
+    static String format(final StackTraceElement element) {
+        synchronized (CACHE) {
+            String value = CACHE.get(element);
+            if (value != null) return value;
+        }
+        String className = element.getClassName();
+        // 拼接操作的类名、方法名、文件名、行数等信息
+        StringBuilder builder = new StringBuilder();
+        builder.append(className.substring(className.lastIndexOf(".") + 1));
+        builder.append(".").append(element.getMethodName());
+        builder.append(" (");
+        builder.append(element.getFileName());
+        builder.append(":");
+        builder.append(element.getLineNumber());
+        builder.append(")");
+        String value = builder.toString();
+        synchronized (CACHE) {
+            CACHE.put(element, value);
+        }
+        return value;
+    }
+}
@@ -1,5 +1,7 @@
 package dev.utils.app.logger;
 
+import java.util.Set;
+
 /**
  * detail: 日志配置类
  * @author Ttt
@@ -26,6 +28,11 @@ public class LogConfig {
      */
     public boolean displayThreadInfo = LogConstants.JUDGE_DISPLAY_THREAD_LOG;
 
+    /**
+     * 显示调用方法的 TAG ( 排序日志时只有这些 TAG 获取调用位置, 其他 TAG 只显示线程信息 ) = 默认 null 全部显示
+     */
+    public Set<String> callerTags = null;
+
     /**
      * 是否排序日志 ( 格式化 ) = 默认 false
      */
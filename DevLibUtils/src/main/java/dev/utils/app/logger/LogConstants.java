@@ -63,11 +63,6 @@ final class LogConstants {
      */
     public static final int JSON_INDENT = 4;
 
-    /**
-     * 最小堆栈跟踪索引
-     */
-    public static final int MIN_STACK_OFFSET = 3;
-
     // =======================
     // = 绘制日志格式 - 字符 =
     // =======================
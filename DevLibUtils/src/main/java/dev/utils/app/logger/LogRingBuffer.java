@@ -0,0 +1,307 @@
+package dev.utils.app.logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * detail: 异步日志队列 ( 有界多生产者单消费者环形缓冲区 )
+ * @author Ttt
+ * <pre>
+ *     输出日志的线程只把日志事件写入预先分配的槽位, 由单个后台线程格式化、绘制边框、分段打印
+ *     每个槽位通过序号判断是否可写、可读, 入队只需一次 CAS, 不需要加锁
+ *     队列已满时根据 {@link AsyncPolicy} 丢弃新的日志或者阻塞等待
+ * </pre>
+ */
+final class LogRingBuffer implements Runnable {
+
+    // 消费线程空闲时最长等待时间 ( 防止错过唤醒 )
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    // 队列已满阻塞等待、flush 等待时, 每次等待时间
+    private static final long WAIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    // 最大队列容量
+    private static final int MAX_CAPACITY = 1 << 16;
+    // 写入位置关闭标记 ( 关闭后生产者无法再占用槽位 )
+    private static final long CLOSED_BIT = 1L << 62;
+
+    // 日志输出类 ( 处理日志事件 )
+    private final LoggerPrinter mPrinter;
+    // 队列已满处理策略
+    private final AsyncPolicy mPolicy;
+    // 队列容量 ( 2 的幂 )
+    private final int mCapacity;
+    // 索引掩码
+    private final int mMask;
+    // 预先分配的日志事件槽位
+    private final LogEvent[] mEvents;
+    // 槽位序号 ( 等于写入位置表示可写, 等于写入位置 + 1 表示可读 )
+    private final AtomicLongArray mSequences;
+    // 下一个写入位置 ( 多个生产者竞争, 关闭后带有 CLOSED_BIT 标记 )
+    private final AtomicLong mTail = new AtomicLong();
+    // 下一个读取位置 ( 只有消费线程修改 )
+    private volatile long mHead = 0L;
+    // 丢弃日志数量
+    private final AtomicLong mDroppedCount = new AtomicLong();
+    // 关闭时的最终写入位置 ( 消费线程处理到该位置后退出, -1 表示未关闭 )
+    private volatile long mEnd = -1L;
+    // 消费线程是否等待中
+    private volatile boolean mWaiting = false;
+    // 消费线程
+    private final Thread mThread;
+
+    /**
+     * 构造函数
+     * @param printer  日志输出类
+     * @param capacity 队列容量 ( 向上取 2 的幂 )
+     * @param policy   队列已满处理策略
+     */
+    LogRingBuffer(final LoggerPrinter printer, final int capacity, final AsyncPolicy policy) {
+        int size = 2;
+        while (size < capacity && size < MAX_CAPACITY) {
+            size <<= 1;
+        }
+        this.mPrinter = printer;
+        this.mPolicy = (policy != null) ? policy : AsyncPolicy.DROP;
+        this.mCapacity = size;
+        this.mMask = size - 1;
+        this.mEvents = new LogEvent[size];
+        this.mSequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            mEvents[i] = new LogEvent();
+            mSequences.set(i, i);
+        }
+        mThread = new Thread(this, "DevLogger-Async");
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    /**
+     * detail: 日志事件 ( 槽位复用 )
+     * @author Ttt
+     */
+    static final class LogEvent {
+
+        // 日志配置
+        LogConfig config;
+        // 日志 TAG
+        String tag;
+        // 日志类型
+        int logType;
+        // 日志信息
+        String message;
+        // 是否使用 {} 占位符
+        boolean parameterized;
+        // 占位符替换
+        Object[] args;
+        // 输出日志的线程名
+        String threadName;
+        // 输出日志时的调用位置
+        Throwable caller;
+
+        /**
+         * 清空引用, 防止槽位持有日志数据
+         */
+        void clear() {
+            config = null;
+            tag = null;
+            message = null;
+            args = null;
+            threadName = null;
+            caller = null;
+        }
+    }
+
+    // ============
+    // = 生产方法 =
+    // ============
+
+    /**
+     * 日志事件入队
+     * @param config        日志配置
+     * @param tag           日志 TAG
+     * @param logType       日志类型
+     * @param parameterized 是否使用 {} 占位符
+     * @param message       日志信息
+     * @param args          占位符替换
+     * @param threadName    输出日志的线程名
+     * @param caller        输出日志时的调用位置
+     * @return {@code true} 入队成功, {@code false} 队列已满丢弃或队列已关闭 ( 已关闭时不计入丢弃数量, 由调用方同步打印 )
+     */
+    boolean offer(final LogConfig config, final String tag, final int logType, final boolean parameterized,
+                  final String message, final Object[] args, final String threadName, final Throwable caller) {
+        long pos;
+        int index;
+        while (true) {
+            pos = mTail.get();
+            if ((pos & CLOSED_BIT) != 0) {
+                return false;
+            }
+            index = (int) (pos & mMask);
+            long dif = mSequences.get(index) - pos;
+            if (dif == 0) {
+                if (mTail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+            } else if (dif < 0) {
+                // 队列已满
+                if (mPolicy == AsyncPolicy.DROP) {
+                    mDroppedCount.incrementAndGet();
+                    return false;
+                }
+                LockSupport.unpark(mThread);
+                LockSupport.parkNanos(this, WAIT_PARK_NANOS);
+            }
+            // dif > 0 表示该位置已被其他线程占用, 重新获取写入位置
+        }
+        LogEvent event = mEvents[index];
+        event.config = config;
+        event.tag = tag;
+        event.logType = logType;
+        event.parameterized = parameterized;
+        event.message = message;
+        event.args = args;
+        event.threadName = threadName;
+        event.caller = caller;
+        // 发布事件 ( volatile 写入, 保证消费线程读取到完整的事件 )
+        mSequences.set(index, pos + 1);
+        if (mWaiting) {
+            LockSupport.unpark(mThread);
+        }
+        return true;
+    }
+
+    // ============
+    // = 消费方法 =
+    // ============
+
+    /**
+     * 消费线程
+     */
+    @Override
+    public void run() {
+        while (true) {
+            if (poll()) continue;
+            // 关闭后处理完关闭前占用的全部槽位再退出 ( 槽位已占用但未发布时继续等待 )
+            long end = mEnd;
+            if (end >= 0L && mHead >= end) break;
+            mWaiting = true;
+            if (!isReadable()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            mWaiting = false;
+        }
+    }
+
+    /**
+     * 读取位置是否存在已发布的事件
+     * @return {@code true} yes, {@code false} no
+     */
+    private boolean isReadable() {
+        long pos = mHead;
+        return mSequences.get((int) (pos & mMask)) == pos + 1;
+    }
+
+    /**
+     * 处理一个日志事件
+     * @return {@code true} 已处理, {@code false} 队列为空
+     */
+    private boolean poll() {
+        long pos = mHead;
+        int index = (int) (pos & mMask);
+        if (mSequences.get(index) != pos + 1) {
+            return false;
+        }
+        LogEvent event = mEvents[index];
+        try {
+            mPrinter.printEvent(event);
+        } catch (Throwable ignore) {
+        }
+        event.clear();
+        // 释放槽位给下一圈写入
+        mSequences.set(index, pos + mCapacity);
+        mHead = pos + 1;
+        return true;
+    }
+
+    // ============
+    // = 对外方法 =
+    // ============
+
+    /**
+     * 等待调用前入队的日志全部打印
+     * @param timeout 最长等待时间 ( 毫秒 )
+     * @return {@code true} 已全部打印, {@code false} 等待超时
+     */
+    boolean flush(final long timeout) {
+        long target = mTail.get() & ~CLOSED_BIT;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0L, timeout));
+        while (mHead < target) {
+            if (Thread.currentThread() == mThread || System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.unpark(mThread);
+            LockSupport.parkNanos(this, WAIT_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * 关闭队列 ( 打印剩余日志, 并结束消费线程 )
+     */
+    void close() {
+        // 标记写入位置, 之后的入队全部失败, 关闭前占用的槽位由消费线程处理完再退出
+        long tail;
+        do {
+            tail = mTail.get();
+        } while ((tail & CLOSED_BIT) == 0 && !mTail.compareAndSet(tail, tail | CLOSED_BIT));
+        mEnd = tail & ~CLOSED_BIT;
+        LockSupport.unpark(mThread);
+        if (Thread.currentThread() == mThread) return;
+        try {
+            mThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 是否已关闭
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean isClosed() {
+        return (mTail.get() & CLOSED_BIT) != 0;
+    }
+
+    /**
+     * 获取队列容量
+     * @return 队列容量
+     */
+    int getCapacity() {
+        return mCapacity;
+    }
+
+    /**
+     * 获取等待打印的日志数量
+     * @return 等待打印的日志数量
+     */
+    int getQueuedCount() {
+        return (int) Math.max(0L, (mTail.get() & ~CLOSED_BIT) - mHead);
+    }
+
+    /**
+     * 获取已入队的日志总数
+     * @return 已入队的日志总数
+     */
+    long getEnqueuedCount() {
+        return mTail.get() & ~CLOSED_BIT;
+    }
+
+    /**
+     * 获取队列已满丢弃的日志数量
+     * @return 丢弃的日志数量
+     */
+    long getDroppedCount() {
+        return mDroppedCount.get();
+    }
+}
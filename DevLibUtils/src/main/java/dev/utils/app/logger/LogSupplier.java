@@ -0,0 +1,17 @@
+package dev.utils.app.logger;
+
+/**
+ * detail: 日志信息提供者 ( 延迟生成日志信息 )
+ * @author Ttt
+ * <pre>
+ *     只有日志级别允许输出时才会调用 {@link #get()}, 用于拼接成本较高的日志信息
+ * </pre>
+ */
+public interface LogSupplier {
+
+    /**
+     * 获取日志信息
+     * @return 日志信息
+     */
+    String get();
+}
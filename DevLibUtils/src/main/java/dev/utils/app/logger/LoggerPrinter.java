@@ -8,6 +8,7 @@ import org.json.JSONObject;
 
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Arrays;
 
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
@@ -26,6 +27,12 @@ final class LoggerPrinter implements IPrinter {
     private static LogConfig LOG_CONFIG = null;
     // 每个线程的日志配置信息
     private static final ThreadLocal<LogConfig> LOCAL_LOG_CONFIGS = new ThreadLocal<>();
+    // 每个线程复用的 {} 占位符拼接 StringBuilder
+    private static final ThreadLocal<StringBuilder> LOCAL_BUILDERS = new ThreadLocal<>();
+    // 复用 StringBuilder 最大保留容量 ( 超过则丢弃, 防止长期持有大对象 )
+    private static final int MAX_BUILDER_CAPACITY = 8192;
+    // 异步日志队列 ( null 表示同步打印 )
+    private static volatile LogRingBuffer sRingBuffer = null;
 
     // ====================================
     // = 实现 IPrinter 接口, 对外公开方法 =
@@ -79,6 +86,95 @@ final class LoggerPrinter implements IPrinter {
         init();
     }
 
+    // ============
+    // = 异步日志 =
+    // ============
+
+    /**
+     * 开启异步日志
+     * <pre>
+     *     输出日志的线程只进行级别判断并写入队列, 格式化、绘制边框、分段打印在后台线程处理
+     *     占位符参数在后台线程格式化, 传入可变对象时打印的是格式化时的数据
+     * </pre>
+     * @param capacity 队列容量 ( 向上取 2 的幂 )
+     * @param policy   队列已满处理策略
+     */
+    @Override
+    public void openAsync(final int capacity, final AsyncPolicy policy) {
+        synchronized (LoggerPrinter.class) {
+            LogRingBuffer ringBuffer = sRingBuffer;
+            sRingBuffer = new LogRingBuffer(this, capacity, policy);
+            // 关闭旧的队列 ( 打印剩余日志 )
+            if (ringBuffer != null) {
+                ringBuffer.close();
+            }
+        }
+    }
+
+    /**
+     * 关闭异步日志 ( 打印剩余日志后恢复同步打印 )
+     */
+    @Override
+    public void closeAsync() {
+        synchronized (LoggerPrinter.class) {
+            LogRingBuffer ringBuffer = sRingBuffer;
+            sRingBuffer = null;
+            if (ringBuffer != null) {
+                ringBuffer.close();
+            }
+        }
+    }
+
+    /**
+     * 是否开启异步日志
+     * @return {@code true} yes, {@code false} no
+     */
+    @Override
+    public boolean isAsync() {
+        return sRingBuffer != null;
+    }
+
+    /**
+     * 等待异步日志全部打印
+     * @param timeout 最长等待时间 ( 毫秒 )
+     * @return {@code true} 已全部打印 ( 或未开启异步日志 ), {@code false} 等待超时
+     */
+    @Override
+    public boolean flush(final long timeout) {
+        LogRingBuffer ringBuffer = sRingBuffer;
+        return ringBuffer == null || ringBuffer.flush(timeout);
+    }
+
+    /**
+     * 获取异步日志等待打印的数量
+     * @return 等待打印的日志数量
+     */
+    @Override
+    public int getAsyncQueuedCount() {
+        LogRingBuffer ringBuffer = sRingBuffer;
+        return (ringBuffer != null) ? ringBuffer.getQueuedCount() : 0;
+    }
+
+    /**
+     * 获取异步日志已入队的总数
+     * @return 已入队的日志总数
+     */
+    @Override
+    public long getAsyncEnqueuedCount() {
+        LogRingBuffer ringBuffer = sRingBuffer;
+        return (ringBuffer != null) ? ringBuffer.getEnqueuedCount() : 0L;
+    }
+
+    /**
+     * 获取异步日志队列已满丢弃的数量
+     * @return 丢弃的日志数量
+     */
+    @Override
+    public long getAsyncDroppedCount() {
+        LogRingBuffer ringBuffer = sRingBuffer;
+        return (ringBuffer != null) ? ringBuffer.getDroppedCount() : 0L;
+    }
+
     // ===============================
     // = 使用默认 TAG - 日志打印方法 =
     // ===============================
@@ -120,18 +216,13 @@ final class LoggerPrinter implements IPrinter {
      */
     @Override
     public void e(final Throwable throwable, final String message, final Object... args) {
-        // 日志消息
-        String logMsg = message;
-        // 判断消息
-        if (throwable != null && message != null) {
-            logMsg = message + " : " + throwable.toString();
-        } else if (throwable != null && message == null) {
-            logMsg = throwable.toString();
-        } else if (message == null) {
-            // 没有日志信息, 也没有异常信息传入
-            logMsg = "No message/exception is set";
+        // 获取当前线程日志配置信息
+        LogConfig logConfig = getThreadLogConfig();
+        // 判断是否打印日志 ( 日志级别 ), 不打印则不拼接异常信息
+        if (!isPrintLog(logConfig, Log.ERROR)) {
+            return;
         }
-        logHandle(Log.ERROR, logMsg, args);
+        logHandle(logConfig, null, Log.ERROR, createErrorMessage(throwable, message), args);
     }
 
     /**
@@ -325,18 +416,13 @@ final class LoggerPrinter implements IPrinter {
      */
     @Override
     public void eTag(final String tag, final Throwable throwable, final String message, final Object... args) {
-        // 日志消息
-        String logMsg = message;
-        // 判断消息
-        if (throwable != null && message != null) {
-            logMsg = message + " : " + throwable.toString();
-        } else if (throwable != null && message == null) {
-            logMsg = throwable.toString();
-        } else if (message == null) {
-            // 没有日志信息, 也没有异常信息传入
-            logMsg = "No message/exception is set";
+        // 获取当前线程日志配置信息
+        LogConfig logConfig = getThreadLogConfig();
+        // 判断是否打印日志 ( 日志级别 ), 不打印则不拼接异常信息
+        if (!isPrintLog(logConfig, Log.ERROR)) {
+            return;
         }
-        logHandle(tag, Log.ERROR, logMsg, args);
+        logHandle(logConfig, tag, Log.ERROR, createErrorMessage(throwable, message), args);
     }
 
     /**
@@ -487,6 +573,190 @@ final class LoggerPrinter implements IPrinter {
         }
     }
 
+    // ======================
+    // = 延迟格式化日志方法 =
+    // ======================
+
+    /**
+     * 判断日志级别是否允许输出 ( 不消耗 {@link #other(LogConfig)} 设置的单次配置 )
+     * @param logType 日志类型
+     * @return {@code true} yes, {@code false} no
+     */
+    @Override
+    public boolean isLoggable(final int logType) {
+        LogConfig logConfig = LOCAL_LOG_CONFIGS.get();
+        if (logConfig == null) {
+            logConfig = init();
+        }
+        return isPrintLog(logConfig, logType);
+    }
+
+    /**
+     * 打印日志 ( 不进行格式化 )
+     * @param logType 日志类型
+     * @param message 日志信息
+     */
+    @Override
+    public void log(final int logType, final String message) {
+        logHandle(null, null, logType, false, message, null);
+    }
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param arg     占位符参数
+     */
+    @Override
+    public void log(final int logType, final String pattern, final Object arg) {
+        logTag(null, logType, pattern, arg);
+    }
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param arg1    占位符参数
+     * @param arg2    占位符参数
+     */
+    @Override
+    public void log(final int logType, final String pattern, final Object arg1, final Object arg2) {
+        logTag(null, logType, pattern, arg1, arg2);
+    }
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param args    占位符参数
+     */
+    @Override
+    public void log(final int logType, final String pattern, final Object... args) {
+        logHandle(null, null, logType, true, pattern, args);
+    }
+
+    /**
+     * 打印日志 ( 日志级别允许输出才获取日志信息 )
+     * @param logType  日志类型
+     * @param supplier 日志信息提供者
+     */
+    @Override
+    public void log(final int logType, final LogSupplier supplier) {
+        logTag(null, logType, supplier);
+    }
+
+    /**
+     * 打印日志 ( 不进行格式化 )
+     * @param tag     日志 TAG
+     * @param logType 日志类型
+     * @param message 日志信息
+     */
+    @Override
+    public void logTag(final String tag, final int logType, final String message) {
+        logHandle(null, tag, logType, false, message, null);
+    }
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param tag     日志 TAG
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param arg     占位符参数
+     */
+    @Override
+    public void logTag(final String tag, final int logType, final String pattern, final Object arg) {
+        // 获取当前线程日志配置信息
+        LogConfig logConfig = getThreadLogConfig();
+        // 判断是否打印日志 ( 日志级别 ), 不打印则不创建参数数组
+        if (!isPrintLog(logConfig, logType)) {
+            return;
+        }
+        logHandle(logConfig, tag, logType, true, pattern, new Object[]{arg});
+    }
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param tag     日志 TAG
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param arg1    占位符参数
+     * @param arg2    占位符参数
+     */
+    @Override
+    public void logTag(final String tag, final int logType, final String pattern, final Object arg1, final Object arg2) {
+        // 获取当前线程日志配置信息
+        LogConfig logConfig = getThreadLogConfig();
+        // 判断是否打印日志 ( 日志级别 ), 不打印则不创建参数数组
+        if (!isPrintLog(logConfig, logType)) {
+            return;
+        }
+        logHandle(logConfig, tag, logType, true, pattern, new Object[]{arg1, arg2});
+    }
+
+    /**
+     * 打印日志 ( 使用 {} 占位符, 日志级别允许输出才进行拼接 )
+     * @param tag     日志 TAG
+     * @param logType 日志类型
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param args    占位符参数
+     */
+    @Override
+    public void logTag(final String tag, final int logType, final String pattern, final Object... args) {
+        logHandle(null, tag, logType, true, pattern, args);
+    }
+
+    /**
+     * 打印日志 ( 日志级别允许输出才获取日志信息 )
+     * @param tag      日志 TAG
+     * @param logType  日志类型
+     * @param supplier 日志信息提供者
+     */
+    @Override
+    public void logTag(final String tag, final int logType, final LogSupplier supplier) {
+        // 获取当前线程日志配置信息
+        LogConfig logConfig = getThreadLogConfig();
+        // 判断是否打印日志 ( 日志级别 ), 不打印则不获取日志信息
+        if (!isPrintLog(logConfig, logType)) {
+            return;
+        }
+        String message = null;
+        if (supplier != null) {
+            try {
+                message = supplier.get();
+            } catch (Exception e) {
+                message = "LogSupplier error : " + e.toString();
+            }
+        }
+        logHandle(logConfig, tag, logType, false, message, null);
+    }
+
+    /**
+     * 打印 Log.DEBUG ( 日志级别允许输出才获取日志信息 )
+     * @param supplier 日志信息提供者
+     */
+    @Override
+    public void d(final LogSupplier supplier) {
+        logTag(null, Log.DEBUG, supplier);
+    }
+
+    /**
+     * 打印 Log.INFO ( 日志级别允许输出才获取日志信息 )
+     * @param supplier 日志信息提供者
+     */
+    @Override
+    public void i(final LogSupplier supplier) {
+        logTag(null, Log.INFO, supplier);
+    }
+
+    /**
+     * 打印 Log.VERBOSE ( 日志级别允许输出才获取日志信息 )
+     * @param supplier 日志信息提供者
+     */
+    @Override
+    public void v(final LogSupplier supplier) {
+        logTag(null, Log.VERBOSE, supplier);
+    }
+
     // ================
     // = 内部判断方法 =
     // ================
@@ -610,14 +880,32 @@ final class LoggerPrinter implements IPrinter {
     }
 
     /**
-     * 日志处理方法 - 此方法是同步的, 以避免混乱的日志的顺序
+     * 日志处理方法
      * @param config  配置信息
      * @param tag     日志 TAG
      * @param logType 日志类型
      * @param msg     日志信息
      * @param args    占位符替换
      */
-    private synchronized void logHandle(final LogConfig config, final String tag, final int logType, final String msg, final Object... args) {
+    private void logHandle(final LogConfig config, final String tag, final int logType, final String msg, final Object... args) {
+        logHandle(config, tag, logType, false, msg, args);
+    }
+
+    /**
+     * 日志处理方法
+     * <pre>
+     *     开启异步日志时只写入队列, 否则同步打印 ( 同步打印时加锁, 以避免混乱的日志的顺序 )
+     *     日志信息格式化在判断日志级别之后进行
+     * </pre>
+     * @param config        配置信息
+     * @param tag           日志 TAG
+     * @param logType       日志类型
+     * @param parameterized 是否使用 {} 占位符
+     * @param msg           日志信息
+     * @param args          占位符替换
+     */
+    private void logHandle(final LogConfig config, final String tag, final int logType, final boolean parameterized,
+                           final String msg, final Object[] args) {
         LogConfig logConfig = config;
         // 如果配置为 null, 才进行获取
         if (logConfig == null) {
@@ -639,9 +927,53 @@ final class LoggerPrinter implements IPrinter {
                 logTag = LogConstants.DEFAULT_LOG_TAG;
             }
         }
+        // 线程信息、调用位置只能在输出日志的线程获取
+        String threadName = null;
+        Throwable caller = null;
+        if (logConfig.sortLog && logConfig.displayThreadInfo) {
+            threadName = Thread.currentThread().getName();
+            // 需要显示调用方法时才获取调用位置 ( 只记录堆栈, 打印时才转换为 StackTraceElement[] )
+            if (isCaptureCaller(logConfig, logTag)) {
+                caller = new Throwable();
+            }
+        }
+        // 开启异步日志则写入队列 ( 队列已满根据策略丢弃或阻塞等待, 入队时队列已关闭则同步打印 )
+        LogRingBuffer ringBuffer = sRingBuffer;
+        if (ringBuffer != null && !ringBuffer.isClosed()) {
+            if (ringBuffer.offer(logConfig, logTag, logType, parameterized, msg, args, threadName, caller)
+                    || !ringBuffer.isClosed()) {
+                return;
+            }
+        }
+        synchronized (this) {
+            printLog(logConfig, logTag, logType, parameterized, msg, args, threadName, caller);
+        }
+    }
+
+    /**
+     * 打印异步日志事件 ( 异步日志消费线程调用 )
+     * @param event 日志事件
+     */
+    void printEvent(final LogRingBuffer.LogEvent event) {
+        printLog(event.config, event.tag, event.logType, event.parameterized, event.message, event.args, event.threadName, event.caller);
+    }
+
+    /**
+     * 格式化日志信息并打印
+     * @param logConfig     日志配置
+     * @param logTag        日志 TAG
+     * @param logType       日志类型
+     * @param parameterized 是否使用 {} 占位符
+     * @param msg           日志信息
+     * @param args          占位符替换
+     * @param threadName    输出日志的线程名
+     * @param caller        输出日志时的调用位置
+     */
+    private void printLog(final LogConfig logConfig, final String logTag, final int logType, final boolean parameterized,
+                          final String msg, final Object[] args, final String threadName, final Throwable caller) {
         // 判断是否显示排序后的日志 ( 如果不排序, 则显示默认 )
         if (!logConfig.sortLog) {
-            finalLogPrinter(logType, logTag, createMessage(msg, args));
+            finalLogPrinter(logType, logTag, createMessage(parameterized, msg, args));
             return;
         }
         // = 日志配置信息获取 =
@@ -658,13 +990,13 @@ final class LoggerPrinter implements IPrinter {
             methodCount = LogConstants.DEFAULT_LOG_METHOD_COUNT;
         }
         // 获取打印的日志信息
-        String message = createMessage(msg, args);
+        String message = createMessage(parameterized, msg, args);
         // 防止 null 处理
         if (message == null) return;
         // 打印头部
         logTopBorder(logType, logTag);
         // 打印头部线程信息
-        logHeaderContent(logConfig, logType, logTag, methodCount, methodOffset);
+        logHeaderContent(logConfig, logType, logTag, methodCount, methodOffset, threadName, caller);
         // 获取系统的默认字符集的信息字节 (UTF-8)
         byte[] bytes = message.getBytes();
         // 获取字节总数
@@ -706,13 +1038,15 @@ final class LoggerPrinter implements IPrinter {
      * @param tag          日志 TAG
      * @param methodCount  方法总数
      * @param methodOffset 方法偏移索引
+     * @param threadName   输出日志的线程名
+     * @param caller       输出日志时的调用位置
      */
-    private void logHeaderContent(final LogConfig logConfig, final int logType, final String tag, int methodCount, int methodOffset) {
-        StackTraceElement[] trace = Thread.currentThread().getStackTrace();
+    private void logHeaderContent(final LogConfig logConfig, final int logType, final String tag, int methodCount, int methodOffset,
+                                  final String threadName, final Throwable caller) {
         // 判断是否显示日志线程信息
-        if (logConfig.displayThreadInfo) {
+        if (logConfig.displayThreadInfo && threadName != null) {
             // 打印线程信息 ( 线程名 )
-            finalLogPrinter(logType, tag, LogConstants.HORIZONTAL_DOUBLE_LINE + " Thread: " + Thread.currentThread().getName());
+            finalLogPrinter(logType, tag, LogConstants.HORIZONTAL_DOUBLE_LINE + " Thread: " + threadName);
             // 进行换行
             logDivider(logType, tag);
         } else {
@@ -720,6 +1054,12 @@ final class LoggerPrinter implements IPrinter {
             methodCount = methodOffset = 0;
             return;
         }
+        // 未获取调用位置 ( 不显示调用方法, 或者该 TAG 未开启 )
+        if (caller == null) {
+            return;
+        }
+        // 获取堆栈信息
+        StackTraceElement[] trace = caller.getStackTrace();
         // 手动进行偏移
         String level = "";
         // 堆栈总数
@@ -746,20 +1086,11 @@ final class LoggerPrinter implements IPrinter {
             if (stackIndex >= traceCount) {
                 continue;
             }
-            // 拼接中间内容、操作的类名、行数、方法名等信息
-            StringBuilder builder = new StringBuilder();
-            builder.append("║ ");
-            builder.append(level);
-            builder.append(getSimpleClassName(trace[stackIndex].getClassName()));
-            builder.append(".").append(trace[stackIndex].getMethodName());
-            builder.append(" (");
-            builder.append(trace[stackIndex].getFileName());
-            builder.append(":");
-            builder.append(trace[stackIndex].getLineNumber());
-            builder.append(")");
+            // 拼接中间内容、操作的类名、行数、方法名等信息 ( 同一调用位置只格式化一次 )
+            String message = "║ " + level + LogCallerCache.format(trace[stackIndex]);
             level += "   ";
             // 打印日志信息
-            finalLogPrinter(logType, tag, builder.toString());
+            finalLogPrinter(logType, tag, message);
         }
     }
 
@@ -805,41 +1136,114 @@ final class LoggerPrinter implements IPrinter {
 
     /**
      * 处理信息
-     * @param message 日志信息
-     * @param args    占位符替换
+     * @param parameterized 是否使用 {} 占位符
+     * @param message       日志信息
+     * @param args          占位符替换
      * @return 处理 ( 格式化 ) 后准备打印的日志信息
      */
-    private String createMessage(final String message, final Object... args) {
+    private String createMessage(final boolean parameterized, final String message, final Object[] args) {
         if (message != null) {
+            if (args == null || args.length == 0) {
+                return message;
+            }
             try {
-                return args.length == 0 ? message : String.format(message, args);
+                return parameterized ? formatParams(message, args) : String.format(message, args);
             } catch (Exception e) {
             }
         }
         return "message is null";
     }
 
+    /**
+     * 使用参数依次替换 {} 占位符 ( 复用当前线程 StringBuilder )
+     * @param pattern 日志信息 ( 含 {} 占位符 )
+     * @param args    占位符参数
+     * @return 替换后的日志信息
+     */
+    private String formatParams(final String pattern, final Object[] args) {
+        StringBuilder builder = LOCAL_BUILDERS.get();
+        if (builder == null || builder.capacity() > MAX_BUILDER_CAPACITY) {
+            builder = new StringBuilder(Math.max(64, pattern.length() + 16 * args.length));
+            LOCAL_BUILDERS.set(builder);
+        }
+        builder.setLength(0);
+        int start = 0;
+        int argIndex = 0;
+        int len = pattern.length();
+        while (argIndex < args.length) {
+            int index = pattern.indexOf("{}", start);
+            if (index < 0) break;
+            builder.append(pattern, start, index);
+            appendParam(builder, args[argIndex++]);
+            start = index + 2;
+        }
+        builder.append(pattern, start, len);
+        String message = builder.toString();
+        builder.setLength(0);
+        return message;
+    }
+
+    /**
+     * 拼接占位符参数
+     * @param builder {@link StringBuilder}
+     * @param arg     占位符参数
+     */
+    private void appendParam(final StringBuilder builder, final Object arg) {
+        if (arg instanceof Object[]) {
+            builder.append(Arrays.deepToString((Object[]) arg));
+            return;
+        }
+        try {
+            builder.append(arg);
+        } catch (Exception e) {
+            builder.append("[").append(arg.getClass().getName()).append(" toString error]");
+        }
+    }
+
+    /**
+     * 拼接异常日志信息
+     * @param throwable 异常
+     * @param message   日志信息
+     * @return 异常日志信息
+     */
+    private String createErrorMessage(final Throwable throwable, final String message) {
+        if (throwable != null && message != null) {
+            return message + " : " + throwable.toString();
+        } else if (throwable != null) {
+            return throwable.toString();
+        } else if (message == null) {
+            // 没有日志信息, 也没有异常信息传入
+            return "No message/exception is set";
+        }
+        return message;
+    }
+
     // ================
     // = 获取堆栈信息 =
     // ================
 
     /**
-     * 获取类名
-     * @param name 类.class
-     * @return ClassName
+     * 是否获取调用位置
+     * @param logConfig 日志配置
+     * @param tag       日志 TAG
+     * @return {@code true} yes, {@code false} no
      */
-    private String getSimpleClassName(final String name) {
-        int lastIndex = name.lastIndexOf(".");
-        return name.substring(lastIndex + 1);
+    private boolean isCaptureCaller(final LogConfig logConfig, final String tag) {
+        // 不显示调用方法则不获取
+        if (logConfig.methodCount == 0 && !logConfig.outputMethodAll) {
+            return false;
+        }
+        // 未设置 TAG 则全部获取, 设置则只获取对应 TAG
+        return logConfig.callerTags == null || logConfig.callerTags.contains(tag);
     }
 
     /**
      * 确定该类的方法调用后的堆栈跟踪的起始索引
-     * @param trace 堆栈
+     * @param trace 堆栈 ( 从日志处理方法开始 )
      * @return 堆栈跟踪索引
      */
     private int getStackOffset(final StackTraceElement[] trace) {
-        for (int i = LogConstants.MIN_STACK_OFFSET, len = trace.length; i < len; i++) {
+        for (int i = 0, len = trace.length; i < len; i++) {
             StackTraceElement e = trace[i];
             String name = e.getClassName();
             if (!name.equals(LoggerPrinter.class.getName()) && !name.equals(DevLogger.class.getName())) {
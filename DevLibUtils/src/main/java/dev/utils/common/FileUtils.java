@@ -18,13 +18,14 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.security.DigestInputStream;
-import java.security.MessageDigest;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
 
 import dev.utils.JCLogUtils;
+import dev.utils.common.assist.search.DirSizeIndex;
+import dev.utils.common.assist.search.FileWalker;
+import dev.utils.common.encrypt.FileHashUtils;
 
 /**
  * detail: 文件操作工具类
@@ -641,6 +642,16 @@ public final class FileUtils {
         return formatByteMemorySize(getDirLength(dir));
     }
 
+    /**
+     * 获取目录大小 ( 使用索引, 只重新读取修改时间变化的文件夹 )
+     * @param dir   目录
+     * @param index 文件夹大小索引
+     * @return 文件大小
+     */
+    public static String getDirSize(final File dir, final DirSizeIndex index) {
+        return formatByteMemorySize(getDirLength(dir, index));
+    }
+
     /**
      * 获取文件大小
      * @param filePath 文件路径
@@ -675,18 +686,19 @@ public final class FileUtils {
      */
     public static long getDirLength(final File dir) {
         if (!isDirectory(dir)) return 0;
-        long len = 0;
-        File[] files = dir.listFiles();
-        if (files != null && files.length != 0) {
-            for (File file : files) {
-                if (file.isDirectory()) {
-                    len += getDirLength(file);
-                } else {
-                    len += file.length();
-                }
-            }
-        }
-        return len;
+        // 每个文件只读取一次文件属性 ( API 26 以上 )
+        return new FileWalker(dir).getLength();
+    }
+
+    /**
+     * 获取目录全部文件大小 ( 使用索引, 只重新读取修改时间变化的文件夹 )
+     * @param dir   目录
+     * @param index 文件夹大小索引
+     * @return 目录全部文件大小
+     */
+    public static long getDirLength(final File dir, final DirSizeIndex index) {
+        if (index == null) return getDirLength(dir);
+        return index.getDirLength(dir);
     }
 
     /**
@@ -1674,17 +1686,7 @@ public final class FileUtils {
         if (!dir.exists()) return true;
         // dir isn't a directory then return false
         if (!dir.isDirectory()) return false;
-        File[] files = dir.listFiles();
-        if (files != null && files.length != 0) {
-            for (File file : files) {
-                if (file.isFile()) {
-                    if (!file.delete()) return false;
-                } else if (file.isDirectory()) {
-                    if (!deleteDir(file)) return false;
-                }
-            }
-        }
-        return dir.delete();
+        return new FileWalker(dir).delete();
     }
 
     /**
@@ -1855,20 +1857,12 @@ public final class FileUtils {
      */
     public static List<File> listFilesInDirWithFilter(final File dir, final FileFilter filter, final boolean isRecursive) {
         if (!isDirectory(dir) || filter == null) return null;
-        List<File> list = new ArrayList<>();
-        File[] files = dir.listFiles();
-        if (files != null && files.length != 0) {
-            for (File file : files) {
-                if (filter.accept(file)) {
-                    list.add(file);
-                }
-                if (isRecursive && file.isDirectory()) {
-                    // noinspection ConstantConditions
-                    list.addAll(listFilesInDirWithFilter(file, filter, true));
-                }
+        return new FileWalker(dir).setRecursive(isRecursive).setFilter(new FileWalker.Filter() {
+            @Override
+            public boolean accept(FileWalker.Entry entry) {
+                return filter.accept(entry.getFile());
             }
-        }
-        return list;
+        }).listFiles();
     }
 
     /**
@@ -1927,29 +1921,7 @@ public final class FileUtils {
      * @return 文件 MD5 值 byte[]
      */
     public static byte[] getFileMD5(final File file) {
-        if (file == null) return null;
-        DigestInputStream dis = null;
-        try {
-            FileInputStream fis = new FileInputStream(file);
-            MessageDigest digest = MessageDigest.getInstance("MD5");
-            dis = new DigestInputStream(fis, digest);
-            byte[] buffer = new byte[256 * 1024];
-            while (true) {
-                if (!(dis.read(buffer) > 0)) break;
-            }
-            digest = dis.getMessageDigest();
-            return digest.digest();
-        } catch (Exception e) {
-            JCLogUtils.eTag(TAG, e, "getFileMD5");
-            return null;
-        } finally {
-            if (dis != null) {
-                try {
-                    dis.close();
-                } catch (Exception e) {
-                }
-            }
-        }
+        return FileHashUtils.hashToBytes(file, FileHashUtils.Algorithm.MD5);
     }
 
     // ================
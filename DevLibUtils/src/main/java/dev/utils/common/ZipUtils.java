@@ -2,21 +2,33 @@ package dev.utils.common;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Collection;
-import java.util.Enumeration;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
 import dev.utils.JCLogUtils;
+import dev.utils.common.assist.ZipReader;
 
 /**
  * detail: 压缩相关工具类
@@ -31,6 +43,14 @@ public final class ZipUtils {
     private static final String TAG = ZipUtils.class.getSimpleName();
     // 缓存大小
     private static final int BUFFER_LEN = 8192;
+    // 并行压缩大文件阈值 ( 超过则在写入线程直接压缩写入, 不缓存到内存 )
+    private static final long PARALLEL_LARGE_FILE_LEN = 8 * 1024 * 1024;
+    // 并行压缩每个线程最多缓存的已压缩条目数量
+    private static final int PARALLEL_PENDING_PER_THREAD = 4;
+    // 并行压缩文件总大小限制 ( 不支持 ZIP64, 超过则使用 ZipOutputStream 压缩 )
+    private static final long PARALLEL_MAX_TOTAL_LEN = 0xF0000000L;
+    // 并行压缩条目数量限制 ( 不支持 ZIP64, 超过则使用 ZipOutputStream 压缩 )
+    private static final int PARALLEL_MAX_ENTRIES = 0xFFFF;
 
     /**
      * 批量压缩文件
@@ -249,68 +269,12 @@ public final class ZipUtils {
      */
     public static List<File> unzipFileByKeyword(final File zipFile, final File destDir, final String keyword) throws Exception {
         if (zipFile == null || destDir == null) return null;
-        List<File> files = new ArrayList<>();
-        ZipFile zip = new ZipFile(zipFile);
-        Enumeration<?> entries = zip.entries();
-        if (isSpace(keyword)) {
-            while (entries.hasMoreElements()) {
-                ZipEntry entry = ((ZipEntry) entries.nextElement());
-                String entryName = entry.getName();
-                if (entryName.contains("../")) {
-                    JCLogUtils.dTag(TAG, "entryName: %s is dangerous!", entryName);
-                    continue;
-                }
-                if (!unzipChildFile(destDir, files, zip, entry, entryName)) return files;
-            }
-        } else {
-            while (entries.hasMoreElements()) {
-                ZipEntry entry = ((ZipEntry) entries.nextElement());
-                String entryName = entry.getName();
-                if (entryName.contains("../")) {
-                    JCLogUtils.dTag(TAG, "entryName: %s is dangerous!", entryName);
-                    continue;
-                }
-                if (entryName.contains(keyword)) {
-                    if (!unzipChildFile(destDir, files, zip, entry, entryName)) return files;
-                }
-            }
-        }
-        return files;
-    }
-
-    /**
-     * 解压文件
-     * @param destDir   目标目录
-     * @param files     解压文件链表
-     * @param zf        压缩文件条目
-     * @param entry     压缩文件信息
-     * @param entryName 文件名
-     * @return {@code true} success, {@code false} fail
-     * @throws Exception 异常时抛出
-     */
-    private static boolean unzipChildFile(final File destDir, final List<File> files, final ZipFile zf,
-                                          final ZipEntry entry, final String entryName) throws Exception {
-        File file = new File(destDir, entryName);
-        files.add(file);
-        if (entry.isDirectory()) {
-            return createOrExistsDir(file);
-        } else {
-            if (!createOrExistsFile(file)) return false;
-            InputStream is = null;
-            OutputStream os = null;
-            try {
-                is = new BufferedInputStream(zf.getInputStream(entry));
-                os = new BufferedOutputStream(new FileOutputStream(file));
-                byte[] buffer = new byte[BUFFER_LEN];
-                int len;
-                while ((len = is.read(buffer)) != -1) {
-                    os.write(buffer, 0, len);
-                }
-            } finally {
-                closeIOQuietly(is, os);
-            }
+        ZipReader reader = new ZipReader(zipFile);
+        try {
+            return reader.extractByKeyword(destDir, keyword);
+        } finally {
+            reader.close();
         }
-        return true;
     }
 
     /**
@@ -331,18 +295,18 @@ public final class ZipUtils {
      */
     public static List<String> getFilesPath(final File zipFile) throws Exception {
         if (zipFile == null) return null;
-        List<String> paths = new ArrayList<>();
-        Enumeration<?> entries = new ZipFile(zipFile).entries();
-        while (entries.hasMoreElements()) {
-            String entryName = ((ZipEntry) entries.nextElement()).getName();
-            if (entryName.contains("../")) {
-                JCLogUtils.dTag(TAG, "entryName: %s is dangerous!", entryName);
-                paths.add(entryName);
-            } else {
-                paths.add(entryName);
+        ZipReader reader = new ZipReader(zipFile);
+        try {
+            List<String> paths = reader.getNames();
+            for (String entryName : paths) {
+                if (entryName.contains("../")) {
+                    JCLogUtils.dTag(TAG, "entryName: %s is dangerous!", entryName);
+                }
             }
+            return paths;
+        } finally {
+            reader.close();
         }
-        return paths;
     }
 
     /**
@@ -363,13 +327,552 @@ public final class ZipUtils {
      */
     public static List<String> getComments(final File zipFile) throws Exception {
         if (zipFile == null) return null;
-        List<String> comments = new ArrayList<>();
-        Enumeration<?> entries = new ZipFile(zipFile).entries();
-        while (entries.hasMoreElements()) {
-            ZipEntry entry = ((ZipEntry) entries.nextElement());
-            comments.add(entry.getComment());
+        ZipReader reader = new ZipReader(zipFile);
+        try {
+            return reader.getComments();
+        } finally {
+            reader.close();
+        }
+    }
+
+    // ============
+    // = 并行压缩 =
+    // ============
+
+    /**
+     * 并行批量压缩文件
+     * @param resFiles 待压缩文件集合
+     * @param zipFile  压缩文件
+     * @return {@code true} 压缩成功, {@code false} 压缩失败
+     * @throws Exception 异常时抛出
+     */
+    public static boolean zipFilesParallel(final Collection<File> resFiles, final File zipFile) throws Exception {
+        return zipFilesParallel(resFiles, zipFile, null, Deflater.DEFAULT_COMPRESSION, 0);
+    }
+
+    /**
+     * 并行批量压缩文件
+     * <pre>
+     *     每个文件在线程池中压缩到独立缓冲区, 再按顺序写入压缩文件, 结果为标准 zip 格式
+     *     大文件 ( 超过 8M ) 在写入线程直接压缩写入, 不占用内存
+     *     不支持 ZIP64, 文件总大小超过 3.75G 或者超过 65535 个条目时使用 ZipOutputStream 压缩
+     * </pre>
+     * @param resFiles    待压缩文件集合
+     * @param zipFile     压缩文件
+     * @param comment     压缩文件的注释
+     * @param level       压缩级别 ( 0-9, {@link Deflater#DEFAULT_COMPRESSION} 默认级别 )
+     * @param parallelism 并行数 ( 小于等于 0 则使用 CPU 核数 )
+     * @return {@code true} 压缩成功, {@code false} 压缩失败
+     * @throws Exception 异常时抛出
+     */
+    public static boolean zipFilesParallel(final Collection<File> resFiles, final File zipFile, final String comment,
+                                           final int level, final int parallelism) throws Exception {
+        if (resFiles == null || zipFile == null) return false;
+        // 获取全部待压缩条目
+        List<ZipItem> items = new ArrayList<>();
+        long totalLength = 0L;
+        for (File resFile : resFiles) {
+            totalLength += collectZipItems(resFile, "", comment, items);
+        }
+        if (items.size() > PARALLEL_MAX_ENTRIES || totalLength > PARALLEL_MAX_TOTAL_LEN) {
+            return zipFiles(resFiles, zipFile, comment, level);
+        }
+        int threads = Math.max(1, Math.min(getParallelism(parallelism), items.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ZipWriter writer = null;
+        try {
+            writer = new ZipWriter(new BufferedOutputStream(new FileOutputStream(zipFile), BUFFER_LEN * 8));
+            int size = items.size();
+            int maxPending = threads * PARALLEL_PENDING_PER_THREAD;
+            List<Future<byte[]>> futures = new ArrayList<>(Collections.<Future<byte[]>>nCopies(size, null));
+            int submitted = 0;
+            for (int i = 0; i < size; i++) {
+                // 限制已压缩未写入的条目数量, 防止占用大量内存
+                for (; submitted < size && submitted < i + maxPending; submitted++) {
+                    final ZipItem item = items.get(submitted);
+                    if (item.directory || item.length > PARALLEL_LARGE_FILE_LEN) continue;
+                    futures.set(submitted, executor.submit(new Callable<byte[]>() {
+                        @Override
+                        public byte[] call() throws Exception {
+                            ByteArrayOutputStream baos = new ByteArrayOutputStream((int) Math.min(item.length + 64, BUFFER_LEN * 8));
+                            deflate(item, level, baos);
+                            return baos.toByteArray();
+                        }
+                    }));
+                }
+                ZipItem item = items.get(i);
+                Future<byte[]> future = futures.set(i, null);
+                if (item.directory) {
+                    writer.writeDirectory(item);
+                } else if (future != null) {
+                    writer.writeDeflated(item, getResult(future));
+                } else {
+                    writer.writeStreaming(item, level);
+                }
+            }
+            writer.finish();
+            return true;
+        } finally {
+            executor.shutdownNow();
+            if (writer != null) {
+                closeIOQuietly(writer.out);
+            }
+        }
+    }
+
+    /**
+     * 批量压缩文件 ( 指定压缩级别 )
+     * @param resFiles 待压缩文件集合
+     * @param zipFile  压缩文件
+     * @param comment  压缩文件的注释
+     * @param level    压缩级别 ( 0-9, {@link Deflater#DEFAULT_COMPRESSION} 默认级别 )
+     * @return {@code true} 压缩成功, {@code false} 压缩失败
+     * @throws Exception 异常时抛出
+     */
+    public static boolean zipFiles(final Collection<File> resFiles, final File zipFile, final String comment, final int level) throws Exception {
+        if (resFiles == null || zipFile == null) return false;
+        ZipOutputStream zos = null;
+        try {
+            zos = new ZipOutputStream(new FileOutputStream(zipFile));
+            zos.setLevel(level);
+            for (File resFile : resFiles) {
+                if (!zipFile(resFile, "", zos, comment)) return false;
+            }
+            return true;
+        } finally {
+            if (zos != null) {
+                zos.finish();
+                closeIOQuietly(zos);
+            }
+        }
+    }
+
+    /**
+     * 并行解压文件
+     * @param zipFile 待解压文件
+     * @param destDir 目标目录
+     * @return 文件链表
+     * @throws Exception 异常时抛出
+     */
+    public static List<File> unzipFileParallel(final File zipFile, final File destDir) throws Exception {
+        return unzipFileParallel(zipFile, destDir, null, 0);
+    }
+
+    /**
+     * 并行解压带有关键字的文件
+     * <pre>
+     *     先按顺序创建全部文件夹, 再通过 {@link ZipReader} 随机读取, 在线程池中并行写入文件 ( 大文件优先 )
+     * </pre>
+     * @param zipFile     待解压文件
+     * @param destDir     目标目录
+     * @param keyword     关键字 ( 为 null 则解压全部文件 )
+     * @param parallelism 并行数 ( 小于等于 0 则使用 CPU 核数 )
+     * @return 带有关键字的文件链表
+     * @throws Exception 异常时抛出
+     */
+    public static List<File> unzipFileParallel(final File zipFile, final File destDir, final String keyword,
+                                               final int parallelism) throws Exception {
+        if (zipFile == null || destDir == null) return null;
+        List<File> files = new ArrayList<>();
+        final ZipReader reader = new ZipReader(zipFile);
+        ExecutorService executor = null;
+        try {
+            List<ZipEntry> fileEntries = new ArrayList<>();
+            for (ZipEntry entry : reader.getEntries()) {
+                String entryName = entry.getName();
+                if (!isSpace(keyword) && !entryName.contains(keyword)) continue;
+                File file = ZipReader.resolveDestination(destDir, entryName);
+                if (file == null) {
+                    JCLogUtils.dTag(TAG, "entryName: %s is dangerous!", entryName);
+                    continue;
+                }
+                files.add(file);
+                // 提前创建文件夹, 防止多个线程同时创建同一文件夹
+                if (entry.isDirectory()) {
+                    if (!createOrExistsDir(file)) return files;
+                } else {
+                    if (!createOrExistsDir(file.getParentFile())) return files;
+                    fileEntries.add(entry);
+                }
+            }
+            if (fileEntries.isEmpty()) return files;
+            // 大文件优先, 减少最后只剩一个线程解压的时间
+            Collections.sort(fileEntries, new Comparator<ZipEntry>() {
+                @Override
+                public int compare(ZipEntry lhs, ZipEntry rhs) {
+                    long lhsSize = lhs.getSize(), rhsSize = rhs.getSize();
+                    return lhsSize < rhsSize ? 1 : (lhsSize == rhsSize ? 0 : -1);
+                }
+            });
+            int threads = Math.max(1, Math.min(getParallelism(parallelism), fileEntries.size()));
+            executor = Executors.newFixedThreadPool(threads);
+            List<Future<Long>> futures = new ArrayList<>(fileEntries.size());
+            for (final ZipEntry entry : fileEntries) {
+                futures.add(executor.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() throws Exception {
+                        OutputStream os = null;
+                        try {
+                            os = new BufferedOutputStream(new FileOutputStream(new File(destDir, entry.getName())));
+                            return reader.extract(entry, os);
+                        } finally {
+                            closeIOQuietly(os);
+                        }
+                    }
+                }));
+            }
+            for (Future<Long> future : futures) {
+                getResult(future);
+            }
+            return files;
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            reader.close();
+        }
+    }
+
+    /**
+     * detail: 并行压缩条目
+     * @author Ttt
+     */
+    private static final class ZipItem {
+
+        // 待压缩文件
+        File file;
+        // 条目名
+        byte[] name;
+        // 是否包含非 ASCII 字符
+        boolean utf8;
+        // 注释
+        byte[] comment;
+        // 是否文件夹
+        boolean directory;
+        // 文件大小 ( 压缩前读取 )
+        long length;
+        // DOS 格式修改时间
+        long dosTime;
+        // CRC32
+        long crc;
+        // 压缩前大小
+        long size;
+        // 压缩后大小
+        long compressedSize;
+        // 本地文件头偏移
+        long offset;
+        // 是否使用数据描述符 ( 压缩后写入 CRC32、大小 )
+        boolean dataDescriptor;
+    }
+
+    /**
+     * detail: 并行压缩 zip 写入
+     * @author Ttt
+     * <pre>
+     *     ZipOutputStream 无法写入已压缩的数据, 因此直接按 zip 格式写入本地文件头、数据以及中央目录
+     * </pre>
+     */
+    private static final class ZipWriter {
+
+        // 本地文件头标识
+        private static final int LOCAL_HEADER_SIG = 0x04034b50;
+        // 数据描述符标识
+        private static final int DATA_DESCRIPTOR_SIG = 0x08074b50;
+        // 中央目录标识
+        private static final int CENTRAL_HEADER_SIG = 0x02014b50;
+        // 中央目录结束标识
+        private static final int END_HEADER_SIG = 0x06054b50;
+        // 通用标记 - 数据描述符
+        private static final int FLAG_DATA_DESCRIPTOR = 1 << 3;
+        // 通用标记 - 文件名 UTF-8 编码
+        private static final int FLAG_UTF8 = 1 << 11;
+
+        // 输出流
+        final OutputStream out;
+        // 已写入字节数
+        private long mWritten;
+        // 已写入条目
+        private final List<ZipItem> mItems = new ArrayList<>();
+
+        ZipWriter(final OutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * 写入文件夹条目
+         * @param item 压缩条目
+         * @throws IOException 异常时抛出
+         */
+        void writeDirectory(final ZipItem item) throws IOException {
+            writeLocalHeader(item);
+        }
+
+        /**
+         * 写入已压缩条目
+         * @param item 压缩条目
+         * @param data 已压缩数据
+         * @throws IOException 异常时抛出
+         */
+        void writeDeflated(final ZipItem item, final byte[] data) throws IOException {
+            writeLocalHeader(item);
+            write(data, 0, data.length);
+        }
+
+        /**
+         * 压缩并写入条目 ( 先写入本地文件头, CRC32、大小在数据后写入 )
+         * @param item  压缩条目
+         * @param level 压缩级别
+         * @throws IOException 异常时抛出
+         */
+        void writeStreaming(final ZipItem item, final int level) throws IOException {
+            item.dataDescriptor = true;
+            writeLocalHeader(item);
+            deflate(item, level, new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    ZipWriter.this.write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    ZipWriter.this.write(b, off, len);
+                }
+            });
+            writeInt(DATA_DESCRIPTOR_SIG);
+            writeInt(item.crc);
+            writeInt(item.compressedSize);
+            writeInt(item.size);
+        }
+
+        /**
+         * 写入中央目录以及中央目录结束标识
+         * @throws IOException 异常时抛出
+         */
+        void finish() throws IOException {
+            long centralOffset = mWritten;
+            for (ZipItem item : mItems) {
+                writeInt(CENTRAL_HEADER_SIG);
+                writeShort(20); // version made by
+                writeShort(item.directory ? 10 : 20);
+                writeShort(getFlags(item));
+                writeShort(item.directory ? ZipEntry.STORED : ZipEntry.DEFLATED);
+                writeInt(item.dosTime);
+                writeInt(item.crc);
+                writeInt(item.compressedSize);
+                writeInt(item.size);
+                writeShort(item.name.length);
+                writeShort(0); // extra field length
+                writeShort(item.comment != null ? item.comment.length : 0);
+                writeShort(0); // disk number start
+                writeShort(0); // internal file attributes
+                writeInt(item.directory ? 0x10 : 0); // external file attributes
+                writeInt(item.offset);
+                write(item.name, 0, item.name.length);
+                if (item.comment != null) {
+                    write(item.comment, 0, item.comment.length);
+                }
+            }
+            long centralSize = mWritten - centralOffset;
+            writeInt(END_HEADER_SIG);
+            writeShort(0); // number of this disk
+            writeShort(0); // disk where central directory starts
+            writeShort(mItems.size());
+            writeShort(mItems.size());
+            writeInt(centralSize);
+            writeInt(centralOffset);
+            writeShort(0); // comment length
+            out.flush();
+        }
+
+        /**
+         * 写入本地文件头
+         * @param item 压缩条目
+         * @throws IOException 异常时抛出
+         */
+        private void writeLocalHeader(final ZipItem item) throws IOException {
+            item.offset = mWritten;
+            mItems.add(item);
+            boolean known = !item.dataDescriptor;
+            writeInt(LOCAL_HEADER_SIG);
+            writeShort(item.directory ? 10 : 20);
+            writeShort(getFlags(item));
+            writeShort(item.directory ? ZipEntry.STORED : ZipEntry.DEFLATED);
+            writeInt(item.dosTime);
+            writeInt(known ? item.crc : 0);
+            writeInt(known ? item.compressedSize : 0);
+            writeInt(known ? item.size : 0);
+            writeShort(item.name.length);
+            writeShort(0); // extra field length
+            write(item.name, 0, item.name.length);
+        }
+
+        /**
+         * 获取通用标记
+         * @param item 压缩条目
+         * @return 通用标记
+         */
+        private static int getFlags(final ZipItem item) {
+            int flags = 0;
+            if (item.dataDescriptor) flags |= FLAG_DATA_DESCRIPTOR;
+            if (item.utf8) flags |= FLAG_UTF8;
+            return flags;
+        }
+
+        private void writeShort(final int value) throws IOException {
+            out.write(value & 0xFF);
+            out.write((value >>> 8) & 0xFF);
+            mWritten += 2;
+        }
+
+        private void writeInt(final long value) throws IOException {
+            out.write((int) (value & 0xFF));
+            out.write((int) ((value >>> 8) & 0xFF));
+            out.write((int) ((value >>> 16) & 0xFF));
+            out.write((int) ((value >>> 24) & 0xFF));
+            mWritten += 4;
+        }
+
+        private void write(final byte[] data, final int offset, final int length) throws IOException {
+            out.write(data, offset, length);
+            mWritten += length;
+        }
+    }
+
+    /**
+     * 获取待压缩条目 ( 与 {@link #zipFile(File, String, ZipOutputStream, String)} 条目名一致 )
+     * @param resFile  待压缩文件
+     * @param rootPath 相对于压缩文件的路径
+     * @param comment  压缩文件的注释
+     * @param items    待压缩条目
+     * @return 文件总大小
+     */
+    private static long collectZipItems(final File resFile, final String rootPath, final String comment, final List<ZipItem> items) {
+        // 处理后的文件路径
+        String filePath = rootPath + (isSpace(rootPath) ? "" : File.separator) + resFile.getName();
+        if (resFile.isDirectory()) {
+            File[] fileList = resFile.listFiles();
+            // 如果是空文件夹那么创建它
+            if (fileList == null || fileList.length == 0) {
+                items.add(createZipItem(resFile, filePath + '/', comment, true));
+                return 0L;
+            }
+            long length = 0L;
+            for (File file : fileList) {
+                length += collectZipItems(file, filePath, comment, items);
+            }
+            return length;
+        }
+        ZipItem item = createZipItem(resFile, filePath, comment, false);
+        items.add(item);
+        return item.length;
+    }
+
+    /**
+     * 创建待压缩条目
+     * @param file      待压缩文件
+     * @param name      条目名
+     * @param comment   压缩文件的注释
+     * @param directory 是否文件夹
+     * @return {@link ZipItem}
+     */
+    private static ZipItem createZipItem(final File file, final String name, final String comment, final boolean directory) {
+        Charset utf8 = Charset.forName("UTF-8");
+        ZipItem item = new ZipItem();
+        item.file = file;
+        item.name = name.getBytes(utf8);
+        item.utf8 = item.name.length != name.length();
+        item.comment = (comment != null) ? comment.getBytes(utf8) : null;
+        item.directory = directory;
+        item.length = directory ? 0L : file.length();
+        item.dosTime = toDosTime(file.lastModified());
+        return item;
+    }
+
+    /**
+     * 压缩文件 ( 不包含 zlib 头, 计算 CRC32 以及大小 )
+     * @param item  压缩条目
+     * @param level 压缩级别
+     * @param out   压缩数据输出流
+     * @throws IOException 异常时抛出
+     */
+    private static void deflate(final ZipItem item, final int level, final OutputStream out) throws IOException {
+        Deflater deflater = new Deflater(level, true);
+        CRC32 crc = new CRC32();
+        InputStream is = null;
+        try {
+            is = new FileInputStream(item.file);
+            byte[] input = new byte[BUFFER_LEN];
+            byte[] output = new byte[BUFFER_LEN];
+            long size = 0L, compressedSize = 0L;
+            int len;
+            while ((len = is.read(input)) != -1) {
+                crc.update(input, 0, len);
+                size += len;
+                deflater.setInput(input, 0, len);
+                while (!deflater.needsInput()) {
+                    int count = deflater.deflate(output);
+                    out.write(output, 0, count);
+                    compressedSize += count;
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                int count = deflater.deflate(output);
+                out.write(output, 0, count);
+                compressedSize += count;
+            }
+            item.crc = crc.getValue();
+            item.size = size;
+            item.compressedSize = compressedSize;
+        } finally {
+            closeIOQuietly(is);
+            // 释放 native 内存
+            deflater.end();
+        }
+    }
+
+    /**
+     * 转换 DOS 格式时间
+     * @param time 毫秒
+     * @return DOS 格式时间 ( 高 16 位日期, 低 16 位时间 )
+     */
+    private static long toDosTime(final long time) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        int year = calendar.get(Calendar.YEAR);
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((long) (year - 1980) << 25) | ((calendar.get(Calendar.MONTH) + 1) << 21)
+                | (calendar.get(Calendar.DAY_OF_MONTH) << 16) | (calendar.get(Calendar.HOUR_OF_DAY) << 11)
+                | (calendar.get(Calendar.MINUTE) << 5) | (calendar.get(Calendar.SECOND) >> 1);
+    }
+
+    /**
+     * 获取并行数
+     * @param parallelism 并行数 ( 小于等于 0 则使用 CPU 核数 )
+     * @return 并行数
+     */
+    private static int getParallelism(final int parallelism) {
+        return (parallelism > 0) ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * 获取线程执行结果 ( 执行异常则抛出原异常 )
+     * @param future {@link Future}
+     * @param <T>    泛型
+     * @return 执行结果
+     * @throws Exception 异常时抛出
+     */
+    private static <T> T getResult(final Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
         }
-        return comments;
     }
 
     // ======================
@@ -419,26 +922,6 @@ public final class ZipUtils {
         return file != null && (file.exists() ? file.isDirectory() : file.mkdirs());
     }
 
-    /**
-     * 判断文件是否存在, 不存在则判断是否创建成功
-     * @param file 文件
-     * @return {@code true} 存在或创建成功, {@code false} 不存在或创建失败
-     */
-    private static boolean createOrExistsFile(final File file) {
-        if (file == null) return false;
-        // 如果存在, 是文件则返回 true, 是目录则返回 false
-        if (file.exists()) return file.isFile();
-        // 判断文件是否存在, 不存在则直接返回
-        if (!createOrExistsDir(file.getParentFile())) return false;
-        try {
-            // 存在, 则返回新的路径
-            return file.createNewFile();
-        } catch (Exception e) {
-            JCLogUtils.eTag(TAG, e, "createOrExistsFile");
-            return false;
-        }
-    }
-
     // ===============
     // = StringUtils =
     // ===============
@@ -1,29 +1,160 @@
 package dev.utils.common.assist;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * detail: 均值计算 ( 用以统计平均数 ) 辅助类
  * @author Ttt
+ * <pre>
+ *     不保存每个数字, 使用 Welford 算法流式计算数量、均值、方差、最小值、最大值, 内存占用固定
+ *     按线程分段统计 ( 每段单独加锁 ), 获取结果时合并, 多线程同时添加竞争较小
+ *     可开启直方图 ( 对数分桶, 误差约 3% ) 获取百分位数, 直方图只统计大于等于 0 的值 ( 按整数记录 )
+ * </pre>
  */
 public class Averager {
 
-    private List<Number> mNumLists = new ArrayList<>();
+    // 直方图每个 2 的幂区间分桶位数
+    private static final int SUB_BUCKET_BITS = 5;
+    // 直方图每个 2 的幂区间分桶数
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // 直方图分桶总数
+    private static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    // 分段统计
+    private final Cell[] mCells;
+    // 分段掩码
+    private final int mCellMask;
+    // 直方图 ( 未开启为 null )
+    private final AtomicLongArray mHistogram;
+
+    public Averager() {
+        this(false);
+    }
+
+    /**
+     * 构造函数
+     * @param histogram 是否开启直方图 ( 用于获取百分位数 )
+     */
+    public Averager(final boolean histogram) {
+        int count = 1;
+        int target = Math.min(Runtime.getRuntime().availableProcessors() * 2, 16);
+        while (count < target) {
+            count <<= 1;
+        }
+        mCells = new Cell[count];
+        for (int i = 0; i < count; i++) {
+            mCells[i] = new Cell();
+        }
+        mCellMask = count - 1;
+        mHistogram = histogram ? new AtomicLongArray(BUCKET_COUNT) : null;
+    }
+
+    /**
+     * detail: 分段统计
+     * @author Ttt
+     */
+    private static final class Cell {
+
+        // 数量
+        long count;
+        // 均值
+        double mean;
+        // 与均值差的平方和
+        double m2;
+        // 总和
+        double sum;
+        // 最小值
+        double min = Double.NaN;
+        // 最大值
+        double max = Double.NaN;
+
+        /**
+         * 清除全部
+         */
+        void clear() {
+            count = 0L;
+            mean = 0d;
+            m2 = 0d;
+            sum = 0d;
+            min = Double.NaN;
+            max = Double.NaN;
+        }
+
+        /**
+         * 合并统计 ( Chan 并行方差算法 )
+         * @param other 分段统计
+         */
+        void merge(final Cell other) {
+            if (other.count == 0L) return;
+            if (count == 0L) {
+                count = other.count;
+                mean = other.mean;
+                m2 = other.m2;
+                sum = other.sum;
+                min = other.min;
+                max = other.max;
+                return;
+            }
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / total;
+            m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            count = total;
+        }
+    }
 
     /**
      * 添加一个数字
      * @param number Number
      */
-    public synchronized void add(final Number number) {
-        mNumLists.add(number);
+    public void add(final Number number) {
+        if (number != null) {
+            add(number.doubleValue());
+        }
+    }
+
+    /**
+     * 添加一个数字
+     * @param value 数字
+     */
+    public void add(final double value) {
+        Cell cell = mCells[getCellIndex()];
+        synchronized (cell) {
+            cell.count++;
+            double delta = value - cell.mean;
+            cell.mean += delta / cell.count;
+            cell.m2 += delta * (value - cell.mean);
+            cell.sum += value;
+            if (cell.count == 1L) {
+                cell.min = value;
+                cell.max = value;
+            } else {
+                if (value < cell.min) cell.min = value;
+                if (value > cell.max) cell.max = value;
+            }
+        }
+        if (mHistogram != null && value >= 0d) {
+            mHistogram.incrementAndGet(getBucketIndex((long) value));
+        }
     }
 
     /**
      * 清除全部
      */
     public void clear() {
-        mNumLists.clear();
+        for (Cell cell : mCells) {
+            synchronized (cell) {
+                cell.clear();
+            }
+        }
+        if (mHistogram != null) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                mHistogram.set(i, 0L);
+            }
+        }
     }
 
     /**
@@ -31,7 +162,7 @@ public class Averager {
      * @return 参与均值计算的数字个数
      */
     public Number size() {
-        return mNumLists.size();
+        return getCount();
     }
 
     /**
@@ -39,22 +170,194 @@ public class Averager {
      * @return 全部数字平均数
      */
     public Number getAverage() {
-        if (mNumLists.size() == 0) {
-            return 0;
-        } else {
-            Float sum = 0f;
-            for (int i = 0, len = mNumLists.size(); i < len; i++) {
-                sum = sum.floatValue() + mNumLists.get(i).floatValue();
+        Cell snapshot = snapshot();
+        if (snapshot.count == 0L) return 0;
+        return (float) snapshot.mean;
+    }
+
+    // ============
+    // = 统计信息 =
+    // ============
+
+    /**
+     * 获取参与计算的数字个数
+     * @return 参与计算的数字个数
+     */
+    public long getCount() {
+        return snapshot().count;
+    }
+
+    /**
+     * 获取均值
+     * @return 均值, 无数据返回 0
+     */
+    public double getMean() {
+        return snapshot().mean;
+    }
+
+    /**
+     * 获取总和
+     * @return 总和
+     */
+    public double getSum() {
+        return snapshot().sum;
+    }
+
+    /**
+     * 获取最小值
+     * @return 最小值, 无数据返回 {@link Double#NaN}
+     */
+    public double getMin() {
+        return snapshot().min;
+    }
+
+    /**
+     * 获取最大值
+     * @return 最大值, 无数据返回 {@link Double#NaN}
+     */
+    public double getMax() {
+        return snapshot().max;
+    }
+
+    /**
+     * 获取样本方差
+     * @return 样本方差, 少于两个数据返回 0
+     */
+    public double getVariance() {
+        Cell snapshot = snapshot();
+        return (snapshot.count > 1L) ? snapshot.m2 / (snapshot.count - 1) : 0d;
+    }
+
+    /**
+     * 获取样本标准差
+     * @return 样本标准差
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * 是否开启直方图
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isHistogramEnabled() {
+        return mHistogram != null;
+    }
+
+    /**
+     * 获取百分位数 ( 需开启直方图 )
+     * @param percentile 百分位 ( 0-100, 如 50、99 )
+     * @return 百分位数, 未开启直方图或者无数据返回 {@link Double#NaN}
+     */
+    public double getPercentile(final double percentile) {
+        if (mHistogram == null) return Double.NaN;
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = mHistogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0L) return Double.NaN;
+        double p = Math.max(0d, Math.min(percentile, 100d));
+        long rank = Math.max(1L, (long) Math.ceil(p / 100d * total));
+        long current = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            current += counts[i];
+            if (current >= rank) {
+                long lower = getBucketLowerBound(i);
+                long width = getBucketWidth(i);
+                double value = lower + (width - 1) / 2d;
+                // 限制在实际最小值、最大值范围内
+                Cell snapshot = snapshot();
+                if (snapshot.count > 0L) {
+                    value = Math.max(Math.min(value, snapshot.max), snapshot.min);
+                }
+                return value;
             }
-            return sum / mNumLists.size();
         }
+        return Double.NaN;
     }
 
     /**
-     * 输出参与均值计算的数字
-     * @return 参与均值计算的数字
+     * 输出统计信息
+     * @return 统计信息
      */
     public String print() {
-        return "printList(" + size() + "): " + mNumLists;
+        Cell snapshot = snapshot();
+        StringBuilder builder = new StringBuilder();
+        builder.append("count: ").append(snapshot.count)
+                .append(", mean: ").append(snapshot.mean)
+                .append(", min: ").append(snapshot.min)
+                .append(", max: ").append(snapshot.max)
+                .append(", stdDev: ").append((snapshot.count > 1L) ? Math.sqrt(snapshot.m2 / (snapshot.count - 1)) : 0d);
+        if (mHistogram != null) {
+            builder.append(", p50: ").append(getPercentile(50))
+                    .append(", p90: ").append(getPercentile(90))
+                    .append(", p99: ").append(getPercentile(99));
+        }
+        return builder.toString();
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    /**
+     * 获取当前线程分段索引
+     * @return 分段索引
+     */
+    private int getCellIndex() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mCellMask;
+    }
+
+    /**
+     * 合并全部分段统计
+     * @return 合并后的统计
+     */
+    private Cell snapshot() {
+        Cell snapshot = new Cell();
+        for (Cell cell : mCells) {
+            synchronized (cell) {
+                snapshot.merge(cell);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 获取直方图分桶索引
+     * @param value 数值 ( 大于等于 0 )
+     * @return 分桶索引
+     */
+    private static int getBucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return (shift + 1) * SUB_BUCKET_COUNT + sub;
+    }
+
+    /**
+     * 获取直方图分桶下限
+     * @param index 分桶索引
+     * @return 分桶下限
+     */
+    private static long getBucketLowerBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        int sub = index % SUB_BUCKET_COUNT;
+        return (long) (SUB_BUCKET_COUNT + sub) << shift;
+    }
+
+    /**
+     * 获取直方图分桶宽度
+     * @param index 分桶索引
+     * @return 分桶宽度
+     */
+    private static long getBucketWidth(final int index) {
+        if (index < SUB_BUCKET_COUNT) return 1L;
+        return 1L << (index / SUB_BUCKET_COUNT - 1);
     }
-}
\ No newline at end of file
+}
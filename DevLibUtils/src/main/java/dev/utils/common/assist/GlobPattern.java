@@ -0,0 +1,151 @@
+package dev.utils.common.assist;
+
+import java.util.regex.Pattern;
+
+/**
+ * detail: 通配符 ( glob ) 匹配辅助类
+ * @author Ttt
+ * <pre>
+ *     匹配完整路径 ( 以 / 分隔 ), 只匹配文件名时与路径规则一致
+ *     *        匹配任意个字符, 不匹配 /
+ *     **       匹配任意个字符, 包括 / ( 多级目录 ), 如 logs/**.txt
+ *     ?        匹配单个字符, 不匹配 /
+ *     [abc]    匹配集合内的单个字符, 支持范围 [a-z], [!abc] 表示不在集合内
+ *     {jpg,png} 多选一, 选项内可使用上述通配符 ( 不支持嵌套 ), 如 *.{jpg,png}
+ *     \        转义下一个字符, 其他字符按原样匹配
+ * </pre>
+ */
+public final class GlobPattern {
+
+    private GlobPattern() {
+    }
+
+    // 正则表达式特殊字符 ( 原样匹配时需要转义 )
+    private static final String REGEX_META_CHARS = "\\.[]{}()*+-?^$|&";
+
+    /**
+     * 编译通配符
+     * @param glob 通配符
+     * @return {@link Pattern}, 通配符为 null 返回 null
+     */
+    public static Pattern compile(final String glob) {
+        if (glob == null) return null;
+        return Pattern.compile(toRegex(glob));
+    }
+
+    /**
+     * 判断路径是否匹配通配符
+     * @param glob 通配符
+     * @param path 路径 ( 以 / 分隔 ) 或文件名
+     * @return {@code true} 匹配, {@code false} 不匹配
+     */
+    public static boolean matches(final String glob, final String path) {
+        if (glob == null || path == null) return false;
+        return compile(glob).matcher(path).matches();
+    }
+
+    /**
+     * 通配符转正则表达式
+     * @param glob 通配符
+     * @return 正则表达式
+     */
+    public static String toRegex(final String glob) {
+        int len = glob.length();
+        StringBuilder builder = new StringBuilder(len + 16);
+        boolean inGroup = false;
+        for (int i = 0; i < len; i++) {
+            char ch = glob.charAt(i);
+            switch (ch) {
+                case '\\':
+                    appendLiteral(builder, (i + 1 < len) ? glob.charAt(++i) : ch);
+                    break;
+                case '*':
+                    if (i + 1 < len && glob.charAt(i + 1) == '*') {
+                        builder.append(".*");
+                        i++;
+                    } else {
+                        builder.append("[^/]*");
+                    }
+                    break;
+                case '?':
+                    builder.append("[^/]");
+                    break;
+                case '[':
+                    i = appendClass(builder, glob, i);
+                    break;
+                case '{':
+                    if (inGroup) {
+                        appendLiteral(builder, ch);
+                    } else {
+                        inGroup = true;
+                        builder.append("(?:");
+                    }
+                    break;
+                case '}':
+                    if (inGroup) {
+                        inGroup = false;
+                        builder.append(')');
+                    } else {
+                        appendLiteral(builder, ch);
+                    }
+                    break;
+                case ',':
+                    if (inGroup) {
+                        builder.append('|');
+                    } else {
+                        appendLiteral(builder, ch);
+                    }
+                    break;
+                default:
+                    appendLiteral(builder, ch);
+                    break;
+            }
+        }
+        // 未闭合的多选一到结尾结束
+        if (inGroup) {
+            builder.append(')');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 追加原样匹配的字符
+     * @param builder 正则表达式
+     * @param ch      字符
+     */
+    private static void appendLiteral(final StringBuilder builder, final char ch) {
+        if (REGEX_META_CHARS.indexOf(ch) >= 0) {
+            builder.append('\\');
+        }
+        builder.append(ch);
+    }
+
+    /**
+     * 追加字符集合 ( 未闭合的 [ 原样匹配 )
+     * @param builder 正则表达式
+     * @param glob    通配符
+     * @param start   [ 所在位置
+     * @return 字符集合结束位置
+     */
+    private static int appendClass(final StringBuilder builder, final String glob, final int start) {
+        int index = start + 1;
+        boolean negate = index < glob.length() && glob.charAt(index) == '!';
+        if (negate) index++;
+        // 紧跟 [ 或 [! 的 ] 属于集合内字符
+        int end = glob.indexOf(']', index + 1);
+        if (index >= glob.length() || end < 0) {
+            appendLiteral(builder, '[');
+            return start;
+        }
+        builder.append(negate ? "[^" : "[");
+        for (int i = index; i < end; i++) {
+            char ch = glob.charAt(i);
+            if (ch != '-' && REGEX_META_CHARS.indexOf(ch) >= 0) {
+                builder.append('\\');
+            }
+            builder.append(ch);
+        }
+        builder.append(']');
+        return end;
+    }
+}
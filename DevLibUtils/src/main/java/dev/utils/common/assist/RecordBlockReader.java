@@ -0,0 +1,419 @@
+package dev.utils.common.assist;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * detail: 分块压缩记录文件读取
+ * @author Ttt
+ * <pre>
+ *     读取 {@link RecordBlockWriter} 写入的文件, 优先使用索引文件定位数据块, 索引不存在或不完整时扫描块头补全
+ *     按时间读取只解压时间范围重叠的数据块, 每次只解压一个数据块, 逐条回调记录
+ *     非线程安全, 使用结束需调用 {@link #close()}
+ * </pre>
+ */
+public final class RecordBlockReader implements Closeable {
+
+    // 记录文件
+    private final RandomAccessFile mFile;
+    // 全部记录块信息 ( 文件中的顺序 )
+    private final List<BlockInfo> mBlocks;
+    // 文件信息块偏移 ( -1 表示不存在 )
+    private final long mMetaOffset;
+    // 文件信息
+    private String mMeta;
+
+    /**
+     * 构造函数
+     * @param file 记录文件
+     * @throws IOException 打开文件失败或者不是记录文件时抛出
+     */
+    public RecordBlockReader(final File file) throws IOException {
+        this.mFile = new RandomAccessFile(file, "r");
+        try {
+            checkFileHeader(mFile);
+            long length = mFile.length();
+            // 读取索引, 并扫描索引之后写入的数据块
+            List<BlockInfo> blocks = readIndex(RecordBlockWriter.getIndexFile(file), length);
+            long start = blocks.isEmpty() ? RecordBlockWriter.FILE_HEADER_LENGTH : blocks.get(blocks.size() - 1).getEnd();
+            long[] metaOffset = {-1L};
+            scanBlocks(mFile, start, blocks, metaOffset);
+            // 文件信息块只会是第一个数据块
+            if (metaOffset[0] < 0L && start > RecordBlockWriter.FILE_HEADER_LENGTH) {
+                scanBlocks(mFile, RecordBlockWriter.FILE_HEADER_LENGTH, null, metaOffset);
+            }
+            this.mBlocks = Collections.unmodifiableList(blocks);
+            this.mMetaOffset = metaOffset[0];
+        } catch (IOException e) {
+            mFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * detail: 记录回调
+     * @author Ttt
+     */
+    public interface Callback {
+
+        /**
+         * 读取到一条记录
+         * @param time   记录时间
+         * @param record 记录内容
+         * @return {@code true} 继续读取, {@code false} 停止读取
+         */
+        boolean onRecord(long time, String record);
+    }
+
+    /**
+     * detail: 记录块信息
+     * @author Ttt
+     */
+    public static final class BlockInfo {
+
+        // 数据块偏移
+        private final long mOffset;
+        // 压缩后长度
+        private final int mLength;
+        // 记录数
+        private final int mRecordCount;
+        // 首条记录时间
+        private final long mFirstTime;
+        // 末条记录时间
+        private final long mLastTime;
+
+        BlockInfo(final long offset, final int length, final int recordCount,
+                  final long firstTime, final long lastTime) {
+            this.mOffset = offset;
+            this.mLength = length;
+            this.mRecordCount = recordCount;
+            this.mFirstTime = firstTime;
+            this.mLastTime = lastTime;
+        }
+
+        /**
+         * 获取数据块在文件中的偏移
+         * @return 数据块偏移
+         */
+        public long getOffset() {
+            return mOffset;
+        }
+
+        /**
+         * 获取数据块压缩后长度 ( 不含块头 )
+         * @return 压缩后长度
+         */
+        public int getLength() {
+            return mLength;
+        }
+
+        /**
+         * 获取记录数
+         * @return 记录数
+         */
+        public int getRecordCount() {
+            return mRecordCount;
+        }
+
+        /**
+         * 获取首条记录时间 ( 块内最小时间 )
+         * @return 首条记录时间
+         */
+        public long getFirstTime() {
+            return mFirstTime;
+        }
+
+        /**
+         * 获取末条记录时间 ( 块内最大时间 )
+         * @return 末条记录时间
+         */
+        public long getLastTime() {
+            return mLastTime;
+        }
+
+        /**
+         * 获取数据块结束位置
+         * @return 数据块结束位置
+         */
+        long getEnd() {
+            return mOffset + RecordBlockWriter.BLOCK_HEADER_LENGTH + mLength;
+        }
+    }
+
+    // ============
+    // = 对外方法 =
+    // ============
+
+    /**
+     * 获取文件信息 ( 如设备信息, 创建文件时写入一次 )
+     * @return 文件信息, 不存在返回 null
+     * @throws IOException 读取失败或者校验失败时抛出
+     */
+    public String getMeta() throws IOException {
+        if (mMeta == null && mMetaOffset >= 0L) {
+            final StringBuilder builder = new StringBuilder();
+            readBlock(mMetaOffset, -1, Long.MIN_VALUE, Long.MAX_VALUE, new Callback() {
+                @Override
+                public boolean onRecord(long time, String record) {
+                    builder.append(record);
+                    return true;
+                }
+            });
+            mMeta = builder.toString();
+        }
+        return mMeta;
+    }
+
+    /**
+     * 获取全部记录块信息
+     * @return 全部记录块信息
+     */
+    public List<BlockInfo> getBlocks() {
+        return mBlocks;
+    }
+
+    /**
+     * 获取记录总数
+     * @return 记录总数
+     */
+    public long getRecordCount() {
+        long count = 0L;
+        for (BlockInfo block : mBlocks) {
+            count += block.getRecordCount();
+        }
+        return count;
+    }
+
+    /**
+     * 读取全部记录
+     * @param callback 记录回调
+     * @return {@code true} 读取完成, {@code false} 回调停止读取
+     * @throws IOException 读取失败或者校验失败时抛出
+     */
+    public boolean read(final Callback callback) throws IOException {
+        return read(Long.MIN_VALUE, Long.MAX_VALUE, callback);
+    }
+
+    /**
+     * 读取时间范围内的记录
+     * @param startTime 开始时间 ( 包含 )
+     * @param endTime   结束时间 ( 包含 )
+     * @param callback  记录回调
+     * @return {@code true} 读取完成, {@code false} 回调停止读取
+     * @throws IOException 读取失败或者校验失败时抛出
+     */
+    public boolean read(final long startTime, final long endTime, final Callback callback) throws IOException {
+        if (callback == null || startTime > endTime) return true;
+        for (BlockInfo block : mBlocks) {
+            // 跳过时间范围不重叠的数据块, 不读取、不解压
+            if (block.getLastTime() < startTime || block.getFirstTime() > endTime) continue;
+            if (!readBlock(block.getOffset(), block.getLength(), startTime, endTime, callback)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 关闭文件
+     * @throws IOException 关闭失败时抛出
+     */
+    @Override
+    public void close() throws IOException {
+        mFile.close();
+    }
+
+    // ============
+    // = 内部方法 =
+    // ============
+
+    /**
+     * 读取数据块, 回调时间范围内的记录
+     * @param offset    数据块偏移
+     * @param expected  索引中的压缩后长度 ( 小于 0 则不校验 )
+     * @param startTime 开始时间 ( 包含 )
+     * @param endTime   结束时间 ( 包含 )
+     * @param callback  记录回调
+     * @return {@code true} 读取完成, {@code false} 回调停止读取
+     * @throws IOException 读取失败或者校验失败时抛出
+     */
+    private boolean readBlock(final long offset, final int expected, final long startTime, final long endTime,
+                              final Callback callback) throws IOException {
+        byte[] header = new byte[RecordBlockWriter.BLOCK_HEADER_LENGTH];
+        mFile.seek(offset);
+        mFile.readFully(header);
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        buffer.get(); // 块类型
+        int compress = buffer.get();
+        int count = buffer.getInt();
+        buffer.getLong(); // 首条记录时间
+        buffer.getLong(); // 末条记录时间
+        buffer.getInt(); // 原始长度
+        int length = buffer.getInt();
+        int crc = buffer.getInt();
+        // 长度需要与索引一致且不超出文件, 避免读取损坏的块头时分配异常大小的内存
+        if (length < 0 || count < 0 || (expected >= 0 && length != expected)
+                || offset + RecordBlockWriter.BLOCK_HEADER_LENGTH + length > mFile.length()) {
+            throw new ZipException("invalid record block length at " + offset);
+        }
+
+        byte[] data = new byte[length];
+        mFile.readFully(data);
+        CRC32 crc32 = new CRC32();
+        crc32.update(data, 0, length);
+        if ((int) crc32.getValue() != crc) {
+            throw new ZipException("record block crc mismatch at " + offset);
+        }
+        InputStream is = new ByteArrayInputStream(data);
+        Inflater inflater = null;
+        if (compress == RecordBlockWriter.COMPRESS_DEFLATE) {
+            inflater = new Inflater();
+            is = new InflaterInputStream(is, inflater);
+        } else if (compress == RecordBlockWriter.COMPRESS_GZIP) {
+            is = new GZIPInputStream(is);
+        }
+        try {
+            // 边解压边解析记录帧
+            DataInputStream dis = new DataInputStream(is);
+            byte[] bytes = new byte[256];
+            for (int i = 0; i < count; i++) {
+                int len = dis.readInt();
+                long time = dis.readLong();
+                if (len < 0) throw new ZipException("invalid record frame at " + offset);
+                if (bytes.length < len) bytes = new byte[len];
+                dis.readFully(bytes, 0, len);
+                if (time < startTime || time > endTime) continue;
+                if (!callback.onRecord(time, new String(bytes, 0, len, "UTF-8"))) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            is.close();
+            if (inflater != null) inflater.end();
+        }
+    }
+
+    // ============
+    // = 格式解析 =
+    // ============
+
+    /**
+     * 校验文件头
+     * @param file 记录文件
+     * @throws IOException 不是记录文件或版本不支持时抛出
+     */
+    static void checkFileHeader(final RandomAccessFile file) throws IOException {
+        if (file.length() < RecordBlockWriter.FILE_HEADER_LENGTH) {
+            throw new IOException("not a record block file");
+        }
+        file.seek(0L);
+        int magic = file.readInt();
+        int version = file.readByte();
+        if (magic != RecordBlockWriter.MAGIC) {
+            throw new IOException("not a record block file");
+        }
+        if (version != RecordBlockWriter.VERSION) {
+            throw new IOException("unsupported record block version " + version);
+        }
+    }
+
+    /**
+     * 读取索引文件 ( 只保留数据完整的索引项 )
+     * @param indexFile 索引文件
+     * @param length    记录文件长度
+     * @return 记录块信息
+     */
+    static List<BlockInfo> readIndex(final File indexFile, final long length) {
+        List<BlockInfo> blocks = new ArrayList<>();
+        if (indexFile == null || !indexFile.isFile()) return blocks;
+        DataInputStream dis = null;
+        try {
+            int total = (int) (indexFile.length() / RecordBlockWriter.INDEX_ENTRY_LENGTH);
+            dis = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+            long end = RecordBlockWriter.FILE_HEADER_LENGTH;
+            for (int i = 0; i < total; i++) {
+                long offset = dis.readLong();
+                long firstTime = dis.readLong();
+                long lastTime = dis.readLong();
+                int count = dis.readInt();
+                int blockLength = dis.readInt();
+                BlockInfo block = new BlockInfo(offset, blockLength, count, firstTime, lastTime);
+                // 索引项需要按顺序且不超出文件长度, 否则丢弃后续索引改为扫描
+                if (offset < end || blockLength < 0 || count < 0 || block.getEnd() > length) break;
+                blocks.add(block);
+                end = block.getEnd();
+            }
+        } catch (Exception ignore) {
+        } finally {
+            if (dis != null) {
+                try {
+                    dis.close();
+                } catch (Exception ignore) {
+                }
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * 扫描块头 ( 跳过压缩数据, 不解压 )
+     * @param file       记录文件
+     * @param start      开始扫描位置
+     * @param blocks     记录块信息 ( 为 null 则不保存 )
+     * @param metaOffset 文件信息块偏移
+     * @return 最后一个完整数据块的结束位置
+     * @throws IOException 读取失败时抛出
+     */
+    static long scanBlocks(final RandomAccessFile file, final long start, final List<BlockInfo> blocks,
+                           final long[] metaOffset) throws IOException {
+        long length = file.length();
+        long position = start;
+        byte[] header = new byte[RecordBlockWriter.BLOCK_HEADER_LENGTH];
+        while (position + RecordBlockWriter.BLOCK_HEADER_LENGTH <= length) {
+            file.seek(position);
+            file.readFully(header);
+            ByteBuffer buffer = ByteBuffer.wrap(header);
+            int type = buffer.get();
+            int compress = buffer.get();
+            int count = buffer.getInt();
+            long firstTime = buffer.getLong();
+            long lastTime = buffer.getLong();
+            int rawLength = buffer.getInt();
+            int blockLength = buffer.getInt();
+            long end = position + RecordBlockWriter.BLOCK_HEADER_LENGTH + blockLength;
+            // 块头不合法或者数据不完整 ( 写入中途退出 ), 停止扫描
+            if ((type != RecordBlockWriter.TYPE_RECORD && type != RecordBlockWriter.TYPE_META)
+                    || compress < RecordBlockWriter.COMPRESS_NONE || compress > RecordBlockWriter.COMPRESS_GZIP
+                    || count < 0 || rawLength < 0 || blockLength < 0 || end > length) {
+                break;
+            }
+            if (type == RecordBlockWriter.TYPE_META) {
+                if (position == RecordBlockWriter.FILE_HEADER_LENGTH && metaOffset != null) {
+                    metaOffset[0] = position;
+                }
+            } else if (blocks != null) {
+                blocks.add(new BlockInfo(position, blockLength, count, firstTime, lastTime));
+            }
+            if (blocks == null && metaOffset != null) break;
+            position = end;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,476 @@
+package dev.utils.common.assist;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * detail: 分块压缩记录文件写入
+ * @author Ttt
+ * <pre>
+ *     记录先以二进制帧 [ 长度 (4) + 时间 (8) + UTF-8 内容 ] 写入内存块, 达到块大小或调用 {@link #flush()} 时整块压缩追加到文件
+ *     文件头: 标识 (4) + 版本 (1), 之后为数据块, 第一个数据块可以是文件信息块 ( 如设备信息, 只在创建文件时写入一次 )
+ *     块头: 类型 (1) + 压缩方式 (1) + 记录数 (4) + 首条时间 (8) + 末条时间 (8) + 原始长度 (4) + 压缩后长度 (4) + CRC32 (4)
+ *     索引文件 ( 文件名 + .idx ) 每个记录块一项: 偏移 (8) + 首条时间 (8) + 末条时间 (8) + 记录数 (4) + 压缩后长度 (4)
+ *     打开已存在的文件时从最后一个索引项之后扫描块头, 截断异常退出时未写完整的数据块, 并补全索引
+ *     同一文件 ( 规范路径 ) 的打开、写入数据块在同一把锁内进行, 写入时以当前文件长度为偏移, 同一进程内多个写入对象可以追加同一文件
+ *     单个写入对象非线程安全, 使用结束需调用 {@link #close()}
+ * </pre>
+ */
+public final class RecordBlockWriter implements Closeable, Flushable {
+
+    // 不压缩
+    public static final int COMPRESS_NONE = 0;
+    // Deflate 压缩
+    public static final int COMPRESS_DEFLATE = 1;
+    // GZIP 压缩
+    public static final int COMPRESS_GZIP = 2;
+    // 默认块大小 ( 压缩前 )
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    // 文件标识 ( DREC )
+    static final int MAGIC = 0x44524543;
+    // 文件格式版本
+    static final int VERSION = 1;
+    // 文件头长度
+    static final int FILE_HEADER_LENGTH = 5;
+    // 块头长度
+    static final int BLOCK_HEADER_LENGTH = 34;
+    // 索引项长度
+    static final int INDEX_ENTRY_LENGTH = 32;
+    // 记录块
+    static final int TYPE_RECORD = 1;
+    // 文件信息块
+    static final int TYPE_META = 2;
+    // 索引文件后缀
+    private static final String INDEX_SUFFIX = ".idx";
+
+    // 同一文件的写入锁 ( 规范路径 -> 锁, 该文件的写入对象全部关闭后移除 )
+    private static final Map<String, FileLock> sFileLocks = new HashMap<>();
+
+    // 记录文件规范路径
+    private final String mPath;
+    // 记录文件写入锁
+    private final FileLock mLock;
+    // 记录文件
+    private final RandomAccessFile mFile;
+    // 索引文件输出流
+    private final OutputStream mIndexStream;
+    // 压缩方式
+    private final int mCompress;
+    // 块大小 ( 压缩前 )
+    private final int mBlockSize;
+    // 当前块原始数据
+    private final ByteArrayOutputStream mBlockBuffer;
+    // 当前块数据写入
+    private final DataOutputStream mBlockStream;
+    // 压缩后数据
+    private final ByteArrayOutputStream mCompressBuffer = new ByteArrayOutputStream();
+    // 块头、索引项
+    private final ByteBuffer mHeader = ByteBuffer.allocate(BLOCK_HEADER_LENGTH);
+    // 复用的压缩器 ( Deflate 压缩 )
+    private final Deflater mDeflater;
+    // 当前块记录数
+    private int mRecordCount = 0;
+    // 当前块首条记录时间 ( 最小时间 )
+    private long mFirstTime;
+    // 当前块末条记录时间 ( 最大时间 )
+    private long mLastTime;
+    // 文件长度
+    private long mLength;
+    // 是否已关闭
+    private boolean mClosed = false;
+
+    /**
+     * 构造函数 ( Deflate 压缩, 默认块大小 )
+     * @param file 记录文件
+     * @param meta 文件信息 ( 只在创建文件时写入, 可为 null )
+     * @throws IOException 打开文件失败或者已存在的文件不是记录文件时抛出
+     */
+    public RecordBlockWriter(final File file, final String meta) throws IOException {
+        this(file, meta, COMPRESS_DEFLATE, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * 构造函数
+     * @param file      记录文件
+     * @param meta      文件信息 ( 只在创建文件时写入, 可为 null )
+     * @param compress  压缩方式 {@link #COMPRESS_NONE}、{@link #COMPRESS_DEFLATE}、{@link #COMPRESS_GZIP}
+     * @param blockSize 块大小 ( 压缩前, 块越大压缩率越高, 按时间读取时解压的数据越多 )
+     * @throws IOException 打开文件失败或者已存在的文件不是记录文件时抛出
+     */
+    public RecordBlockWriter(final File file, final String meta, final int compress, final int blockSize) throws IOException {
+        if (compress < COMPRESS_NONE || compress > COMPRESS_GZIP) {
+            throw new IllegalArgumentException("unknown compress " + compress);
+        }
+        this.mCompress = compress;
+        this.mBlockSize = Math.max(1024, blockSize);
+        this.mBlockBuffer = new ByteArrayOutputStream(Math.min(mBlockSize, DEFAULT_BLOCK_SIZE) + 1024);
+        this.mBlockStream = new DataOutputStream(mBlockBuffer);
+        this.mDeflater = (compress == COMPRESS_DEFLATE) ? new Deflater() : null;
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        File indexFile = getIndexFile(file);
+        this.mPath = file.getCanonicalPath();
+        this.mLock = obtainLock(mPath);
+        RandomAccessFile raf = null;
+        OutputStream indexStream = null;
+        try {
+            synchronized (mLock) {
+                raf = new RandomAccessFile(file, "rw");
+                this.mFile = raf;
+                if (mFile.length() == 0L) {
+                    // 新文件: 写入文件头、文件信息块
+                    mFile.writeInt(MAGIC);
+                    mFile.writeByte(VERSION);
+                    mLength = FILE_HEADER_LENGTH;
+                    indexStream = openIndex(indexFile, false);
+                    this.mIndexStream = indexStream;
+                    if (meta != null) {
+                        appendFrame(0L, meta);
+                        writeBlock(TYPE_META);
+                    }
+                } else {
+                    // 已存在文件: 从最后一个索引项之后扫描块头, 截断未写完整的数据块, 并补全索引
+                    RecordBlockReader.checkFileHeader(mFile);
+                    RecordBlockReader.BlockInfo last = readLastIndex(indexFile, mFile.length());
+                    long start = (last != null) ? last.getEnd() : FILE_HEADER_LENGTH;
+                    List<RecordBlockReader.BlockInfo> blocks = new ArrayList<>();
+                    mLength = RecordBlockReader.scanBlocks(mFile, start, blocks, null);
+                    if (mLength < mFile.length()) {
+                        mFile.setLength(mLength);
+                    }
+                    // 索引不可用则重建
+                    indexStream = openIndex(indexFile, last != null);
+                    this.mIndexStream = indexStream;
+                    for (RecordBlockReader.BlockInfo block : blocks) {
+                        writeIndex(block.getOffset(), block.getLength(), block.getRecordCount(),
+                                block.getFirstTime(), block.getLastTime());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            closeIOQuietly(indexStream);
+            closeIOQuietly(raf);
+            if (mDeflater != null) mDeflater.end();
+            releaseLock(mPath, mLock);
+            throw e;
+        }
+    }
+
+    /**
+     * detail: 同一文件的写入锁
+     * @author Ttt
+     */
+    private static final class FileLock {
+
+        // 打开该文件的写入对象数
+        int refCount;
+    }
+
+    /**
+     * 获取索引文件
+     * @param file 记录文件
+     * @return 索引文件
+     */
+    public static File getIndexFile(final File file) {
+        return new File(file.getPath() + INDEX_SUFFIX);
+    }
+
+    // ============
+    // = 对外方法 =
+    // ============
+
+    /**
+     * 写入记录 ( 使用当前时间 )
+     * @param record 记录内容
+     * @throws IOException 写入失败或已关闭时抛出
+     */
+    public void write(final String record) throws IOException {
+        write(System.currentTimeMillis(), record);
+    }
+
+    /**
+     * 写入记录
+     * @param time   记录时间
+     * @param record 记录内容
+     * @throws IOException 写入失败或已关闭时抛出
+     */
+    public void write(final long time, final String record) throws IOException {
+        if (mClosed) throw new IOException("writer closed");
+        appendFrame(time, record);
+        if (mBlockBuffer.size() >= mBlockSize) {
+            writeBlock(TYPE_RECORD);
+        }
+    }
+
+    /**
+     * 压缩当前块并写入文件 ( 无待写入记录则不处理 )
+     * @throws IOException 写入失败时抛出
+     */
+    @Override
+    public void flush() throws IOException {
+        if (mClosed) return;
+        writeBlock(TYPE_RECORD);
+        mIndexStream.flush();
+    }
+
+    /**
+     * 写入剩余记录并关闭文件
+     * @throws IOException 写入失败时抛出
+     */
+    @Override
+    public void close() throws IOException {
+        if (mClosed) return;
+        try {
+            flush();
+        } finally {
+            mClosed = true;
+            closeIOQuietly(mIndexStream);
+            if (mDeflater != null) mDeflater.end();
+            try {
+                mFile.close();
+            } finally {
+                releaseLock(mPath, mLock);
+            }
+        }
+    }
+
+    /**
+     * 获取文件长度 ( 最后一次写入数据块后的长度, 不含未压缩的当前块 )
+     * @return 文件长度
+     */
+    public long length() {
+        return mLength;
+    }
+
+    /**
+     * 获取当前块未写入文件的数据大小 ( 压缩前 )
+     * @return 未写入文件的数据大小
+     */
+    public int getPendingSize() {
+        return mBlockBuffer.size();
+    }
+
+    // ============
+    // = 内部方法 =
+    // ============
+
+    /**
+     * 追加记录帧到当前块
+     * @param time   记录时间
+     * @param record 记录内容
+     * @throws IOException 写入失败时抛出
+     */
+    private void appendFrame(final long time, final String record) throws IOException {
+        byte[] bytes = (record != null) ? record.getBytes("UTF-8") : new byte[0];
+        if (mRecordCount == 0) {
+            mFirstTime = time;
+            mLastTime = time;
+        } else {
+            mFirstTime = Math.min(mFirstTime, time);
+            mLastTime = Math.max(mLastTime, time);
+        }
+        mBlockStream.writeInt(bytes.length);
+        mBlockStream.writeLong(time);
+        mBlockStream.write(bytes);
+        mRecordCount++;
+    }
+
+    /**
+     * 压缩当前块并追加到文件
+     * @param type 块类型
+     * @throws IOException 写入失败时抛出
+     */
+    private void writeBlock(final int type) throws IOException {
+        if (mRecordCount == 0) return;
+        int rawLength = mBlockBuffer.size();
+        byte[] data = compress();
+        CRC32 crc32 = new CRC32();
+        crc32.update(data, 0, data.length);
+
+        mHeader.clear();
+        mHeader.put((byte) type);
+        mHeader.put((byte) mCompress);
+        mHeader.putInt(mRecordCount);
+        mHeader.putLong(mFirstTime);
+        mHeader.putLong(mLastTime);
+        mHeader.putInt(rawLength);
+        mHeader.putInt(data.length);
+        mHeader.putInt((int) crc32.getValue());
+
+        try {
+            synchronized (mLock) {
+                // 同一文件可能存在其他写入对象, 以当前文件长度为偏移
+                long offset = mFile.length();
+                try {
+                    mFile.seek(offset);
+                    mFile.write(mHeader.array(), 0, BLOCK_HEADER_LENGTH);
+                    mFile.write(data);
+                    // 先写数据再写索引, 索引缺失的数据块读取时扫描补全
+                    if (type == TYPE_RECORD) {
+                        writeIndex(offset, data.length, mRecordCount, mFirstTime, mLastTime);
+                    }
+                } catch (IOException e) {
+                    // 截断写入失败的数据块, 避免残留不完整的块
+                    try {
+                        mFile.setLength(offset);
+                    } catch (IOException ignore) {
+                    }
+                    throw e;
+                }
+                mLength = offset + BLOCK_HEADER_LENGTH + data.length;
+            }
+        } finally {
+            // 写入失败也丢弃当前块, 避免关闭时再次写入造成重复
+            mBlockBuffer.reset();
+            mRecordCount = 0;
+        }
+    }
+
+    /**
+     * 压缩当前块数据
+     * @return 压缩后数据
+     * @throws IOException 压缩失败时抛出
+     */
+    private byte[] compress() throws IOException {
+        if (mCompress == COMPRESS_NONE) {
+            return mBlockBuffer.toByteArray();
+        }
+        mCompressBuffer.reset();
+        DeflaterOutputStream dos;
+        if (mCompress == COMPRESS_GZIP) {
+            dos = new GZIPOutputStream(mCompressBuffer, 8192);
+        } else {
+            mDeflater.reset();
+            dos = new DeflaterOutputStream(mCompressBuffer, mDeflater, 8192);
+        }
+        mBlockBuffer.writeTo(dos);
+        // 使用外部 Deflater 时 close 不会释放压缩器
+        dos.close();
+        return mCompressBuffer.toByteArray();
+    }
+
+    /**
+     * 追加索引项
+     * @param offset      数据块偏移
+     * @param length      压缩后长度
+     * @param recordCount 记录数
+     * @param firstTime   首条记录时间
+     * @param lastTime    末条记录时间
+     * @throws IOException 写入失败时抛出
+     */
+    private void writeIndex(final long offset, final int length, final int recordCount,
+                            final long firstTime, final long lastTime) throws IOException {
+        mHeader.clear();
+        mHeader.putLong(offset);
+        mHeader.putLong(firstTime);
+        mHeader.putLong(lastTime);
+        mHeader.putInt(recordCount);
+        mHeader.putInt(length);
+        mIndexStream.write(mHeader.array(), 0, INDEX_ENTRY_LENGTH);
+    }
+
+    /**
+     * 打开索引文件 ( 追加模式, 多个写入对象的索引项都追加到文件末尾 )
+     * @param indexFile 索引文件
+     * @param append    是否保留已有索引项 ( false 则清空后重建 )
+     * @return 索引文件输出流
+     * @throws IOException 打开失败时抛出
+     */
+    private static OutputStream openIndex(final File indexFile, final boolean append) throws IOException {
+        if (!append) {
+            new FileOutputStream(indexFile, false).close();
+        }
+        return new FileOutputStream(indexFile, true);
+    }
+
+    /**
+     * 获取文件写入锁 ( 引用数 + 1 )
+     * @param path 记录文件规范路径
+     * @return 文件写入锁
+     */
+    private static FileLock obtainLock(final String path) {
+        synchronized (sFileLocks) {
+            FileLock lock = sFileLocks.get(path);
+            if (lock == null) {
+                lock = new FileLock();
+                sFileLocks.put(path, lock);
+            }
+            lock.refCount++;
+            return lock;
+        }
+    }
+
+    /**
+     * 释放文件写入锁 ( 引用数 - 1, 为 0 则移除 )
+     * @param path 记录文件规范路径
+     * @param lock 文件写入锁
+     */
+    private static void releaseLock(final String path, final FileLock lock) {
+        synchronized (sFileLocks) {
+            if (--lock.refCount == 0) {
+                sFileLocks.remove(path);
+            }
+        }
+    }
+
+    /**
+     * 读取最后一个索引项
+     * @param indexFile 索引文件
+     * @param length    记录文件长度
+     * @return 最后一个索引项, 索引文件不存在或不完整返回 null
+     */
+    private static RecordBlockReader.BlockInfo readLastIndex(final File indexFile, final long length) {
+        long indexLength = indexFile.length();
+        if (indexLength == 0L || indexLength % INDEX_ENTRY_LENGTH != 0L) return null;
+        RandomAccessFile file = null;
+        try {
+            file = new RandomAccessFile(indexFile, "r");
+            file.seek(indexLength - INDEX_ENTRY_LENGTH);
+            long offset = file.readLong();
+            long firstTime = file.readLong();
+            long lastTime = file.readLong();
+            int count = file.readInt();
+            int blockLength = file.readInt();
+            RecordBlockReader.BlockInfo block = new RecordBlockReader.BlockInfo(offset, blockLength, count, firstTime, lastTime);
+            if (offset < FILE_HEADER_LENGTH || blockLength < 0 || block.getEnd() > length) return null;
+            return block;
+        } catch (Exception ignore) {
+            return null;
+        } finally {
+            closeIOQuietly(file);
+        }
+    }
+
+    /**
+     * 安静关闭 IO
+     * @param closeable {@link Closeable}
+     */
+    private static void closeIOQuietly(final Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception ignore) {
+            }
+        }
+    }
+}
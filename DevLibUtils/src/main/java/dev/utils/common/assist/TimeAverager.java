@@ -3,13 +3,17 @@ package dev.utils.common.assist;
 /**
  * detail: 时间均值计算辅助类
  * @author Ttt
+ * <pre>
+ *     计时数据流式统计, 不保存每次计时时间, 开启直方图可获取百分位数 ( 如 p50、p99 )
+ *     start()、end() 共用同一计时器, 多线程计时请自行计时后调用 add(long)
+ * </pre>
  */
 public class TimeAverager {
 
     // 计时器
     private TimeCounter mTimeCounter = new TimeCounter();
     // 均值器
-    private Averager mAverager = new Averager();
+    private Averager mAverager = new Averager(true);
 
     /**
      * 开始计时 ( 毫秒 )
@@ -39,6 +43,14 @@ public class TimeAverager {
         return time;
     }
 
+    /**
+     * 添加计时时间 ( 外部计时, 可多线程调用 )
+     * @param time 计时时间 ( 毫秒 )
+     */
+    public void add(final long time) {
+        mAverager.add(time);
+    }
+
     /**
      * 求全部计时均值
      * @return 全部计时时间均值
@@ -48,7 +60,56 @@ public class TimeAverager {
     }
 
     /**
-     * 输出全部时间值
+     * 获取计时次数
+     * @return 计时次数
+     */
+    public long getCount() {
+        return mAverager.getCount();
+    }
+
+    /**
+     * 获取最短计时时间
+     * @return 最短计时时间 ( 毫秒 )
+     */
+    public double getMin() {
+        return mAverager.getMin();
+    }
+
+    /**
+     * 获取最长计时时间
+     * @return 最长计时时间 ( 毫秒 )
+     */
+    public double getMax() {
+        return mAverager.getMax();
+    }
+
+    /**
+     * 获取计时时间标准差
+     * @return 计时时间标准差
+     */
+    public double getStandardDeviation() {
+        return mAverager.getStandardDeviation();
+    }
+
+    /**
+     * 获取计时时间百分位数
+     * @param percentile 百分位 ( 0-100, 如 50、99 )
+     * @return 计时时间百分位数 ( 毫秒 )
+     */
+    public double getPercentile(final double percentile) {
+        return mAverager.getPercentile(percentile);
+    }
+
+    /**
+     * 获取均值器
+     * @return {@link Averager}
+     */
+    public Averager getAverager() {
+        return mAverager;
+    }
+
+    /**
+     * 输出计时统计信息
      * @return 计时信息
      */
     public String print() {
@@ -0,0 +1,415 @@
+package dev.utils.common.assist;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import dev.utils.JCLogUtils;
+
+/**
+ * detail: 压缩文件读取辅助类
+ * @author Ttt
+ * <pre>
+ *     创建时读取一次中央目录并缓存条目索引 ( 条目名 - 条目信息 ), 多次查询、解压无需重新打开、遍历压缩文件
+ *     解压路径通过规范路径校验, 防止条目名包含 ../ 等解压到目标目录外 ( Zip Slip )
+ *     线程安全, 可在多个线程中同时解压不同条目, 使用结束需调用 {@link #close()}
+ * </pre>
+ */
+public final class ZipReader implements Closeable {
+
+    // 日志 TAG
+    private static final String TAG = ZipReader.class.getSimpleName();
+    // 缓存大小
+    private static final int BUFFER_LEN = 8192;
+
+    // 压缩文件
+    private final ZipFile mZipFile;
+    // 全部条目 ( 压缩文件中的顺序 )
+    private final List<ZipEntry> mEntries;
+    // 条目索引
+    private final HashMap<String, ZipEntry> mEntryMap;
+
+    /**
+     * 构造函数
+     * @param zipFile 压缩文件
+     * @throws IOException 打开压缩文件失败时抛出
+     */
+    public ZipReader(final File zipFile) throws IOException {
+        this.mZipFile = new ZipFile(zipFile);
+        List<ZipEntry> entries = new ArrayList<>(Math.max(mZipFile.size(), 0));
+        HashMap<String, ZipEntry> entryMap = new HashMap<>();
+        Enumeration<? extends ZipEntry> enumeration = mZipFile.entries();
+        while (enumeration.hasMoreElements()) {
+            ZipEntry entry = enumeration.nextElement();
+            entries.add(entry);
+            entryMap.put(entry.getName(), entry);
+        }
+        this.mEntries = Collections.unmodifiableList(entries);
+        this.mEntryMap = entryMap;
+    }
+
+    /**
+     * detail: 条目过滤接口
+     * @author Ttt
+     */
+    public interface Filter {
+
+        /**
+         * 是否符合条件
+         * @param entry 压缩文件条目
+         * @return {@code true} 符合条件, {@code false} 不符合条件
+         */
+        boolean accept(ZipEntry entry);
+    }
+
+    // ============
+    // = 条目信息 =
+    // ============
+
+    /**
+     * 获取条目数量
+     * @return 条目数量
+     */
+    public int size() {
+        return mEntries.size();
+    }
+
+    /**
+     * 获取全部条目 ( 压缩文件中的顺序 )
+     * @return 全部条目
+     */
+    public List<ZipEntry> getEntries() {
+        return mEntries;
+    }
+
+    /**
+     * 获取条目
+     * @param name 条目名
+     * @return {@link ZipEntry}
+     */
+    public ZipEntry getEntry(final String name) {
+        return (name != null) ? mEntryMap.get(name) : null;
+    }
+
+    /**
+     * 是否存在条目
+     * @param name 条目名
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean contains(final String name) {
+        return getEntry(name) != null;
+    }
+
+    /**
+     * 获取全部条目名
+     * @return 全部条目名
+     */
+    public List<String> getNames() {
+        List<String> names = new ArrayList<>(mEntries.size());
+        for (ZipEntry entry : mEntries) {
+            names.add(entry.getName());
+        }
+        return names;
+    }
+
+    /**
+     * 获取全部条目注释
+     * @return 全部条目注释
+     */
+    public List<String> getComments() {
+        List<String> comments = new ArrayList<>(mEntries.size());
+        for (ZipEntry entry : mEntries) {
+            comments.add(entry.getComment());
+        }
+        return comments;
+    }
+
+    /**
+     * 获取符合条件的条目
+     * @param filter 过滤条件 ( 为 null 则返回全部条目 )
+     * @return 符合条件的条目
+     */
+    public List<ZipEntry> findEntries(final Filter filter) {
+        if (filter == null) return new ArrayList<>(mEntries);
+        List<ZipEntry> entries = new ArrayList<>();
+        for (ZipEntry entry : mEntries) {
+            if (filter.accept(entry)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 获取条目名包含关键字的条目
+     * @param keyword 关键字
+     * @return 符合条件的条目
+     */
+    public List<ZipEntry> findEntriesByKeyword(final String keyword) {
+        return findEntries(createKeywordFilter(keyword));
+    }
+
+    /**
+     * 获取条目名匹配通配符的条目
+     * @param glob 通配符 ( 语法见 {@link GlobPattern}, 如 logs/**.{txt,log} )
+     * @return 符合条件的条目
+     */
+    public List<ZipEntry> findEntriesByGlob(final String glob) {
+        return findEntries(createGlobFilter(glob));
+    }
+
+    // ============
+    // = 读取条目 =
+    // ============
+
+    /**
+     * 获取条目输入流 ( 使用结束需关闭 )
+     * @param name 条目名
+     * @return 条目输入流, 条目不存在返回 null
+     * @throws IOException 读取失败时抛出
+     */
+    public InputStream openStream(final String name) throws IOException {
+        ZipEntry entry = getEntry(name);
+        return (entry != null) ? mZipFile.getInputStream(entry) : null;
+    }
+
+    /**
+     * 读取条目数据
+     * @param name 条目名
+     * @return 条目数据, 条目不存在或者是文件夹返回 null
+     * @throws IOException 读取失败或者 CRC32 校验失败时抛出
+     */
+    public byte[] readBytes(final String name) throws IOException {
+        ZipEntry entry = getEntry(name);
+        if (entry == null || entry.isDirectory()) return null;
+        long size = entry.getSize();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream((size > 0 && size < Integer.MAX_VALUE) ? (int) size : BUFFER_LEN);
+        extract(entry, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * 解压条目到输出流 ( 不创建临时文件, 不关闭输出流 )
+     * @param entry 压缩文件条目
+     * @param os    输出流
+     * @return 解压数据大小
+     * @throws IOException 读取、写入失败或者 CRC32 校验失败时抛出
+     */
+    public long extract(final ZipEntry entry, final OutputStream os) throws IOException {
+        if (entry == null || os == null || entry.isDirectory()) return 0L;
+        CRC32 crc = new CRC32();
+        long length = 0L;
+        InputStream is = mZipFile.getInputStream(entry);
+        try {
+            byte[] buffer = new byte[BUFFER_LEN];
+            int len;
+            while ((len = is.read(buffer)) != -1) {
+                crc.update(buffer, 0, len);
+                os.write(buffer, 0, len);
+                length += len;
+            }
+        } finally {
+            closeIOQuietly(is);
+        }
+        if (entry.getCrc() != -1 && entry.getCrc() != crc.getValue()) {
+            throw new ZipException("invalid entry crc: " + entry.getName());
+        }
+        return length;
+    }
+
+    /**
+     * 解压全部条目
+     * @param destDir 目标目录
+     * @return 解压文件链表
+     * @throws IOException 读取、写入失败时抛出
+     */
+    public List<File> extractAll(final File destDir) throws IOException {
+        return extract(destDir, null);
+    }
+
+    /**
+     * 解压条目名包含关键字的条目
+     * @param destDir 目标目录
+     * @param keyword 关键字
+     * @return 解压文件链表
+     * @throws IOException 读取、写入失败时抛出
+     */
+    public List<File> extractByKeyword(final File destDir, final String keyword) throws IOException {
+        return extract(destDir, createKeywordFilter(keyword));
+    }
+
+    /**
+     * 解压条目名匹配通配符的条目
+     * @param destDir 目标目录
+     * @param glob    通配符 ( 语法见 {@link GlobPattern}, 如 logs/**.{txt,log} )
+     * @return 解压文件链表
+     * @throws IOException 读取、写入失败时抛出
+     */
+    public List<File> extractByGlob(final File destDir, final String glob) throws IOException {
+        return extract(destDir, createGlobFilter(glob));
+    }
+
+    /**
+     * 解压符合条件的条目
+     * <pre>
+     *     解压路径不在目标目录内的条目跳过不解压, 创建文件或文件夹失败则停止解压并返回已解压文件
+     * </pre>
+     * @param destDir 目标目录
+     * @param filter  过滤条件 ( 为 null 则解压全部条目 )
+     * @return 解压文件链表
+     * @throws IOException 读取、写入失败时抛出
+     */
+    public List<File> extract(final File destDir, final Filter filter) throws IOException {
+        if (destDir == null) return null;
+        List<File> files = new ArrayList<>();
+        for (ZipEntry entry : mEntries) {
+            if (filter != null && !filter.accept(entry)) continue;
+            File file = resolveDestination(destDir, entry.getName());
+            if (file == null) {
+                JCLogUtils.dTag(TAG, "entryName: %s is dangerous!", entry.getName());
+                continue;
+            }
+            files.add(file);
+            if (entry.isDirectory()) {
+                if (!createOrExistsDir(file)) return files;
+            } else {
+                if (!createOrExistsFile(file)) return files;
+                OutputStream os = null;
+                try {
+                    os = new BufferedOutputStream(new FileOutputStream(file));
+                    extract(entry, os);
+                } finally {
+                    closeIOQuietly(os);
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * 关闭压缩文件
+     */
+    @Override
+    public void close() {
+        // API 19 以下 ZipFile 未实现 Closeable, 直接调用 close
+        try {
+            mZipFile.close();
+        } catch (Exception ignore) {
+        }
+    }
+
+    // ============
+    // = 路径校验 =
+    // ============
+
+    /**
+     * 获取条目解压路径 ( 校验是否在目标目录内 )
+     * @param destDir   目标目录
+     * @param entryName 条目名
+     * @return 解压路径, 不在目标目录内返回 null
+     */
+    public static File resolveDestination(final File destDir, final String entryName) {
+        if (destDir == null || entryName == null) return null;
+        try {
+            String destPath = destDir.getCanonicalPath();
+            File file = new File(destDir, entryName);
+            String filePath = file.getCanonicalPath();
+            if (filePath.equals(destPath) || filePath.startsWith(destPath + File.separator)) {
+                return file;
+            }
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "resolveDestination");
+        }
+        return null;
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    /**
+     * 创建关键字过滤条件
+     * @param keyword 关键字
+     * @return {@link Filter}, 关键字为空返回 null ( 不过滤 )
+     */
+    private static Filter createKeywordFilter(final String keyword) {
+        if (keyword == null || keyword.trim().length() == 0) return null;
+        return new Filter() {
+            @Override
+            public boolean accept(ZipEntry entry) {
+                return entry.getName().contains(keyword);
+            }
+        };
+    }
+
+    /**
+     * 创建通配符过滤条件
+     * @param glob 通配符
+     * @return {@link Filter}, 通配符为 null 返回 null ( 不过滤 )
+     */
+    private static Filter createGlobFilter(final String glob) {
+        if (glob == null) return null;
+        final Pattern pattern = GlobPattern.compile(glob);
+        return new Filter() {
+            @Override
+            public boolean accept(ZipEntry entry) {
+                return pattern.matcher(entry.getName()).matches();
+            }
+        };
+    }
+
+    /**
+     * 判断目录是否存在, 不存在则判断是否创建成功
+     * @param file 文件
+     * @return {@code true} 存在或创建成功, {@code false} 不存在或创建失败
+     */
+    private static boolean createOrExistsDir(final File file) {
+        return file != null && (file.exists() ? file.isDirectory() : (file.mkdirs() || file.isDirectory()));
+    }
+
+    /**
+     * 判断文件是否存在, 不存在则判断是否创建成功
+     * @param file 文件
+     * @return {@code true} 存在或创建成功, {@code false} 不存在或创建失败 ( 如已存在同名文件夹 )
+     */
+    private static boolean createOrExistsFile(final File file) {
+        if (file == null) return false;
+        // 如果存在, 是文件则返回 true, 是目录则返回 false
+        if (file.exists()) return file.isFile();
+        if (!createOrExistsDir(file.getParentFile())) return false;
+        try {
+            return file.createNewFile();
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "createOrExistsFile");
+            return false;
+        }
+    }
+
+    /**
+     * 安静关闭 IO
+     * @param closeable {@link Closeable}
+     */
+    private static void closeIOQuietly(final Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception ignore) {
+            }
+        }
+    }
+}
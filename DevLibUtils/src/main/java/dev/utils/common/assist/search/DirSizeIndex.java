@@ -0,0 +1,383 @@
+package dev.utils.common.assist.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.utils.JCLogUtils;
+
+/**
+ * detail: 文件夹大小索引
+ * @author Ttt
+ * <pre>
+ *     保存每个文件夹的修改时间、直接子文件大小、子文件数量以及子文件夹, 再次获取大小时只重新读取修改时间变化的文件夹
+ *     文件夹中新增、删除、重命名文件会更新文件夹修改时间, 但直接修改已有文件内容不会更新
+ *     如会直接修改已有文件, 可在修改后调用 {@link #invalidate(File)} 或者使用 {@link #refresh(File, boolean)} 校验全部文件
+ *     可设置索引文件保存到本地, 下次创建时读取, 需调用 {@link #save()} 保存
+ * </pre>
+ */
+public final class DirSizeIndex {
+
+    // 日志 TAG
+    private static final String TAG = DirSizeIndex.class.getSimpleName();
+
+    // 索引文件标识
+    private static final int MAGIC = 0x44534958; // DSIX
+    // 索引文件版本
+    private static final int VERSION = 1;
+    // 文件系统修改时间精度 ( 扫描时间与修改时间相差在该范围内, 下次需重新扫描 )
+    private static final long MTIME_GRANULARITY = 2000L;
+
+    // 索引文件 ( null 则不保存 )
+    private final File mIndexFile;
+    // 文件夹索引 ( 绝对路径 - 索引信息 )
+    private final HashMap<String, Node> mNodes = new HashMap<>();
+    // 刷新间隔 ( 毫秒 )
+    private long mRefreshInterval = 0L;
+    // 是否已读取索引文件
+    private boolean mLoaded;
+    // 是否存在未保存的修改
+    private boolean mChanged;
+
+    /**
+     * 构造函数 ( 只保存在内存中 )
+     */
+    public DirSizeIndex() {
+        this(null);
+    }
+
+    /**
+     * 构造函数
+     * @param indexFile 索引文件
+     */
+    public DirSizeIndex(final File indexFile) {
+        this.mIndexFile = indexFile;
+    }
+
+    /**
+     * detail: 文件夹索引信息
+     * @author Ttt
+     */
+    private static final class Node {
+
+        // 文件夹修改时间
+        long mtime;
+        // 扫描时间
+        long scanTime;
+        // 直接子文件大小
+        long filesLength;
+        // 直接子文件数量
+        int fileCount;
+        // 子文件夹名
+        String[] childDirs;
+        // 是否需要重新扫描
+        boolean dirty;
+        // 文件夹总大小 ( 包含全部子文件夹 )
+        long totalLength;
+        // 文件总数量 ( 包含全部子文件夹 )
+        long totalCount;
+        // 最后刷新时间
+        long refreshTime;
+    }
+
+    /**
+     * 设置刷新间隔 ( 间隔内再次获取直接返回上次结果, 不读取修改时间 )
+     * @param refreshIntervalMillis 刷新间隔 ( 毫秒, 默认 0 每次获取都校验修改时间 )
+     * @return {@link DirSizeIndex}
+     */
+    public synchronized DirSizeIndex setRefreshInterval(final long refreshIntervalMillis) {
+        this.mRefreshInterval = Math.max(refreshIntervalMillis, 0L);
+        return this;
+    }
+
+    /**
+     * 获取文件夹总大小
+     * @param dir 文件夹
+     * @return 文件夹总大小
+     */
+    public synchronized long getDirLength(final File dir) {
+        Node node = get(dir, false);
+        return (node != null) ? node.totalLength : 0L;
+    }
+
+    /**
+     * 获取文件夹文件总数量 ( 不包含文件夹 )
+     * @param dir 文件夹
+     * @return 文件总数量
+     */
+    public synchronized long getFileCount(final File dir) {
+        Node node = get(dir, false);
+        return (node != null) ? node.totalCount : 0L;
+    }
+
+    /**
+     * 刷新文件夹索引
+     * @param dir         文件夹
+     * @param verifyFiles 是否重新读取全部文件 ( 用于直接修改已有文件内容的情况 )
+     * @return 文件夹总大小
+     */
+    public synchronized long refresh(final File dir, final boolean verifyFiles) {
+        Node node = get(dir, verifyFiles);
+        return (node != null) ? node.totalLength : 0L;
+    }
+
+    /**
+     * 标记文件或文件夹所在文件夹需要重新扫描 ( 直接修改已有文件内容后调用 )
+     * @param file 文件或文件夹
+     */
+    public synchronized void invalidate(final File file) {
+        if (file == null) return;
+        load();
+        File absoluteFile = file.getAbsoluteFile();
+        // 文件夹本身以及所在文件夹需重新扫描
+        markDirty(absoluteFile);
+        markDirty(absoluteFile.getParentFile());
+        // 全部上级文件夹的刷新时间失效
+        for (File dir = absoluteFile; dir != null; dir = dir.getParentFile()) {
+            Node node = mNodes.get(dir.getPath());
+            if (node != null) {
+                node.refreshTime = 0L;
+            }
+        }
+    }
+
+    /**
+     * 清空索引
+     */
+    public synchronized void clear() {
+        mNodes.clear();
+        mLoaded = true;
+        mChanged = true;
+    }
+
+    /**
+     * 保存索引到索引文件
+     * @return {@code true} success, {@code false} fail
+     */
+    public synchronized boolean save() {
+        if (mIndexFile == null) return false;
+        if (!mChanged) return true;
+        File parent = mIndexFile.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        File tempFile = new File(mIndexFile.getPath() + ".tmp");
+        DataOutputStream dos = null;
+        try {
+            dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            dos.writeInt(mNodes.size());
+            for (Map.Entry<String, Node> entry : mNodes.entrySet()) {
+                Node node = entry.getValue();
+                dos.writeUTF(entry.getKey());
+                dos.writeLong(node.mtime);
+                dos.writeLong(node.scanTime);
+                dos.writeLong(node.filesLength);
+                dos.writeInt(node.fileCount);
+                dos.writeBoolean(node.dirty);
+                dos.writeInt(node.childDirs.length);
+                for (String name : node.childDirs) {
+                    dos.writeUTF(name);
+                }
+            }
+            dos.close();
+            dos = null;
+            // 写入完成后替换, 防止写入中断导致索引文件损坏
+            if (!tempFile.renameTo(mIndexFile)) {
+                mIndexFile.delete();
+                if (!tempFile.renameTo(mIndexFile)) return false;
+            }
+            mChanged = false;
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "save");
+        } finally {
+            if (dos != null) {
+                try {
+                    dos.close();
+                } catch (Exception ignore) {
+                }
+                tempFile.delete();
+            }
+        }
+        return false;
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    /**
+     * 读取索引文件
+     */
+    private void load() {
+        if (mLoaded) return;
+        mLoaded = true;
+        if (mIndexFile == null || !mIndexFile.isFile()) return;
+        DataInputStream dis = null;
+        try {
+            dis = new DataInputStream(new BufferedInputStream(new FileInputStream(mIndexFile)));
+            if (dis.readInt() != MAGIC || dis.readInt() != VERSION) return;
+            int size = dis.readInt();
+            for (int i = 0; i < size; i++) {
+                String path = dis.readUTF();
+                Node node = new Node();
+                node.mtime = dis.readLong();
+                node.scanTime = dis.readLong();
+                node.filesLength = dis.readLong();
+                node.fileCount = dis.readInt();
+                node.dirty = dis.readBoolean();
+                String[] childDirs = new String[dis.readInt()];
+                for (int j = 0; j < childDirs.length; j++) {
+                    childDirs[j] = dis.readUTF();
+                }
+                node.childDirs = childDirs;
+                mNodes.put(path, node);
+            }
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "load");
+            // 索引文件损坏则重新扫描
+            mNodes.clear();
+        } finally {
+            if (dis != null) {
+                try {
+                    dis.close();
+                } catch (Exception ignore) {
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取并刷新文件夹索引
+     * @param dir         文件夹
+     * @param verifyFiles 是否重新读取全部文件
+     * @return 文件夹索引信息, 不是文件夹则返回 null
+     */
+    private Node get(final File dir, final boolean verifyFiles) {
+        if (dir == null) return null;
+        load();
+        File absoluteDir = dir.getAbsoluteFile();
+        Node node = mNodes.get(absoluteDir.getPath());
+        if (node != null && !verifyFiles && mRefreshInterval > 0L
+                && System.currentTimeMillis() - node.refreshTime < mRefreshInterval) {
+            return node;
+        }
+        if (!absoluteDir.isDirectory()) {
+            if (node != null) {
+                remove(absoluteDir.getPath());
+            }
+            return null;
+        }
+        return refreshNode(absoluteDir, verifyFiles, System.currentTimeMillis());
+    }
+
+    /**
+     * 刷新文件夹索引 ( 修改时间变化则重新扫描, 并递归刷新子文件夹 )
+     * @param dir         文件夹
+     * @param verifyFiles 是否重新读取全部文件
+     * @param now         当前时间
+     * @return 文件夹索引信息
+     */
+    private Node refreshNode(final File dir, final boolean verifyFiles, final long now) {
+        String path = dir.getPath();
+        Node node = mNodes.get(path);
+        long mtime = dir.lastModified();
+        if (node == null || node.dirty || verifyFiles || node.mtime != mtime
+                || Math.abs(node.mtime - node.scanTime) < MTIME_GRANULARITY) {
+            node = scan(dir, node, mtime, now);
+        }
+        long totalLength = node.filesLength;
+        long totalCount = node.fileCount;
+        for (String name : node.childDirs) {
+            File childDir = new File(dir, name);
+            Node child = refreshNode(childDir, verifyFiles, now);
+            totalLength += child.totalLength;
+            totalCount += child.totalCount;
+        }
+        node.totalLength = totalLength;
+        node.totalCount = totalCount;
+        node.refreshTime = now;
+        return node;
+    }
+
+    /**
+     * 扫描文件夹直接子文件
+     * @param dir   文件夹
+     * @param node  原索引信息
+     * @param mtime 文件夹修改时间
+     * @param now   当前时间
+     * @return 文件夹索引信息
+     */
+    private Node scan(final File dir, final Node node, final long mtime, final long now) {
+        final long[] filesLength = new long[1];
+        final int[] fileCount = new int[1];
+        final List<String> childDirs = new ArrayList<>();
+        new FileWalker(dir).setRecursive(false).walk(new FileWalker.Visitor() {
+            @Override
+            public boolean onEntry(FileWalker.Entry entry) {
+                if (entry.isDirectory()) {
+                    childDirs.add(entry.getName());
+                } else {
+                    filesLength[0] += entry.getLength();
+                    fileCount[0]++;
+                }
+                return true;
+            }
+        });
+        // 移除已删除的子文件夹索引
+        if (node != null) {
+            for (String name : node.childDirs) {
+                if (!childDirs.contains(name)) {
+                    remove(new File(dir, name).getPath());
+                }
+            }
+        }
+        Node newNode = (node != null) ? node : new Node();
+        newNode.mtime = mtime;
+        newNode.scanTime = now;
+        newNode.filesLength = filesLength[0];
+        newNode.fileCount = fileCount[0];
+        newNode.childDirs = childDirs.toArray(new String[childDirs.size()]);
+        newNode.dirty = false;
+        mNodes.put(dir.getPath(), newNode);
+        mChanged = true;
+        return newNode;
+    }
+
+    /**
+     * 标记文件夹需要重新扫描
+     * @param dir 文件夹
+     */
+    private void markDirty(final File dir) {
+        if (dir == null) return;
+        Node node = mNodes.get(dir.getPath());
+        if (node != null) {
+            node.dirty = true;
+            mChanged = true;
+        }
+    }
+
+    /**
+     * 移除文件夹以及全部子文件夹索引
+     * @param path 文件夹路径
+     */
+    private void remove(final String path) {
+        Node node = mNodes.remove(path);
+        if (node != null) {
+            mChanged = true;
+            for (String name : node.childDirs) {
+                remove(new File(path, name).getPath());
+            }
+        }
+    }
+}
@@ -6,13 +6,18 @@ import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import dev.utils.JCLogUtils;
 
 /**
  * detail: 文件广度优先搜索算法 ( 多线程 + 队列, 搜索某个目录下的全部文件 )
  * @author Ttt
+ * <pre>
+ *     固定数量的线程从任务队列中获取文件夹处理, 子文件夹加入任务队列
+ *     通过等待处理的文件夹数量判断是否搜索完成, 无需轮询线程池状态
+ * </pre>
  */
 public final class FileBreadthFirstSearchUtils {
 
@@ -77,9 +82,10 @@ public final class FileBreadthFirstSearchUtils {
      */
     private class FileQueue {
 
-        public FileQueue(File file, FileItem fileItem) {
+        public FileQueue(File file, FileItem fileItem, int index) {
             this.file = file;
             this.fileItem = fileItem;
+            this.index = index;
         }
 
         // 当前准备处理文件夹
@@ -87,6 +93,9 @@ public final class FileBreadthFirstSearchUtils {
 
         // 上一级目录对象
         private FileItem fileItem;
+
+        // 紧凑目录树中的索引
+        private int index;
     }
 
     /**
@@ -169,7 +178,7 @@ public final class FileBreadthFirstSearchUtils {
     }
 
     /**
-     * 任务队列同时进行数量
+     * 任务队列同时进行数量 ( 搜索线程数 )
      * @param queueSameTimeNumber 同一时间线程队列数量
      * @return {@link FileBreadthFirstSearchUtils}
      */
@@ -194,6 +203,11 @@ public final class FileBreadthFirstSearchUtils {
      */
     public void stop() {
         mIsStop = true;
+        // 中断等待任务的线程, 由最后退出的线程触发结束回调
+        ExecutorService executor = mExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
     }
 
     /**
@@ -220,10 +234,87 @@ public final class FileBreadthFirstSearchUtils {
         return mEndTime;
     }
 
+    /**
+     * 获取已搜索文件夹数量
+     * @return 已搜索文件夹数量
+     */
+    public long getDirCount() {
+        return mDirCount.get();
+    }
+
+    /**
+     * 获取已搜索文件数量
+     * @return 已搜索文件数量
+     */
+    public long getFileCount() {
+        return mFileCount.get();
+    }
+
+    /**
+     * 获取每秒搜索文件夹数量 ( 搜索中则计算到当前时间 )
+     * @return 每秒搜索文件夹数量
+     */
+    public double getDirsPerSecond() {
+        return perSecond(mDirCount.get());
+    }
+
+    /**
+     * 获取每秒搜索文件数量 ( 搜索中则计算到当前时间 )
+     * @return 每秒搜索文件数量
+     */
+    public double getFilesPerSecond() {
+        return perSecond(mFileCount.get());
+    }
+
+    /**
+     * 计算每秒数量
+     * @param count 数量
+     * @return 每秒数量
+     */
+    private double perSecond(final long count) {
+        if (mStartTime <= 0L) return 0d;
+        long endTime = mIsRunning ? System.currentTimeMillis() : mEndTime;
+        return count * 1000d / Math.max(endTime - mStartTime, 1L);
+    }
+
+    /**
+     * 是否使用紧凑目录树
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isCompactTree() {
+        return mCompactTree;
+    }
+
+    /**
+     * 设置是否使用紧凑目录树
+     * <pre>
+     *     开启后不创建 FileItem 子文件信息 ( 结束回调的根文件信息无子文件 ), 通过 {@link #getCompactTree()} 获取搜索结果
+     * </pre>
+     * @param compactTree 是否使用紧凑目录树
+     * @return {@link FileBreadthFirstSearchUtils}
+     */
+    public synchronized FileBreadthFirstSearchUtils setCompactTree(final boolean compactTree) {
+        if (mIsRunning) {
+            return this;
+        }
+        this.mCompactTree = compactTree;
+        return this;
+    }
+
+    /**
+     * 获取紧凑目录树 ( 开启 {@link #setCompactTree(boolean)} 才有数据 )
+     * @return {@link FileSearchTree}
+     */
+    public FileSearchTree getCompactTree() {
+        return mSearchTree;
+    }
+
     /**
      * 获取延迟校验时间 ( 毫秒 )
      * @return 延迟线程校验时间 ( 毫秒 )
+     * @deprecated 已通过等待处理的文件夹数量判断是否搜索完成, 不再延迟校验
      */
+    @Deprecated
     public long getDelayTime() {
         return mDelayTime;
     }
@@ -231,7 +322,9 @@ public final class FileBreadthFirstSearchUtils {
     /**
      * 设置延迟校验时间 ( 毫秒 )
      * @param delayTimeMillis 延迟校验时间 ( 毫秒 )
+     * @deprecated 已通过等待处理的文件夹数量判断是否搜索完成, 不再延迟校验
      */
+    @Deprecated
     public void setDelayTime(final long delayTimeMillis) {
         this.mDelayTime = delayTimeMillis;
     }
@@ -241,9 +334,9 @@ public final class FileBreadthFirstSearchUtils {
     // 根目录对象
     private FileItem mRootFileItem;
     // 判断是否运行中
-    private boolean mIsRunning = false;
+    private volatile boolean mIsRunning = false;
     // 是否停止搜索
-    private boolean mIsStop = false;
+    private volatile boolean mIsStop = false;
     // 开始搜索时间
     private long mStartTime = 0L;
     // 结束搜索时间
@@ -252,10 +345,26 @@ public final class FileBreadthFirstSearchUtils {
     private long mDelayTime = 50L;
     // 任务队列同时进行数量
     private int mQueueSameTimeNumber = 5;
-    // 线程池
-    private ExecutorService mExecutor = Executors.newCachedThreadPool();
+    // 线程池 ( 每次搜索创建, 搜索结束关闭 )
+    private volatile ExecutorService mExecutor;
     // 任务队列
-    private LinkedBlockingQueue<FileQueue> mTaskQueue = new LinkedBlockingQueue<>();
+    private final LinkedBlockingQueue<FileQueue> mTaskQueue = new LinkedBlockingQueue<>();
+    // 等待处理 ( 已加入队列或处理中 ) 的文件夹数量
+    private final AtomicInteger mPendingCount = new AtomicInteger();
+    // 运行中的线程数量
+    private final AtomicInteger mWorkerCount = new AtomicInteger();
+    // 已搜索文件夹数量
+    private final AtomicLong mDirCount = new AtomicLong();
+    // 已搜索文件数量
+    private final AtomicLong mFileCount = new AtomicLong();
+    // 是否使用紧凑目录树
+    private boolean mCompactTree = false;
+    // 紧凑目录树
+    private volatile FileSearchTree mSearchTree;
+    // 搜索结果流 ( null 表示非流式搜索 )
+    private volatile FileSearchStream mStream;
+    // 是否创建 FileItem 子文件信息
+    private volatile boolean mBuildFileItem = true;
 
     /**
      * 搜索目录
@@ -264,14 +373,55 @@ public final class FileBreadthFirstSearchUtils {
     public synchronized void query(final String path) {
         if (mIsRunning) {
             return;
-        } else if (path == null || path.trim().length() == 0) {
+        }
+        startQuery(path, null);
+    }
+
+    /**
+     * 流式搜索目录
+     * <pre>
+     *     符合条件的文件 ( isAddToList ) 立即加入返回的结果流, 不创建 FileItem 子文件信息
+     *     结果流缓冲区满时搜索线程阻塞等待, 搜索结束后仍会触发结束回调
+     * </pre>
+     * @param path     根目录路径
+     * @param capacity 结果流缓冲区容量
+     * @return {@link FileSearchStream}, 搜索中则返回 null
+     */
+    public synchronized FileSearchStream queryStream(final String path, final int capacity) {
+        if (mIsRunning) {
+            return null;
+        }
+        FileSearchStream stream = new FileSearchStream(capacity, new Runnable() {
+            @Override
+            public void run() {
+                stop();
+            }
+        });
+        startQuery(path, stream);
+        return stream;
+    }
+
+    /**
+     * 开始搜索
+     * @param path   根目录路径
+     * @param stream 搜索结果流
+     */
+    private void startQuery(final String path, final FileSearchStream stream) {
+        mStream = stream;
+        mSearchTree = null;
+        if (path == null || path.trim().length() == 0) {
+            mRootFileItem = null;
             // 触发结束回调
-            mInsideHandler.OnEndListener(null, -1, -1);
+            onEnd(-1, -1);
             return;
         }
         // 表示运行中
         mIsRunning = true;
         mIsStop = false;
+        mTaskQueue.clear();
+        mDirCount.set(0L);
+        mFileCount.set(0L);
+        mBuildFileItem = (stream == null && !mCompactTree);
         // 设置开始搜索时间
         mStartTime = System.currentTimeMillis();
         try {
@@ -279,81 +429,117 @@ public final class FileBreadthFirstSearchUtils {
             File file = new File(path);
             // 初始化根目录
             mRootFileItem = new FileItem(file);
+            if (mCompactTree) {
+                mSearchTree = new FileSearchTree(file);
+            }
             // 判断是否文件
             if (file.isFile()) {
+                if (stream != null && mInsideHandler.isAddToList(file)) {
+                    stream.offer(file);
+                }
                 // 触发结束回调
-                mEndTime = System.currentTimeMillis();
-                mInsideHandler.OnEndListener(mRootFileItem, mStartTime, mEndTime);
+                onEnd(mStartTime, System.currentTimeMillis());
                 return;
             }
             // 获取文件夹全部子文件
             String[] fileArys = file.list();
             // 获取文件总数
             if (fileArys != null && fileArys.length != 0) {
-                new Thread(new Runnable() {
-                    @Override
-                    public void run() {
-                        // 查询文件
-                        queryFile(mRootFileItem.file, mRootFileItem);
-                        // 循环队列
-                        whileQueue();
-                    }
-                }).start();
+                int workerCount = Math.max(mQueueSameTimeNumber, 1);
+                mPendingCount.set(1);
+                mWorkerCount.set(workerCount);
+                mExecutor = Executors.newFixedThreadPool(workerCount);
+                // 先启动全部搜索线程 ( 阻塞等待任务 ), 防止根目录处理完成关闭线程池时还在提交线程
+                for (int i = 0; i < workerCount; i++) {
+                    mExecutor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            runWorker();
+                        }
+                    });
+                }
+                // 根目录作为第一个任务
+                mTaskQueue.offer(new FileQueue(mRootFileItem.file, mRootFileItem, FileSearchTree.ROOT_INDEX));
             } else {
                 // 触发结束回调
-                mEndTime = System.currentTimeMillis();
-                mInsideHandler.OnEndListener(mRootFileItem, mStartTime, mEndTime);
+                onEnd(mStartTime, System.currentTimeMillis());
             }
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "query");
             // 触发结束回调
-            mEndTime = System.currentTimeMillis();
-            mInsideHandler.OnEndListener(mRootFileItem, mStartTime, mEndTime);
+            onEnd(mStartTime, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 搜索结束处理
+     * @param startTime 开始扫描时间
+     * @param endTime   扫描结束时间
+     */
+    private void onEnd(final long startTime, final long endTime) {
+        mEndTime = endTime;
+        FileSearchTree searchTree = mSearchTree;
+        if (searchTree != null) {
+            searchTree.trimToSize();
+        }
+        FileSearchStream stream = mStream;
+        mStream = null;
+        // 触发结束回调
+        mInsideHandler.OnEndListener(mRootFileItem, startTime, endTime);
+        // 结束回调后再结束结果流, 迭代结束时可直接开始下一次搜索
+        if (stream != null) {
+            stream.finish();
         }
     }
 
     /**
      * 搜索文件
-     * @param file     文件
-     * @param fileItem 所在文件夹信息对象 ( 上一级目录 )
+     * @param file      文件
+     * @param fileItem  所在文件夹信息对象 ( 上一级目录 )
+     * @param treeIndex 所在文件夹紧凑目录树索引
      */
-    private void queryFile(final File file, final FileItem fileItem) {
+    private void queryFile(final File file, final FileItem fileItem, final int treeIndex) {
         try {
             if (mIsStop) {
                 return;
             }
-            if (file != null && file.exists()) {
+            if (file != null) {
                 // 判断是否处理
                 if (mInsideHandler.isHandlerFile(file)) {
-                    // 如果属于文件夹
-                    if (file.isDirectory()) {
-                        // 获取文件夹全部子文件
-                        File[] files = file.listFiles();
-                        if (files == null) {
+                    // 获取文件夹全部子文件 ( 不是文件夹或者不存在返回 null )
+                    File[] files = file.listFiles();
+                    if (files == null) {
+                        // 属于文件
+                        if (file.isFile()) {
+                            mFileCount.incrementAndGet();
+                            if (!mIsStop && mInsideHandler.isAddToList(file)) {
+                                // 属于文件则直接保存
+                                addFile(file, fileItem, treeIndex);
+                            }
+                        }
+                        return;
+                    }
+                    mDirCount.incrementAndGet();
+                    FileSearchTree searchTree = mSearchTree;
+                    // 循环处理
+                    for (File f : files) {
+                        if (mIsStop) {
                             return;
                         }
-                        // 循环处理
-                        for (File f : files) {
-                            // 属于文件夹
-                            if (f.isDirectory()) {
-                                if (mIsStop) {
-                                    return;
-                                }
-                                FileItem subFileItem = fileItem.put(f);
-                                // 添加任务
-                                mTaskQueue.offer(new FileQueue(f, subFileItem));
-                            } else { // 属于文件
-                                if (!mIsStop && mInsideHandler.isAddToList(f)) {
-                                    // 属于文件则直接保存
-                                    fileItem.put(f);
-                                }
+                        // 属于文件夹
+                        if (f.isDirectory()) {
+                            FileItem subFileItem = mBuildFileItem ? fileItem.put(f) : null;
+                            int subIndex = (searchTree != null) ? searchTree.add(treeIndex, f.getName(), true) : FileSearchTree.NO_PARENT;
+                            // 添加任务 ( 先增加等待数量, 防止提前判断为搜索完成 )
+                            mPendingCount.incrementAndGet();
+                            mTaskQueue.offer(new FileQueue(f, subFileItem, subIndex));
+                        } else { // 属于文件
+                            mFileCount.incrementAndGet();
+                            if (mInsideHandler.isAddToList(f)) {
+                                // 属于文件则直接保存
+                                addFile(f, fileItem, treeIndex);
                             }
                         }
-                    } else { // 属于文件
-                        if (!mIsStop && mInsideHandler.isAddToList(file)) {
-                            // 属于文件则直接保存
-                            fileItem.put(file);
-                        }
                     }
                 }
             }
@@ -362,50 +548,62 @@ public final class FileBreadthFirstSearchUtils {
         }
     }
 
+    /**
+     * 保存符合条件的文件
+     * @param file      文件
+     * @param fileItem  所在文件夹信息对象 ( 上一级目录 )
+     * @param treeIndex 所在文件夹紧凑目录树索引
+     */
+    private void addFile(final File file, final FileItem fileItem, final int treeIndex) {
+        if (mBuildFileItem) {
+            fileItem.put(file);
+        }
+        FileSearchTree searchTree = mSearchTree;
+        if (searchTree != null) {
+            searchTree.add(treeIndex, file.getName(), false);
+        }
+        FileSearchStream stream = mStream;
+        if (stream != null && !stream.offer(file)) {
+            // 结果流已关闭或者线程被中断
+            mIsStop = true;
+        }
+    }
+
     // ==============
     // = 线程池处理 =
     // ==============
 
     /**
-     * 循环队列
+     * 搜索线程处理
+     * <pre>
+     *     阻塞获取任务队列中的文件夹, 处理完成后等待处理数量为 0 则表示搜索完成
+     *     搜索完成或者停止搜索时关闭线程池中断其他等待中的线程, 最后退出的线程触发结束回调
+     * </pre>
      */
-    private void whileQueue() {
-        // 判断是否为 null
-        boolean isEmpty = mTaskQueue.isEmpty();
-        // 循环则不处理
-        while (!isEmpty) {
-            if (mIsStop) break;
-            // 获取线程活动数量
-            int threadCount = ((ThreadPoolExecutor) mExecutor).getActiveCount();
-            // 判断是否超过
-            if (threadCount > mQueueSameTimeNumber) {
-                continue;
-            }
-            // 获取文件对象
-            final FileQueue fileQueue = mTaskQueue.poll();
-            // 判断是否为 null
-            if (fileQueue != null) {
-                mExecutor.execute(new Runnable() {
-                    @Override
-                    public void run() {
-                        queryFile(fileQueue.file, fileQueue.fileItem);
-                    }
-                });
-            }
-
-            // 判断是否存在队列数据
-            isEmpty = (mTaskQueue.isEmpty() && threadCount == 0);
-            if (isEmpty) { // 如果不存在, 防止搜索过快, 延迟再次判断
-                if (mIsStop) break;
+    private void runWorker() {
+        try {
+            while (!mIsStop) {
+                FileQueue fileQueue;
                 try {
-                    Thread.sleep(mDelayTime);
-                } catch (Exception e) {
+                    fileQueue = mTaskQueue.take();
+                } catch (InterruptedException e) {
+                    break;
+                }
+                queryFile(fileQueue.file, fileQueue.fileItem, fileQueue.index);
+                // 全部文件夹处理完成
+                if (mPendingCount.decrementAndGet() == 0) {
+                    mExecutor.shutdownNow();
+                    break;
                 }
-                isEmpty = (mTaskQueue.isEmpty() && threadCount == 0);
+            }
+        } finally {
+            if (mWorkerCount.decrementAndGet() == 0) {
+                mTaskQueue.clear();
+                mExecutor.shutdown();
+                mExecutor = null;
+                // 触发结束回调
+                onEnd(mStartTime, System.currentTimeMillis());
             }
         }
-        // 触发结束回调
-        mEndTime = System.currentTimeMillis();
-        mInsideHandler.OnEndListener(mRootFileItem, mStartTime, mEndTime);
     }
-}
\ No newline at end of file
+}
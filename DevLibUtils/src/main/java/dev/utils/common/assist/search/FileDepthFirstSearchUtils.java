@@ -160,16 +160,54 @@ public final class FileDepthFirstSearchUtils {
         return mEndTime;
     }
 
+    /**
+     * 是否使用紧凑目录树
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isCompactTree() {
+        return mCompactTree;
+    }
+
+    /**
+     * 设置是否使用紧凑目录树
+     * <pre>
+     *     开启后不创建 FileItem ( 结束回调的集合为 null ), 通过 {@link #getCompactTree()} 获取搜索结果
+     * </pre>
+     * @param compactTree 是否使用紧凑目录树
+     * @return {@link FileDepthFirstSearchUtils}
+     */
+    public synchronized FileDepthFirstSearchUtils setCompactTree(final boolean compactTree) {
+        if (mIsRunning) {
+            return this;
+        }
+        this.mCompactTree = compactTree;
+        return this;
+    }
+
+    /**
+     * 获取紧凑目录树 ( 开启 {@link #setCompactTree(boolean)} 才有数据 )
+     * @return {@link FileSearchTree}
+     */
+    public FileSearchTree getCompactTree() {
+        return mSearchTree;
+    }
+
     // =
 
     // 判断是否运行中
-    private boolean mIsRunning = false;
+    private volatile boolean mIsRunning = false;
     // 是否停止搜索
-    private boolean mIsStop = false;
+    private volatile boolean mIsStop = false;
     // 开始搜索时间
     private long mStartTime = 0L;
     // 结束搜索时间
     private long mEndTime = 0L;
+    // 是否使用紧凑目录树
+    private boolean mCompactTree = false;
+    // 紧凑目录树
+    private volatile FileSearchTree mSearchTree;
+    // 搜索结果流 ( null 表示非流式搜索 )
+    private volatile FileSearchStream mStream;
 
     /**
      * 搜索目录
@@ -179,9 +217,46 @@ public final class FileDepthFirstSearchUtils {
     public synchronized void query(final String path, final boolean isRelation) {
         if (mIsRunning) {
             return;
-        } else if (path == null || path.trim().length() == 0) {
+        }
+        startQuery(path, isRelation, null);
+    }
+
+    /**
+     * 流式搜索目录
+     * <pre>
+     *     符合条件的文件 ( isAddToList ) 立即加入返回的结果流, 不创建 FileItem ( 结束回调的集合为 null )
+     *     结果流缓冲区满时搜索线程阻塞等待, 搜索结束后仍会触发结束回调
+     * </pre>
+     * @param path     根目录路径
+     * @param capacity 结果流缓冲区容量
+     * @return {@link FileSearchStream}, 搜索中则返回 null
+     */
+    public synchronized FileSearchStream queryStream(final String path, final int capacity) {
+        if (mIsRunning) {
+            return null;
+        }
+        FileSearchStream stream = new FileSearchStream(capacity, new Runnable() {
+            @Override
+            public void run() {
+                stop();
+            }
+        });
+        startQuery(path, false, stream);
+        return stream;
+    }
+
+    /**
+     * 开始搜索
+     * @param path       根目录路径
+     * @param isRelation 是否关联到 Child List
+     * @param stream     搜索结果流
+     */
+    private void startQuery(final String path, final boolean isRelation, final FileSearchStream stream) {
+        mStream = stream;
+        mSearchTree = null;
+        if (path == null || path.trim().length() == 0) {
             // 触发结束回调
-            mInsideHandler.OnEndListener(null, -1, -1);
+            onEnd(null, -1, -1);
             return;
         }
         // 表示运行中
@@ -189,16 +264,25 @@ public final class FileDepthFirstSearchUtils {
         mIsStop = false;
         // 设置开始搜索时间
         mStartTime = System.currentTimeMillis();
+        // 是否创建 FileItem
+        final boolean buildFileItem = (stream == null && !mCompactTree);
         try {
             // 获取根目录 File
             final File file = new File(path);
+            if (mCompactTree) {
+                mSearchTree = new FileSearchTree(file);
+            }
             // 判断是否文件
             if (file.isFile()) {
-                List<FileItem> lists = new ArrayList<>();
-                lists.add(new FileItem(file));
+                List<FileItem> lists = null;
+                if (buildFileItem) {
+                    lists = new ArrayList<>();
+                    lists.add(new FileItem(file));
+                } else if (stream != null && mInsideHandler.isAddToList(file)) {
+                    stream.offer(file);
+                }
                 // 触发结束回调
-                mEndTime = System.currentTimeMillis();
-                mInsideHandler.OnEndListener(lists, mStartTime, mEndTime);
+                onEnd(lists, mStartTime, System.currentTimeMillis());
                 return;
             }
             // 获取文件夹全部子文件
@@ -208,24 +292,93 @@ public final class FileDepthFirstSearchUtils {
                 new Thread(new Runnable() {
                     @Override
                     public void run() {
-                        List<FileItem> lists = new ArrayList<>();
-                        // 查询文件
-                        queryFile(file, lists, isRelation);
+                        List<FileItem> lists = null;
+                        if (buildFileItem) {
+                            lists = new ArrayList<>();
+                            // 查询文件
+                            queryFile(file, lists, isRelation);
+                        } else {
+                            // 查询文件 ( 不创建 FileItem )
+                            queryDirectory(file, FileSearchTree.ROOT_INDEX);
+                        }
                         // 触发结束回调
-                        mEndTime = System.currentTimeMillis();
-                        mInsideHandler.OnEndListener(lists, mStartTime, mEndTime);
+                        onEnd(lists, mStartTime, System.currentTimeMillis());
                     }
                 }).start();
             } else {
                 // 触发结束回调
-                mEndTime = System.currentTimeMillis();
-                mInsideHandler.OnEndListener(null, mStartTime, mEndTime);
+                onEnd(null, mStartTime, System.currentTimeMillis());
             }
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "query");
             // 触发结束回调
-            mEndTime = System.currentTimeMillis();
-            mInsideHandler.OnEndListener(null, mStartTime, mEndTime);
+            onEnd(null, mStartTime, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 搜索结束处理
+     * @param lists     根目录的子文件目录集合
+     * @param startTime 开始扫描时间
+     * @param endTime   扫描结束时间
+     */
+    private void onEnd(final List<FileItem> lists, final long startTime, final long endTime) {
+        mEndTime = endTime;
+        FileSearchTree searchTree = mSearchTree;
+        if (searchTree != null) {
+            searchTree.trimToSize();
+        }
+        FileSearchStream stream = mStream;
+        mStream = null;
+        // 触发结束回调
+        mInsideHandler.OnEndListener(lists, startTime, endTime);
+        // 结束回调后再结束结果流, 迭代结束时可直接开始下一次搜索
+        if (stream != null) {
+            stream.finish();
+        }
+    }
+
+    /**
+     * 搜索文件夹 ( 保存到紧凑目录树、搜索结果流, 不创建 FileItem )
+     * @param file      文件夹
+     * @param treeIndex 文件夹在紧凑目录树中的索引
+     */
+    private void queryDirectory(final File file, final int treeIndex) {
+        try {
+            if (mIsStop) {
+                return;
+            }
+            if (file != null && mInsideHandler.isHandlerFile(file)) {
+                // 获取文件夹全部子文件
+                File[] files = file.listFiles();
+                if (files == null) {
+                    return;
+                }
+                FileSearchTree searchTree = mSearchTree;
+                FileSearchStream stream = mStream;
+                // 循环处理
+                for (File f : files) {
+                    if (mIsStop) {
+                        return;
+                    }
+                    if (f.isDirectory()) {
+                        int subIndex = (searchTree != null) ? searchTree.add(treeIndex, f.getName(), true) : FileSearchTree.NO_PARENT;
+                        // 查找文件
+                        queryDirectory(f, subIndex);
+                    } else if (mInsideHandler.isHandlerFile(f) && mInsideHandler.isAddToList(f)) {
+                        if (searchTree != null) {
+                            searchTree.add(treeIndex, f.getName(), false);
+                        }
+                        if (stream != null && !stream.offer(f)) {
+                            // 结果流已关闭或者线程被中断
+                            mIsStop = true;
+                            return;
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "queryFile");
         }
     }
 
@@ -0,0 +1,198 @@
+package dev.utils.common.assist.search;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * detail: 文件搜索结果流
+ * @author Ttt
+ * <pre>
+ *     搜索线程发现符合条件的文件后立即加入, 使用方通过迭代获取, 无需等待搜索结束或者保存全部文件信息
+ *     缓冲区满时搜索线程阻塞等待 ( 背压 ), 防止处理速度慢时占用大量内存
+ *     for (File file : stream) { ... } 迭代结束表示搜索完成, 提前结束迭代需调用 {@link #close()} 停止搜索
+ * </pre>
+ */
+public final class FileSearchStream implements Iterable<File>, Iterator<File> {
+
+    // 锁
+    private final ReentrantLock mLock = new ReentrantLock();
+    // 缓冲区不为空
+    private final Condition mNotEmpty = mLock.newCondition();
+    // 缓冲区未满
+    private final Condition mNotFull = mLock.newCondition();
+    // 缓冲区
+    private final ArrayDeque<File> mBuffer;
+    // 缓冲区容量
+    private final int mCapacity;
+    // 关闭时停止搜索
+    private final Runnable mStopRunnable;
+    // 是否搜索结束
+    private boolean mFinished;
+    // 是否已关闭
+    private volatile boolean mClosed;
+
+    /**
+     * 构造函数
+     * @param capacity     缓冲区容量
+     * @param stopRunnable 关闭时停止搜索
+     */
+    FileSearchStream(final int capacity, final Runnable stopRunnable) {
+        this.mCapacity = Math.max(capacity, 1);
+        this.mBuffer = new ArrayDeque<>(Math.min(mCapacity, 1024));
+        this.mStopRunnable = stopRunnable;
+    }
+
+    // ============
+    // = 搜索线程 =
+    // ============
+
+    /**
+     * 加入文件 ( 缓冲区满则阻塞等待 )
+     * @param file 文件
+     * @return {@code true} success, {@code false} 已关闭或者线程被中断, 需停止搜索
+     */
+    boolean offer(final File file) {
+        final ReentrantLock lock = mLock;
+        try {
+            lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            return false;
+        }
+        try {
+            while (!mClosed && mBuffer.size() >= mCapacity) {
+                mNotFull.await();
+            }
+            if (mClosed) return false;
+            mBuffer.offer(file);
+            mNotEmpty.signal();
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 搜索结束
+     */
+    void finish() {
+        mLock.lock();
+        try {
+            mFinished = true;
+            mNotEmpty.signalAll();
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    // ============
+    // = 使用方法 =
+    // ============
+
+    /**
+     * 关闭 ( 停止搜索并清空缓冲区 )
+     */
+    public void close() {
+        mLock.lock();
+        try {
+            if (mClosed) return;
+            mClosed = true;
+            mBuffer.clear();
+            mNotFull.signalAll();
+            mNotEmpty.signalAll();
+        } finally {
+            mLock.unlock();
+        }
+        if (mStopRunnable != null) {
+            mStopRunnable.run();
+        }
+    }
+
+    /**
+     * 是否已关闭
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isClosed() {
+        return mClosed;
+    }
+
+    /**
+     * 是否搜索结束 ( 缓冲区可能还存在未获取的文件 )
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isFinished() {
+        mLock.lock();
+        try {
+            return mFinished;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * 获取缓冲区中的文件数量
+     * @return 缓冲区中的文件数量
+     */
+    public int getBufferSize() {
+        mLock.lock();
+        try {
+            return mBuffer.size();
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<File> iterator() {
+        return this;
+    }
+
+    /**
+     * 是否存在下一个文件 ( 缓冲区为空并且搜索未结束则阻塞等待 )
+     * @return {@code true} yes, {@code false} 搜索结束、已关闭或者线程被中断
+     */
+    @Override
+    public boolean hasNext() {
+        mLock.lock();
+        try {
+            while (mBuffer.isEmpty() && !mFinished && !mClosed) {
+                mNotEmpty.await();
+            }
+            return !mBuffer.isEmpty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * 获取下一个文件
+     * @return 文件
+     */
+    @Override
+    public File next() {
+        mLock.lock();
+        try {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            File file = mBuffer.poll();
+            mNotFull.signal();
+            return file;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+}
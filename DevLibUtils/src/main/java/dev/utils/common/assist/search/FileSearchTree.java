@@ -0,0 +1,172 @@
+package dev.utils.common.assist.search;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * detail: 文件搜索紧凑目录树
+ * @author Ttt
+ * <pre>
+ *     每个文件只保存上一级索引、文件名以及是否文件夹, 相同文件名共用同一个 String 对象
+ *     相比每个节点创建 FileItem、File 以及以绝对路径为 key 的 HashMap, 大幅减少大量文件时的内存占用
+ *     索引 0 为根目录, 文件完整路径通过 {@link #getPath(int)} 按上一级索引拼接
+ * </pre>
+ */
+public final class FileSearchTree {
+
+    // 根目录索引
+    public static final int ROOT_INDEX = 0;
+    // 无上一级目录
+    public static final int NO_PARENT = -1;
+
+    // 上一级目录索引
+    private int[] mParents;
+    // 文件名
+    private String[] mNames;
+    // 是否文件夹
+    private boolean[] mDirectorys;
+    // 文件数量 ( 包含文件夹 )
+    private int mSize;
+    // 文件夹数量
+    private int mDirectoryCount;
+    // 文件名复用
+    private final HashMap<String, String> mNamePool = new HashMap<>();
+
+    /**
+     * 构造函数
+     * @param root 根目录
+     */
+    FileSearchTree(final File root) {
+        mParents = new int[64];
+        mNames = new String[64];
+        mDirectorys = new boolean[64];
+        add(NO_PARENT, root.getAbsolutePath(), true);
+    }
+
+    /**
+     * 添加文件
+     * @param parent    上一级目录索引
+     * @param name      文件名
+     * @param directory 是否文件夹
+     * @return 文件索引
+     */
+    synchronized int add(final int parent, final String name, final boolean directory) {
+        if (mSize == mParents.length) {
+            int capacity = mSize + (mSize >> 1);
+            mParents = Arrays.copyOf(mParents, capacity);
+            mNames = Arrays.copyOf(mNames, capacity);
+            mDirectorys = Arrays.copyOf(mDirectorys, capacity);
+        }
+        String intern = mNamePool.get(name);
+        if (intern == null) {
+            intern = name;
+            mNamePool.put(name, name);
+        }
+        int index = mSize++;
+        mParents[index] = parent;
+        mNames[index] = intern;
+        mDirectorys[index] = directory;
+        if (directory) {
+            mDirectoryCount++;
+        }
+        return index;
+    }
+
+    /**
+     * 释放多余空间 ( 搜索结束后调用 )
+     */
+    synchronized void trimToSize() {
+        mParents = Arrays.copyOf(mParents, mSize);
+        mNames = Arrays.copyOf(mNames, mSize);
+        mDirectorys = Arrays.copyOf(mDirectorys, mSize);
+        // 搜索结束后不再添加, 无需继续复用文件名
+        mNamePool.clear();
+    }
+
+    /**
+     * 获取文件数量 ( 包含根目录、文件夹 )
+     * @return 文件数量
+     */
+    public synchronized int size() {
+        return mSize;
+    }
+
+    /**
+     * 获取文件夹数量 ( 包含根目录 )
+     * @return 文件夹数量
+     */
+    public synchronized int getDirectoryCount() {
+        return mDirectoryCount;
+    }
+
+    /**
+     * 获取上一级目录索引
+     * @param index 文件索引
+     * @return 上一级目录索引, 根目录返回 {@link #NO_PARENT}
+     */
+    public synchronized int getParent(final int index) {
+        return mParents[checkIndex(index)];
+    }
+
+    /**
+     * 获取文件名 ( 根目录为绝对路径 )
+     * @param index 文件索引
+     * @return 文件名
+     */
+    public synchronized String getName(final int index) {
+        return mNames[checkIndex(index)];
+    }
+
+    /**
+     * 是否文件夹
+     * @param index 文件索引
+     * @return {@code true} yes, {@code false} no
+     */
+    public synchronized boolean isDirectory(final int index) {
+        return mDirectorys[checkIndex(index)];
+    }
+
+    /**
+     * 获取文件路径
+     * @param index 文件索引
+     * @return 文件路径
+     */
+    public synchronized String getPath(final int index) {
+        checkIndex(index);
+        int depth = 0;
+        for (int i = index; i != NO_PARENT; i = mParents[i]) {
+            depth++;
+        }
+        String[] names = new String[depth];
+        for (int i = index; i != NO_PARENT; i = mParents[i]) {
+            names[--depth] = mNames[i];
+        }
+        StringBuilder builder = new StringBuilder(names[0]);
+        for (int i = 1; i < names.length; i++) {
+            builder.append(File.separatorChar).append(names[i]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 获取文件
+     * @param index 文件索引
+     * @return {@link File}
+     */
+    public File getFile(final int index) {
+        return new File(getPath(index));
+    }
+
+    /**
+     * 校验索引
+     * @param index 文件索引
+     * @return 文件索引
+     */
+    private int checkIndex(final int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + mSize);
+        }
+        return index;
+    }
+}
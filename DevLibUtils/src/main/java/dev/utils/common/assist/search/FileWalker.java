@@ -0,0 +1,540 @@
+package dev.utils.common.assist.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.assist.GlobPattern;
+
+/**
+ * detail: 文件夹遍历工具类
+ * @author Ttt
+ * <pre>
+ *     Android 8.0 ( API 26 ) 以上使用 java.nio.file 读取文件夹, 每个文件只读取一次文件属性 ( 是否文件夹、大小、修改时间 )
+ *     低版本使用 File.list() 并按需读取文件属性
+ *     文件名通配符 ( glob ) 以及过滤条件在遍历时判断, 不符合条件的文件不创建对象, 不递归时无需读取文件属性
+ *     并行数大于 1 时多个线程同时遍历不同的子文件夹 ( 结果顺序不固定, Visitor 需线程安全 )
+ *     List&lt;File&gt; files = new FileWalker(dir).setGlob("*.{jpg,png}").setParallelism(4).listFiles();
+ * </pre>
+ */
+public final class FileWalker {
+
+    // 日志 TAG
+    private static final String TAG = FileWalker.class.getSimpleName();
+
+    // 是否支持 java.nio.file
+    private static final boolean SUPPORT_NIO;
+
+    static {
+        boolean support;
+        try {
+            Class.forName("java.nio.file.Files");
+            support = true;
+        } catch (Throwable e) {
+            support = false;
+        }
+        SUPPORT_NIO = support;
+    }
+
+    // 根目录
+    private final File mRoot;
+    // 是否递归子文件夹
+    private boolean mRecursive = true;
+    // 文件名匹配
+    private Pattern mGlobPattern;
+    // 过滤条件
+    private Filter mFilter;
+    // 并行数
+    private int mParallelism = 1;
+
+    /**
+     * 构造函数
+     * @param root 根目录
+     */
+    public FileWalker(final File root) {
+        this.mRoot = root;
+    }
+
+    /**
+     * detail: 文件信息
+     * @author Ttt
+     */
+    public static final class Entry {
+
+        // 文件
+        private final File mFile;
+        // 是否文件夹
+        private final boolean mDirectory;
+        // 文件大小 ( -1 表示未读取 )
+        private long mLength;
+        // 最后修改时间 ( -1 表示未读取 )
+        private long mLastModified;
+
+        Entry(final File file, final boolean directory, final long length, final long lastModified) {
+            this.mFile = file;
+            this.mDirectory = directory;
+            this.mLength = length;
+            this.mLastModified = lastModified;
+        }
+
+        /**
+         * 获取文件
+         * @return {@link File}
+         */
+        public File getFile() {
+            return mFile;
+        }
+
+        /**
+         * 获取文件名
+         * @return 文件名
+         */
+        public String getName() {
+            return mFile.getName();
+        }
+
+        /**
+         * 是否文件夹
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isDirectory() {
+            return mDirectory;
+        }
+
+        /**
+         * 获取文件大小
+         * @return 文件大小
+         */
+        public long getLength() {
+            if (mLength < 0L) {
+                mLength = mFile.length();
+            }
+            return mLength;
+        }
+
+        /**
+         * 获取最后修改时间
+         * @return 最后修改时间
+         */
+        public long getLastModified() {
+            if (mLastModified < 0L) {
+                mLastModified = mFile.lastModified();
+            }
+            return mLastModified;
+        }
+    }
+
+    /**
+     * detail: 过滤条件
+     * @author Ttt
+     */
+    public interface Filter {
+
+        /**
+         * 是否符合条件 ( 不符合条件的文件夹仍会递归遍历 )
+         * @param entry 文件信息
+         * @return {@code true} 符合, {@code false} 不符合
+         */
+        boolean accept(Entry entry);
+    }
+
+    /**
+     * detail: 遍历处理接口
+     * @author Ttt
+     */
+    public interface Visitor {
+
+        /**
+         * 符合条件的文件 ( 包含文件夹 )
+         * @param entry 文件信息
+         * @return {@code true} 继续遍历, {@code false} 停止遍历
+         */
+        boolean onEntry(Entry entry);
+    }
+
+    // ============
+    // = 配置参数 =
+    // ============
+
+    /**
+     * 设置是否递归子文件夹
+     * @param recursive 是否递归子文件夹 ( 默认 true )
+     * @return {@link FileWalker}
+     */
+    public FileWalker setRecursive(final boolean recursive) {
+        this.mRecursive = recursive;
+        return this;
+    }
+
+    /**
+     * 设置文件名通配符
+     * <pre>
+     *     语法见 {@link GlobPattern}, 如 *.{jpg,png}
+     *     只匹配文件名, 不匹配的文件夹仍会递归遍历
+     * </pre>
+     * @param glob 文件名通配符 ( null 则不匹配 )
+     * @return {@link FileWalker}
+     */
+    public FileWalker setGlob(final String glob) {
+        this.mGlobPattern = GlobPattern.compile(glob);
+        return this;
+    }
+
+    /**
+     * 设置过滤条件
+     * @param filter 过滤条件
+     * @return {@link FileWalker}
+     */
+    public FileWalker setFilter(final Filter filter) {
+        this.mFilter = filter;
+        return this;
+    }
+
+    /**
+     * 设置并行数
+     * @param parallelism 并行数 ( 默认 1 在当前线程遍历 )
+     * @return {@link FileWalker}
+     */
+    public FileWalker setParallelism(final int parallelism) {
+        this.mParallelism = Math.max(parallelism, 1);
+        return this;
+    }
+
+    /**
+     * 是否使用 java.nio.file 读取文件夹
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isSupportNio() {
+        return SUPPORT_NIO;
+    }
+
+    // ============
+    // = 遍历处理 =
+    // ============
+
+    /**
+     * 遍历文件夹 ( 阻塞等待遍历结束 )
+     * @param visitor 遍历处理接口
+     * @return {@code true} 遍历结束, {@code false} 停止遍历或者根目录不是文件夹
+     */
+    public boolean walk(final Visitor visitor) {
+        if (visitor == null || mRoot == null || !mRoot.isDirectory()) return false;
+        if (mParallelism > 1 && mRecursive) {
+            return walkParallel(visitor);
+        }
+        return walkDirectory(mRoot, visitor);
+    }
+
+    /**
+     * 获取符合条件的文件 ( 包含文件夹 )
+     * @return 文件集合, 根目录不是文件夹则返回 null
+     */
+    public List<File> listFiles() {
+        if (mRoot == null || !mRoot.isDirectory()) return null;
+        final List<File> lists = (mParallelism > 1) ? Collections.synchronizedList(new ArrayList<File>()) : new ArrayList<File>();
+        walk(new Visitor() {
+            @Override
+            public boolean onEntry(Entry entry) {
+                lists.add(entry.getFile());
+                return true;
+            }
+        });
+        return (mParallelism > 1) ? new ArrayList<>(lists) : lists;
+    }
+
+    /**
+     * 获取符合条件的文件总大小 ( 不包含文件夹自身大小 )
+     * @return 文件总大小
+     */
+    public long getLength() {
+        final AtomicLong length = new AtomicLong();
+        walk(new Visitor() {
+            @Override
+            public boolean onEntry(Entry entry) {
+                if (!entry.isDirectory()) {
+                    length.addAndGet(entry.getLength());
+                }
+                return true;
+            }
+        });
+        return length.get();
+    }
+
+    /**
+     * 删除根目录以及全部子文件 ( 不使用文件名通配符、过滤条件, 删除失败则停止 )
+     * @return {@code true} 删除成功, {@code false} 删除失败
+     */
+    public boolean delete() {
+        if (mRoot == null) return false;
+        if (!mRoot.exists()) return true;
+        if (!mRoot.isDirectory()) return false;
+        return deleteDirectory(mRoot);
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    /**
+     * 递归遍历文件夹
+     * @param dir     文件夹
+     * @param visitor 遍历处理接口
+     * @return {@code true} 继续遍历, {@code false} 停止遍历
+     */
+    private boolean walkDirectory(final File dir, final Visitor visitor) {
+        List<Entry> entrys = readDirectory(dir, mRecursive);
+        for (int i = 0, len = entrys.size(); i < len; i++) {
+            Entry entry = entrys.get(i);
+            if (isAccept(entry) && !visitor.onEntry(entry)) {
+                return false;
+            }
+            if (mRecursive && entry.isDirectory() && !walkDirectory(entry.getFile(), visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 递归删除文件夹
+     * @param dir 文件夹
+     * @return {@code true} 删除成功, {@code false} 删除失败
+     */
+    private boolean deleteDirectory(final File dir) {
+        List<Entry> entrys = readEntrys(dir, null);
+        for (int i = 0, len = entrys.size(); i < len; i++) {
+            Entry entry = entrys.get(i);
+            if (entry.isDirectory()) {
+                if (!deleteDirectory(entry.getFile())) return false;
+            } else if (!entry.getFile().delete()) {
+                return false;
+            }
+        }
+        return dir.delete();
+    }
+
+    /**
+     * 是否符合条件
+     * @param entry 文件信息
+     * @return {@code true} 符合, {@code false} 不符合
+     */
+    private boolean isAccept(final Entry entry) {
+        if (mGlobPattern != null && !mGlobPattern.matcher(entry.getName()).matches()) {
+            return false;
+        }
+        return mFilter == null || mFilter.accept(entry);
+    }
+
+    /**
+     * 读取文件夹
+     * @param dir       文件夹
+     * @param recursive 是否递归子文件夹 ( 不递归则不符合文件名通配符的文件无需读取属性 )
+     * @return 文件信息集合
+     */
+    private List<Entry> readDirectory(final File dir, final boolean recursive) {
+        return readEntrys(dir, recursive ? null : mGlobPattern);
+    }
+
+    /**
+     * 读取文件夹
+     * @param dir         文件夹
+     * @param namePattern 文件名匹配 ( 不匹配的文件直接跳过 )
+     * @return 文件信息集合
+     */
+    private static List<Entry> readEntrys(final File dir, final Pattern namePattern) {
+        if (SUPPORT_NIO) {
+            try {
+                return NioSupport.readEntrys(dir, namePattern);
+            } catch (IOException e) {
+                // 无权限等无法读取, 与 File.listFiles() 返回 null 处理一致
+                return Collections.emptyList();
+            } catch (Throwable e) {
+                JCLogUtils.eTag(TAG, e, "readEntrys");
+            }
+        }
+        String[] names = dir.list();
+        if (names == null || names.length == 0) {
+            return Collections.emptyList();
+        }
+        List<Entry> entrys = new ArrayList<>(names.length);
+        for (String name : names) {
+            if (namePattern != null && !namePattern.matcher(name).matches()) continue;
+            File file = new File(dir, name);
+            // 大小、修改时间按需读取
+            entrys.add(new Entry(file, file.isDirectory(), -1L, -1L));
+        }
+        return entrys;
+    }
+
+    /**
+     * 多线程遍历文件夹
+     * <pre>
+     *     线程从队列获取文件夹遍历一层, 子文件夹加入队列, 等待处理的文件夹数量为 0 则遍历结束
+     * </pre>
+     * @param visitor 遍历处理接口
+     * @return {@code true} 遍历结束, {@code false} 停止遍历
+     */
+    private boolean walkParallel(final Visitor visitor) {
+        final int threads = mParallelism;
+        // 待处理文件夹 ( END 表示结束 )
+        final LinkedBlockingQueue<File> queue = new LinkedBlockingQueue<>();
+        // 等待处理 ( 已加入队列或处理中 ) 的文件夹数量
+        final AtomicInteger pending = new AtomicInteger(1);
+        // 是否停止遍历
+        final AtomicBoolean stopped = new AtomicBoolean();
+        // 首个异常
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        // 其他线程结束
+        final CountDownLatch latch = new CountDownLatch(threads - 1);
+        queue.offer(mRoot);
+        final Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (!stopped.get()) {
+                        File dir = queue.take();
+                        if (dir == END) break;
+                        boolean proceed = false;
+                        try {
+                            proceed = walkLevel(dir, visitor, queue, pending, stopped);
+                        } catch (Throwable e) {
+                            error.compareAndSet(null, e);
+                        }
+                        if (!proceed) {
+                            stopped.set(true);
+                        }
+                        // 全部文件夹处理完成或者停止遍历, 通知其他线程结束
+                        if (pending.decrementAndGet() == 0 || !proceed) {
+                            for (int i = 0; i < threads; i++) {
+                                queue.offer(END);
+                            }
+                            break;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    stopped.set(true);
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        worker.run();
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            // 当前线程也参与遍历
+            worker.run();
+            // 等待其他线程的 Visitor 回调结束
+            latch.await();
+        } catch (InterruptedException e) {
+            stopped.set(true);
+            Thread.currentThread().interrupt();
+        } finally {
+            // 当前线程被中断时其他线程可能仍在等待队列, 中断并结束
+            executor.shutdownNow();
+        }
+        Throwable throwable = error.get();
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        } else if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        return !stopped.get();
+    }
+
+    // 多线程遍历结束标记
+    private static final File END = new File("");
+
+    /**
+     * 遍历一层文件夹, 子文件夹加入队列
+     * @param dir     文件夹
+     * @param visitor 遍历处理接口
+     * @param queue   待处理文件夹队列
+     * @param pending 等待处理的文件夹数量
+     * @param stopped 是否停止遍历
+     * @return {@code true} 继续遍历, {@code false} 停止遍历
+     */
+    private boolean walkLevel(final File dir, final Visitor visitor, final LinkedBlockingQueue<File> queue,
+                              final AtomicInteger pending, final AtomicBoolean stopped) {
+        List<Entry> entrys = readDirectory(dir, true);
+        for (int i = 0, len = entrys.size(); i < len; i++) {
+            if (stopped.get()) return false;
+            Entry entry = entrys.get(i);
+            if (isAccept(entry) && !visitor.onEntry(entry)) {
+                return false;
+            }
+            if (entry.isDirectory()) {
+                // 先增加等待数量, 防止提前判断为遍历结束
+                pending.incrementAndGet();
+                queue.offer(entry.getFile());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * detail: java.nio.file 处理 ( 单独类加载, 防止低版本找不到类 )
+     * @author Ttt
+     */
+    private static final class NioSupport {
+
+        private NioSupport() {
+        }
+
+        /**
+         * 读取文件夹, 每个文件只读取一次文件属性
+         * @param dir         文件夹
+         * @param namePattern 文件名匹配 ( 不匹配的文件直接跳过 )
+         * @return 文件信息集合
+         * @throws IOException 读取异常
+         */
+        static List<Entry> readEntrys(final File dir, final Pattern namePattern) throws IOException {
+            List<Entry> entrys = new ArrayList<>();
+            DirectoryStream<Path> stream = Files.newDirectoryStream(dir.toPath());
+            try {
+                for (Path path : stream) {
+                    String name = path.getFileName().toString();
+                    if (namePattern != null && !namePattern.matcher(name).matches()) continue;
+                    File file = new File(dir, name);
+                    try {
+                        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                        entrys.add(new Entry(file, attributes.isDirectory(), attributes.isDirectory() ? -1L : attributes.size(),
+                                attributes.lastModifiedTime().toMillis()));
+                    } catch (IOException e) {
+                        // 无效链接等无法读取属性, 与 File 处理一致作为文件
+                        entrys.add(new Entry(file, false, 0L, 0L));
+                    }
+                }
+            } finally {
+                stream.close();
+            }
+            return entrys;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package dev.utils.common.encrypt;
 
-import java.io.FileInputStream;
-import java.io.InputStream;
+import java.io.File;
 import java.util.zip.CRC32;
 
 import dev.utils.JCLogUtils;
@@ -63,26 +62,15 @@ public final class CRCUtils {
      */
     public static String getFileCRC32(final String filePath) {
         if (filePath == null) return null;
-        InputStream is = null;
-        try {
-            is = new FileInputStream(filePath);
-            byte[] buffer = new byte[1024];
-            CRC32 crc32 = new CRC32();
-            int numRead;
-            while ((numRead = is.read(buffer)) > 0) {
-                crc32.update(buffer, 0, numRead);
-            }
-            return Long.toHexString(crc32.getValue());
-        } catch (Exception e) {
-            JCLogUtils.eTag(TAG, e, "getFileCRC32");
-        } finally {
-            if (is != null) {
-                try {
-                    is.close();
-                } catch (Exception e) {
-                }
-            }
-        }
-        return null;
+        return getFileCRC32(new File(filePath));
+    }
+
+    /**
+     * 获取文件 CRC32 值
+     * @param file 文件
+     * @return 文件 CRC32 值
+     */
+    public static String getFileCRC32(final File file) {
+        return FileHashUtils.hashToHexString(file, FileHashUtils.Algorithm.CRC32);
     }
 }
\ No newline at end of file
@@ -1,8 +1,6 @@
 package dev.utils.common.encrypt;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.security.DigestInputStream;
 import java.security.Key;
 import java.security.KeyFactory;
 import java.security.MessageDigest;
@@ -159,29 +157,7 @@ public final class EncryptUtils {
      * @return 文件 MD5 值 byte[]
      */
     public static byte[] encryptMD5File(final File file) {
-        if (file == null) return null;
-        DigestInputStream dis = null;
-        try {
-            FileInputStream fis = new FileInputStream(file);
-            MessageDigest digest = MessageDigest.getInstance("MD5");
-            dis = new DigestInputStream(fis, digest);
-            byte[] buffer = new byte[256 * 1024];
-            while (true) {
-                if (!(dis.read(buffer) > 0)) break;
-            }
-            digest = dis.getMessageDigest();
-            return digest.digest();
-        } catch (Exception e) {
-            JCLogUtils.eTag(TAG, e, "encryptMD5File");
-            return null;
-        } finally {
-            if (dis != null) {
-                try {
-                    dis.close();
-                } catch (Exception e) {
-                }
-            }
-        }
+        return FileHashUtils.hashToBytes(file, FileHashUtils.Algorithm.MD5);
     }
 
     // =
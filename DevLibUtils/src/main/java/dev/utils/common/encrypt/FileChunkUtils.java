@@ -0,0 +1,546 @@
+package dev.utils.common.encrypt;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import dev.utils.JCLogUtils;
+
+/**
+ * detail: 文件分块指纹工具类
+ * @author Ttt
+ * <pre>
+ *     使用滚动哈希 ( Gear ) 按内容切分文件块, 每块计算 SHA-256, 文件中间插入、删除数据只影响附近的块
+ *     分块结果 ( {@link Manifest} ) 可保存到本地, 文件追加数据后通过 {@link #update(File, Manifest)} 只读取、计算末尾变化的块
+ *     上传去重可通过 {@link #getChangedChunks(Manifest, Manifest)} 获取新增的块
+ * </pre>
+ */
+public final class FileChunkUtils {
+
+    private FileChunkUtils() {
+    }
+
+    // 日志 TAG
+    private static final String TAG = FileChunkUtils.class.getSimpleName();
+    // 默认最小块大小
+    public static final int DEFAULT_MIN_SIZE = 2 * 1024;
+    // 默认平均块大小
+    public static final int DEFAULT_AVG_SIZE = 8 * 1024;
+    // 默认最大块大小
+    public static final int DEFAULT_MAX_SIZE = 64 * 1024;
+    // 块摘要算法
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    // 块摘要长度
+    private static final int DIGEST_LEN = 32;
+    // 读取缓冲区大小
+    private static final int BUFFER_LEN = 256 * 1024;
+    // 分块结果文件标识
+    private static final int MAGIC = 0x4443464D; // DCFM
+    // 分块结果文件版本
+    private static final int VERSION = 1;
+    // Gear 哈希表 ( 固定种子, 保证不同设备、版本分块结果一致 )
+    private static final long[] GEAR = createGearTable();
+
+    /**
+     * detail: 文件块
+     * @author Ttt
+     */
+    public static final class Chunk {
+
+        // 块偏移
+        private final long mOffset;
+        // 块大小
+        private final int mLength;
+        // 块摘要 ( SHA-256 )
+        private final byte[] mDigest;
+
+        Chunk(final long offset, final int length, final byte[] digest) {
+            this.mOffset = offset;
+            this.mLength = length;
+            this.mDigest = digest;
+        }
+
+        /**
+         * 获取块偏移
+         * @return 块偏移
+         */
+        public long getOffset() {
+            return mOffset;
+        }
+
+        /**
+         * 获取块大小
+         * @return 块大小
+         */
+        public int getLength() {
+            return mLength;
+        }
+
+        /**
+         * 获取块摘要 ( SHA-256 )
+         * @return 块摘要
+         */
+        public byte[] getDigest() {
+            return mDigest.clone();
+        }
+
+        /**
+         * 获取块摘要十六进制字符串 - 小写
+         * @return 块摘要十六进制字符串
+         */
+        public String getHexDigest() {
+            return toHexString(mDigest);
+        }
+    }
+
+    /**
+     * detail: 文件分块结果
+     * @author Ttt
+     */
+    public static final class Manifest {
+
+        // 最小块大小
+        private final int mMinSize;
+        // 平均块大小
+        private final int mAvgSize;
+        // 最大块大小
+        private final int mMaxSize;
+        // 文件大小
+        private final long mLength;
+        // 文件修改时间
+        private final long mLastModified;
+        // 全部块
+        private final List<Chunk> mChunks;
+
+        Manifest(final int minSize, final int avgSize, final int maxSize, final long length,
+                 final long lastModified, final List<Chunk> chunks) {
+            this.mMinSize = minSize;
+            this.mAvgSize = avgSize;
+            this.mMaxSize = maxSize;
+            this.mLength = length;
+            this.mLastModified = lastModified;
+            this.mChunks = Collections.unmodifiableList(chunks);
+        }
+
+        /**
+         * 获取最小块大小
+         * @return 最小块大小
+         */
+        public int getMinSize() {
+            return mMinSize;
+        }
+
+        /**
+         * 获取平均块大小
+         * @return 平均块大小
+         */
+        public int getAvgSize() {
+            return mAvgSize;
+        }
+
+        /**
+         * 获取最大块大小
+         * @return 最大块大小
+         */
+        public int getMaxSize() {
+            return mMaxSize;
+        }
+
+        /**
+         * 获取文件大小
+         * @return 文件大小
+         */
+        public long getLength() {
+            return mLength;
+        }
+
+        /**
+         * 获取文件修改时间
+         * @return 文件修改时间
+         */
+        public long getLastModified() {
+            return mLastModified;
+        }
+
+        /**
+         * 获取全部块
+         * @return 全部块
+         */
+        public List<Chunk> getChunks() {
+            return mChunks;
+        }
+
+        /**
+         * 获取文件指纹 ( 全部块摘要拼接后的 SHA-256, 十六进制字符串 )
+         * @return 文件指纹
+         */
+        public String getFingerprint() {
+            try {
+                MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+                for (Chunk chunk : mChunks) {
+                    digest.update(chunk.mDigest);
+                }
+                return toHexString(digest.digest());
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "getFingerprint");
+            }
+            return null;
+        }
+
+        /**
+         * 写入分块结果 ( 不关闭输出流 )
+         * @param os 输出流
+         * @throws IOException 写入失败时抛出
+         */
+        public void writeTo(final OutputStream os) throws IOException {
+            DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(os));
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            dos.writeInt(mMinSize);
+            dos.writeInt(mAvgSize);
+            dos.writeInt(mMaxSize);
+            dos.writeLong(mLength);
+            dos.writeLong(mLastModified);
+            dos.writeInt(mChunks.size());
+            for (Chunk chunk : mChunks) {
+                dos.writeInt(chunk.mLength);
+                dos.write(chunk.mDigest);
+            }
+            dos.flush();
+        }
+
+        /**
+         * 读取分块结果 ( 不关闭输入流 )
+         * @param is 输入流
+         * @return {@link Manifest}
+         * @throws IOException 读取失败或者格式错误时抛出
+         */
+        public static Manifest readFrom(final InputStream is) throws IOException {
+            DataInputStream dis = new DataInputStream(is);
+            if (dis.readInt() != MAGIC || dis.readInt() != VERSION) {
+                throw new IOException("invalid manifest");
+            }
+            int minSize = dis.readInt();
+            int avgSize = dis.readInt();
+            int maxSize = dis.readInt();
+            long length = dis.readLong();
+            long lastModified = dis.readLong();
+            int count = dis.readInt();
+            if (count < 0) throw new IOException("invalid manifest");
+            List<Chunk> chunks = new ArrayList<>(Math.min(count, 1024));
+            long offset = 0L;
+            for (int i = 0; i < count; i++) {
+                int chunkLength = dis.readInt();
+                byte[] digest = new byte[DIGEST_LEN];
+                dis.readFully(digest);
+                chunks.add(new Chunk(offset, chunkLength, digest));
+                offset += chunkLength;
+            }
+            if (offset != length) throw new IOException("invalid manifest");
+            return new Manifest(minSize, avgSize, maxSize, length, lastModified, chunks);
+        }
+
+        /**
+         * 保存分块结果到文件
+         * @param file 文件
+         * @return {@code true} success, {@code false} fail
+         */
+        public boolean save(final File file) {
+            if (file == null) return false;
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            OutputStream os = null;
+            try {
+                os = new FileOutputStream(file);
+                writeTo(os);
+                return true;
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "save");
+            } finally {
+                closeIOQuietly(os);
+            }
+            return false;
+        }
+
+        /**
+         * 读取文件中的分块结果
+         * @param file 文件
+         * @return {@link Manifest}, 读取失败返回 null
+         */
+        public static Manifest load(final File file) {
+            if (file == null || !file.isFile()) return null;
+            InputStream is = null;
+            try {
+                is = new BufferedInputStream(new FileInputStream(file));
+                return readFrom(is);
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "load");
+            } finally {
+                closeIOQuietly(is);
+            }
+            return null;
+        }
+    }
+
+    // ============
+    // = 文件分块 =
+    // ============
+
+    /**
+     * 文件分块 ( 默认块大小 )
+     * @param file 文件
+     * @return {@link Manifest}, 读取失败返回 null
+     */
+    public static Manifest create(final File file) {
+        return create(file, DEFAULT_MIN_SIZE, DEFAULT_AVG_SIZE, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * 文件分块
+     * @param file    文件
+     * @param minSize 最小块大小
+     * @param avgSize 平均块大小 ( 2 的幂, 实际平均大小约为最小块大小 + 平均块大小 )
+     * @param maxSize 最大块大小
+     * @return {@link Manifest}, 读取失败返回 null
+     */
+    public static Manifest create(final File file, final int minSize, final int avgSize, final int maxSize) {
+        if (file == null) return null;
+        if (minSize <= 0 || avgSize < minSize || maxSize < avgSize || Integer.bitCount(avgSize) != 1) {
+            throw new IllegalArgumentException("minSize <= avgSize <= maxSize, avgSize must be a power of 2");
+        }
+        try {
+            long lastModified = file.lastModified();
+            List<Chunk> chunks = new ArrayList<>();
+            long length = chunk(file, 0L, minSize, avgSize, maxSize, chunks);
+            return new Manifest(minSize, avgSize, maxSize, length, lastModified, chunks);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "create");
+        }
+        return null;
+    }
+
+    /**
+     * 增量更新文件分块
+     * <pre>
+     *     文件大小、修改时间未变化直接返回原分块结果
+     *     文件变大时按末尾追加处理: 复用除最后一块外的全部块 ( 校验复用的最后一块内容未变化 ), 从原最后一块开始重新分块
+     *     文件变小、校验失败或者分块参数不同则重新分块 ( 中间内容修改但文件未变小时不会检测到, 可使用 {@link #create(File)} )
+     * </pre>
+     * @param file     文件
+     * @param previous 原分块结果
+     * @return {@link Manifest}, 读取失败返回 null
+     */
+    public static Manifest update(final File file, final Manifest previous) {
+        if (file == null) return null;
+        if (previous == null) return create(file);
+        int minSize = previous.mMinSize, avgSize = previous.mAvgSize, maxSize = previous.mMaxSize;
+        long length = file.length();
+        long lastModified = file.lastModified();
+        if (length == previous.mLength && lastModified == previous.mLastModified) return previous;
+        List<Chunk> previousChunks = previous.mChunks;
+        if (length < previous.mLength || previousChunks.isEmpty()) {
+            return create(file, minSize, avgSize, maxSize);
+        }
+        // 最后一块由文件结尾切分, 追加数据后需重新切分
+        int reuseCount = previousChunks.size() - 1;
+        try {
+            if (reuseCount > 0) {
+                Chunk lastReuse = previousChunks.get(reuseCount - 1);
+                if (!Arrays.equals(digest(file, lastReuse.mOffset, lastReuse.mLength), lastReuse.mDigest)) {
+                    return create(file, minSize, avgSize, maxSize);
+                }
+            }
+            List<Chunk> chunks = new ArrayList<>(previousChunks.subList(0, reuseCount));
+            long newLength = chunk(file, previousChunks.get(reuseCount).mOffset, minSize, avgSize, maxSize, chunks);
+            return new Manifest(minSize, avgSize, maxSize, newLength, lastModified, chunks);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "update");
+        }
+        return null;
+    }
+
+    /**
+     * 获取新增的块 ( 块摘要不存在于原分块结果中 )
+     * @param manifest 当前分块结果
+     * @param previous 原分块结果
+     * @return 新增的块
+     */
+    public static List<Chunk> getChangedChunks(final Manifest manifest, final Manifest previous) {
+        if (manifest == null) return null;
+        if (previous == null) return new ArrayList<>(manifest.mChunks);
+        HashSet<ByteBuffer> digests = new HashSet<>();
+        for (Chunk chunk : previous.mChunks) {
+            digests.add(ByteBuffer.wrap(chunk.mDigest));
+        }
+        List<Chunk> chunks = new ArrayList<>();
+        for (Chunk chunk : manifest.mChunks) {
+            if (!digests.contains(ByteBuffer.wrap(chunk.mDigest))) {
+                chunks.add(chunk);
+            }
+        }
+        return chunks;
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    /**
+     * 从指定偏移开始分块
+     * @param file    文件
+     * @param start   开始偏移
+     * @param minSize 最小块大小
+     * @param avgSize 平均块大小
+     * @param maxSize 最大块大小
+     * @param chunks  块存储集合
+     * @return 文件大小 ( 开始偏移 + 读取大小 )
+     * @throws Exception 读取失败时抛出
+     */
+    private static long chunk(final File file, final long start, final int minSize, final int avgSize,
+                              final int maxSize, final List<Chunk> chunks) throws Exception {
+        // 使用高位判断边界, Gear 哈希高位受最近 64 字节影响
+        final long mask = (long) (avgSize - 1) << (64 - Integer.numberOfTrailingZeros(avgSize));
+        MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            if (start > 0) {
+                fis.getChannel().position(start);
+            }
+            byte[] buffer = new byte[BUFFER_LEN];
+            long chunkOffset = start;
+            int chunkLength = 0;
+            long hash = 0L;
+            int len;
+            while ((len = fis.read(buffer)) != -1) {
+                int segmentStart = 0;
+                for (int i = 0; i < len; i++) {
+                    chunkLength++;
+                    // 小于最小块大小不判断边界
+                    if (chunkLength <= minSize) continue;
+                    hash = (hash << 1) + GEAR[buffer[i] & 0xFF];
+                    if ((hash & mask) == 0 || chunkLength >= maxSize) {
+                        digest.update(buffer, segmentStart, i + 1 - segmentStart);
+                        chunks.add(new Chunk(chunkOffset, chunkLength, digest.digest()));
+                        chunkOffset += chunkLength;
+                        chunkLength = 0;
+                        hash = 0L;
+                        segmentStart = i + 1;
+                    }
+                }
+                if (segmentStart < len) {
+                    digest.update(buffer, segmentStart, len - segmentStart);
+                }
+            }
+            if (chunkLength > 0) {
+                chunks.add(new Chunk(chunkOffset, chunkLength, digest.digest()));
+                chunkOffset += chunkLength;
+            }
+            return chunkOffset;
+        } finally {
+            closeIOQuietly(fis);
+        }
+    }
+
+    /**
+     * 计算文件指定范围摘要
+     * @param file   文件
+     * @param offset 偏移
+     * @param length 大小
+     * @return 摘要
+     * @throws Exception 读取失败时抛出
+     */
+    private static byte[] digest(final File file, final long offset, final int length) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            fis.getChannel().position(offset);
+            byte[] buffer = new byte[Math.min(length, BUFFER_LEN)];
+            int remain = length;
+            while (remain > 0) {
+                int len = fis.read(buffer, 0, Math.min(remain, buffer.length));
+                if (len == -1) return null;
+                digest.update(buffer, 0, len);
+                remain -= len;
+            }
+            return digest.digest();
+        } finally {
+            closeIOQuietly(fis);
+        }
+    }
+
+    /**
+     * 创建 Gear 哈希表
+     * @return Gear 哈希表
+     */
+    private static long[] createGearTable() {
+        // 固定种子, 修改会导致已保存的分块结果无法增量更新
+        Random random = new Random(0x5DEECE66DL);
+        long[] table = new long[256];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = random.nextLong();
+        }
+        return table;
+    }
+
+    // ======================
+    // = 其他工具类实现代码 =
+    // ======================
+
+    // ==============
+    // = CloseUtils =
+    // ==============
+
+    /**
+     * 安静关闭 IO
+     * @param closeable {@link Closeable}
+     */
+    private static void closeIOQuietly(final Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception ignore) {
+            }
+        }
+    }
+
+    // ================
+    // = ConvertUtils =
+    // ================
+
+    // 用于建立十六进制字符的输出的小写字符数组
+    private static final char[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+    /**
+     * 将 byte[] 转换 十六进制字符串
+     * @param data 待转换数据
+     * @return 十六进制字符串
+     */
+    private static String toHexString(final byte[] data) {
+        if (data == null) return null;
+        int len = data.length;
+        StringBuilder builder = new StringBuilder(len << 1);
+        for (int i = 0; i < len; i++) {
+            builder.append(HEX_DIGITS[(data[i] & 0xf0) >>> 4]);
+            builder.append(HEX_DIGITS[data[i] & 0x0f]);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,458 @@
+package dev.utils.common.encrypt;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import dev.utils.JCLogUtils;
+
+/**
+ * detail: 文件摘要计算工具类
+ * @author Ttt
+ * <pre>
+ *     读取一次文件同时计算多种摘要 ( MD5、SHA-1、SHA-256、CRC32 ), 无需每种算法重新读取文件
+ *     大文件通过 MappedByteBuffer 分段映射读取, 小文件使用 256K 缓冲区读取
+ *     支持多个文件并行计算以及进度回调
+ * </pre>
+ */
+public final class FileHashUtils {
+
+    private FileHashUtils() {
+    }
+
+    // 日志 TAG
+    private static final String TAG = FileHashUtils.class.getSimpleName();
+    // 缓冲区大小
+    private static final int BUFFER_LEN = 256 * 1024;
+    // 使用内存映射读取的文件大小阈值
+    private static final long MAP_THRESHOLD = 4 * 1024 * 1024;
+    // 内存映射分段大小 ( 防止 32 位进程地址空间不足 )
+    private static final long MAP_WINDOW_LEN = 64 * 1024 * 1024;
+    // 进度回调间隔 ( 字节 )
+    private static final int PROGRESS_STEP = 1024 * 1024;
+    // CRC32.update(ByteBuffer) ( API 26 以上 )
+    private static final Method CRC32_UPDATE_BUFFER = getCRC32UpdateMethod();
+
+    /**
+     * detail: 摘要算法
+     * @author Ttt
+     */
+    public enum Algorithm {
+
+        MD5("MD5"),
+
+        SHA1("SHA-1"),
+
+        SHA256("SHA-256"),
+
+        CRC32("CRC32");
+
+        // 算法名
+        private final String mName;
+
+        Algorithm(final String name) {
+            this.mName = name;
+        }
+
+        /**
+         * 获取算法名
+         * @return 算法名
+         */
+        public String getName() {
+            return mName;
+        }
+    }
+
+    /**
+     * detail: 进度回调接口
+     * @author Ttt
+     */
+    public interface OnProgressListener {
+
+        /**
+         * 计算进度 ( 并行计算时在计算线程回调 )
+         * @param file    文件
+         * @param current 已读取大小
+         * @param total   文件大小
+         */
+        void onProgress(File file, long current, long total);
+    }
+
+    /**
+     * detail: 摘要计算结果
+     * @author Ttt
+     */
+    public static final class Result {
+
+        // 文件
+        private final File mFile;
+        // 文件大小
+        private final long mLength;
+        // 摘要
+        private final EnumMap<Algorithm, byte[]> mDigests;
+
+        private Result(final File file, final long length, final EnumMap<Algorithm, byte[]> digests) {
+            this.mFile = file;
+            this.mLength = length;
+            this.mDigests = digests;
+        }
+
+        /**
+         * 获取文件
+         * @return {@link File}
+         */
+        public File getFile() {
+            return mFile;
+        }
+
+        /**
+         * 获取读取的文件大小
+         * @return 文件大小
+         */
+        public long getLength() {
+            return mLength;
+        }
+
+        /**
+         * 获取摘要
+         * @param algorithm 摘要算法
+         * @return 摘要 byte[], 未计算该算法返回 null
+         */
+        public byte[] getDigest(final Algorithm algorithm) {
+            byte[] digest = mDigests.get(algorithm);
+            return (digest != null) ? digest.clone() : null;
+        }
+
+        /**
+         * 获取摘要十六进制字符串 - 小写
+         * @param algorithm 摘要算法
+         * @return 摘要十六进制字符串, 未计算该算法返回 null
+         */
+        public String getHexString(final Algorithm algorithm) {
+            if (algorithm == Algorithm.CRC32) {
+                // 与 CRCUtils.getFileCRC32 保持一致, 不补 0
+                return mDigests.containsKey(algorithm) ? Long.toHexString(getCRC32()) : null;
+            }
+            return toHexString(mDigests.get(algorithm));
+        }
+
+        /**
+         * 获取 CRC32 值
+         * @return CRC32 值, 未计算 CRC32 返回 -1
+         */
+        public long getCRC32() {
+            byte[] digest = mDigests.get(Algorithm.CRC32);
+            if (digest == null) return -1L;
+            return ((digest[0] & 0xFFL) << 24) | ((digest[1] & 0xFFL) << 16) | ((digest[2] & 0xFFL) << 8) | (digest[3] & 0xFFL);
+        }
+    }
+
+    // ============
+    // = 计算摘要 =
+    // ============
+
+    /**
+     * 计算文件摘要
+     * @param file       文件
+     * @param algorithms 摘要算法 ( 读取一次文件计算全部算法 )
+     * @return {@link Result}, 计算失败返回 null
+     */
+    public static Result hash(final File file, final Algorithm... algorithms) {
+        return hash(file, null, algorithms);
+    }
+
+    /**
+     * 计算文件摘要
+     * @param file       文件
+     * @param listener   进度回调接口
+     * @param algorithms 摘要算法 ( 读取一次文件计算全部算法 )
+     * @return {@link Result}, 计算失败返回 null
+     */
+    public static Result hash(final File file, final OnProgressListener listener, final Algorithm... algorithms) {
+        if (file == null || algorithms == null || algorithms.length == 0) return null;
+        try {
+            return new Hasher(file, listener, algorithms).hash();
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "hash");
+        }
+        return null;
+    }
+
+    /**
+     * 并行计算多个文件摘要
+     * @param files       文件集合
+     * @param parallelism 并行数 ( 小于等于 0 则使用 CPU 核数 )
+     * @param listener    进度回调接口
+     * @param algorithms  摘要算法
+     * @return 文件 - 计算结果 ( 与文件集合顺序一致, 计算失败的文件结果为 null )
+     */
+    public static Map<File, Result> hashFiles(final Collection<File> files, final int parallelism,
+                                              final OnProgressListener listener, final Algorithm... algorithms) {
+        if (files == null || algorithms == null || algorithms.length == 0) return null;
+        Map<File, Result> results = new LinkedHashMap<>();
+        if (files.isEmpty()) return results;
+        int threads = (parallelism > 0) ? parallelism : Runtime.getRuntime().availableProcessors();
+        threads = Math.max(1, Math.min(threads, files.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Result>> futures = new ArrayList<>(files.size());
+            for (final File file : files) {
+                futures.add(executor.submit(new Callable<Result>() {
+                    @Override
+                    public Result call() {
+                        return hash(file, listener, algorithms);
+                    }
+                }));
+            }
+            int index = 0;
+            for (File file : files) {
+                results.put(file, futures.get(index++).get());
+            }
+            return results;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "hashFiles");
+            return null;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 计算文件摘要十六进制字符串
+     * @param file      文件
+     * @param algorithm 摘要算法
+     * @return 摘要十六进制字符串, 计算失败返回 null
+     */
+    public static String hashToHexString(final File file, final Algorithm algorithm) {
+        Result result = hash(file, algorithm);
+        return (result != null) ? result.getHexString(algorithm) : null;
+    }
+
+    /**
+     * 计算文件摘要
+     * @param file      文件
+     * @param algorithm 摘要算法
+     * @return 摘要 byte[], 计算失败返回 null
+     */
+    public static byte[] hashToBytes(final File file, final Algorithm algorithm) {
+        Result result = hash(file, algorithm);
+        return (result != null) ? result.getDigest(algorithm) : null;
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    /**
+     * detail: 单个文件摘要计算
+     * @author Ttt
+     */
+    private static final class Hasher {
+
+        // 文件
+        private final File mFile;
+        // 进度回调接口
+        private final OnProgressListener mListener;
+        // 摘要算法
+        private final Algorithm[] mAlgorithms;
+        // 摘要计算 ( 与摘要算法对应, CRC32 为 null )
+        private final MessageDigest[] mDigests;
+        // CRC32 计算
+        private final CRC32 mCRC32;
+        // 已读取大小
+        private long mCurrent;
+        // 文件大小
+        private long mTotal;
+        // 上次回调进度
+        private long mLastProgress;
+
+        Hasher(final File file, final OnProgressListener listener, final Algorithm[] algorithms) throws Exception {
+            this.mFile = file;
+            this.mListener = listener;
+            this.mAlgorithms = algorithms;
+            this.mDigests = new MessageDigest[algorithms.length];
+            CRC32 crc32 = null;
+            for (int i = 0; i < algorithms.length; i++) {
+                if (algorithms[i] == Algorithm.CRC32) {
+                    crc32 = new CRC32();
+                } else {
+                    mDigests[i] = MessageDigest.getInstance(algorithms[i].getName());
+                }
+            }
+            this.mCRC32 = crc32;
+        }
+
+        /**
+         * 读取文件计算摘要
+         * @return {@link Result}
+         * @throws Exception 读取失败时抛出
+         */
+        Result hash() throws Exception {
+            FileInputStream fis = new FileInputStream(mFile);
+            try {
+                FileChannel channel = fis.getChannel();
+                mTotal = channel.size();
+                if (mTotal < MAP_THRESHOLD || !hashMapped(channel)) {
+                    hashStream(fis);
+                }
+            } finally {
+                try {
+                    fis.close();
+                } catch (Exception ignore) {
+                }
+            }
+            if (mListener != null && mLastProgress != mCurrent) {
+                mListener.onProgress(mFile, mCurrent, mTotal);
+            }
+            EnumMap<Algorithm, byte[]> digests = new EnumMap<>(Algorithm.class);
+            for (int i = 0; i < mAlgorithms.length; i++) {
+                if (mDigests[i] != null) {
+                    digests.put(mAlgorithms[i], mDigests[i].digest());
+                } else {
+                    long value = mCRC32.getValue();
+                    digests.put(Algorithm.CRC32, new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value});
+                }
+            }
+            return new Result(mFile, mCurrent, digests);
+        }
+
+        /**
+         * 通过缓冲区读取计算摘要
+         * @param fis 文件输入流
+         * @throws Exception 读取失败时抛出
+         */
+        private void hashStream(final FileInputStream fis) throws Exception {
+            byte[] buffer = new byte[(int) Math.max(Math.min(mTotal, BUFFER_LEN), 1024)];
+            int len;
+            while ((len = fis.read(buffer)) != -1) {
+                update(buffer, 0, len);
+            }
+        }
+
+        /**
+         * 通过内存映射分段读取计算摘要
+         * @param channel 文件通道
+         * @return {@code true} success, {@code false} 映射失败 ( 通道已定位到未读取位置, 剩余部分使用缓冲区读取 )
+         * @throws Exception 读取失败时抛出
+         */
+        private boolean hashMapped(final FileChannel channel) throws Exception {
+            byte[] buffer = null;
+            for (long position = 0; position < mTotal; position += MAP_WINDOW_LEN) {
+                long size = Math.min(MAP_WINDOW_LEN, mTotal - position);
+                MappedByteBuffer window;
+                try {
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+                } catch (Exception e) {
+                    // 部分文件系统不支持映射 ( 或地址空间不足 ), 从当前位置起改用缓冲区读取
+                    JCLogUtils.eTag(TAG, e, "hashMapped");
+                    channel.position(position);
+                    return false;
+                }
+                for (int offset = 0; offset < size; offset += PROGRESS_STEP) {
+                    int len = (int) Math.min(PROGRESS_STEP, size - offset);
+                    window.limit(offset + len).position(offset);
+                    for (MessageDigest digest : mDigests) {
+                        if (digest != null) {
+                            digest.update(window.duplicate());
+                        }
+                    }
+                    if (mCRC32 != null) {
+                        if (CRC32_UPDATE_BUFFER != null) {
+                            CRC32_UPDATE_BUFFER.invoke(mCRC32, window.duplicate());
+                        } else {
+                            if (buffer == null) buffer = new byte[PROGRESS_STEP];
+                            window.duplicate().get(buffer, 0, len);
+                            mCRC32.update(buffer, 0, len);
+                        }
+                    }
+                    onRead(len);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 更新全部摘要
+         * @param buffer 数据
+         * @param offset 偏移
+         * @param len    长度
+         */
+        private void update(final byte[] buffer, final int offset, final int len) {
+            for (MessageDigest digest : mDigests) {
+                if (digest != null) {
+                    digest.update(buffer, offset, len);
+                }
+            }
+            if (mCRC32 != null) {
+                mCRC32.update(buffer, offset, len);
+            }
+            onRead(len);
+        }
+
+        /**
+         * 更新已读取大小并回调进度
+         * @param len 读取长度
+         */
+        private void onRead(final int len) {
+            mCurrent += len;
+            if (mListener != null && mCurrent - mLastProgress >= PROGRESS_STEP) {
+                mLastProgress = mCurrent;
+                mListener.onProgress(mFile, mCurrent, mTotal);
+            }
+        }
+    }
+
+    /**
+     * 获取 CRC32.update(ByteBuffer) 方法
+     * @return {@link Method}, 不支持返回 null
+     */
+    private static Method getCRC32UpdateMethod() {
+        try {
+            return CRC32.class.getMethod("update", ByteBuffer.class);
+        } catch (Throwable ignore) {
+        }
+        return null;
+    }
+
+    // ======================
+    // = 其他工具类实现代码 =
+    // ======================
+
+    // ================
+    // = ConvertUtils =
+    // ================
+
+    // 用于建立十六进制字符的输出的小写字符数组
+    private static final char[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+    /**
+     * 将 byte[] 转换 十六进制字符串
+     * @param data 待转换数据
+     * @return 十六进制字符串
+     */
+    private static String toHexString(final byte[] data) {
+        if (data == null) return null;
+        int len = data.length;
+        StringBuilder builder = new StringBuilder(len << 1);
+        for (int i = 0; i < len; i++) {
+            builder.append(HEX_DIGITS[(data[i] & 0xf0) >>> 4]);
+            builder.append(HEX_DIGITS[data[i] & 0x0f]);
+        }
+        return builder.toString();
+    }
+}
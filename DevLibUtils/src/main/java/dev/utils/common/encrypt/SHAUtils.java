@@ -73,7 +73,7 @@ public final class SHAUtils {
      */
     public static String getFileSHA1(final String filePath) {
         File file = isSpace(filePath) ? null : new File(filePath);
-        return getFileSHA(file, "SHA-1");
+        return getFileSHA1(file);
     }
 
     /**
@@ -82,7 +82,7 @@ public final class SHAUtils {
      * @return 文件 SHA1 字符串信息
      */
     public static String getFileSHA1(final File file) {
-        return getFileSHA(file, "SHA-1");
+        return FileHashUtils.hashToHexString(file, FileHashUtils.Algorithm.SHA1);
     }
 
     /**
@@ -92,7 +92,7 @@ public final class SHAUtils {
      */
     public static String getFileSHA256(final String filePath) {
         File file = isSpace(filePath) ? null : new File(filePath);
-        return getFileSHA(file, "SHA-256");
+        return getFileSHA256(file);
     }
 
     /**
@@ -101,7 +101,7 @@ public final class SHAUtils {
      * @return 文件 SHA256 字符串信息
      */
     public static String getFileSHA256(final File file) {
-        return getFileSHA(file, "SHA-256");
+        return FileHashUtils.hashToHexString(file, FileHashUtils.Algorithm.SHA256);
     }
 
     // =
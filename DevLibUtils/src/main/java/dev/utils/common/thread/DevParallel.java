@@ -0,0 +1,519 @@
+package dev.utils.common.thread;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * detail: 并行计算处理 ( 内部使用 )
+ * @author Ttt
+ * <pre>
+ *     ForkJoinPool 线程池使用 RecursiveTask 递归拆分任务, 空闲线程窃取其他线程的任务
+ *     其他线程池将数据分段, 提交线程与线程池线程共同领取分段执行, 在线程池内部调用也不会因等待而死锁
+ *     ForkJoinPool 需 Android 5.0 ( API 21 ) 以上, 不支持时 {@link #isSupportForkJoin()} 返回 false
+ * </pre>
+ */
+final class DevParallel {
+
+    private DevParallel() {
+    }
+
+    // 是否支持 ForkJoinPool
+    private static final boolean SUPPORT_FORK_JOIN;
+
+    static {
+        boolean support;
+        try {
+            Class.forName("java.util.concurrent.ForkJoinPool");
+            support = true;
+        } catch (Throwable e) {
+            support = false;
+        }
+        SUPPORT_FORK_JOIN = support;
+    }
+
+    /**
+     * 是否支持 ForkJoinPool
+     * @return {@code true} yes, {@code false} no
+     */
+    static boolean isSupportForkJoin() {
+        return SUPPORT_FORK_JOIN;
+    }
+
+    /**
+     * 创建 ForkJoinPool 线程池
+     * @param parallelism 并行数
+     * @return ForkJoinPool, 不支持则返回 null
+     */
+    static ExecutorService newWorkStealingPool(final int parallelism) {
+        if (SUPPORT_FORK_JOIN) {
+            return ForkJoinSupport.newPool(parallelism);
+        }
+        return null;
+    }
+
+    /**
+     * 是否 ForkJoinPool 线程池
+     * @param executor 线程池
+     * @return {@code true} yes, {@code false} no
+     */
+    static boolean isForkJoinPool(final ExecutorService executor) {
+        return SUPPORT_FORK_JOIN && ForkJoinSupport.isForkJoinPool(executor);
+    }
+
+    /**
+     * 获取并行数
+     * @param executor 线程池
+     * @return 并行数
+     */
+    static int getParallelism(final ExecutorService executor) {
+        if (isForkJoinPool(executor)) {
+            return ForkJoinSupport.getParallelism(executor);
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    // ============
+    // = 并行计算 =
+    // ============
+
+    /**
+     * 并行转换数据
+     * @param executor  线程池
+     * @param list      数据源
+     * @param threshold 每段数据数量 ( 小于等于 0 则根据并行数计算 )
+     * @param mapper    转换处理
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 转换后的数据, 与数据源顺序一致
+     */
+    static <T, R> List<R> map(final ExecutorService executor, final List<T> list, final int threshold,
+                              final DevThreadPool.Mapper<T, R> mapper) {
+        final int size = list.size();
+        final Object[] results = new Object[size];
+        if (size != 0) {
+            int segment = calcThreshold(executor, size, threshold);
+            if (size <= segment) {
+                mapRange(list, mapper, results, 0, size);
+            } else if (isForkJoinPool(executor)) {
+                ForkJoinSupport.map(executor, list, mapper, results, segment);
+            } else {
+                final int segments = (size + segment - 1) / segment;
+                final int length = segment;
+                runSegments(executor, segments, new SegmentRunner() {
+                    @Override
+                    public void run(int index) {
+                        int from = index * length;
+                        mapRange(list, mapper, results, from, Math.min(from + length, size));
+                    }
+                });
+            }
+        }
+        return toList(results);
+    }
+
+    /**
+     * 并行转换并合并数据
+     * @param executor  线程池
+     * @param list      数据源
+     * @param threshold 每段数据数量 ( 小于等于 0 则根据并行数计算 )
+     * @param mapper    转换处理
+     * @param reducer   合并处理 ( 需满足结合律 )
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 合并后的数据, 数据源为空则返回 null
+     */
+    static <T, R> R reduce(final ExecutorService executor, final List<T> list, final int threshold,
+                           final DevThreadPool.Mapper<T, R> mapper, final DevThreadPool.Reducer<R> reducer) {
+        final int size = list.size();
+        if (size == 0) return null;
+        int segment = calcThreshold(executor, size, threshold);
+        if (size <= segment) {
+            return reduceRange(list, mapper, reducer, 0, size);
+        } else if (isForkJoinPool(executor)) {
+            return ForkJoinSupport.reduce(executor, list, mapper, reducer, segment);
+        }
+        final int segments = (size + segment - 1) / segment;
+        final int length = segment;
+        final Object[] results = new Object[segments];
+        runSegments(executor, segments, new SegmentRunner() {
+            @Override
+            public void run(int index) {
+                int from = index * length;
+                results[index] = reduceRange(list, mapper, reducer, from, Math.min(from + length, size));
+            }
+        });
+        // 按顺序合并每段结果
+        @SuppressWarnings("unchecked")
+        R value = (R) results[0];
+        for (int i = 1; i < segments; i++) {
+            @SuppressWarnings("unchecked")
+            R result = (R) results[i];
+            value = reducer.reduce(value, result);
+        }
+        return value;
+    }
+
+    // ============
+    // = 统计信息 =
+    // ============
+
+    /**
+     * 获取 ForkJoinPool 当前线程数
+     * @param executor 线程池
+     * @return 当前线程数, 不是 ForkJoinPool 则返回 -1
+     */
+    static int getForkJoinPoolSize(final ExecutorService executor) {
+        return isForkJoinPool(executor) ? ForkJoinSupport.getPoolSize(executor) : -1;
+    }
+
+    /**
+     * 获取 ForkJoinPool 正在执行任务的线程数
+     * @param executor 线程池
+     * @return 正在执行任务的线程数, 不是 ForkJoinPool 则返回 -1
+     */
+    static int getForkJoinActiveCount(final ExecutorService executor) {
+        return isForkJoinPool(executor) ? ForkJoinSupport.getActiveCount(executor) : -1;
+    }
+
+    /**
+     * 获取 ForkJoinPool 排队中的任务数
+     * @param executor 线程池
+     * @return 排队中的任务数, 不是 ForkJoinPool 则返回 -1
+     */
+    static int getForkJoinQueueSize(final ExecutorService executor) {
+        return isForkJoinPool(executor) ? ForkJoinSupport.getQueueSize(executor) : -1;
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    /**
+     * 计算每段数据数量
+     * @param executor  线程池
+     * @param size      数据数量
+     * @param threshold 每段数据数量
+     * @return 每段数据数量
+     */
+    private static int calcThreshold(final ExecutorService executor, final int size, final int threshold) {
+        if (threshold > 0) return threshold;
+        // 每个线程分配约 4 段, 减少任务耗时不均导致的等待
+        return Math.max(1, size / (getParallelism(executor) * 4));
+    }
+
+    /**
+     * 转换指定范围数据
+     * @param list    数据源
+     * @param mapper  转换处理
+     * @param results 转换结果
+     * @param from    开始索引
+     * @param to      结束索引 ( 不包含 )
+     * @param <T>     泛型
+     * @param <R>     泛型
+     */
+    private static <T, R> void mapRange(final List<T> list, final DevThreadPool.Mapper<T, R> mapper,
+                                        final Object[] results, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = mapper.map(list.get(i));
+        }
+    }
+
+    /**
+     * 转换并合并指定范围数据
+     * @param list    数据源
+     * @param mapper  转换处理
+     * @param reducer 合并处理
+     * @param from    开始索引
+     * @param to      结束索引 ( 不包含 )
+     * @param <T>     泛型
+     * @param <R>     泛型
+     * @return 合并后的数据
+     */
+    private static <T, R> R reduceRange(final List<T> list, final DevThreadPool.Mapper<T, R> mapper,
+                                        final DevThreadPool.Reducer<R> reducer, final int from, final int to) {
+        R value = mapper.map(list.get(from));
+        for (int i = from + 1; i < to; i++) {
+            value = reducer.reduce(value, mapper.map(list.get(i)));
+        }
+        return value;
+    }
+
+    /**
+     * 转换 List
+     * @param results 数据
+     * @param <R>     泛型
+     * @return {@link List}
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> List<R> toList(final Object[] results) {
+        return new ArrayList<>((List<R>) Arrays.asList(results));
+    }
+
+    /**
+     * detail: 分段执行接口
+     * @author Ttt
+     */
+    private interface SegmentRunner {
+
+        /**
+         * 执行分段
+         * @param index 分段索引
+         */
+        void run(int index);
+    }
+
+    /**
+     * 分段执行 ( 提交线程与线程池线程共同领取分段, 全部完成后返回 )
+     * @param executor 线程池
+     * @param segments 分段数量
+     * @param runner   分段执行接口
+     */
+    private static void runSegments(final ExecutorService executor, final int segments, final SegmentRunner runner) {
+        // 下一个待领取的分段
+        final AtomicInteger nextIndex = new AtomicInteger();
+        // 未完成的分段数量
+        final AtomicInteger remaining = new AtomicInteger(segments);
+        // 首个异常
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                int index;
+                while ((index = nextIndex.getAndIncrement()) < segments) {
+                    try {
+                        if (error.get() == null) {
+                            runner.run(index);
+                        }
+                    } catch (Throwable e) {
+                        error.compareAndSet(null, e);
+                    } finally {
+                        if (remaining.decrementAndGet() == 0) {
+                            synchronized (remaining) {
+                                remaining.notifyAll();
+                            }
+                        }
+                    }
+                }
+            }
+        };
+        // 提交线程也参与执行, 因此只需提交 并行数 - 1 个任务
+        int workers = Math.min(segments, getParallelism(executor)) - 1;
+        try {
+            for (int i = 0; i < workers; i++) {
+                executor.execute(worker);
+            }
+        } catch (RejectedExecutionException ignore) {
+            // 线程池已满或者已关闭, 剩余分段由提交线程执行
+        }
+        worker.run();
+        // 等待其他线程正在执行的分段完成 ( 未开始执行的任务不会再领取分段 )
+        boolean interrupted = false;
+        synchronized (remaining) {
+            while (remaining.get() != 0) {
+                try {
+                    remaining.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        throwIfError(error.get());
+    }
+
+    /**
+     * 抛出执行异常
+     * @param error 异常
+     */
+    private static void throwIfError(final Throwable error) {
+        if (error == null) return;
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        }
+        throw new RuntimeException(error);
+    }
+
+    /**
+     * detail: ForkJoinPool 处理 ( 单独类加载, 防止低版本找不到类 )
+     * @author Ttt
+     */
+    private static final class ForkJoinSupport {
+
+        private ForkJoinSupport() {
+        }
+
+        /**
+         * 创建 ForkJoinPool
+         * @param parallelism 并行数
+         * @return ForkJoinPool
+         */
+        static ExecutorService newPool(final int parallelism) {
+            return new ForkJoinPool(Math.max(parallelism, 1), ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        }
+
+        /**
+         * 是否 ForkJoinPool
+         * @param executor 线程池
+         * @return {@code true} yes, {@code false} no
+         */
+        static boolean isForkJoinPool(final ExecutorService executor) {
+            return executor instanceof ForkJoinPool;
+        }
+
+        /**
+         * 获取并行数
+         * @param executor ForkJoinPool
+         * @return 并行数
+         */
+        static int getParallelism(final ExecutorService executor) {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+
+        /**
+         * 获取当前线程数
+         * @param executor ForkJoinPool
+         * @return 当前线程数
+         */
+        static int getPoolSize(final ExecutorService executor) {
+            return ((ForkJoinPool) executor).getPoolSize();
+        }
+
+        /**
+         * 获取正在执行任务的线程数
+         * @param executor ForkJoinPool
+         * @return 正在执行任务的线程数
+         */
+        static int getActiveCount(final ExecutorService executor) {
+            return ((ForkJoinPool) executor).getActiveThreadCount();
+        }
+
+        /**
+         * 获取排队中的任务数
+         * @param executor ForkJoinPool
+         * @return 排队中的任务数
+         */
+        static int getQueueSize(final ExecutorService executor) {
+            ForkJoinPool pool = (ForkJoinPool) executor;
+            return (int) Math.min(Integer.MAX_VALUE, pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount());
+        }
+
+        /**
+         * 递归拆分转换数据
+         * @param executor  ForkJoinPool
+         * @param list      数据源
+         * @param mapper    转换处理
+         * @param results   转换结果
+         * @param threshold 每段数据数量
+         * @param <T>       泛型
+         * @param <R>       泛型
+         */
+        static <T, R> void map(final ExecutorService executor, final List<T> list, final DevThreadPool.Mapper<T, R> mapper,
+                               final Object[] results, final int threshold) {
+            ((ForkJoinPool) executor).invoke(new MapAction<>(list, mapper, results, 0, list.size(), threshold));
+        }
+
+        /**
+         * 递归拆分转换并合并数据
+         * @param executor  ForkJoinPool
+         * @param list      数据源
+         * @param mapper    转换处理
+         * @param reducer   合并处理
+         * @param threshold 每段数据数量
+         * @param <T>       泛型
+         * @param <R>       泛型
+         * @return 合并后的数据
+         */
+        static <T, R> R reduce(final ExecutorService executor, final List<T> list, final DevThreadPool.Mapper<T, R> mapper,
+                               final DevThreadPool.Reducer<R> reducer, final int threshold) {
+            return ((ForkJoinPool) executor).invoke(new ReduceTask<>(list, mapper, reducer, 0, list.size(), threshold));
+        }
+    }
+
+    /**
+     * detail: 递归拆分转换任务
+     * @author Ttt
+     */
+    private static final class MapAction<T, R> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> mList;
+        private final DevThreadPool.Mapper<T, R> mMapper;
+        private final Object[] mResults;
+        private final int mFrom;
+        private final int mTo;
+        private final int mThreshold;
+
+        MapAction(final List<T> list, final DevThreadPool.Mapper<T, R> mapper, final Object[] results,
+                  final int from, final int to, final int threshold) {
+            this.mList = list;
+            this.mMapper = mapper;
+            this.mResults = results;
+            this.mFrom = from;
+            this.mTo = to;
+            this.mThreshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (mTo - mFrom <= mThreshold) {
+                mapRange(mList, mMapper, mResults, mFrom, mTo);
+                return;
+            }
+            int middle = (mFrom + mTo) >>> 1;
+            invokeAll(new MapAction<>(mList, mMapper, mResults, mFrom, middle, mThreshold),
+                    new MapAction<>(mList, mMapper, mResults, middle, mTo, mThreshold));
+        }
+    }
+
+    /**
+     * detail: 递归拆分合并任务
+     * @author Ttt
+     */
+    private static final class ReduceTask<T, R> extends RecursiveTask<R> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> mList;
+        private final DevThreadPool.Mapper<T, R> mMapper;
+        private final DevThreadPool.Reducer<R> mReducer;
+        private final int mFrom;
+        private final int mTo;
+        private final int mThreshold;
+
+        ReduceTask(final List<T> list, final DevThreadPool.Mapper<T, R> mapper, final DevThreadPool.Reducer<R> reducer,
+                   final int from, final int to, final int threshold) {
+            this.mList = list;
+            this.mMapper = mapper;
+            this.mReducer = reducer;
+            this.mFrom = from;
+            this.mTo = to;
+            this.mThreshold = threshold;
+        }
+
+        @Override
+        protected R compute() {
+            if (mTo - mFrom <= mThreshold) {
+                return reduceRange(mList, mMapper, mReducer, mFrom, mTo);
+            }
+            int middle = (mFrom + mTo) >>> 1;
+            ReduceTask<T, R> left = new ReduceTask<>(mList, mMapper, mReducer, mFrom, middle, mThreshold);
+            ReduceTask<T, R> right = new ReduceTask<>(mList, mMapper, mReducer, middle, mTo, mThreshold);
+            left.fork();
+            R rightValue = right.compute();
+            return mReducer.reduce(left.join(), rightValue);
+        }
+    }
+}
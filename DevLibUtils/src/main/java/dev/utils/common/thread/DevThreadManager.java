@@ -40,7 +40,7 @@ public final class DevThreadManager {
 
     /**
      * 获取 DevThreadManager 实例
-     * @param key 线程配置 key {@link DevThreadPool.DevThreadPoolType} or int-Integer
+     * @param key 线程配置 key {@link DevThreadPool.DevThreadPoolType}、{@link DevThreadPool.Builder}、{@link DevThreadPool} or int-Integer
      * @return {@link DevThreadPool}
      */
     public static synchronized DevThreadPool getInstance(final String key) {
@@ -55,6 +55,10 @@ public final class DevThreadManager {
                 // 判断是否属于线程池类型
                 if (object instanceof DevThreadPool.DevThreadPoolType) {
                     devThreadPool = new DevThreadPool((DevThreadPool.DevThreadPoolType) object);
+                } else if (object instanceof DevThreadPool.Builder) {
+                    devThreadPool = ((DevThreadPool.Builder) object).build();
+                } else if (object instanceof DevThreadPool) {
+                    devThreadPool = (DevThreadPool) object;
                 } else if (object instanceof Integer) {
                     devThreadPool = new DevThreadPool((Integer) object);
                 } else { // 其他类型, 统一转换 Integer
@@ -1,17 +1,30 @@
 package dev.utils.common.thread;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * detail: 线程池 ( 构建类 )
@@ -39,8 +52,19 @@ public final class DevThreadPool {
 
     // 线程池对象
     private final ExecutorService mThreadPool;
-    // 定时任务线程池
-    private ScheduledExecutorService mScheduleExec;
+    // 定时任务线程池 ( 首次使用时创建 )
+    private volatile ScheduledExecutorService mScheduleExec;
+    // 定时任务线程数
+    private final int mScheduleThreads;
+    // 定时任务线程工厂 ( null 则使用默认 )
+    private final ThreadFactory mScheduleThreadFactory;
+
+    // 任务优先级 - 高 ( 如用户可见的任务 )
+    public static final int PRIORITY_HIGH = 10;
+    // 任务优先级 - 默认
+    public static final int PRIORITY_NORMAL = 0;
+    // 任务优先级 - 低 ( 如预加载任务 )
+    public static final int PRIORITY_LOW = -10;
 
     /**
      * 构造函数
@@ -52,8 +76,8 @@ public final class DevThreadPool {
             threadNumber = 1;
         }
         this.mThreadPool = Executors.newFixedThreadPool(threadNumber);
-        // 初始化定时器任务
-        this.mScheduleExec = Executors.newScheduledThreadPool(threadNumber);
+        this.mScheduleThreads = threadNumber;
+        this.mScheduleThreadFactory = null;
     }
 
     /**
@@ -62,8 +86,8 @@ public final class DevThreadPool {
      */
     public DevThreadPool(final ExecutorService threadPool) {
         this.mThreadPool = threadPool;
-        // 初始化定时器任务
-        this.mScheduleExec = Executors.newScheduledThreadPool(getThreads());
+        this.mScheduleThreads = getThreads();
+        this.mScheduleThreadFactory = null;
     }
 
     /**
@@ -71,25 +95,31 @@ public final class DevThreadPool {
      * @param devThreadPoolType 线程初始化类型 {@link DevThreadPoolType}
      */
     public DevThreadPool(final DevThreadPoolType devThreadPoolType) {
-        // 初始化定时器任务
-        this.mScheduleExec = Executors.newScheduledThreadPool(getThreads());
+        this.mScheduleThreads = (devThreadPoolType == DevThreadPoolType.SINGLE) ? 1 : getThreads();
+        this.mScheduleThreadFactory = null;
         // =
         if (devThreadPoolType != null) {
             switch (devThreadPoolType) {
                 case SINGLE:
                     mThreadPool = Executors.newSingleThreadExecutor();
-                    // 初始化定时器任务
-                    this.mScheduleExec = Executors.newScheduledThreadPool(1);
                     break;
-//                case AUTO_CPU:
-//                    mThreadPool = Executors.newWorkStealingPool();
-//                    break;
+                case AUTO_CPU:
+                    // 工作窃取线程池 ( ForkJoinPool 需 API 21 以上, 不支持则使用固定线程数线程池 )
+                    if (DevParallel.isSupportForkJoin()) {
+                        mThreadPool = DevParallel.newWorkStealingPool(Runtime.getRuntime().availableProcessors());
+                    } else {
+                        mThreadPool = Executors.newFixedThreadPool(getThreads());
+                    }
+                    break;
                 case CALC_CPU:
                     mThreadPool = Executors.newFixedThreadPool(getThreads());
                     break;
                 case CACHE:
                     mThreadPool = Executors.newCachedThreadPool();
                     break;
+                case PRIORITY:
+                    mThreadPool = createExecutor(new Builder().setCorePoolSize(getThreads()).setPriorityQueue(true));
+                    break;
                 default:
                     mThreadPool = Executors.newFixedThreadPool(getThreads());
                     break;
@@ -99,6 +129,265 @@ public final class DevThreadPool {
         }
     }
 
+    /**
+     * 构造函数
+     * @param builder {@link Builder}
+     */
+    private DevThreadPool(final Builder builder) {
+        this.mThreadPool = createExecutor(builder);
+        this.mScheduleThreads = Math.max(builder.scheduleThreads, 1);
+        this.mScheduleThreadFactory = new NamedThreadFactory(builder.threadName + "-schedule", builder.daemon, builder.threadPriority);
+    }
+
+    /**
+     * 创建线程池
+     * @param builder {@link Builder}
+     * @return {@link MonitorThreadPoolExecutor}
+     */
+    private static MonitorThreadPoolExecutor createExecutor(final Builder builder) {
+        int corePoolSize = Math.max(builder.corePoolSize, 0);
+        int maximumPoolSize = Math.max(builder.maximumPoolSize, Math.max(corePoolSize, 1));
+        // 队列容量: 小于等于 0 不排队直接创建线程, Integer.MAX_VALUE 则不限制
+        BlockingQueue<Runnable> workQueue;
+        if (builder.priorityQueue) {
+            // 优先级队列不限制容量, 线程数固定为核心线程数
+            corePoolSize = Math.max(corePoolSize, 1);
+            maximumPoolSize = corePoolSize;
+            workQueue = new PriorityBlockingQueue<>(11, new PriorityComparator());
+        } else if (builder.queueCapacity <= 0) {
+            workQueue = new SynchronousQueue<>();
+        } else if (builder.queueCapacity == Integer.MAX_VALUE) {
+            workQueue = new LinkedBlockingQueue<>();
+        } else {
+            workQueue = new ArrayBlockingQueue<>(builder.queueCapacity);
+        }
+        MonitorThreadPoolExecutor executor = new MonitorThreadPoolExecutor(corePoolSize, maximumPoolSize,
+                builder.keepAliveTime, builder.keepAliveUnit, workQueue,
+                new NamedThreadFactory(builder.threadName, builder.daemon, builder.threadPriority),
+                builder.rejectedHandler != null ? builder.rejectedHandler : builder.rejectedPolicy.newHandler());
+        if (builder.allowCoreThreadTimeOut && builder.keepAliveTime > 0) {
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * detail: 线程池构建类
+     * @author Ttt
+     * <pre>
+     *     使用 ThreadPoolExecutor 创建线程池, 可配置核心线程数、最大线程数、队列容量、拒绝策略、线程名等
+     *     并统计拒绝次数、任务排队以及执行耗时
+     *     DevThreadPool pool = new DevThreadPool.Builder()
+     *          .setCorePoolSize(2).setMaximumPoolSize(4)
+     *          .setQueueCapacity(64).setRejectedPolicy(DevThreadPool.RejectedPolicy.DISCARD_OLDEST)
+     *          .setThreadName("prefetch").build();
+     * </pre>
+     */
+    public static final class Builder {
+
+        // 核心线程数
+        private int corePoolSize = Runtime.getRuntime().availableProcessors();
+        // 最大线程数
+        private int maximumPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        // 空闲线程存活时间
+        private long keepAliveTime = 60L;
+        // 空闲线程存活时间单位
+        private TimeUnit keepAliveUnit = TimeUnit.SECONDS;
+        // 是否允许核心线程超时回收
+        private boolean allowCoreThreadTimeOut = false;
+        // 队列容量
+        private int queueCapacity = 128;
+        // 拒绝策略
+        private RejectedPolicy rejectedPolicy = RejectedPolicy.CALLER_RUNS;
+        // 自定义拒绝处理
+        private RejectedExecutionHandler rejectedHandler;
+        // 线程名前缀
+        private String threadName = "DevThreadPool";
+        // 线程优先级
+        private int threadPriority = Thread.NORM_PRIORITY;
+        // 是否守护线程
+        private boolean daemon = false;
+        // 定时任务线程数
+        private int scheduleThreads = 1;
+        // 是否使用优先级队列
+        private boolean priorityQueue = false;
+
+        public Builder() {
+        }
+
+        /**
+         * build DevThreadPool 对象
+         * @return {@link DevThreadPool}
+         */
+        public DevThreadPool build() {
+            return new DevThreadPool(this);
+        }
+
+        /**
+         * 设置核心线程数
+         * @param corePoolSize 核心线程数 ( 默认 CPU 核心数 )
+         * @return {@link DevThreadPool.Builder}
+         */
+        public Builder setCorePoolSize(final int corePoolSize) {
+            this.corePoolSize = corePoolSize;
+            return this;
+        }
+
+        /**
+         * 设置最大线程数 ( 队列已满时额外创建线程, 小于核心线程数则使用核心线程数 )
+         * @param maximumPoolSize 最大线程数 ( 默认 CPU 核心数 * 2 )
+         * @return {@link DevThreadPool.Builder}
+         */
+        public Builder setMaximumPoolSize(final int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+            return this;
+        }
+
+        /**
+         * 设置空闲线程存活时间
+         * @param keepAliveTime 存活时间 ( 默认 60 秒 )
+         * @param unit          时间单位
+         * @return {@link DevThreadPool.Builder}
+         */
+        public Builder setKeepAliveTime(final long keepAliveTime, final TimeUnit unit) {
+            if (keepAliveTime >= 0 && unit != null) {
+                this.keepAliveTime = keepAliveTime;
+                this.keepAliveUnit = unit;
+            }
+            return this;
+        }
+
+        /**
+         * 设置是否允许核心线程超时回收
+         * @param allowCoreThreadTimeOut 是否允许核心线程超时回收 ( 默认 false )
+         * @return {@link DevThreadPool.Builder}
+         */
+        public Builder setAllowCoreThreadTimeOut(final boolean allowCoreThreadTimeOut) {
+            this.allowCoreThreadTimeOut = allowCoreThreadTimeOut;
+            return this;
+        }
+
+        /**
+         * 设置队列容量
+         * @param queueCapacity 队列容量 ( 默认 128, 小于等于 0 不排队, Integer.MAX_VALUE 则不限制 )
+         * @return {@link DevThreadPool.Builder}
+         */
+        public Builder setQueueCapacity(final int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * 设置拒绝策略 ( 线程数达到最大值并且队列已满时 )
+         * @param rejectedPolicy 拒绝策略 ( 默认 {@link RejectedPolicy#CALLER_RUNS} )
+         * @return {@link DevThreadPool.Builder}
+         */
+        public Builder setRejectedPolicy(final RejectedPolicy rejectedPolicy) {
+            if (rejectedPolicy != null) {
+                this.rejectedPolicy = rejectedPolicy;
+            }
+            return this;
+        }
+
+        /**
+         * 设置自定义拒绝处理 ( 优先于拒绝策略 )
+         * @param rejectedHandler {@link RejectedExecutionHandler}
+         * @return {@link DevThreadPool.Builder}
+         */
+        public Builder setRejectedHandler(final RejectedExecutionHandler rejectedHandler) {
+            this.rejectedHandler = rejectedHandler;
+            return this;
+        }
+
+        /**
+         * 设置线程名前缀 ( 线程名为 前缀-序号 )
+         * @param threadName 线程名前缀
+         * @return {@link DevThreadPool.Builder}
+         */
+        public Builder setThreadName(final String threadName) {
+            if (threadName != null) {
+                this.threadName = threadName;
+            }
+            return this;
+        }
+
+        /**
+         * 设置线程优先级
+         * @param threadPriority 线程优先级 {@link Thread#MIN_PRIORITY} - {@link Thread#MAX_PRIORITY}
+         * @return {@link DevThreadPool.Builder}
+         */
+        public Builder setThreadPriority(final int threadPriority) {
+            this.threadPriority = Math.max(Thread.MIN_PRIORITY, Math.min(Thread.MAX_PRIORITY, threadPriority));
+            return this;
+        }
+
+        /**
+         * 设置是否守护线程
+         * @param daemon 是否守护线程 ( 默认 false )
+         * @return {@link DevThreadPool.Builder}
+         */
+        public Builder setDaemon(final boolean daemon) {
+            this.daemon = daemon;
+            return this;
+        }
+
+        /**
+         * 设置定时任务线程数 ( 首次使用定时任务时创建 )
+         * @param scheduleThreads 定时任务线程数 ( 默认 1 )
+         * @return {@link DevThreadPool.Builder}
+         */
+        public Builder setScheduleThreads(final int scheduleThreads) {
+            this.scheduleThreads = scheduleThreads;
+            return this;
+        }
+
+        /**
+         * 设置是否使用优先级队列
+         * <pre>
+         *     开启后按 {@link DevThreadPool#execute(String, int, Runnable)} 传入的优先级执行, 相同优先级按提交顺序执行
+         *     队列不限制容量, 线程数固定为核心线程数 ( 忽略最大线程数、队列容量 )
+         * </pre>
+         * @param priorityQueue 是否使用优先级队列 ( 默认 false )
+         * @return {@link DevThreadPool.Builder}
+         */
+        public Builder setPriorityQueue(final boolean priorityQueue) {
+            this.priorityQueue = priorityQueue;
+            return this;
+        }
+    }
+
+    /**
+     * detail: 拒绝策略
+     * @author Ttt
+     */
+    public enum RejectedPolicy {
+
+        ABORT, // 抛出 RejectedExecutionException
+
+        CALLER_RUNS, // 在提交任务的线程中执行
+
+        DISCARD, // 直接丢弃
+
+        DISCARD_OLDEST; // 丢弃队列中最早的任务, 并重新提交
+
+        /**
+         * 创建拒绝处理
+         * @return {@link RejectedExecutionHandler}
+         */
+        RejectedExecutionHandler newHandler() {
+            switch (this) {
+                case ABORT:
+                    return new ThreadPoolExecutor.AbortPolicy();
+                case DISCARD:
+                    return new ThreadPoolExecutor.DiscardPolicy();
+                case DISCARD_OLDEST:
+                    return new ThreadPoolExecutor.DiscardOldestPolicy();
+                default:
+                    return new ThreadPoolExecutor.CallerRunsPolicy();
+            }
+        }
+    }
+
     /**
      * detail: 线程池初始化枚举类型
      * @author Ttt
@@ -114,12 +403,14 @@ public final class DevThreadPool {
         // 如果当前线程意外终止, 会创建一个新线程继续执行任务, 这和我们直接创建线程不同, 也和 newFixedThreadPool(1) 不同
         SINGLE, // newSingleThreadExecutor 获取的是一个单个的线程, 这个线程会保证你的任务执行完成
 
-        AUTO_CPU, // 根据 CPU 来创建 ( 自定义创建 )
+        AUTO_CPU, // 根据 CPU 核心数创建工作窃取线程池 ForkJoinPool ( API 21 以下使用 CALC_CPU )
 
         CALC_CPU, // 手动计算 CPU 来创建
 
         CACHE, // 可缓存线程池
 
+        PRIORITY, // 优先级线程池 ( 手动计算 CPU 线程数, 支持任务 key 去重、取消 )
+
 //        1 newCachedThreadPool: 创建一个可缓存线程池, 如果线程池长度超过处理需要, 可灵活回收空闲线程, 若无可回收, 则新建线程
 //        2 newFixedThreadPool: 创建一个固定数目的、可重用的线程池
 //        3 newScheduledThreadPool: 创建一个定长线程池, 支持定时及周期性任务执行
@@ -206,6 +497,61 @@ public final class DevThreadPool {
 
     // =
 
+    /**
+     * 加入到线程池任务队列 ( 按任务 key 去重 )
+     * @param key      任务 key
+     * @param runnable 线程
+     * @return {@code true} 新加入任务, {@code false} 已合并到等待执行的相同 key 任务 ( 包括提高优先级 ) 或者加入失败
+     */
+    public boolean execute(final String key, final Runnable runnable) {
+        return execute(key, PRIORITY_NORMAL, runnable);
+    }
+
+    /**
+     * 加入到线程池任务队列 ( 按任务 key 去重, 按优先级执行 )
+     * <pre>
+     *     {@link Builder} 创建的线程池才支持去重, 开启 {@link Builder#setPriorityQueue(boolean)} 才支持优先级
+     *     存在等待执行的相同 key 任务时, 使用最后提交的任务替换并且优先级取较高值
+     *     相同 key 任务已开始执行则重新加入, key 为 null 则不去重, 只按优先级执行
+     * </pre>
+     * @param key      任务 key ( 可为 null )
+     * @param priority 优先级 {@link #PRIORITY_HIGH}、{@link #PRIORITY_NORMAL}、{@link #PRIORITY_LOW}
+     * @param runnable 线程
+     * @return {@code true} 新加入任务, {@code false} 已合并到等待执行的相同 key 任务 ( 包括提高优先级 ) 或者加入失败
+     */
+    public boolean execute(final String key, final int priority, final Runnable runnable) {
+        if (mThreadPool == null || runnable == null) return false;
+        if (mThreadPool instanceof MonitorThreadPoolExecutor) {
+            return ((MonitorThreadPoolExecutor) mThreadPool).execute(key, priority, runnable);
+        }
+        mThreadPool.execute(runnable);
+        return true;
+    }
+
+    /**
+     * 取消等待执行的 key 任务 ( 已开始执行的任务不处理 )
+     * @param key 任务 key
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean cancel(final String key) {
+        if (key != null && mThreadPool instanceof MonitorThreadPoolExecutor) {
+            return ((MonitorThreadPoolExecutor) mThreadPool).cancel(key);
+        }
+        return false;
+    }
+
+    /**
+     * 是否存在等待执行的 key 任务
+     * @param key 任务 key
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isPending(final String key) {
+        if (key != null && mThreadPool instanceof MonitorThreadPoolExecutor) {
+            return ((MonitorThreadPoolExecutor) mThreadPool).isPending(key);
+        }
+        return false;
+    }
+
     /**
      * shutdown 会等待所有提交的任务执行完成, 不管是正在执行还是保存在任务队列中的已提交任务
      * 待以前提交的任务执行完毕后关闭线程池
@@ -216,6 +562,9 @@ public final class DevThreadPool {
         if (mThreadPool != null) {
             mThreadPool.shutdown();
         }
+        if (mScheduleExec != null) {
+            mScheduleExec.shutdown();
+        }
     }
 
     /**
@@ -225,6 +574,9 @@ public final class DevThreadPool {
      * @return {@link List<Runnable>}
      */
     public List<Runnable> shutdownNow() {
+        if (mScheduleExec != null) {
+            mScheduleExec.shutdownNow();
+        }
         if (mThreadPool != null) {
             return mThreadPool.shutdownNow();
         }
@@ -403,8 +755,8 @@ public final class DevThreadPool {
      * @return 表示挂起任务完成的 ScheduledFuture, 并且其 {@code get()} 方法在完成后将返回 {@code null}
      */
     public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
-        if (mScheduleExec != null && command != null && unit != null) {
-            return mScheduleExec.schedule(command, delay, unit);
+        if (command != null && unit != null) {
+            return getScheduleExec().schedule(command, delay, unit);
         }
         return null;
     }
@@ -418,8 +770,8 @@ public final class DevThreadPool {
      * @return 可用于提取结果或取消的 ScheduledFuture
      */
     public <V> ScheduledFuture<V> schedule(final Callable<V> callable, final long delay, final TimeUnit unit) {
-        if (mScheduleExec != null && callable != null && unit != null) {
-            return mScheduleExec.schedule(callable, delay, unit);
+        if (callable != null && unit != null) {
+            return getScheduleExec().schedule(callable, delay, unit);
         }
         return null;
     }
@@ -434,8 +786,8 @@ public final class DevThreadPool {
      * @return 表示挂起任务完成的 ScheduledFuture, 并且其 {@code get()} 方法在取消后将抛出异常
      */
     public ScheduledFuture<?> scheduleWithFixedRate(final Runnable command, final long initialDelay, final long period, final TimeUnit unit) {
-        if (mScheduleExec != null && command != null && unit != null) {
-            return mScheduleExec.scheduleAtFixedRate(command, initialDelay, period, unit);
+        if (command != null && unit != null) {
+            return getScheduleExec().scheduleAtFixedRate(command, initialDelay, period, unit);
         }
         return null;
     }
@@ -450,9 +802,569 @@ public final class DevThreadPool {
      * @return 表示挂起任务完成的 ScheduledFuture, 并且其 {@code get()} 方法在取消后将抛出异常
      */
     public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable command, final long initialDelay, final long delay, final TimeUnit unit) {
-        if (mScheduleExec != null && command != null && unit != null) {
-            return mScheduleExec.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+        if (command != null && unit != null) {
+            return getScheduleExec().scheduleWithFixedDelay(command, initialDelay, delay, unit);
+        }
+        return null;
+    }
+
+    // ============
+    // = 并行计算 =
+    // ============
+
+    /**
+     * 是否工作窃取线程池 ( ForkJoinPool )
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isWorkStealing() {
+        return DevParallel.isForkJoinPool(mThreadPool);
+    }
+
+    /**
+     * detail: 并行转换接口
+     * @param <T> 数据类型
+     * @param <R> 转换后的类型
+     * @author Ttt
+     */
+    public interface Mapper<T, R> {
+
+        /**
+         * 转换数据
+         * @param value 数据
+         * @return 转换后的数据
+         */
+        R map(T value);
+    }
+
+    /**
+     * detail: 并行合并接口
+     * @param <R> 数据类型
+     * @author Ttt
+     */
+    public interface Reducer<R> {
+
+        /**
+         * 合并数据 ( 需满足结合律, 合并顺序与数据源顺序一致 )
+         * @param left  前一段数据
+         * @param right 后一段数据
+         * @return 合并后的数据
+         */
+        R reduce(R left, R right);
+    }
+
+    /**
+     * 并行转换数据 ( 阻塞等待全部完成 )
+     * <pre>
+     *     ForkJoinPool 递归拆分任务, 其他线程池将数据分段后与当前线程共同执行
+     *     数据源需支持快速随机访问 ( 如 ArrayList ), 转换异常则抛出
+     * </pre>
+     * @param list   数据源
+     * @param mapper 转换处理
+     * @param <T>    泛型
+     * @param <R>    泛型
+     * @return 转换后的数据, 与数据源顺序一致
+     */
+    public <T, R> List<R> parallelMap(final List<T> list, final Mapper<T, R> mapper) {
+        return parallelMap(list, 0, mapper);
+    }
+
+    /**
+     * 并行转换数据 ( 阻塞等待全部完成 )
+     * @param list      数据源
+     * @param threshold 每段数据数量 ( 小于等于 0 则根据 CPU 核心数计算 )
+     * @param mapper    转换处理
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 转换后的数据, 与数据源顺序一致
+     */
+    public <T, R> List<R> parallelMap(final List<T> list, final int threshold, final Mapper<T, R> mapper) {
+        if (mThreadPool != null && list != null && mapper != null) {
+            return DevParallel.map(mThreadPool, list, threshold, mapper);
+        }
+        return null;
+    }
+
+    /**
+     * 并行转换数据 ( 阻塞等待全部完成 )
+     * @param array  数据源
+     * @param mapper 转换处理
+     * @param <T>    泛型
+     * @param <R>    泛型
+     * @return 转换后的数据, 与数据源顺序一致
+     */
+    public <T, R> List<R> parallelMap(final T[] array, final Mapper<T, R> mapper) {
+        return parallelMap(array, 0, mapper);
+    }
+
+    /**
+     * 并行转换数据 ( 阻塞等待全部完成 )
+     * @param array     数据源
+     * @param threshold 每段数据数量 ( 小于等于 0 则根据 CPU 核心数计算 )
+     * @param mapper    转换处理
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 转换后的数据, 与数据源顺序一致
+     */
+    public <T, R> List<R> parallelMap(final T[] array, final int threshold, final Mapper<T, R> mapper) {
+        if (array != null) {
+            return parallelMap(Arrays.asList(array), threshold, mapper);
+        }
+        return null;
+    }
+
+    /**
+     * 并行转换并合并数据 ( 阻塞等待全部完成 )
+     * <pre>
+     *     每段数据按顺序转换并合并, 再按顺序合并每段结果
+     *     数据源需支持快速随机访问 ( 如 ArrayList ), 转换、合并异常则抛出
+     * </pre>
+     * @param list    数据源
+     * @param mapper  转换处理
+     * @param reducer 合并处理
+     * @param <T>     泛型
+     * @param <R>     泛型
+     * @return 合并后的数据, 数据源为空则返回 null
+     */
+    public <T, R> R parallelReduce(final List<T> list, final Mapper<T, R> mapper, final Reducer<R> reducer) {
+        return parallelReduce(list, 0, mapper, reducer);
+    }
+
+    /**
+     * 并行转换并合并数据 ( 阻塞等待全部完成 )
+     * @param list      数据源
+     * @param threshold 每段数据数量 ( 小于等于 0 则根据 CPU 核心数计算 )
+     * @param mapper    转换处理
+     * @param reducer   合并处理
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 合并后的数据, 数据源为空则返回 null
+     */
+    public <T, R> R parallelReduce(final List<T> list, final int threshold, final Mapper<T, R> mapper, final Reducer<R> reducer) {
+        if (mThreadPool != null && list != null && mapper != null && reducer != null) {
+            return DevParallel.reduce(mThreadPool, list, threshold, mapper, reducer);
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * 并行转换并合并数据 ( 阻塞等待全部完成 )
+     * @param array   数据源
+     * @param mapper  转换处理
+     * @param reducer 合并处理
+     * @param <T>     泛型
+     * @param <R>     泛型
+     * @return 合并后的数据, 数据源为空则返回 null
+     */
+    public <T, R> R parallelReduce(final T[] array, final Mapper<T, R> mapper, final Reducer<R> reducer) {
+        return parallelReduce(array, 0, mapper, reducer);
+    }
+
+    /**
+     * 并行转换并合并数据 ( 阻塞等待全部完成 )
+     * @param array     数据源
+     * @param threshold 每段数据数量 ( 小于等于 0 则根据 CPU 核心数计算 )
+     * @param mapper    转换处理
+     * @param reducer   合并处理
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 合并后的数据, 数据源为空则返回 null
+     */
+    public <T, R> R parallelReduce(final T[] array, final int threshold, final Mapper<T, R> mapper, final Reducer<R> reducer) {
+        if (array != null) {
+            return parallelReduce(Arrays.asList(array), threshold, mapper, reducer);
+        }
+        return null;
+    }
+
+    // ============
+    // = 统计信息 =
+    // ============
+
+    /**
+     * 获取当前线程数
+     * @return 当前线程数, 不支持则返回 -1
+     */
+    public int getPoolSize() {
+        if (mThreadPool instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) mThreadPool).getPoolSize();
+        }
+        return DevParallel.getForkJoinPoolSize(mThreadPool);
+    }
+
+    /**
+     * 获取正在执行任务的线程数
+     * @return 正在执行任务的线程数, 不支持则返回 -1
+     */
+    public int getActiveCount() {
+        if (mThreadPool instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) mThreadPool).getActiveCount();
+        }
+        return DevParallel.getForkJoinActiveCount(mThreadPool);
+    }
+
+    /**
+     * 获取排队中的任务数
+     * @return 排队中的任务数, 不支持则返回 -1
+     */
+    public int getQueueSize() {
+        if (mThreadPool instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) mThreadPool).getQueue().size();
+        }
+        return DevParallel.getForkJoinQueueSize(mThreadPool);
+    }
+
+    /**
+     * 获取已完成的任务数
+     * @return 已完成的任务数, 不支持则返回 -1
+     */
+    public long getCompletedTaskCount() {
+        if (mThreadPool instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) mThreadPool).getCompletedTaskCount();
+        }
+        return -1L;
+    }
+
+    /**
+     * 获取被拒绝的任务数 ( {@link Builder} 创建的线程池才支持 )
+     * @return 被拒绝的任务数, 不支持则返回 -1
+     */
+    public long getRejectedCount() {
+        if (mThreadPool instanceof MonitorThreadPoolExecutor) {
+            return ((MonitorThreadPoolExecutor) mThreadPool).mRejectedCount.get();
+        }
+        return -1L;
+    }
+
+    /**
+     * 获取任务排队耗时百分位数 ( 最近 {@link TimeRecorder#SAMPLE_SIZE} 个任务, {@link Builder} 创建的线程池才支持 )
+     * @param percentile 百分位 0-100, 如 50、90、99
+     * @param unit       时间单位
+     * @return 排队耗时, 不支持或者无数据则返回 -1
+     */
+    public long getWaitTimePercentile(final double percentile, final TimeUnit unit) {
+        if (mThreadPool instanceof MonitorThreadPoolExecutor && unit != null) {
+            return ((MonitorThreadPoolExecutor) mThreadPool).mWaitTimes.percentile(percentile, unit);
+        }
+        return -1L;
+    }
+
+    /**
+     * 获取任务执行耗时百分位数 ( 最近 {@link TimeRecorder#SAMPLE_SIZE} 个任务, {@link Builder} 创建的线程池才支持 )
+     * @param percentile 百分位 0-100, 如 50、90、99
+     * @param unit       时间单位
+     * @return 执行耗时, 不支持或者无数据则返回 -1
+     */
+    public long getRunTimePercentile(final double percentile, final TimeUnit unit) {
+        if (mThreadPool instanceof MonitorThreadPoolExecutor && unit != null) {
+            return ((MonitorThreadPoolExecutor) mThreadPool).mRunTimes.percentile(percentile, unit);
+        }
+        return -1L;
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    /**
+     * 获取定时任务线程池 ( 首次使用时创建 )
+     * @return {@link ScheduledExecutorService}
+     */
+    private ScheduledExecutorService getScheduleExec() {
+        ScheduledExecutorService scheduleExec = mScheduleExec;
+        if (scheduleExec == null) {
+            synchronized (this) {
+                scheduleExec = mScheduleExec;
+                if (scheduleExec == null) {
+                    if (mScheduleThreadFactory != null) {
+                        scheduleExec = Executors.newScheduledThreadPool(mScheduleThreads, mScheduleThreadFactory);
+                    } else {
+                        scheduleExec = Executors.newScheduledThreadPool(mScheduleThreads);
+                    }
+                    mScheduleExec = scheduleExec;
+                }
+            }
+        }
+        return scheduleExec;
+    }
+
+    /**
+     * detail: 线程工厂 ( 线程名为 前缀-序号 )
+     * @author Ttt
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        // 线程序号
+        private final AtomicInteger mThreadNumber = new AtomicInteger(1);
+        // 线程名前缀
+        private final String mName;
+        // 是否守护线程
+        private final boolean mDaemon;
+        // 线程优先级
+        private final int mPriority;
+
+        NamedThreadFactory(final String name, final boolean daemon, final int priority) {
+            this.mName = name;
+            this.mDaemon = daemon;
+            this.mPriority = priority;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, mName + "-" + mThreadNumber.getAndIncrement());
+            thread.setDaemon(mDaemon);
+            thread.setPriority(mPriority);
+            return thread;
+        }
+    }
+
+    /**
+     * detail: 耗时统计 ( 保存最近 {@link #SAMPLE_SIZE} 个数据 )
+     * @author Ttt
+     */
+    private static final class TimeRecorder {
+
+        // 保存的数据数量
+        static final int SAMPLE_SIZE = 1024;
+        // 耗时数据 ( 纳秒 )
+        private final long[] mSamples = new long[SAMPLE_SIZE];
+        // 记录总次数
+        private long mCount;
+
+        /**
+         * 记录耗时
+         * @param nanos 耗时 ( 纳秒 )
+         */
+        synchronized void record(final long nanos) {
+            mSamples[(int) (mCount++ % SAMPLE_SIZE)] = nanos;
+        }
+
+        /**
+         * 获取百分位数
+         * @param percentile 百分位 0-100
+         * @param unit       时间单位
+         * @return 耗时, 无数据则返回 -1
+         */
+        long percentile(final double percentile, final TimeUnit unit) {
+            long[] samples;
+            synchronized (this) {
+                if (mCount == 0) return -1L;
+                samples = Arrays.copyOf(mSamples, (int) Math.min(mCount, SAMPLE_SIZE));
+            }
+            Arrays.sort(samples);
+            double value = Math.max(0d, Math.min(100d, percentile));
+            int index = (int) Math.ceil(value / 100d * samples.length) - 1;
+            return unit.convert(samples[Math.max(index, 0)], TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * detail: 统计任务耗时、拒绝次数的线程池 ( 支持任务 key 去重、优先级 )
+     * @author Ttt
+     */
+    private static final class MonitorThreadPoolExecutor extends ThreadPoolExecutor {
+
+        // 拒绝次数
+        final AtomicLong mRejectedCount = new AtomicLong();
+        // 排队耗时
+        final TimeRecorder mWaitTimes = new TimeRecorder();
+        // 执行耗时
+        final TimeRecorder mRunTimes = new TimeRecorder();
+        // 任务序号 ( 相同优先级按提交顺序执行 )
+        private final AtomicLong mSequence = new AtomicLong();
+        // 等待执行的 key 任务
+        private final HashMap<String, TimedRunnable> mPendingKeys = new HashMap<>();
+
+        MonitorThreadPoolExecutor(final int corePoolSize, final int maximumPoolSize, final long keepAliveTime,
+                                  final TimeUnit unit, final BlockingQueue<Runnable> workQueue,
+                                  final ThreadFactory threadFactory, final RejectedExecutionHandler handler) {
+            super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, new CountRejectedHandler(handler));
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (command == null) throw new NullPointerException();
+            super.execute((command instanceof TimedRunnable) ? command : new TimedRunnable(command, PRIORITY_NORMAL, null));
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            synchronized (mPendingKeys) {
+                mPendingKeys.clear();
+            }
+            List<Runnable> runnables = super.shutdownNow();
+            for (int i = 0, len = runnables.size(); i < len; i++) {
+                Runnable runnable = runnables.get(i);
+                if (runnable instanceof TimedRunnable) {
+                    runnables.set(i, ((TimedRunnable) runnable).mRunnable);
+                }
+            }
+            return runnables;
+        }
+
+        /**
+         * 加入 key 任务 ( 存在等待执行的相同 key 任务则合并 )
+         * @param key      任务 key ( 为 null 则不去重, 只按优先级执行 )
+         * @param priority 优先级
+         * @param runnable 任务
+         * @return {@code true} 新加入任务, {@code false} 已合并到等待执行的任务 ( 包括提高优先级 )
+         */
+        boolean execute(final String key, final int priority, final Runnable runnable) {
+            if (key == null) {
+                super.execute(new TimedRunnable(runnable, priority, null));
+                return true;
+            }
+            TimedRunnable task;
+            synchronized (mPendingKeys) {
+                task = mPendingKeys.get(key);
+                if (task != null) {
+                    // 使用最后提交的任务, 优先级取较高值
+                    task.mRunnable = runnable;
+                    // 优先级队列中提高优先级需重新加入队列
+                    if (priority > task.mPriority && getQueue() instanceof PriorityBlockingQueue
+                            && getQueue().remove(task)) {
+                        task.mPriority = priority;
+                        // 持有锁重新加入, 避免移出队列期间 cancel 失效 ( 无界队列只在关闭后拒绝 )
+                        super.execute(task);
+                    }
+                    return false;
+                }
+                task = new TimedRunnable(runnable, priority, key);
+                mPendingKeys.put(key, task);
+            }
+            super.execute(task);
+            return true;
+        }
+
+        /**
+         * 取消等待执行的 key 任务
+         * @param key 任务 key
+         * @return {@code true} success, {@code false} fail ( 任务不存在或者已开始执行 )
+         */
+        boolean cancel(final String key) {
+            TimedRunnable task;
+            synchronized (mPendingKeys) {
+                task = mPendingKeys.remove(key);
+                if (task == null) return false;
+                task.mCancelled = true;
+            }
+            getQueue().remove(task);
+            return true;
+        }
+
+        /**
+         * 是否存在等待执行的 key 任务
+         * @param key 任务 key
+         * @return {@code true} yes, {@code false} no
+         */
+        boolean isPending(final String key) {
+            synchronized (mPendingKeys) {
+                return mPendingKeys.containsKey(key);
+            }
+        }
+
+        /**
+         * 任务被拒绝, 移除 key 记录
+         * @param runnable 任务
+         */
+        void onRejected(final Runnable runnable) {
+            if (runnable instanceof TimedRunnable) {
+                TimedRunnable task = (TimedRunnable) runnable;
+                if (task.mKey != null) {
+                    synchronized (mPendingKeys) {
+                        if (mPendingKeys.get(task.mKey) == task) {
+                            mPendingKeys.remove(task.mKey);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * detail: 记录排队、执行耗时的任务
+         * @author Ttt
+         */
+        private final class TimedRunnable implements Runnable {
+
+            // 任务 ( 合并 key 任务时替换 )
+            Runnable mRunnable;
+            // 优先级
+            int mPriority;
+            // 任务 key
+            final String mKey;
+            // 是否已取消
+            boolean mCancelled;
+            // 任务序号
+            final long mSequence = MonitorThreadPoolExecutor.this.mSequence.getAndIncrement();
+            // 提交时间
+            final long mSubmitTime = System.nanoTime();
+
+            TimedRunnable(final Runnable runnable, final int priority, final String key) {
+                this.mRunnable = runnable;
+                this.mPriority = priority;
+                this.mKey = key;
+            }
+
+            @Override
+            public void run() {
+                Runnable runnable = mRunnable;
+                if (mKey != null) {
+                    // 开始执行后不再合并, 相同 key 任务重新加入
+                    synchronized (mPendingKeys) {
+                        if (mCancelled) return;
+                        if (mPendingKeys.get(mKey) == this) {
+                            mPendingKeys.remove(mKey);
+                        }
+                        runnable = mRunnable;
+                    }
+                }
+                long startTime = System.nanoTime();
+                mWaitTimes.record(startTime - mSubmitTime);
+                try {
+                    runnable.run();
+                } finally {
+                    mRunTimes.record(System.nanoTime() - startTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * detail: 任务优先级比较 ( 优先级高的先执行, 相同优先级按提交顺序执行 )
+     * @author Ttt
+     */
+    private static final class PriorityComparator implements Comparator<Runnable> {
+
+        @Override
+        public int compare(Runnable left, Runnable right) {
+            MonitorThreadPoolExecutor.TimedRunnable leftTask = (MonitorThreadPoolExecutor.TimedRunnable) left;
+            MonitorThreadPoolExecutor.TimedRunnable rightTask = (MonitorThreadPoolExecutor.TimedRunnable) right;
+            if (leftTask.mPriority != rightTask.mPriority) {
+                return leftTask.mPriority > rightTask.mPriority ? -1 : 1;
+            }
+            return leftTask.mSequence < rightTask.mSequence ? -1 : (leftTask.mSequence == rightTask.mSequence ? 0 : 1);
+        }
+    }
+
+    /**
+     * detail: 统计拒绝次数的拒绝处理
+     * @author Ttt
+     */
+    private static final class CountRejectedHandler implements RejectedExecutionHandler {
+
+        // 拒绝处理
+        private final RejectedExecutionHandler mHandler;
+
+        CountRejectedHandler(final RejectedExecutionHandler handler) {
+            this.mHandler = handler;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            if (executor instanceof MonitorThreadPoolExecutor) {
+                ((MonitorThreadPoolExecutor) executor).mRejectedCount.incrementAndGet();
+                ((MonitorThreadPoolExecutor) executor).onRejected(runnable);
+            }
+            mHandler.rejectedExecution(runnable, executor);
+        }
+    }
+}
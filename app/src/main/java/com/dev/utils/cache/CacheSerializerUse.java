@@ -0,0 +1,204 @@
+package com.dev.utils.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.DevUtils;
+import dev.utils.app.cache.DevCache;
+import dev.utils.app.cache.DevCacheCodec;
+import dev.utils.app.cache.DevCacheConfig;
+import dev.utils.app.cache.ICacheSerializer;
+import dev.utils.app.logger.DevLogger;
+
+/**
+ * detail: 缓存序列化方式使用方法以及性能对比
+ * @author Ttt
+ */
+public final class CacheSerializerUse {
+
+    private CacheSerializerUse() {
+    }
+
+    // 日志 TAG
+    private static final String TAG = CacheSerializerUse.class.getSimpleName();
+
+    /**
+     * 缓存序列化方式使用方法
+     */
+    private void cacheSerializerUse() {
+        // 使用内置紧凑序列化实现 ( 读取时自动识别 Java 序列化数据, 原缓存数据仍可读取 )
+        DevCacheConfig config = new DevCacheConfig();
+        config.serializer = new DevCacheCodec();
+        DevCache devCache = DevCache.get(new File(DevCache.getCacheDir(DevUtils.getContext()), "SerializerCache"), config);
+        // 保存数据
+        devCache.put("user", createUser(1));
+        // 重新获取
+        UserVo userVo = (UserVo) devCache.getAsObject("user");
+        DevLogger.dTag(TAG, "获取数据: " + userVo);
+
+        // 性能对比 ( 需在子线程执行 )
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                benchmark(2000);
+            }
+        }).start();
+    }
+
+    /**
+     * Java 序列化与 DevCacheCodec 性能对比
+     * @param count 对象数量
+     */
+    private static void benchmark(final int count) {
+        List<UserVo> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(createUser(i));
+        }
+        ICacheSerializer javaSerializer = new ICacheSerializer() {
+            @Override
+            public byte[] serialize(Serializable value) throws Exception {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                ObjectOutputStream oos = new ObjectOutputStream(baos);
+                oos.writeObject(value);
+                oos.close();
+                return baos.toByteArray();
+            }
+
+            @Override
+            public Object deserialize(byte[] data) throws Exception {
+                ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data));
+                try {
+                    return ois.readObject();
+                } finally {
+                    ois.close();
+                }
+            }
+        };
+        ICacheSerializer codec = new DevCacheCodec();
+        try {
+            // 预热
+            run(javaSerializer, users);
+            run(codec, users);
+            DevLogger.dTag(TAG, "Java 序列化: " + run(javaSerializer, users));
+            DevLogger.dTag(TAG, "DevCacheCodec: " + run(codec, users));
+        } catch (Exception e) {
+            DevLogger.eTag(TAG, e, "benchmark");
+        }
+    }
+
+    /**
+     * 逐个序列化、反序列化对象 ( 缓存中每个 key 单独保存一个对象 )
+     * @param serializer 序列化方式
+     * @param users      对象列表
+     * @return 耗时以及数据大小
+     * @throws Exception 序列化异常
+     */
+    private static String run(final ICacheSerializer serializer, final List<UserVo> users) throws Exception {
+        long totalSize = 0L;
+        List<byte[]> datas = new ArrayList<>(users.size());
+        long start = System.nanoTime();
+        for (UserVo user : users) {
+            byte[] data = serializer.serialize(user);
+            totalSize += data.length;
+            datas.add(data);
+        }
+        long serializeTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (byte[] data : datas) {
+            serializer.deserialize(data);
+        }
+        long deserializeTime = System.nanoTime() - start;
+        return "count: " + users.size() + ", serialize: " + (serializeTime / 1000000) + "ms, deserialize: "
+                + (deserializeTime / 1000000) + "ms, total size: " + totalSize + " bytes";
+    }
+
+    /**
+     * 创建测试对象
+     * @param id 用户 id
+     * @return {@link UserVo}
+     */
+    private static UserVo createUser(final int id) {
+        UserVo user = new UserVo();
+        user.id = id;
+        user.name = "user_" + id;
+        user.email = "user_" + id + "@example.com";
+        user.vip = (id % 3 == 0);
+        user.level = Level.values()[id % Level.values().length];
+        user.createTime = System.currentTimeMillis();
+        user.tags = new ArrayList<>();
+        user.tags.add("android");
+        user.tags.add("cache");
+        user.extras = new HashMap<>();
+        user.extras.put("channel", "store");
+        user.extras.put("version", "1.0." + id);
+        user.orders = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OrderVo order = new OrderVo();
+            order.orderId = id * 10L + i;
+            order.price = 9.9 * (i + 1);
+            order.count = i + 1;
+            order.user = user;
+            user.orders.add(order);
+        }
+        return user;
+    }
+
+    /**
+     * 用户等级
+     */
+    enum Level {
+        NORMAL, SILVER, GOLD
+    }
+
+    /**
+     * 用户实体类
+     */
+    static class UserVo implements Serializable {
+
+        int id;
+
+        String name;
+
+        String email;
+
+        boolean vip;
+
+        Level level;
+
+        long createTime;
+
+        List<String> tags;
+
+        Map<String, String> extras;
+
+        List<OrderVo> orders;
+
+        @Override
+        public String toString() {
+            return "id: " + id + ", name: " + name + ", level: " + level + ", orders: " + (orders != null ? orders.size() : 0);
+        }
+    }
+
+    /**
+     * 订单实体类
+     */
+    static class OrderVo implements Serializable {
+
+        long orderId;
+
+        double price;
+
+        int count;
+
+        // 循环引用
+        UserVo user;
+    }
+}
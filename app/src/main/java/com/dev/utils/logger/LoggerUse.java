@@ -10,6 +10,7 @@ import dev.utils.app.logger.DevLogger;
 import dev.utils.app.logger.DevLoggerUtils;
 import dev.utils.app.logger.LogConfig;
 import dev.utils.app.logger.LogLevel;
+import dev.utils.app.logger.LogSupplier;
 import dev.utils.common.DevCommonUtils;
 
 /**
@@ -66,6 +67,9 @@ public final class LoggerUse {
         // 测试打印Log所用时间
         testTime();
 
+        // 测试不输出的日志调用耗时
+        suppressedTime();
+
         // try, catch 保存异常日志
         exLog();
 
@@ -128,6 +132,65 @@ public final class LoggerUse {
         Log.d(LOG_TAG, builder.toString());
     }
 
+    /**
+     * 测试不输出的日志调用耗时 ( 日志级别为 ERROR, 打印 DEBUG 日志 )
+     */
+    private static void suppressedTime() {
+        // 遍历次数
+        final int count = 1000000;
+        // 占位符参数
+        final Object arg = "arg";
+        // 日志信息提供者
+        final LogSupplier supplier = new LogSupplier() {
+            @Override
+            public String get() {
+                return "D: " + arg;
+            }
+        };
+        // 保存原配置, 测试后恢复
+        LogConfig oldConfig = DevLogger.getLogConfig();
+        LogConfig logConfig = new LogConfig();
+        logConfig.logLevel = LogLevel.ERROR;
+        DevLogger.init(logConfig);
+        // 预热
+        for (int i = 0; i < count; i++) {
+            DevLogger.d("A: %s", i);
+            DevLogger.log(Log.DEBUG, "B: {}", arg);
+        }
+        // 拼接字符串
+        StringBuilder builder = new StringBuilder();
+        // 可变参数 ( 每次调用创建参数数组, 以及 int 装箱 )
+        long sTime = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            DevLogger.d("A: %s", i);
+        }
+        builder.append("\nd(String, Object...) : ").append((System.nanoTime() - sTime) / count).append(" ns/op");
+        // {} 占位符 ( 固定参数个数, 不输出则不创建参数数组 )
+        sTime = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            DevLogger.log(Log.DEBUG, "B: {}", arg);
+        }
+        builder.append("\nlog(int, String, Object) : ").append((System.nanoTime() - sTime) / count).append(" ns/op");
+        // 延迟获取日志信息
+        sTime = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            DevLogger.d(supplier);
+        }
+        builder.append("\nd(LogSupplier) : ").append((System.nanoTime() - sTime) / count).append(" ns/op");
+        // 先判断日志级别
+        sTime = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (DevLogger.isLoggable(Log.DEBUG)) {
+                DevLogger.d("D: " + i);
+            }
+        }
+        builder.append("\nisLoggable(int) : ").append((System.nanoTime() - sTime) / count).append(" ns/op");
+        // 恢复配置
+        DevLogger.init(oldConfig);
+        // 打印时间
+        Log.d(LOG_TAG, "不输出的日志调用耗时" + builder.toString());
+    }
+
     /**
      * 打印、保存异常日志
      */
@@ -3,6 +3,7 @@ package com.dev.utils.record;
 import com.dev.utils.Config;
 
 import java.io.File;
+import java.io.IOException;
 
 import dev.utils.app.AnalysisRecordUtils;
 import dev.utils.app.AppUtils;
@@ -10,6 +11,7 @@ import dev.utils.app.FileRecordUtils;
 import dev.utils.app.SDCardUtils;
 import dev.utils.app.logger.DevLoggerUtils;
 import dev.utils.common.ThrowableUtils;
+import dev.utils.common.assist.RecordBlockReader;
 
 /**
  * detail: 日志、异常文件记录保存使用方法
@@ -100,6 +102,55 @@ public final class FileRecordUse {
         NullPointerException nullPointerException = new NullPointerException("报错啦, null 异常啊");
         // 记录日志
         AnalysisRecordUtils.record(fileInfo, ThrowableUtils.getThrowable(nullPointerException));
+
+        // =
+
+        // 异步写入 ( record 只放入队列, 由后台线程写入, 同一文件保持打开 )
+        AnalysisRecordUtils.setAsyncWrite(true);
+        // 缓冲 8 KB 或 1 秒写入一次文件
+        AnalysisRecordUtils.setFlushPolicy(8 * 1024, 1000L);
+        // 单个文件超过 2 MB 则滚动为 test_log_1.txt、test_log_2.txt 依此类推
+        AnalysisRecordUtils.setMaxFileSize(2 * 1024 * 1024);
+        // 记录日志
+        AnalysisRecordUtils.record(fileInfo, "日志内容");
+        // 等待日志全部写入文件 ( 如上传日志前 )
+        AnalysisRecordUtils.flush();
+        // 关闭打开的文件 ( 如退出应用时 )
+        AnalysisRecordUtils.close();
+
+        // =
+
+        // 分块压缩格式保存 ( test_log.txt 保存为 test_log.rec, 并生成 test_log.rec.idx 时间索引, 始终由后台线程写入 )
+        AnalysisRecordUtils.setBlockFormat(true);
+        // 记录日志
+        AnalysisRecordUtils.record(fileInfo, "日志内容");
+        // 写入文件后读取
+        AnalysisRecordUtils.flush();
+
+        // 按时间读取 ( 只解压时间范围重叠的数据块 )
+        RecordBlockReader reader = null;
+        try {
+            reader = new RecordBlockReader(new File(fileInfo.getLogPath(), "test_log.rec"));
+            // 设备、APP 信息
+            String meta = reader.getMeta();
+            // 读取最近 10 分钟的记录
+            long endTime = System.currentTimeMillis();
+            reader.read(endTime - 10 * 60 * 1000L, endTime, new RecordBlockReader.Callback() {
+                @Override
+                public boolean onRecord(long time, String record) {
+                    // 返回 false 停止读取
+                    return true;
+                }
+            });
+        } catch (IOException e) {
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                }
+            }
+        }
     }
 
     /**
@@ -136,6 +187,12 @@ public final class FileRecordUse {
             FileRecordUtils.saveErrorLog(e, "头部", "底部", LOG_SD_PATH, System.currentTimeMillis() + "_存在头部_底部.log", true);
 
             FileRecordUtils.saveLog("日志内容", "头部", "底部", LOG_SD_PATH, System.currentTimeMillis() + "_存在头部_底部.log", true);
+
+            // 追加到同一文件 ( 分块压缩格式, APP、设备信息只保存一次, 异常日志立即写入文件 )
+            FileRecordUtils.appendErrorRecord(e, LOG_SD_PATH, "error.rec");
+            // 普通日志缓冲到 64KB 压缩为一个数据块, 需要读取时先写入文件
+            FileRecordUtils.appendRecord("日志内容", LOG_SD_PATH, "record.rec");
+            FileRecordUtils.flushRecord();
         }
     }
 }
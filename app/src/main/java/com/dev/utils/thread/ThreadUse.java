@@ -1,5 +1,10 @@
 package com.dev.utils.thread;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import dev.utils.app.logger.DevLogger;
 import dev.utils.common.thread.DevThreadManager;
 import dev.utils.common.thread.DevThreadPool;
 
@@ -12,6 +17,9 @@ public final class ThreadUse {
     private ThreadUse() {
     }
 
+    // 日志 TAG
+    private static final String TAG = ThreadUse.class.getSimpleName();
+
     /**
      * 线程使用方法
      */
@@ -37,5 +45,72 @@ public final class ThreadUse {
         DevThreadManager.putConfig("QQQQQQ", 10);
         // 使用配置的信息
         DevThreadManager.getInstance("QQQQQQ").execute(runnable);
+
+        // 自定义线程池 ( 有界队列、拒绝策略、线程名, 定时任务线程池首次使用时创建 )
+        DevThreadPool devThreadPool = new DevThreadPool.Builder()
+                .setCorePoolSize(2)
+                .setMaximumPoolSize(4)
+                .setQueueCapacity(64)
+                .setRejectedPolicy(DevThreadPool.RejectedPolicy.DISCARD_OLDEST)
+                .setThreadName("Prefetch")
+                .build();
+        devThreadPool.execute(runnable);
+
+        // 也可以保存配置, 首次获取时创建
+        DevThreadManager.putConfig("Prefetch", new DevThreadPool.Builder().setThreadName("Prefetch"));
+        DevThreadManager.getInstance("Prefetch").execute(runnable);
+
+        // 统计信息
+        DevLogger.dTag(TAG, "active: " + devThreadPool.getActiveCount()
+                + ", queue: " + devThreadPool.getQueueSize()
+                + ", completed: " + devThreadPool.getCompletedTaskCount()
+                + ", rejected: " + devThreadPool.getRejectedCount()
+                + ", wait p99: " + devThreadPool.getWaitTimePercentile(99, TimeUnit.MILLISECONDS) + "ms"
+                + ", run p50: " + devThreadPool.getRunTimePercentile(50, TimeUnit.MILLISECONDS) + "ms");
+
+        // 优先级线程池 ( 支持任务 key 去重、取消 )
+        DevThreadManager.putConfig("Image", DevThreadPool.DevThreadPoolType.PRIORITY);
+        DevThreadPool imagePool = DevThreadManager.getInstance("Image");
+        // 预加载任务使用低优先级, 用户可见任务使用高优先级, 相同 key 等待执行时只执行最后提交的任务
+        imagePool.execute("prefetch_1", DevThreadPool.PRIORITY_LOW, runnable);
+        imagePool.execute("visible_1", DevThreadPool.PRIORITY_HIGH, runnable);
+        // 取消等待执行的任务
+        imagePool.cancel("prefetch_1");
+
+        // 工作窃取线程池 ( ForkJoinPool, API 21 以下使用固定线程数线程池 )
+        DevThreadManager.putConfig("Compute", DevThreadPool.DevThreadPoolType.AUTO_CPU);
+        final DevThreadPool computePool = DevThreadManager.getInstance("Compute");
+        // 并行计算会阻塞等待全部完成, 需在子线程执行
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                parallelUse(computePool);
+            }
+        }).start();
+    }
+
+    /**
+     * 并行计算使用方法
+     * @param devThreadPool 线程池
+     */
+    private static void parallelUse(final DevThreadPool devThreadPool) {
+        List<Integer> list = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        // 转换处理
+        DevThreadPool.Mapper<Integer, Long> mapper = new DevThreadPool.Mapper<Integer, Long>() {
+            @Override
+            public Long map(Integer value) {
+                return (long) value * value;
+            }
+        };
+        // 并行转换, 返回顺序与数据源一致
+        List<Long> squares = devThreadPool.parallelMap(list, mapper);
+        // 并行转换并合并
+        Long sum = devThreadPool.parallelReduce(list, mapper, new DevThreadPool.Reducer<Long>() {
+            @Override
+            public Long reduce(Long left, Long right) {
+                return left + right;
+            }
+        });
+        DevLogger.dTag(TAG, "workStealing: " + devThreadPool.isWorkStealing() + ", squares: " + squares + ", sum: " + sum);
     }
 }
@@ -0,0 +1,132 @@
+package com.dev.utils.zip;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import dev.DevUtils;
+import dev.utils.app.logger.DevLogger;
+import dev.utils.common.FileUtils;
+import dev.utils.common.ZipUtils;
+
+/**
+ * detail: 压缩工具类使用方法以及并行压缩性能对比
+ * @author Ttt
+ */
+public final class ZipUse {
+
+    private ZipUse() {
+    }
+
+    // 日志 TAG
+    private static final String TAG = ZipUse.class.getSimpleName();
+
+    /**
+     * 压缩工具类使用方法
+     */
+    private void zipUse() {
+        final File logDir = new File(DevUtils.getContext().getCacheDir(), "logs");
+        final File zipFile = new File(DevUtils.getContext().getCacheDir(), "logs.zip");
+        // 需在子线程执行
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    // 并行压缩 ( 默认压缩级别, CPU 核数个线程 )
+                    ZipUtils.zipFilesParallel(Collections.singletonList(logDir), zipFile);
+                    // 指定注释、压缩级别以及并行数 ( 日志等上传场景可使用较低的压缩级别换取速度 )
+                    ZipUtils.zipFilesParallel(Collections.singletonList(logDir), zipFile, "logs", Deflater.BEST_SPEED, 4);
+                    // 并行解压
+                    List<File> files = ZipUtils.unzipFileParallel(zipFile, new File(DevUtils.getContext().getCacheDir(), "unzip"));
+                    DevLogger.dTag(TAG, "解压文件数量: " + (files != null ? files.size() : 0));
+                } catch (Exception e) {
+                    DevLogger.eTag(TAG, e, "zipUse");
+                }
+
+                // 性能对比
+                benchmark(50, 100);
+            }
+        }).start();
+    }
+
+    /**
+     * 逐个压缩、解压与并行压缩、解压性能对比
+     * @param dirCount  文件夹数量
+     * @param fileCount 每个文件夹文件数量
+     */
+    private static void benchmark(final int dirCount, final int fileCount) {
+        File rootDir = new File(DevUtils.getContext().getCacheDir(), "ZipBenchmark");
+        File srcDir = new File(rootDir, "src");
+        try {
+            createTree(srcDir, dirCount, fileCount);
+            List<File> resFiles = Collections.singletonList(srcDir);
+            // 预热
+            ZipUtils.zipFiles(resFiles, new File(rootDir, "warm.zip"));
+            ZipUtils.zipFilesParallel(resFiles, new File(rootDir, "warm.zip"));
+
+            File seqZip = new File(rootDir, "seq.zip");
+            long start = System.nanoTime();
+            ZipUtils.zipFiles(resFiles, seqZip);
+            long seqZipTime = System.nanoTime() - start;
+
+            File parZip = new File(rootDir, "par.zip");
+            start = System.nanoTime();
+            ZipUtils.zipFilesParallel(resFiles, parZip);
+            long parZipTime = System.nanoTime() - start;
+
+            File fastZip = new File(rootDir, "fast.zip");
+            start = System.nanoTime();
+            ZipUtils.zipFilesParallel(resFiles, fastZip, null, Deflater.BEST_SPEED, 0);
+            long fastZipTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            ZipUtils.unzipFile(seqZip, new File(rootDir, "seq"));
+            long seqUnzipTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            ZipUtils.unzipFileParallel(seqZip, new File(rootDir, "par"));
+            long parUnzipTime = System.nanoTime() - start;
+
+            DevLogger.dTag(TAG, "files: " + (dirCount * fileCount) + ", cpu: " + Runtime.getRuntime().availableProcessors()
+                    + "\nzipFiles: " + (seqZipTime / 1000000) + "ms, " + seqZip.length() + " bytes"
+                    + "\nzipFilesParallel: " + (parZipTime / 1000000) + "ms, " + parZip.length() + " bytes"
+                    + "\nzipFilesParallel ( BEST_SPEED ): " + (fastZipTime / 1000000) + "ms, " + fastZip.length() + " bytes"
+                    + "\nunzipFile: " + (seqUnzipTime / 1000000) + "ms"
+                    + "\nunzipFileParallel: " + (parUnzipTime / 1000000) + "ms");
+        } catch (Exception e) {
+            DevLogger.eTag(TAG, e, "benchmark");
+        } finally {
+            FileUtils.deleteDir(rootDir);
+        }
+    }
+
+    /**
+     * 创建测试文件夹 ( 模拟日志文件 )
+     * @param srcDir    根目录
+     * @param dirCount  文件夹数量
+     * @param fileCount 每个文件夹文件数量
+     * @throws Exception 异常时抛出
+     */
+    private static void createTree(final File srcDir, final int dirCount, final int fileCount) throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < dirCount; i++) {
+            File dir = new File(srcDir, "dir_" + i);
+            dir.mkdirs();
+            for (int j = 0; j < fileCount; j++) {
+                builder.setLength(0);
+                for (int line = 0, lines = 50 + (i * j) % 500; line < lines; line++) {
+                    builder.append(System.currentTimeMillis()).append(" D/").append(TAG)
+                            .append(": dir ").append(i).append(", file ").append(j).append(", line ").append(line).append('\n');
+                }
+                FileOutputStream fos = new FileOutputStream(new File(dir, "log_" + j + ".txt"));
+                try {
+                    fos.write(builder.toString().getBytes("UTF-8"));
+                } finally {
+                    fos.close();
+                }
+            }
+        }
+    }
+}